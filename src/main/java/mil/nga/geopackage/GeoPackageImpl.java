@@ -13,6 +13,7 @@ import mil.nga.geopackage.contents.ContentsDao;
 import mil.nga.geopackage.contents.ContentsDataType;
 import mil.nga.geopackage.db.CoreSQLUtils;
 import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.extension.nga.dedup.TileDeduplication;
 import mil.nga.geopackage.extension.rtree.RTreeIndexExtension;
 import mil.nga.geopackage.features.columns.GeometryColumns;
 import mil.nga.geopackage.features.columns.GeometryColumnsDao;
@@ -268,6 +269,13 @@ public class GeoPackageImpl extends GeoPackageCoreImpl implements GeoPackage {
 		TileDao dao = new TileDao(getName(), database, tileMatrixSet,
 				tileMatrices, tileTable);
 
+		// Include deduplicated tiles when the table has the extension
+		TileDeduplication deduplication = new TileDeduplication(this,
+				tableName);
+		if (deduplication.has()) {
+			dao.setDeduplication(deduplication);
+		}
+
 		return dao;
 	}
 
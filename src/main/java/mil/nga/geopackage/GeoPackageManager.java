@@ -249,6 +249,48 @@ public class GeoPackageManager {
 	 */
 	public static GeoPackage open(String name, boolean writable, File file,
 			boolean validate) {
+		return open(name, writable, file, validate, false);
+	}
+
+	/**
+	 * Open a GeoPackage
+	 * 
+	 * @param writable
+	 *            true if writable
+	 * @param file
+	 *            file
+	 * @param validate
+	 *            validate the GeoPackage
+	 * @param wal
+	 *            true to enable write-ahead logging with pooled read
+	 *            connections for concurrent queries
+	 * @return GeoPackage
+	 * @since 6.6.7
+	 */
+	public static GeoPackage open(boolean writable, File file, boolean validate,
+			boolean wal) {
+		return open(file.getName(), writable, file, validate, wal);
+	}
+
+	/**
+	 * Open a GeoPackage
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @param writable
+	 *            true if writable
+	 * @param file
+	 *            GeoPackage file
+	 * @param validate
+	 *            validate the GeoPackage
+	 * @param wal
+	 *            true to enable write-ahead logging with pooled read
+	 *            connections for concurrent queries
+	 * @return GeoPackage
+	 * @since 6.6.7
+	 */
+	public static GeoPackage open(String name, boolean writable, File file,
+			boolean validate, boolean wal) {
 
 		// Check if the file exists
 		File existingFile = existingFile(file);
@@ -266,6 +308,16 @@ public class GeoPackageManager {
 		// Create the GeoPackage Connection and table creator
 		GeoPackageConnection connection = connect(file);
 
+		// Enable write-ahead logging and pooled read connections
+		if (wal) {
+			try {
+				connection.enableWriteAheadLogging();
+			} catch (RuntimeException e) {
+				connection.close();
+				throw e;
+			}
+		}
+
 		// Create a GeoPackage
 		GeoPackage geoPackage = new GeoPackageImpl(name, file, connection,
 				writable);
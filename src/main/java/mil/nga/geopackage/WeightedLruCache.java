@@ -0,0 +1,345 @@
+package mil.nga.geopackage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Least recently used map bounded by the total weight of its values and
+ * optionally by the number of values, counting hits, misses, and evictions.
+ * Not thread safe, callers synchronize access.
+ *
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class WeightedLruCache<K, V> {
+
+	/**
+	 * Values by key in least recently used order
+	 */
+	private final LinkedHashMap<K, V> values = new LinkedHashMap<>(16, 0.75f,
+			true);
+
+	/**
+	 * Value weigher
+	 */
+	private final ToLongFunction<? super V> weigher;
+
+	/**
+	 * Maximum total weight
+	 */
+	private long maxWeight;
+
+	/**
+	 * Maximum number of values, 0 for no limit
+	 */
+	private int maxSize = 0;
+
+	/**
+	 * Total weight
+	 */
+	private long weight = 0;
+
+	/**
+	 * Cache hits
+	 */
+	private long hits = 0;
+
+	/**
+	 * Cache misses
+	 */
+	private long misses = 0;
+
+	/**
+	 * Cache evictions
+	 */
+	private long evictions = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param weigher
+	 *            value weigher
+	 * @param maxWeight
+	 *            maximum total weight
+	 */
+	public WeightedLruCache(ToLongFunction<? super V> weigher,
+			long maxWeight) {
+		this.weigher = weigher;
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Get the maximum total weight
+	 *
+	 * @return max weight
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Set the maximum total weight, evicting least recently used values when
+	 * reduced
+	 *
+	 * @param maxWeight
+	 *            max weight
+	 * @return evicted values, null if none
+	 */
+	public List<V> setMaxWeight(long maxWeight) {
+		this.maxWeight = maxWeight;
+		return evict();
+	}
+
+	/**
+	 * Get the maximum number of values
+	 *
+	 * @return max size, 0 for no limit
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the maximum number of values, evicting least recently used values
+	 * when reduced
+	 *
+	 * @param maxSize
+	 *            max size, 0 for no limit
+	 * @return evicted values, null if none
+	 */
+	public List<V> setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+		return evict();
+	}
+
+	/**
+	 * Get the total weight
+	 *
+	 * @return weight
+	 */
+	public long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Get the number of values
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return values.size();
+	}
+
+	/**
+	 * Get the number of hits
+	 *
+	 * @return hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get the number of misses
+	 *
+	 * @return misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Get the number of values evicted to stay within the max weight and max
+	 * size
+	 *
+	 * @return evictions
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Get the ratio of hits to requests
+	 *
+	 * @return hit rate between 0.0 and 1.0
+	 */
+	public double getHitRate() {
+		long requests = hits + misses;
+		return requests > 0 ? (double) hits / requests : 0.0;
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counters
+	 */
+	public void resetStats() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * Count hits served outside of {@link #get(Object)}
+	 *
+	 * @param count
+	 *            hit count
+	 */
+	public void recordHits(long count) {
+		hits += count;
+	}
+
+	/**
+	 * Count misses outside of {@link #get(Object)}
+	 *
+	 * @param count
+	 *            miss count
+	 */
+	public void recordMisses(long count) {
+		misses += count;
+	}
+
+	/**
+	 * Get a value, counting the request as a hit or miss
+	 *
+	 * @param key
+	 *            key
+	 * @return value or null
+	 */
+	public V get(K key) {
+		V value = values.get(key);
+		if (value != null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return value;
+	}
+
+	/**
+	 * Get a value without counting the request, marking the value as recently
+	 * used
+	 *
+	 * @param key
+	 *            key
+	 * @return value or null
+	 */
+	public V peek(K key) {
+		return values.get(key);
+	}
+
+	/**
+	 * Determine if a value exists for the key
+	 *
+	 * @param key
+	 *            key
+	 * @return true if cached
+	 */
+	public boolean containsKey(K key) {
+		return values.containsKey(key);
+	}
+
+	/**
+	 * Put a value, replacing an existing value of the key. Values heavier than
+	 * the max weight are not cached.
+	 *
+	 * @param key
+	 *            key
+	 * @param value
+	 *            value
+	 * @return evicted values, null if none
+	 */
+	public List<V> put(K key, V value) {
+		List<V> evicted = null;
+		long valueWeight = weigher.applyAsLong(value);
+		if (valueWeight <= maxWeight) {
+			V previous = values.put(key, value);
+			if (previous != null) {
+				weight -= weigher.applyAsLong(previous);
+			}
+			weight += valueWeight;
+			evicted = evict();
+		}
+		return evicted;
+	}
+
+	/**
+	 * Remove a value
+	 *
+	 * @param key
+	 *            key
+	 * @return removed value or null
+	 */
+	public V remove(K key) {
+		V value = values.remove(key);
+		if (value != null) {
+			weight -= weigher.applyAsLong(value);
+		}
+		return value;
+	}
+
+	/**
+	 * Remove the values of matching keys
+	 *
+	 * @param filter
+	 *            key filter
+	 * @return removed values
+	 */
+	public List<V> removeIf(Predicate<? super K> filter) {
+		List<V> removed = new ArrayList<>();
+		Iterator<Map.Entry<K, V>> iterator = values.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<K, V> entry = iterator.next();
+			if (filter.test(entry.getKey())) {
+				V value = entry.getValue();
+				weight -= weigher.applyAsLong(value);
+				removed.add(value);
+				iterator.remove();
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Remove all values
+	 *
+	 * @return removed values
+	 */
+	public List<V> clear() {
+		List<V> removed = new ArrayList<>(values.values());
+		values.clear();
+		weight = 0;
+		return removed;
+	}
+
+	/**
+	 * Remove least recently used values beyond the max weight and max size
+	 *
+	 * @return evicted values, null if none
+	 */
+	private List<V> evict() {
+		List<V> evicted = null;
+		Iterator<V> iterator = values.values().iterator();
+		while ((weight > maxWeight || (maxSize > 0 && values.size() > maxSize))
+				&& iterator.hasNext()) {
+			V value = iterator.next();
+			weight -= weigher.applyAsLong(value);
+			iterator.remove();
+			evictions++;
+			if (evicted == null) {
+				evicted = new ArrayList<>();
+			}
+			evicted.add(value);
+		}
+		return evicted;
+	}
+
+}
@@ -4,10 +4,15 @@ import java.io.File;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.sqlite.Function;
+
 import com.j256.ormlite.support.ConnectionSource;
 
 import mil.nga.geopackage.GeoPackageException;
@@ -36,6 +41,33 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	 */
 	private final Connection connection;
 
+	/**
+	 * Prepared statement cache
+	 */
+	private final StatementCache statementCache;
+
+	/**
+	 * Read connection pool when write-ahead logging is enabled
+	 */
+	private ReadConnectionPool readConnectionPool = null;
+
+	/**
+	 * Journal mode before enabling write-ahead logging, restored on close
+	 */
+	private String journalMode = null;
+
+	/**
+	 * SQL function factories by name, for creating the functions on read
+	 * connections
+	 */
+	private final Map<String, Supplier<? extends Function>> functions = new LinkedHashMap<>();
+
+	/**
+	 * Thread that began the writer connection transaction, null when not in
+	 * a transaction or when begun directly on the JDBC connection
+	 */
+	private volatile Thread transactionThread = null;
+
 	/**
 	 * Auto commit mode at the beginning of a transaction
 	 */
@@ -56,6 +88,7 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 		super(connectionSource);
 		this.file = file;
 		this.connection = connection;
+		this.statementCache = new StatementCache(connection);
 	}
 
 	/**
@@ -67,6 +100,139 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 		return connection;
 	}
 
+	/**
+	 * Get the prepared statement cache used by {@link SQLUtils} queries,
+	 * updates, deletes, and inserts on this connection
+	 *
+	 * @return statement cache
+	 * @since 6.6.7
+	 */
+	public StatementCache getStatementCache() {
+		return statementCache;
+	}
+
+	/**
+	 * Get the maximum number of cached prepared statements
+	 *
+	 * @return statement cache size
+	 * @since 6.6.7
+	 */
+	public int getStatementCacheSize() {
+		return statementCache.getMaxSize();
+	}
+
+	/**
+	 * Set the maximum number of cached prepared statements, 0 to disable
+	 * statement caching
+	 *
+	 * @param size
+	 *            statement cache size
+	 * @since 6.6.7
+	 */
+	public void setStatementCacheSize(int size) {
+		statementCache.setMaxSize(size);
+	}
+
+	/**
+	 * Enable SQLite write-ahead logging (WAL) journal mode and a pool of read
+	 * only connections for concurrent queries. Queries are performed on pooled
+	 * read connections unless the querying thread began the writer connection
+	 * transaction.
+	 * <p>
+	 * The WAL journal mode is persistent in the database file. The previous
+	 * journal mode is restored when the connection is closed, which requires
+	 * no other open connections to the file. If the restore fails, the file
+	 * remains in WAL mode and requires SQLite 3.7.0 or newer readers.
+	 *
+	 * @since 6.6.7
+	 */
+	public void enableWriteAheadLogging() {
+		enableWriteAheadLogging(ReadConnectionPool.DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Enable SQLite write-ahead logging (WAL) journal mode and a pool of read
+	 * only connections for concurrent queries. Queries are performed on pooled
+	 * read connections unless the querying thread began the writer connection
+	 * transaction. See {@link #enableWriteAheadLogging()} for the persistence
+	 * of the journal mode.
+	 *
+	 * @param readConnections
+	 *            maximum number of read connections
+	 * @since 6.6.7
+	 */
+	public void enableWriteAheadLogging(int readConnections) {
+		if (readConnectionPool != null) {
+			readConnectionPool.setMaxSize(readConnections);
+		} else {
+			Object previousMode = querySingleResult("PRAGMA journal_mode",
+					null);
+			Object mode = querySingleResult("PRAGMA journal_mode=WAL", null);
+			if (mode == null || !mode.toString().equalsIgnoreCase("wal")) {
+				throw new GeoPackageException(
+						"Failed to enable write-ahead logging, journal mode: "
+								+ mode + ", file: " + file.getAbsolutePath());
+			}
+			if (previousMode != null
+					&& !previousMode.toString().equalsIgnoreCase("wal")) {
+				journalMode = previousMode.toString();
+			}
+			ReadConnectionPool pool = new ReadConnectionPool(file,
+					readConnections);
+			synchronized (functions) {
+				for (Map.Entry<String, Supplier<? extends Function>> function : functions
+						.entrySet()) {
+					pool.createFunction(function.getKey(), function.getValue());
+				}
+				readConnectionPool = pool;
+			}
+		}
+	}
+
+	/**
+	 * Is write-ahead logging with pooled read connections enabled
+	 *
+	 * @return true if enabled
+	 * @since 6.6.7
+	 */
+	public boolean isWriteAheadLogging() {
+		return readConnectionPool != null;
+	}
+
+	/**
+	 * Get the read connection pool
+	 *
+	 * @return read connection pool, null if write-ahead logging is not enabled
+	 * @since 6.6.7
+	 */
+	public ReadConnectionPool getReadConnectionPool() {
+		return readConnectionPool;
+	}
+
+	/**
+	 * Create a SQL function on the connection. When write-ahead logging is
+	 * enabled, the function is also created on each pooled read connection
+	 * with its own function instance, as SQLite functions hold per call state.
+	 *
+	 * @param name
+	 *            function name
+	 * @param function
+	 *            function factory
+	 * @throws SQLException
+	 *             upon failure
+	 * @since 6.6.7
+	 */
+	public void createFunction(String name,
+			Supplier<? extends Function> function) throws SQLException {
+		Function.create(connection, name, function.get());
+		synchronized (functions) {
+			functions.put(name, function);
+			if (readConnectionPool != null) {
+				readConnectionPool.createFunction(name, function);
+			}
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -112,7 +278,7 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 			throw new GeoPackageException(
 					"Failed to begin transaction, previous transaction was not ended");
 		}
-		autoCommit = SQLUtils.beginTransaction(connection);
+		autoCommit = beginWriterTransaction();
 	}
 
 	/**
@@ -120,10 +286,46 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	 */
 	@Override
 	public void endTransaction(boolean successful) {
-		SQLUtils.endTransaction(connection, successful, autoCommit);
+		endWriterTransaction(successful, autoCommit);
 		autoCommit = null;
 	}
 
+	/**
+	 * Begin a transaction on the writer connection when in auto commit mode,
+	 * owned by the calling thread. Queries from the owning thread are
+	 * performed on the writer connection while queries from other threads
+	 * continue on pooled read connections.
+	 *
+	 * @return pre-transaction auto commit value
+	 * @since 6.6.7
+	 */
+	public boolean beginWriterTransaction() {
+		boolean autoCommit = SQLUtils.beginTransaction(connection);
+		if (autoCommit) {
+			transactionThread = Thread.currentThread();
+		}
+		return autoCommit;
+	}
+
+	/**
+	 * End a transaction begun with {@link #beginWriterTransaction()}
+	 *
+	 * @param successful
+	 *            true to commit, false to rollback
+	 * @param autoCommit
+	 *            pre-transaction auto commit value
+	 * @since 6.6.7
+	 */
+	public void endWriterTransaction(boolean successful, Boolean autoCommit) {
+		try {
+			SQLUtils.endTransaction(connection, successful, autoCommit);
+		} finally {
+			if (autoCommit != null && autoCommit) {
+				transactionThread = null;
+			}
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -149,7 +351,8 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	 */
 	@Override
 	public int delete(String table, String whereClause, String[] whereArgs) {
-		return SQLUtils.delete(connection, table, whereClause, whereArgs);
+		return SQLUtils.delete(statementCache, table, whereClause,
+				whereArgs);
 	}
 
 	/**
@@ -158,6 +361,13 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	@Override
 	public void close() {
 		super.close();
+		if (readConnectionPool != null) {
+			readConnectionPool.close();
+			if (journalMode != null) {
+				restoreJournalMode();
+			}
+		}
+		statementCache.close();
 		try {
 			connection.close();
 		} catch (SQLException e) {
@@ -172,7 +382,7 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	@Override
 	public Object querySingleResult(String sql, String[] args, int column,
 			GeoPackageDataType dataType) {
-		return SQLUtils.querySingleResult(connection, sql, args, column,
+		return SQLUtils.querySingleResult(statementCache, sql, args, column,
 				dataType);
 	}
 
@@ -182,8 +392,8 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	@Override
 	public List<Object> querySingleColumnResults(String sql, String[] args,
 			int column, GeoPackageDataType dataType, Integer limit) {
-		return SQLUtils.querySingleColumnResults(connection, sql, args, column,
-				dataType, limit);
+		return SQLUtils.querySingleColumnResults(statementCache, sql, args,
+				column, dataType, limit);
 	}
 
 	/**
@@ -192,11 +402,14 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	@Override
 	public List<List<Object>> queryResults(String sql, String[] args,
 			GeoPackageDataType[] dataTypes, Integer limit) {
-		return SQLUtils.queryResults(connection, sql, args, dataTypes, limit);
+		return SQLUtils.queryResults(statementCache, sql, args, dataTypes,
+				limit);
 	}
 
 	/**
-	 * Perform a database query
+	 * Perform a database query. When write-ahead logging is enabled, the query
+	 * is performed on a pooled read connection unless the calling thread is
+	 * in the writer connection transaction.
 	 * 
 	 * @param sql
 	 *            sql statement
@@ -206,7 +419,49 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	 * @since 1.1.2
 	 */
 	public ResultSet query(String sql, String[] args) {
-		return SQLUtils.query(connection, sql, args);
+		ResultSet resultSet = null;
+		if (readConnectionPool != null && !isWriterTransactionThread()) {
+			resultSet = readConnectionPool.query(sql, args);
+		} else {
+			resultSet = SQLUtils.query(statementCache, sql, args);
+		}
+		return resultSet;
+	}
+
+	/**
+	 * Determine if the calling thread is in the writer connection
+	 * transaction. Transactions begun directly on the JDBC connection have no
+	 * known owner and are treated as owned by every thread.
+	 * 
+	 * @return true if in a transaction
+	 */
+	private boolean isWriterTransactionThread() {
+		boolean inTransaction;
+		try {
+			inTransaction = !connection.getAutoCommit();
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to check the connection auto commit mode", e);
+		}
+		if (inTransaction) {
+			Thread owner = transactionThread;
+			inTransaction = owner == null || owner == Thread.currentThread();
+		}
+		return inTransaction;
+	}
+
+	/**
+	 * Restore the journal mode from before enabling write-ahead logging
+	 */
+	private void restoreJournalMode() {
+		try {
+			SQLUtils.querySingleResult(connection,
+					"PRAGMA journal_mode=" + journalMode, null, 0, null);
+		} catch (RuntimeException e) {
+			log.log(Level.WARNING, "Failed to restore journal mode '"
+					+ journalMode + "', file remains in write-ahead logging mode: "
+					+ file.getAbsolutePath(), e);
+		}
 	}
 
 }
@@ -0,0 +1,356 @@
+package mil.nga.geopackage.db;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.sqlite.Function;
+import org.sqlite.SQLiteConfig;
+
+import mil.nga.geopackage.GeoPackageException;
+
+/**
+ * Pool of read only connections to a GeoPackage in SQLite write-ahead logging
+ * (WAL) mode, allowing concurrent readers alongside the single writer
+ * connection. Each query is assigned to an idle read connection, opening new
+ * connections up to the max size. A read connection is busy while a result
+ * set from one of its cached statements remains open, see
+ * {@link StatementCache}. When all connections are busy, queries share the
+ * least busy connection. SQL functions created through
+ * {@link GeoPackageConnection#createFunction(String, Supplier)} are created on
+ * each read connection.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class ReadConnectionPool {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger log = Logger
+			.getLogger(ReadConnectionPool.class.getName());
+
+	/**
+	 * Default maximum number of read connections
+	 */
+	public static final int DEFAULT_MAX_SIZE = Runtime.getRuntime()
+			.availableProcessors();
+
+	/**
+	 * GeoPackage file
+	 */
+	private final File file;
+
+	/**
+	 * Read connections
+	 */
+	private final List<ReadConnection> connections = new ArrayList<>();
+
+	/**
+	 * SQL function factories by name
+	 */
+	private final Map<String, Supplier<? extends Function>> functions = new LinkedHashMap<>();
+
+	/**
+	 * Maximum number of read connections
+	 */
+	private int maxSize;
+
+	/**
+	 * Closed flag
+	 */
+	private boolean closed = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param file
+	 *            GeoPackage file
+	 */
+	public ReadConnectionPool(File file) {
+		this(file, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param file
+	 *            GeoPackage file
+	 * @param maxSize
+	 *            maximum number of read connections
+	 */
+	public ReadConnectionPool(File file, int maxSize) {
+		this.file = file;
+		setMaxSize(maxSize);
+	}
+
+	/**
+	 * Get the GeoPackage file
+	 *
+	 * @return file
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Get the maximum number of read connections
+	 *
+	 * @return max size
+	 */
+	public synchronized int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the maximum number of read connections. Reducing the max size does
+	 * not close open connections.
+	 *
+	 * @param maxSize
+	 *            maximum number of read connections
+	 */
+	public synchronized void setMaxSize(int maxSize) {
+		if (maxSize < 1) {
+			throw new GeoPackageException(
+					"Max size must be at least 1, not: " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get the number of open read connections
+	 *
+	 * @return size
+	 */
+	public synchronized int size() {
+		return connections.size();
+	}
+
+	/**
+	 * Get the number of read connections with open queries
+	 *
+	 * @return busy count
+	 */
+	public synchronized int getBusyCount() {
+		int busy = 0;
+		for (ReadConnection connection : connections) {
+			if (connection.getLoad() > 0) {
+				busy++;
+			}
+		}
+		return busy;
+	}
+
+	/**
+	 * Perform a database query on a read connection. Close the result set
+	 * statement to release the read connection.
+	 *
+	 * @param sql
+	 *            sql statement
+	 * @param args
+	 *            arguments
+	 * @return result set
+	 */
+	public ResultSet query(String sql, String[] args) {
+		ReadConnection connection = acquire();
+		try {
+			return SQLUtils.query(connection.statementCache, sql, args);
+		} finally {
+			synchronized (this) {
+				connection.reserved--;
+			}
+		}
+	}
+
+	/**
+	 * Create a SQL function on the open read connections and on read
+	 * connections opened later, each with its own function instance. A
+	 * function already created on the read connections is not redefined.
+	 *
+	 * @param name
+	 *            function name
+	 * @param function
+	 *            function factory
+	 */
+	public void createFunction(String name,
+			Supplier<? extends Function> function) {
+		List<ReadConnection> open;
+		synchronized (this) {
+			if (functions.putIfAbsent(name, function) != null) {
+				return;
+			}
+			open = new ArrayList<>(connections);
+		}
+		for (ReadConnection connection : open) {
+			connection.createFunction(name, function);
+		}
+	}
+
+	/**
+	 * Close all read connections
+	 */
+	public void close() {
+		List<ReadConnection> closing;
+		synchronized (this) {
+			closed = true;
+			closing = new ArrayList<>(connections);
+			connections.clear();
+		}
+		for (ReadConnection connection : closing) {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Acquire and reserve an idle read connection, opening a new connection
+	 * when none are idle and under the max size
+	 *
+	 * @return read connection
+	 */
+	private synchronized ReadConnection acquire() {
+
+		if (closed) {
+			throw new GeoPackageException(
+					"Read connection pool is closed: " + file.getAbsolutePath());
+		}
+
+		ReadConnection acquired = null;
+		int minLoad = Integer.MAX_VALUE;
+		for (ReadConnection connection : connections) {
+			int load = connection.getLoad();
+			if (load < minLoad) {
+				acquired = connection;
+				minLoad = load;
+				if (load == 0) {
+					break;
+				}
+			}
+		}
+
+		if (minLoad > 0 && connections.size() < maxSize) {
+			acquired = new ReadConnection(connect());
+			try {
+				for (Map.Entry<String, Supplier<? extends Function>> function : functions
+						.entrySet()) {
+					acquired.createFunction(function.getKey(),
+							function.getValue());
+				}
+			} catch (RuntimeException e) {
+				acquired.close();
+				throw e;
+			}
+			connections.add(acquired);
+		}
+
+		acquired.reserved++;
+
+		return acquired;
+	}
+
+	/**
+	 * Open a read only connection to the GeoPackage file
+	 *
+	 * @return connection
+	 */
+	private Connection connect() {
+		SQLiteConfig config = new SQLiteConfig();
+		config.setReadOnly(true);
+		try {
+			return DriverManager.getConnection("jdbc:sqlite:" + file.getPath(),
+					config.toProperties());
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to get read connection to the SQLite file: "
+							+ file.getAbsolutePath(),
+					e);
+		}
+	}
+
+	/**
+	 * Pooled read connection
+	 */
+	private class ReadConnection {
+
+		/**
+		 * Connection
+		 */
+		private final Connection connection;
+
+		/**
+		 * Statement cache
+		 */
+		private final StatementCache statementCache;
+
+		/**
+		 * Queries reserved on the connection and not yet executed
+		 */
+		private int reserved = 0;
+
+		/**
+		 * Constructor
+		 *
+		 * @param connection
+		 *            connection
+		 */
+		private ReadConnection(Connection connection) {
+			this.connection = connection;
+			this.statementCache = new StatementCache(connection);
+		}
+
+		/**
+		 * Get the number of pending and open queries
+		 *
+		 * @return load
+		 */
+		private int getLoad() {
+			return reserved + statementCache.getLeasedCount();
+		}
+
+		/**
+		 * Create a SQL function on the connection
+		 *
+		 * @param name
+		 *            function name
+		 * @param function
+		 *            function factory
+		 */
+		private void createFunction(String name,
+				Supplier<? extends Function> function) {
+			try {
+				Function.create(connection, name, function.get());
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to create function on read connection: "
+								+ name + ", file: " + file.getAbsolutePath(),
+						e);
+			}
+		}
+
+		/**
+		 * Close the connection
+		 */
+		private void close() {
+			statementCache.close();
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				log.log(Level.WARNING,
+						"Failed to close GeoPackage read connection to: "
+								+ file.getAbsolutePath(),
+						e);
+			}
+		}
+
+	}
+
+}
@@ -2,6 +2,7 @@ package mil.nga.geopackage.db;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 
 import mil.nga.geopackage.GeoPackageException;
@@ -20,6 +21,11 @@ public class ResultSetResult implements Result {
 	 */
 	protected ResultSet resultSet;
 
+	/**
+	 * Closed flag
+	 */
+	private boolean closed = false;
+
 	/**
 	 * Constructor
 	 * 
@@ -337,8 +343,13 @@ public class ResultSetResult implements Result {
 	 */
 	@Override
 	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		Statement statement;
 		try {
-			resultSet.getStatement().close();
+			statement = resultSet.getStatement();
 		} catch (SQLException e) {
 			throw new GeoPackageException("Failed to close ResultSet Statement",
 					e);
@@ -348,6 +359,14 @@ public class ResultSetResult implements Result {
 		} catch (SQLException e) {
 			throw new GeoPackageException("Failed to close ResultSet", e);
 		}
+		if (!SQLUtils.releaseStatement(statement)) {
+			try {
+				statement.close();
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to close ResultSet Statement", e);
+			}
+		}
 	}
 
 	/**
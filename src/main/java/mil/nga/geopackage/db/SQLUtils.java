@@ -61,12 +61,47 @@ public class SQLUtils {
 	 */
 	public static ResultSet query(Connection connection, String sql,
 			String[] selectionArgs) {
+		return query(connection, null, sql, selectionArgs);
+	}
+
+	/**
+	 * Query for results using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param sql
+	 *            sql statement
+	 * @param selectionArgs
+	 *            selection arguments
+	 * @return result set
+	 * @since 6.6.7
+	 */
+	public static ResultSet query(StatementCache cache, String sql,
+			String[] selectionArgs) {
+		return query(cache.getConnection(), cache, sql, selectionArgs);
+	}
+
+	/**
+	 * Query for results
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param cache
+	 *            statement cache or null
+	 * @param sql
+	 *            sql statement
+	 * @param selectionArgs
+	 *            selection arguments
+	 * @return result set
+	 */
+	private static ResultSet query(Connection connection, StatementCache cache,
+			String sql, String[] selectionArgs) {
 
 		PreparedStatement statement = null;
 		ResultSet resultSet = null;
 
 		try {
-			statement = connection.prepareStatement(sql);
+			statement = prepareStatement(connection, cache, sql);
 			setArguments(statement, selectionArgs);
 			resultSet = statement.executeQuery();
 		} catch (SQLException e) {
@@ -99,8 +134,14 @@ public class SQLUtils {
 		int count = -1;
 
 		try {
-			count = count(resultSet.getStatement().getConnection(), sql,
-					selectionArgs);
+			Statement statement = resultSet.getStatement();
+			if (statement instanceof LeasedPreparedStatement) {
+				count = count(
+						((LeasedPreparedStatement) statement).getCache(), sql,
+						selectionArgs);
+			} else {
+				count = count(statement.getConnection(), sql, selectionArgs);
+			}
 		} catch (SQLException e) {
 			throw new GeoPackageException(
 					"Failed to count result set query. SQL: " + sql + ", args: "
@@ -124,6 +165,42 @@ public class SQLUtils {
 	 */
 	public static int count(Connection connection, String sql,
 			String[] selectionArgs) {
+		return count(connection, null, sql, selectionArgs);
+	}
+
+	/**
+	 * Attempt to count the results of the query using statements leased from
+	 * the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param sql
+	 *            SQL statement
+	 * @param selectionArgs
+	 *            selection arguments
+	 * @return count if known, -1 if not able to determine
+	 * @since 6.6.7
+	 */
+	public static int count(StatementCache cache, String sql,
+			String[] selectionArgs) {
+		return count(cache.getConnection(), cache, sql, selectionArgs);
+	}
+
+	/**
+	 * Attempt to count the results of the query
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param cache
+	 *            statement cache or null
+	 * @param sql
+	 *            SQL statement
+	 * @param selectionArgs
+	 *            selection arguments
+	 * @return count if known, -1 if not able to determine
+	 */
+	private static int count(Connection connection, StatementCache cache,
+			String sql, String[] selectionArgs) {
 
 		List<String> sqlCommands = new ArrayList<>();
 
@@ -193,8 +270,10 @@ public class SQLUtils {
 			count = 0;
 			for (String sqlCommand : sqlCommands) {
 				try {
-					Object value = querySingleResult(connection, sqlCommand,
-							selectionArgs, 0, GeoPackageDataType.MEDIUMINT);
+					Object value = ResultUtils.buildSingleResult(
+							wrapQuery(connection, cache, sqlCommand,
+									selectionArgs),
+							0, GeoPackageDataType.MEDIUMINT);
 					if (value != null) {
 						count += ((Number) value).intValue();
 					}
@@ -253,6 +332,30 @@ public class SQLUtils {
 		return value;
 	}
 
+	/**
+	 * Query the SQL for a single result object with the expected data type
+	 * using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param sql
+	 *            sql statement
+	 * @param args
+	 *            arguments
+	 * @param column
+	 *            column index
+	 * @param dataType
+	 *            GeoPackage data type
+	 * @return result, null if no result
+	 * @since 6.6.7
+	 */
+	public static Object querySingleResult(StatementCache cache, String sql,
+			String[] args, int column, GeoPackageDataType dataType) {
+		ResultSetResult result = wrapQuery(cache, sql, args);
+		Object value = ResultUtils.buildSingleResult(result, column, dataType);
+		return value;
+	}
+
 	/**
 	 * Query for values from a single column up to the limit
 	 * 
@@ -280,6 +383,34 @@ public class SQLUtils {
 		return results;
 	}
 
+	/**
+	 * Query for values from a single column up to the limit using statements
+	 * leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param sql
+	 *            sql statement
+	 * @param args
+	 *            arguments
+	 * @param column
+	 *            column index
+	 * @param dataType
+	 *            GeoPackage data type
+	 * @param limit
+	 *            result row limit
+	 * @return single column results
+	 * @since 6.6.7
+	 */
+	public static List<Object> querySingleColumnResults(StatementCache cache,
+			String sql, String[] args, int column, GeoPackageDataType dataType,
+			Integer limit) {
+		ResultSetResult result = wrapQuery(cache, sql, args);
+		List<Object> results = ResultUtils.buildSingleColumnResults(result,
+				column, dataType, limit);
+		return results;
+	}
+
 	/**
 	 * Query for values up to the limit
 	 * 
@@ -305,6 +436,31 @@ public class SQLUtils {
 		return results;
 	}
 
+	/**
+	 * Query for values up to the limit using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param sql
+	 *            sql statement
+	 * @param args
+	 *            arguments
+	 * @param dataTypes
+	 *            column data types
+	 * @param limit
+	 *            result row limit
+	 * @return results
+	 * @since 6.6.7
+	 */
+	public static List<List<Object>> queryResults(StatementCache cache,
+			String sql, String[] args, GeoPackageDataType[] dataTypes,
+			Integer limit) {
+		ResultSetResult result = wrapQuery(cache, sql, args);
+		List<List<Object>> results = ResultUtils.buildResults(result, dataTypes,
+				limit);
+		return results;
+	}
+
 	/**
 	 * Execute a deletion
 	 * 
@@ -320,6 +476,45 @@ public class SQLUtils {
 	 */
 	public static int delete(Connection connection, String table, String where,
 			String[] args) {
+		return delete(connection, null, table, where, args);
+	}
+
+	/**
+	 * Execute a deletion using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param table
+	 *            table name
+	 * @param where
+	 *            where clause
+	 * @param args
+	 *            where arguments
+	 * @return deleted count
+	 * @since 6.6.7
+	 */
+	public static int delete(StatementCache cache, String table, String where,
+			String[] args) {
+		return delete(cache.getConnection(), cache, table, where, args);
+	}
+
+	/**
+	 * Execute a deletion
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param cache
+	 *            statement cache or null
+	 * @param table
+	 *            table name
+	 * @param where
+	 *            where clause
+	 * @param args
+	 *            where arguments
+	 * @return deleted count
+	 */
+	private static int delete(Connection connection, StatementCache cache,
+			String table, String where, String[] args) {
 		StringBuilder delete = new StringBuilder();
 		delete.append("delete from ").append(CoreSQLUtils.quoteWrap(table));
 		if (where != null) {
@@ -331,7 +526,7 @@ public class SQLUtils {
 
 		int count = 0;
 		try {
-			statement = connection.prepareStatement(sql);
+			statement = prepareStatement(connection, cache, sql);
 			setArguments(statement, args);
 			count = statement.executeUpdate();
 		} catch (SQLException e) {
@@ -361,6 +556,52 @@ public class SQLUtils {
 	 */
 	public static int update(Connection connection, String table,
 			ContentValues values, String whereClause, String[] whereArgs) {
+		return update(connection, null, table, values, whereClause,
+				whereArgs);
+	}
+
+	/**
+	 * Update table rows using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param table
+	 *            table name
+	 * @param values
+	 *            content values
+	 * @param whereClause
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @return updated count
+	 * @since 6.6.7
+	 */
+	public static int update(StatementCache cache, String table,
+			ContentValues values, String whereClause, String[] whereArgs) {
+		return update(cache.getConnection(), cache, table, values, whereClause,
+				whereArgs);
+	}
+
+	/**
+	 * Update table rows
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param cache
+	 *            statement cache or null
+	 * @param table
+	 *            table name
+	 * @param values
+	 *            content values
+	 * @param whereClause
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @return updated count
+	 */
+	private static int update(Connection connection, StatementCache cache,
+			String table, ContentValues values, String whereClause,
+			String[] whereArgs) {
 
 		StringBuilder update = new StringBuilder();
 		update.append("update ").append(CoreSQLUtils.quoteWrap(table))
@@ -392,7 +633,7 @@ public class SQLUtils {
 
 		int count = 0;
 		try {
-			statement = connection.prepareStatement(sql);
+			statement = prepareStatement(connection, cache, sql);
 			setArguments(statement, args);
 			count = statement.executeUpdate();
 		} catch (SQLException e) {
@@ -478,6 +719,106 @@ public class SQLUtils {
 	 */
 	public static long insertOrThrow(Connection connection, String table,
 			String pkColumn, ContentValues values) {
+		return insertOrThrow(connection, null, table, pkColumn, values);
+	}
+
+	/**
+	 * Insert a new row using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param table
+	 *            table name
+	 * @param values
+	 *            content values
+	 * @return row id or -1 on an exception
+	 * @since 6.6.7
+	 */
+	public static long insert(StatementCache cache, String table,
+			ContentValues values) {
+		return insert(cache, table, null, values);
+	}
+
+	/**
+	 * Insert a new row using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param table
+	 *            table name
+	 * @param values
+	 *            content values
+	 * @return row id
+	 * @since 6.6.7
+	 */
+	public static long insertOrThrow(StatementCache cache, String table,
+			ContentValues values) {
+		return insertOrThrow(cache, table, null, values);
+	}
+
+	/**
+	 * Insert a new row using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param table
+	 *            table name
+	 * @param pkColumn
+	 *            primary key id column
+	 * @param values
+	 *            content values
+	 * @return row id or -1 on an exception
+	 * @since 6.6.7
+	 */
+	public static long insert(StatementCache cache, String table,
+			String pkColumn, ContentValues values) {
+		try {
+			return insertOrThrow(cache, table, pkColumn, values);
+		} catch (Exception e) {
+			log.log(Level.WARNING, "Error inserting into table: " + table
+					+ ", Values: " + values, e);
+			return -1;
+		}
+	}
+
+	/**
+	 * Insert a new row using statements leased from the cache
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param table
+	 *            table name
+	 * @param pkColumn
+	 *            primary key id column
+	 * @param values
+	 *            content values
+	 * @return row id
+	 * @since 6.6.7
+	 */
+	public static long insertOrThrow(StatementCache cache, String table,
+			String pkColumn, ContentValues values) {
+		return insertOrThrow(cache.getConnection(), cache, table, pkColumn,
+				values);
+	}
+
+	/**
+	 * Insert a new row
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param cache
+	 *            statement cache or null
+	 * @param table
+	 *            table name
+	 * @param pkColumn
+	 *            primary key id column
+	 * @param values
+	 *            content values
+	 * @return row id
+	 */
+	private static long insertOrThrow(Connection connection,
+			StatementCache cache, String table, String pkColumn,
+			ContentValues values) {
 
 		StringBuilder insert = new StringBuilder();
 		insert.append("insert into ").append(CoreSQLUtils.quoteWrap(table))
@@ -512,21 +853,21 @@ public class SQLUtils {
 
 		long id = 0;
 		try {
-			statement = connection.prepareStatement(sql);
+			statement = prepareStatement(connection, cache, sql);
 			setArguments(statement, args);
-			boolean result = statement.execute();
 
-			while (result) {
-				ResultSet resultSet = statement.getResultSet();
+			// Read and close the returning result, resetting the statement for
+			// reuse from the statement cache
+			ResultSet resultSet = statement.executeQuery();
+			try {
+				if (!resultSet.next()) {
+					throw new GeoPackageException(
+							"Failed to execute SQL insert statement: " + sql
+									+ ". No rows added from execution.");
+				}
 				id = resultSet.getLong(pkColumn);
-				result = statement.getMoreResults();
-			}
-
-			int count = statement.getUpdateCount();
-			if (count == 0) {
-				throw new GeoPackageException(
-						"Failed to execute SQL insert statement: " + sql
-								+ ". No rows added from execution.");
+			} finally {
+				closeResultSet(resultSet, sql);
 			}
 
 		} catch (SQLException e) {
@@ -569,7 +910,9 @@ public class SQLUtils {
 	public static void closeStatement(Statement statement, String sql) {
 		if (statement != null) {
 			try {
-				statement.close();
+				if (!releaseStatement(statement)) {
+					statement.close();
+				}
 			} catch (SQLException e) {
 				log.log(Level.WARNING, "Failed to close SQL Statement: " + sql,
 						e);
@@ -598,7 +941,8 @@ public class SQLUtils {
 
 	/**
 	 * Close the ResultSet Statement from which it was created, which closes all
-	 * ResultSets as well
+	 * ResultSets as well. Cached statements are returned to their
+	 * {@link StatementCache} after closing the ResultSet.
 	 * 
 	 * @param resultSet
 	 *            result set
@@ -608,15 +952,56 @@ public class SQLUtils {
 	public static void closeResultSetStatement(ResultSet resultSet,
 			String sql) {
 		if (resultSet != null) {
+			Statement statement = null;
 			try {
-				resultSet.getStatement().close();
+				statement = resultSet.getStatement();
 			} catch (SQLException e) {
 				log.log(Level.WARNING, "Failed to close SQL ResultSet: " + sql,
 						e);
 			}
+			closeResultSet(resultSet, sql);
+			closeStatement(statement, sql);
 		}
 	}
 
+	/**
+	 * Prepare a statement, leased from the statement cache when provided.
+	 * Close with {@link #closeStatement(Statement, String)} to return the
+	 * statement to the cache.
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param cache
+	 *            statement cache or null
+	 * @param sql
+	 *            sql statement
+	 * @return prepared statement
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	private static PreparedStatement prepareStatement(Connection connection,
+			StatementCache cache, String sql) throws SQLException {
+		PreparedStatement statement = null;
+		if (cache != null) {
+			statement = cache.prepareStatement(sql);
+		} else {
+			statement = connection.prepareStatement(sql);
+		}
+		return statement;
+	}
+
+	/**
+	 * Release the statement to the statement cache it was leased from
+	 * 
+	 * @param statement
+	 *            statement
+	 * @return true if managed by a statement cache, false if the statement
+	 *         should be closed by the caller
+	 */
+	static boolean releaseStatement(Statement statement) {
+		return StatementCache.releaseLease(statement);
+	}
+
 	/**
 	 * Perform the query and wrap as a result
 	 * 
@@ -631,7 +1016,44 @@ public class SQLUtils {
 	 */
 	public static ResultSetResult wrapQuery(Connection connection, String sql,
 			String[] selectionArgs) {
-		return new ResultSetResult(query(connection, sql, selectionArgs));
+		return wrapQuery(connection, null, sql, selectionArgs);
+	}
+
+	/**
+	 * Perform the query using statements leased from the cache and wrap as a
+	 * result
+	 * 
+	 * @param cache
+	 *            statement cache
+	 * @param sql
+	 *            sql statement
+	 * @param selectionArgs
+	 *            selection arguments
+	 * @return result
+	 * @since 6.6.7
+	 */
+	public static ResultSetResult wrapQuery(StatementCache cache, String sql,
+			String[] selectionArgs) {
+		return wrapQuery(cache.getConnection(), cache, sql, selectionArgs);
+	}
+
+	/**
+	 * Perform the query and wrap as a result
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param cache
+	 *            statement cache or null
+	 * @param sql
+	 *            sql statement
+	 * @param selectionArgs
+	 *            selection arguments
+	 * @return result
+	 */
+	private static ResultSetResult wrapQuery(Connection connection,
+			StatementCache cache, String sql, String[] selectionArgs) {
+		return new ResultSetResult(
+				query(connection, cache, sql, selectionArgs));
 	}
 
 	/**
@@ -0,0 +1,351 @@
+package mil.nga.geopackage.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.WeightedLruCache;
+
+/**
+ * Least recently used cache of idle prepared statements for a connection,
+ * keyed by SQL. Statements are leased exclusively while in use and returned
+ * to the cache when closed through {@link SQLUtils}. Pass the cache in place
+ * of the connection to the {@link SQLUtils} methods to use it. Leased
+ * statements and their result sets stop working once the lease is released.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class StatementCache {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger log = Logger
+			.getLogger(StatementCache.class.getName());
+
+	/**
+	 * Default maximum number of cached statements
+	 */
+	public static final int DEFAULT_MAX_SIZE = 64;
+
+	/**
+	 * Release a statement leased from a statement cache
+	 *
+	 * @param statement
+	 *            statement
+	 * @return true if the statement was leased from a statement cache, false
+	 *         if the statement is not managed by a cache and was not closed
+	 */
+	static boolean releaseLease(Statement statement) {
+		boolean leased = statement instanceof LeasedPreparedStatement;
+		if (leased) {
+			((LeasedPreparedStatement) statement).release();
+		}
+		return leased;
+	}
+
+	/**
+	 * Connection
+	 */
+	private final Connection connection;
+
+	/**
+	 * Idle statements by SQL, each weighing one
+	 */
+	private final WeightedLruCache<String, PreparedStatement> statements = new WeightedLruCache<>(
+			statement -> 1, 0);
+
+	/**
+	 * Leases not yet released
+	 */
+	private final Set<LeasedPreparedStatement> leases = new HashSet<>();
+
+	/**
+	 * Closed flag
+	 */
+	private boolean closed = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param connection
+	 *            connection
+	 */
+	public StatementCache(Connection connection) {
+		this(connection, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param connection
+	 *            connection
+	 * @param maxSize
+	 *            maximum number of cached statements, 0 to disable caching
+	 */
+	public StatementCache(Connection connection, int maxSize) {
+		this.connection = connection;
+		setMaxSize(maxSize);
+	}
+
+	/**
+	 * Get the connection
+	 *
+	 * @return connection
+	 */
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Get the maximum number of cached statements
+	 *
+	 * @return max size
+	 */
+	public synchronized int getMaxSize() {
+		return (int) statements.getMaxWeight();
+	}
+
+	/**
+	 * Set the maximum number of cached statements, evicting least recently
+	 * used statements when reduced
+	 *
+	 * @param maxSize
+	 *            maximum number of cached statements, 0 to disable caching
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new GeoPackageException(
+					"Max size must not be negative: " + maxSize);
+		}
+		List<PreparedStatement> evicted;
+		synchronized (this) {
+			evicted = statements.setMaxWeight(maxSize);
+		}
+		close(evicted);
+	}
+
+	/**
+	 * Get the number of idle cached statements
+	 *
+	 * @return size
+	 */
+	public synchronized int size() {
+		return statements.size();
+	}
+
+	/**
+	 * Get the number of leased statements not yet returned
+	 *
+	 * @return leased count
+	 */
+	public synchronized int getLeasedCount() {
+		return leases.size();
+	}
+
+	/**
+	 * Get the number of statement requests served from the cache
+	 *
+	 * @return hits
+	 */
+	public synchronized long getHits() {
+		return statements.getHits();
+	}
+
+	/**
+	 * Get the number of statement requests that prepared a new statement
+	 *
+	 * @return misses
+	 */
+	public synchronized long getMisses() {
+		return statements.getMisses();
+	}
+
+	/**
+	 * Get the number of statements closed to keep the cache within the max
+	 * size
+	 *
+	 * @return evictions
+	 */
+	public synchronized long getEvictions() {
+		return statements.getEvictions();
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counters
+	 */
+	public synchronized void resetStats() {
+		statements.resetStats();
+	}
+
+	/**
+	 * Lease a prepared statement for the SQL, preparing a new statement when
+	 * not cached. Return the statement with {@link #release(Statement)} or
+	 * by closing it.
+	 *
+	 * @param sql
+	 *            SQL statement
+	 * @return prepared statement lease
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		PreparedStatement statement;
+		synchronized (this) {
+			statement = statements.get(sql);
+			if (statement != null) {
+				statements.remove(sql);
+			}
+		}
+		if (statement != null && statement.isClosed()) {
+			// Statement closed outside of the cache
+			statement = null;
+		}
+		if (statement == null) {
+			statement = connection.prepareStatement(sql);
+		}
+		LeasedPreparedStatement lease = new LeasedPreparedStatement(this, sql,
+				statement);
+		synchronized (this) {
+			leases.add(lease);
+		}
+		return lease;
+	}
+
+	/**
+	 * Release a leased statement back into the cache. The statement is closed
+	 * if caching is disabled, the cache is closed, or an idle statement for
+	 * the same SQL is already cached. Releasing a lease again has no effect.
+	 *
+	 * @param statement
+	 *            statement
+	 * @return true if the statement was leased from this cache, false if the
+	 *         statement is not managed by the cache and was not closed
+	 */
+	public boolean release(Statement statement) {
+		boolean managed = statement instanceof LeasedPreparedStatement
+				&& ((LeasedPreparedStatement) statement).getCache() == this;
+		if (managed) {
+			release((LeasedPreparedStatement) statement);
+		}
+		return managed;
+	}
+
+	/**
+	 * Release a lease of this cache, returning the statement to the cache on
+	 * the first release only
+	 *
+	 * @param lease
+	 *            statement lease
+	 */
+	void release(LeasedPreparedStatement lease) {
+		synchronized (this) {
+			if (lease.isReleased()) {
+				return;
+			}
+			lease.setReleased();
+			leases.remove(lease);
+		}
+		restore(lease.getSql(), lease.getStatement());
+	}
+
+	/**
+	 * Return the statement of a released lease to the idle statements
+	 *
+	 * @param sql
+	 *            SQL statement
+	 * @param statement
+	 *            prepared statement
+	 */
+	private void restore(String sql, PreparedStatement statement) {
+
+		boolean reusable = false;
+		try {
+			reusable = !statement.isClosed();
+			if (reusable) {
+				statement.clearParameters();
+			}
+		} catch (SQLException e) {
+			log.log(Level.WARNING,
+					"Failed to reset cached SQL Statement: " + sql, e);
+			reusable = false;
+		}
+
+		List<PreparedStatement> evicted = null;
+		if (reusable) {
+			synchronized (this) {
+				if (!closed && statements.getMaxWeight() > 0
+						&& !statements.containsKey(sql)) {
+					evicted = statements.put(sql, statement);
+					statement = null;
+				}
+			}
+		}
+		if (statement != null) {
+			closeStatement(statement, sql);
+		}
+		close(evicted);
+	}
+
+	/**
+	 * Close and remove all idle cached statements
+	 */
+	public void clear() {
+		List<PreparedStatement> removed;
+		synchronized (this) {
+			removed = statements.clear();
+		}
+		close(removed);
+	}
+
+	/**
+	 * Close the cache, closing all idle statements. Leased statements are
+	 * closed when released.
+	 */
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		clear();
+	}
+
+	/**
+	 * Close the removed statements
+	 *
+	 * @param removed
+	 *            removed statements
+	 */
+	private void close(List<PreparedStatement> removed) {
+		if (removed != null) {
+			for (PreparedStatement statement : removed) {
+				closeStatement(statement, null);
+			}
+		}
+	}
+
+	/**
+	 * Close the statement
+	 *
+	 * @param statement
+	 *            statement
+	 * @param sql
+	 *            SQL statement
+	 */
+	private static void closeStatement(Statement statement, String sql) {
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			log.log(Level.WARNING, "Failed to close cached SQL Statement"
+					+ (sql != null ? ": " + sql : ""), e);
+		}
+	}
+
+}
@@ -1,10 +1,17 @@
 package mil.nga.geopackage.extension.coverage;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
+import org.locationtech.proj4j.ProjCoordinate;
+
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.GeoPackageException;
@@ -21,6 +28,7 @@ import mil.nga.geopackage.tiles.user.TileRow;
 import mil.nga.geopackage.tiles.user.TileTable;
 import mil.nga.geopackage.tiles.user.TileTableMetadata;
 import mil.nga.proj.Projection;
+import mil.nga.proj.ProjectionTransform;
 import mil.nga.sf.proj.GeometryTransform;
 
 /**
@@ -164,11 +172,42 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 		return coverageData;
 	}
 
+	/**
+	 * Tile grid order by minimum tile row and then column
+	 */
+	private static final Comparator<TileGrid> TILE_GRID_ORDER = new Comparator<TileGrid>() {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compare(TileGrid grid1, TileGrid grid2) {
+			int compare = Long.compare(grid1.getMinY(), grid2.getMinY());
+			if (compare == 0) {
+				compare = Long.compare(grid1.getMinX(), grid2.getMinX());
+				if (compare == 0) {
+					compare = Long.compare(grid1.getMaxY(), grid2.getMaxY());
+					if (compare == 0) {
+						compare = Long.compare(grid1.getMaxX(),
+								grid2.getMaxX());
+					}
+				}
+			}
+			return compare;
+		}
+
+	};
+
 	/**
 	 * Tile DAO
 	 */
 	protected final TileDao tileDao;
 
+	/**
+	 * Decoded coverage data tile cache, null when not enabled
+	 */
+	private CoverageDataTileCache tileCache;
+
 	/**
 	 * Constructor
 	 * 
@@ -243,6 +282,21 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 	public abstract Double[] getValues(GriddedTile griddedTile,
 			byte[] imageBytes);
 
+	/**
+	 * Get the coverage data values of the image as a flat primitive array of
+	 * length width * height where each coverage data value is at: (y * width)
+	 * + x
+	 *
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param image
+	 *            coverage data image
+	 * @return coverage data values, NaN for no data
+	 * @since 6.6.7
+	 */
+	public abstract double[] getTileValues(GriddedTile griddedTile,
+			TImage image);
+
 	/**
 	 * Draw a coverage data image tile and format as image bytes from the flat
 	 * array of coverage data values of length tileWidth * tileHeight where each
@@ -283,14 +337,123 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 		return tileDao;
 	}
 
+	/**
+	 * Get the decoded coverage data tile cache
+	 *
+	 * @return tile cache or null if not enabled
+	 * @since 6.6.7
+	 */
+	public CoverageDataTileCache getTileCache() {
+		return tileCache;
+	}
+
+	/**
+	 * Set the decoded coverage data tile cache. A cache may be shared by
+	 * coverage data of multiple tile tables.
+	 *
+	 * @param tileCache
+	 *            tile cache, null to disable
+	 * @since 6.6.7
+	 */
+	public void setTileCache(CoverageDataTileCache tileCache) {
+		this.tileCache = tileCache;
+	}
+
+	/**
+	 * Enable a decoded coverage data tile cache with the default max bytes if
+	 * not already enabled
+	 *
+	 * @return tile cache
+	 * @since 6.6.7
+	 */
+	public CoverageDataTileCache enableTileCache() {
+		return enableTileCache(CoverageDataTileCache.DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Enable a decoded coverage data tile cache if not already enabled, or set
+	 * the max bytes of the enabled cache
+	 *
+	 * @param maxBytes
+	 *            maximum total estimated bytes of cached tiles
+	 * @return tile cache
+	 * @since 6.6.7
+	 */
+	public CoverageDataTileCache enableTileCache(long maxBytes) {
+		if (tileCache == null) {
+			tileCache = new CoverageDataTileCache(maxBytes);
+		} else {
+			tileCache.setMaxBytes(maxBytes);
+		}
+		return tileCache;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public CoverageDataResults getValues(CoverageDataRequest request,
 			Integer width, Integer height) {
-
 		CoverageDataResults coverageDataResults = null;
+		CoverageDataGrid grid = getGrid(request, width, height);
+		if (grid != null) {
+			coverageDataResults = grid.toResults();
+		}
+		return coverageDataResults;
+	}
+
+	/**
+	 * Get the coverage data values within the bounding box as a primitive
+	 * grid, using the coverage data response width and height
+	 *
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @return coverage data grid or null
+	 * @since 6.6.7
+	 */
+	public CoverageDataGrid getGrid(BoundingBox requestBoundingBox) {
+		return getGrid(requestBoundingBox, width, height);
+	}
+
+	/**
+	 * Get the coverage data values within the bounding box as a primitive
+	 * grid with the requested width and height result size
+	 *
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @param width
+	 *            coverage data request width
+	 * @param height
+	 *            coverage data request height
+	 * @return coverage data grid or null
+	 * @since 6.6.7
+	 */
+	public CoverageDataGrid getGrid(BoundingBox requestBoundingBox,
+			Integer width, Integer height) {
+		CoverageDataRequest request = new CoverageDataRequest(
+				requestBoundingBox);
+		return getGrid(request, width, height);
+	}
+
+	/**
+	 * Get the coverage data values of the request as a primitive grid with the
+	 * requested width and height result size. Tiles are decoded and
+	 * interpolated as primitive values, with {@link Double#NaN} marking pixels
+	 * without a coverage data value.
+	 *
+	 * @param request
+	 *            coverage data request
+	 * @param width
+	 *            coverage data request width
+	 * @param height
+	 *            coverage data request height
+	 * @return coverage data grid or null
+	 * @since 6.6.7
+	 */
+	public CoverageDataGrid getGrid(CoverageDataRequest request,
+			Integer width, Integer height) {
+
+		CoverageDataGrid grid = null;
 
 		// Transform to the projection of the coverage data tiles
 		GeometryTransform transformRequestToCoverage = null;
@@ -305,23 +468,30 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 
 		// Determine how many overlapping pixels to store based upon the
 		// algorithm
-		int overlappingPixels;
-		switch (algorithm) {
-		case BICUBIC:
-			overlappingPixels = 3;
-			break;
-		default:
-			overlappingPixels = 1;
-		}
+		int overlappingPixels = getOverlappingPixels();
 
-		// Find the tile matrix and results
-		CoverageDataTileMatrixResults results = getResults(request,
+		// Find the tile matrix and tiles, from the tile cache when caching
+		// every needed tile
+		TileMatrix tileMatrix = null;
+		Iterator<CoverageDataTile> tiles = null;
+		TileResultSet tileResults = null;
+		List<CoverageDataTile> cachedTiles = getCachedTiles(request,
 				requestProjectedBoundingBox, overlappingPixels);
+		if (cachedTiles != null) {
+			tileMatrix = tileDao.getTileMatrix(
+					cachedTiles.get(0).getZoomLevel());
+			tiles = cachedTiles.iterator();
+		} else {
+			CoverageDataTileMatrixResults results = getResults(request,
+					requestProjectedBoundingBox, overlappingPixels);
+			if (results != null) {
+				tileMatrix = results.getTileMatrix();
+				tileResults = results.getTileResults();
+				tiles = getTiles(tileResults);
+			}
+		}
 
-		if (results != null) {
-
-			TileMatrix tileMatrix = results.getTileMatrix();
-			TileResultSet tileResults = results.getTileResults();
+		if (tiles != null) {
 
 			try {
 
@@ -354,31 +524,331 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 					}
 				}
 
-				// Retrieve the coverage data from the results
-				Double[][] values = getValues(tileMatrix, tileResults, request,
+				// Retrieve the coverage data from the tiles
+				double[] values = getValues(tileMatrix, tiles, request,
 						tileWidth, tileHeight, overlappingPixels);
 
 				// Project the coverage data if needed
 				if (values != null && !sameProjection && !request.isPoint()) {
-					values = reprojectCoverageData(values,
-							requestedCoverageDataWidth,
+					values = reprojectCoverageData(values, tileWidth,
+							tileHeight, requestedCoverageDataWidth,
 							requestedCoverageDataHeight,
 							request.getBoundingBox(),
 							transformRequestToCoverage,
 							requestProjectedBoundingBox);
+					tileWidth = requestedCoverageDataWidth;
+					tileHeight = requestedCoverageDataHeight;
 				}
 
 				// Create the results
 				if (values != null) {
-					coverageDataResults = new CoverageDataResults(values,
+					grid = new CoverageDataGrid(values, tileWidth, tileHeight,
 							tileMatrix);
 				}
 			} finally {
-				tileResults.close();
+				if (tileResults != null) {
+					tileResults.close();
+				}
 			}
 		}
 
-		return coverageDataResults;
+		return grid;
+	}
+
+	/**
+	 * Get the number of overlapping pixels to store based upon the algorithm
+	 *
+	 * @return overlapping pixels
+	 */
+	private int getOverlappingPixels() {
+		int overlappingPixels;
+		switch (algorithm) {
+		case BICUBIC:
+			overlappingPixels = 3;
+			break;
+		default:
+			overlappingPixels = 1;
+		}
+		return overlappingPixels;
+	}
+
+	/**
+	 * Get the coverage data values of many points at once, matching
+	 * {@link #getValue(double, double)} for each point. Points are grouped by
+	 * the tiles they need so each group of tiles is queried and decoded once,
+	 * transformed to the coverage data projection through a single transform,
+	 * and interpolated from the decoded primitive tile values. Decoded tiles
+	 * are shared through the tile cache when enabled, or a cache of the
+	 * default size for the call when not.
+	 *
+	 * @param latitudes
+	 *            latitudes in the request projection
+	 * @param longitudes
+	 *            longitudes in the request projection
+	 * @return coverage data values, NaN for no data or points outside of the
+	 *         coverage data
+	 * @since 6.6.7
+	 */
+	public double[] getValues(double[] latitudes, double[] longitudes) {
+
+		if (latitudes.length != longitudes.length) {
+			throw new GeoPackageException("Latitudes length of "
+					+ latitudes.length + " does not match the longitudes length "
+					+ longitudes.length);
+		}
+
+		double[] values = new double[latitudes.length];
+		Arrays.fill(values, Double.NaN);
+
+		// Transform to the projection of the coverage data tiles
+		GeometryTransform transformRequestToCoverage = null;
+		if (!sameProjection) {
+			transformRequestToCoverage = GeometryTransform
+					.create(requestProjection, coverageProjection);
+		}
+
+		int overlappingPixels = getOverlappingPixels();
+
+		// Group the point requests by zoom level and the tile grid of the
+		// needed tiles, ordered by tile row and then column
+		CoverageDataRequest[] requests = new CoverageDataRequest[values.length];
+		Map<Long, TileMatrix> tileMatrices = new HashMap<>();
+		Map<Long, Map<TileGrid, List<Integer>>> groups = new TreeMap<>();
+		for (int i = 0; i < values.length; i++) {
+
+			CoverageDataRequest request = new CoverageDataRequest(
+					latitudes[i], longitudes[i]);
+			BoundingBox requestProjectedBoundingBox = request.getBoundingBox();
+			if (transformRequestToCoverage != null) {
+				requestProjectedBoundingBox = requestProjectedBoundingBox
+						.transform(transformRequestToCoverage);
+			}
+			request.setProjectedBoundingBox(requestProjectedBoundingBox);
+			requests[i] = request;
+
+			TileMatrix tileMatrix = getTileMatrix(request);
+			if (tileMatrix != null) {
+				long zoomLevel = tileMatrix.getZoomLevel();
+				tileMatrices.put(zoomLevel, tileMatrix);
+				Map<TileGrid, List<Integer>> zoomGroups = groups.get(zoomLevel);
+				if (zoomGroups == null) {
+					zoomGroups = new TreeMap<>(TILE_GRID_ORDER);
+					groups.put(zoomLevel, zoomGroups);
+				}
+				TileGrid tileGrid = getTileGrid(padBoundingBox(tileMatrix,
+						requestProjectedBoundingBox, overlappingPixels),
+						tileMatrix);
+				List<Integer> indices = zoomGroups.get(tileGrid);
+				if (indices == null) {
+					indices = new ArrayList<>();
+					zoomGroups.put(tileGrid, indices);
+				}
+				indices.add(i);
+			}
+		}
+
+		CoverageDataTileCache cache = tileCache;
+		if (cache == null && !groups.isEmpty()) {
+			cache = new CoverageDataTileCache();
+		}
+
+		double[] pointValue = new double[1];
+
+		for (Map.Entry<Long, Map<TileGrid, List<Integer>>> zoomGroups : groups
+				.entrySet()) {
+
+			TileMatrix tileMatrix = tileMatrices.get(zoomGroups.getKey());
+
+			for (Map.Entry<TileGrid, List<Integer>> group : zoomGroups
+					.getValue().entrySet()) {
+
+				List<CoverageDataTile> tiles = getTiles(tileMatrix,
+						group.getKey(), cache);
+
+				if (tiles.isEmpty()) {
+
+					// Zoom in or out to find coverage data for each point
+					for (int i : group.getValue()) {
+						CoverageDataGrid grid = getGrid(requests[i], 1, 1);
+						if (grid != null) {
+							values[i] = grid.getValue(0, 0);
+						}
+					}
+
+				} else {
+
+					// Prepare the tile values and bounding boxes once
+					CoverageDataTileBorders borders = new CoverageDataTileBorders(
+							tileMatrix, overlappingPixels);
+					CoverageDataTileValues[] tileValues = new CoverageDataTileValues[tiles
+							.size()];
+					BoundingBox[] tileBoundingBoxes = new BoundingBox[tiles
+							.size()];
+					for (int t = 0; t < tileValues.length; t++) {
+						CoverageDataTileValues tile = borders.next(tiles.get(t));
+						tileValues[t] = tile;
+						tileBoundingBoxes[t] = TileBoundingBoxUtils
+								.getBoundingBox(coverageBoundingBox, tileMatrix,
+										tile.getTileColumn(),
+										tile.getTileRow());
+					}
+
+					// Interpolate each point from the tiles
+					for (int i : group.getValue()) {
+						pointValue[0] = Double.NaN;
+						for (int t = 0; t < tileValues.length; t++) {
+							setValues(tileMatrix, tileValues[t],
+									tileBoundingBoxes[t], requests[i], 1, 1,
+									overlappingPixels, pointValue);
+						}
+						values[i] = pointValue[0];
+					}
+
+				}
+			}
+		}
+
+		return values;
+	}
+
+	/**
+	 * Get the decoded coverage data tiles of the tile grid, without querying
+	 * when every tile is cached
+	 *
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param tileGrid
+	 *            tile grid
+	 * @param cache
+	 *            tile cache
+	 * @return tiles ordered by row and then column
+	 */
+	private List<CoverageDataTile> getTiles(TileMatrix tileMatrix,
+			TileGrid tileGrid, CoverageDataTileCache cache) {
+		List<CoverageDataTile> tiles = cache.get(tileDao.getTableName(),
+				tileMatrix.getZoomLevel(), tileGrid);
+		if (tiles == null) {
+			tiles = new ArrayList<>();
+			TileResultSet tileResults = tileDao.queryByTileGrid(tileGrid,
+					tileMatrix.getZoomLevel(), TileTable.COLUMN_TILE_ROW + ","
+							+ TileTable.COLUMN_TILE_COLUMN);
+			if (tileResults != null) {
+				try {
+					while (tileResults.moveToNext()) {
+						tiles.add(getTile(tileResults.getRow(), cache));
+					}
+				} finally {
+					tileResults.close();
+				}
+			}
+		}
+		return tiles;
+	}
+
+	/**
+	 * Get the cached coverage data tiles needed for the request when every
+	 * tile of the request tile matrix is cached
+	 *
+	 * @param request
+	 *            coverage data request
+	 * @param requestProjectedBoundingBox
+	 *            request projected bounding box
+	 * @param overlappingPixels
+	 *            overlapping request pixels
+	 * @return cached tiles ordered by row and then column, or null
+	 */
+	private List<CoverageDataTile> getCachedTiles(CoverageDataRequest request,
+			BoundingBox requestProjectedBoundingBox, int overlappingPixels) {
+		List<CoverageDataTile> cachedTiles = null;
+		CoverageDataTileCache cache = tileCache;
+		if (cache != null) {
+			TileMatrix tileMatrix = getTileMatrix(request);
+			if (tileMatrix != null) {
+				BoundingBox paddedBoundingBox = padBoundingBox(tileMatrix,
+						requestProjectedBoundingBox, overlappingPixels);
+				cachedTiles = cache.get(tileDao.getTableName(),
+						tileMatrix.getZoomLevel(),
+						getTileGrid(paddedBoundingBox, tileMatrix));
+				if (cachedTiles != null && cachedTiles.isEmpty()) {
+					cachedTiles = null;
+				}
+			}
+		}
+		return cachedTiles;
+	}
+
+	/**
+	 * Get an iterator of the decoded coverage data tiles of the tile results
+	 *
+	 * @param tileResults
+	 *            tile results
+	 * @return coverage data tile iterator
+	 */
+	private Iterator<CoverageDataTile> getTiles(
+			final TileResultSet tileResults) {
+		return new Iterator<CoverageDataTile>() {
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public boolean hasNext() {
+				return tileResults.moveToNext();
+			}
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public CoverageDataTile next() {
+				return getTile(tileResults.getRow());
+			}
+
+		};
+	}
+
+	/**
+	 * Get the decoded coverage data tile of the tile row, from the tile cache
+	 * when enabled and cached
+	 *
+	 * @param tileRow
+	 *            tile row
+	 * @return coverage data tile
+	 * @since 6.6.7
+	 */
+	public CoverageDataTile getTile(TileRow tileRow) {
+		return getTile(tileRow, tileCache);
+	}
+
+	/**
+	 * Get the decoded coverage data tile of the tile row, from the tile cache
+	 * when provided and cached
+	 *
+	 * @param tileRow
+	 *            tile row
+	 * @param cache
+	 *            tile cache or null
+	 * @return coverage data tile
+	 */
+	private CoverageDataTile getTile(TileRow tileRow,
+			CoverageDataTileCache cache) {
+		CoverageDataTile tile = null;
+		if (cache != null) {
+			tile = cache.get(tileDao.getTableName(), tileRow.getZoomLevel(),
+					tileRow.getTileColumn(), tileRow.getTileRow());
+		}
+		if (tile == null) {
+			GriddedTile griddedTile = getGriddedTile(tileRow.getId());
+			TImage image = createImage(tileRow);
+			tile = new CoverageDataTile(tileRow.getZoomLevel(),
+					tileRow.getTileColumn(), tileRow.getTileRow(), griddedTile,
+					getTileValues(griddedTile, image), image.getWidth(),
+					image.getHeight());
+			if (cache != null) {
+				cache.put(tileDao.getTableName(), tile);
+			}
+		}
+		return tile;
 	}
 
 	/**
@@ -609,13 +1079,13 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 	}
 
 	/**
-	 * Get the coverage data values from the tile results scaled to the provided
+	 * Get the coverage data values from the tiles scaled to the provided
 	 * dimensions
 	 * 
 	 * @param tileMatrix
 	 *            tile matrix
-	 * @param tileResults
-	 *            tile results
+	 * @param tiles
+	 *            coverage data tiles ordered by row and then column
 	 * @param request
 	 *            coverage data request
 	 * @param tileWidth
@@ -624,243 +1094,424 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 	 *            tile height
 	 * @param overlappingPixels
 	 *            overlapping request pixels
-	 * @return coverage data values
+	 * @return coverage data values of length tileWidth * tileHeight, NaN for
+	 *         no data
 	 */
-	private Double[][] getValues(TileMatrix tileMatrix,
-			TileResultSet tileResults, CoverageDataRequest request,
+	private double[] getValues(TileMatrix tileMatrix,
+			Iterator<CoverageDataTile> tiles, CoverageDataRequest request,
 			int tileWidth, int tileHeight, int overlappingPixels) {
 
-		Double[][] values = null;
-
-		// Tiles are ordered by rows and then columns. Track the last column
-		// coverage data of the tile to the left and the last rows of the tiles
-		// in the row above
-		Double[][] leftLastColumns = null;
-		Map<Long, Double[][]> lastRowsByColumn = null;
-		Map<Long, Double[][]> previousLastRowsByColumn = null;
+		double[] values = null;
 
-		long previousRow = -1;
-		long previousColumn = Long.MAX_VALUE;
+		// Track the overlapping values of the neighboring tiles
+		CoverageDataTileBorders borders = new CoverageDataTileBorders(
+				tileMatrix, overlappingPixels);
 
 		// Process each coverage data tile
-		while (tileResults.moveToNext()) {
+		while (tiles.hasNext()) {
 
-			// Get the next coverage data tile
-			TileRow tileRow = tileResults.getRow();
+			// Get the next decoded coverage data tile with the overlapping
+			// neighbor tile values
+			CoverageDataTileValues tile = borders.next(tiles.next());
 
-			long currentRow = tileRow.getTileRow();
-			long currentColumn = tileRow.getTileColumn();
+			// Get the bounding box of the coverage data
+			BoundingBox tileBoundingBox = TileBoundingBoxUtils.getBoundingBox(
+					coverageBoundingBox, tileMatrix, tile.getTileColumn(),
+					tile.getTileRow());
 
-			// If the row has changed, save off the previous last rows and begin
-			// tracking this row. Clear the left last columns.
-			if (currentRow > previousRow) {
-				previousLastRowsByColumn = lastRowsByColumn;
-				lastRowsByColumn = new HashMap<Long, Double[][]>();
-				leftLastColumns = null;
-			}
+			values = setValues(tileMatrix, tile, tileBoundingBox, request,
+					tileWidth, tileHeight, overlappingPixels, values);
+		}
 
-			// If there was a previous row, retrieve the top left and top
-			// overlapping rows
-			Double[][] topLeftRows = null;
-			Double[][] topRows = null;
-			if (previousLastRowsByColumn != null) {
-				topLeftRows = previousLastRowsByColumn.get(currentColumn - 1);
-				topRows = previousLastRowsByColumn.get(currentColumn);
-			}
+		return values;
+	}
 
-			// If the current column is not the column after the previous clear
-			// the left values
-			if (currentColumn < previousColumn
-					|| currentColumn != previousColumn + 1) {
-				leftLastColumns = null;
+	/**
+	 * Set the coverage data values of the request that overlap the tile and
+	 * are not yet set
+	 * 
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param tile
+	 *            tile values with the overlapping neighbor tile values
+	 * @param tileBoundingBox
+	 *            tile bounding box
+	 * @param request
+	 *            coverage data request
+	 * @param tileWidth
+	 *            tile width
+	 * @param tileHeight
+	 *            tile height
+	 * @param overlappingPixels
+	 *            overlapping request pixels
+	 * @param values
+	 *            coverage data values of length tileWidth * tileHeight, or
+	 *            null if not yet created
+	 * @return coverage data values, null if not created
+	 */
+	private double[] setValues(TileMatrix tileMatrix,
+			CoverageDataTileValues tile, BoundingBox tileBoundingBox,
+			CoverageDataRequest request, int tileWidth, int tileHeight,
+			int overlappingPixels, double[] values) {
+
+		// Get the bounding box where the request and coverage data tile
+		// overlap
+		BoundingBox overlap = request.overlap(tileBoundingBox);
+
+		// If the tile overlaps with the requested box
+		if (overlap != null) {
+
+			// Get the rectangle of the tile coverage data with matching values
+			ImageRectangleF src = TileBoundingBoxJavaUtils.getFloatRectangle(
+					tileMatrix.getTileWidth(), tileMatrix.getTileHeight(),
+					tileBoundingBox, overlap);
+
+			// Get the rectangle of where to store the results
+			ImageRectangleF dest = null;
+			if (request.getProjectedBoundingBox().equals(overlap)) {
+				if (request.isPoint()) {
+					// For single points request only a single destination pixel
+					dest = new ImageRectangleF(0, 0, 0, 0);
+				} else {
+					// The overlap is equal to the request, set as the full
+					// destination size
+					dest = new ImageRectangleF(0, 0, tileWidth, tileHeight);
+				}
+			} else {
+				dest = TileBoundingBoxJavaUtils.getFloatRectangle(tileWidth,
+						tileHeight, request.getProjectedBoundingBox(), overlap);
 			}
 
-			// Get the bounding box of the coverage data
-			BoundingBox tileBoundingBox = TileBoundingBoxUtils.getBoundingBox(
-					coverageBoundingBox, tileMatrix, currentColumn, currentRow);
+			if (src.isValidAllowEmpty() && dest.isValidAllowEmpty()) {
 
-			// Get the bounding box where the request and coverage data tile
-			// overlap
-			BoundingBox overlap = request.overlap(tileBoundingBox);
+				// Create the coverage data array first time through
+				if (values == null) {
+					values = new double[tileHeight * tileWidth];
+					Arrays.fill(values, Double.NaN);
+				}
 
-			// Get the gridded tile value for the tile
-			GriddedTile griddedTile = getGriddedTile(tileRow.getId());
+				// Get the destination widths
+				float destWidth = dest.getRight() - dest.getLeft();
+				float destHeight = dest.getBottom() - dest.getTop();
+
+				// Get the destination heights
+				float srcWidth = src.getRight() - src.getLeft();
+				float srcHeight = src.getBottom() - src.getTop();
+
+				// Determine the source to destination ratio and how many
+				// destination pixels equal half a source pixel
+				float widthRatio;
+				float halfDestWidthPixel;
+				if (destWidth == 0) {
+					widthRatio = 0.0f;
+					halfDestWidthPixel = 0.0f;
+				} else {
+					widthRatio = srcWidth / destWidth;
+					halfDestWidthPixel = 0.5f / widthRatio;
+				}
+				float heightRatio;
+				float halfDestHeightPixel;
+				if (destHeight == 0) {
+					heightRatio = 0.0f;
+					halfDestHeightPixel = 0.0f;
+				} else {
+					heightRatio = srcHeight / destHeight;
+					halfDestHeightPixel = 0.5f / heightRatio;
+				}
 
-			// Get the coverage data tile image
-			TImage image = createImage(tileRow);
+				float algorithmDestWidthPixelOverlap = halfDestWidthPixel
+						* overlappingPixels;
+				float algorithmDestHeightPixelOverlap = halfDestHeightPixel
+						* overlappingPixels;
+
+				// Determine the range of destination values to set
+				int minDestY = (int) Math
+						.floor(dest.getTop() - algorithmDestHeightPixelOverlap);
+				int maxDestY = (int) Math.ceil(
+						dest.getBottom() + algorithmDestHeightPixelOverlap);
+				int minDestX = (int) Math
+						.floor(dest.getLeft() - algorithmDestWidthPixelOverlap);
+				int maxDestX = (int) Math
+						.ceil(dest.getRight() + algorithmDestWidthPixelOverlap);
+				minDestY = Math.max(minDestY, 0);
+				minDestX = Math.max(minDestX, 0);
+				maxDestY = Math.min(maxDestY, tileHeight - 1);
+				maxDestX = Math.min(maxDestX, tileWidth - 1);
+
+				// Read and set the coverage data values
+				for (int y = minDestY; y <= maxDestY; y++) {
+					for (int x = minDestX; x <= maxDestX; x++) {
+
+						int index = y * tileWidth + x;
+						if (Double.isNaN(values[index])) {
+
+							// Determine the coverage data based upon the
+							// selected algorithm
+							float xSource = getXSource(x, dest.getLeft(),
+									src.getLeft(), widthRatio);
+							float ySource = getYSource(y, dest.getTop(),
+									src.getTop(), heightRatio);
+							double value;
+							switch (algorithm) {
+							case NEAREST_NEIGHBOR:
+								value = getNearestNeighborValue(tile, xSource,
+										ySource);
+								break;
+							case BILINEAR:
+								value = getBilinearInterpolationValue(tile,
+										xSource, ySource);
+								break;
+							case BICUBIC:
+								value = getBicubicInterpolationValue(tile,
+										xSource, ySource);
+								break;
+							default:
+								throw new UnsupportedOperationException(
+										"Algorithm is not supported: "
+												+ algorithm);
+							}
 
-			// If the tile overlaps with the requested box
-			if (overlap != null) {
+							values[index] = value;
 
-				// Get the rectangle of the tile coverage data with matching
-				// values
-				ImageRectangleF src = TileBoundingBoxJavaUtils
-						.getFloatRectangle(tileMatrix.getTileWidth(),
-								tileMatrix.getTileHeight(), tileBoundingBox,
-								overlap);
-
-				// Get the rectangle of where to store the results
-				ImageRectangleF dest = null;
-				if (request.getProjectedBoundingBox().equals(overlap)) {
-					if (request.isPoint()) {
-						// For single points request only a single destination
-						// pixel
-						dest = new ImageRectangleF(0, 0, 0, 0);
-					} else {
-						// The overlap is equal to the request, set as the full
-						// destination size
-						dest = new ImageRectangleF(0, 0, tileWidth, tileHeight);
+						}
 					}
-				} else {
-					dest = TileBoundingBoxJavaUtils.getFloatRectangle(tileWidth,
-							tileHeight, request.getProjectedBoundingBox(),
-							overlap);
 				}
 
-				if (src.isValidAllowEmpty() && dest.isValidAllowEmpty()) {
+			}
+		}
 
-					// Create the coverage data array first time through
-					if (values == null) {
-						values = new Double[tileHeight][tileWidth];
-					}
+		return values;
+	}
 
-					// Get the destination widths
-					float destWidth = dest.getRight() - dest.getLeft();
-					float destHeight = dest.getBottom() - dest.getTop();
-
-					// Get the destination heights
-					float srcWidth = src.getRight() - src.getLeft();
-					float srcHeight = src.getBottom() - src.getTop();
-
-					// Determine the source to destination ratio and how many
-					// destination pixels equal half a source pixel
-					float widthRatio;
-					float halfDestWidthPixel;
-					if (destWidth == 0) {
-						widthRatio = 0.0f;
-						halfDestWidthPixel = 0.0f;
-					} else {
-						widthRatio = srcWidth / destWidth;
-						halfDestWidthPixel = 0.5f / widthRatio;
-					}
-					float heightRatio;
-					float halfDestHeightPixel;
-					if (destHeight == 0) {
-						heightRatio = 0.0f;
-						halfDestHeightPixel = 0.0f;
-					} else {
-						heightRatio = srcHeight / destHeight;
-						halfDestHeightPixel = 0.5f / heightRatio;
-					}
+	/**
+	 * Get the nearest neighbor coverage data value, checking the nearest
+	 * neighbors in order until a value is found
+	 *
+	 * @param tile
+	 *            decoded coverage data tile values
+	 * @param xSource
+	 *            x source pixel
+	 * @param ySource
+	 *            y source pixel
+	 * @return coverage data value, NaN for no data
+	 */
+	private double getNearestNeighborValue(CoverageDataTileValues tile,
+			float xSource, float ySource) {
+		double value = Double.NaN;
+		for (int[] nearestNeighbor : getNearestNeighbors(xSource, ySource)) {
+			value = tile.getValueOverBorders(nearestNeighbor[0],
+					nearestNeighbor[1]);
+			if (!Double.isNaN(value)) {
+				break;
+			}
+		}
+		return value;
+	}
 
-					float algorithmDestWidthPixelOverlap = halfDestWidthPixel
-							* overlappingPixels;
-					float algorithmDestHeightPixelOverlap = halfDestHeightPixel
-							* overlappingPixels;
-
-					// Determine the range of destination values to set
-					int minDestY = (int) Math.floor(
-							dest.getTop() - algorithmDestHeightPixelOverlap);
-					int maxDestY = (int) Math.ceil(
-							dest.getBottom() + algorithmDestHeightPixelOverlap);
-					int minDestX = (int) Math.floor(
-							dest.getLeft() - algorithmDestWidthPixelOverlap);
-					int maxDestX = (int) Math.ceil(
-							dest.getRight() + algorithmDestWidthPixelOverlap);
-					minDestY = Math.max(minDestY, 0);
-					minDestX = Math.max(minDestX, 0);
-					maxDestY = Math.min(maxDestY, tileHeight - 1);
-					maxDestX = Math.min(maxDestX, tileWidth - 1);
+	/**
+	 * Get the bilinear interpolation coverage data value of the 2 x 2 source
+	 * pixels surrounding the source location
+	 *
+	 * @param tile
+	 *            decoded coverage data tile values
+	 * @param xSource
+	 *            x source pixel
+	 * @param ySource
+	 *            y source pixel
+	 * @return coverage data value, NaN when any surrounding value is missing
+	 */
+	private double getBilinearInterpolationValue(CoverageDataTileValues tile,
+			float xSource, float ySource) {
+
+		CoverageDataSourcePixel xPixel = getXSourceMinAndMax(xSource);
+		CoverageDataSourcePixel yPixel = getYSourceMinAndMax(ySource);
+
+		int minX = xPixel.getMin();
+		int maxX = xPixel.getMax();
+		int minY = yPixel.getMin();
+		int maxY = yPixel.getMax();
+
+		double topLeft = tile.getValueOverBorders(minX, minY);
+		double topRight = tile.getValueOverBorders(maxX, minY);
+		double bottomLeft = tile.getValueOverBorders(minX, maxY);
+		double bottomRight = tile.getValueOverBorders(maxX, maxY);
+
+		double value = Double.NaN;
+		if (!Double.isNaN(topLeft) && !Double.isNaN(topRight)
+				&& !Double.isNaN(bottomLeft) && !Double.isNaN(bottomRight)) {
+
+			float xOffset = xPixel.getOffset();
+			float yOffset = yPixel.getOffset();
+
+			float diffX = maxX - minX;
+			double topRow;
+			double bottomRow;
+			if (diffX == 0) {
+				topRow = topLeft;
+				bottomRow = bottomLeft;
+			} else {
+				float diffLeft = diffX - xOffset;
+				topRow = (diffLeft / diffX) * topLeft
+						+ (xOffset / diffX) * topRight;
+				bottomRow = (diffLeft / diffX) * bottomLeft
+						+ (xOffset / diffX) * bottomRight;
+			}
 
-					// Read and set the coverage data values
-					for (int y = minDestY; y <= maxDestY; y++) {
-						for (int x = minDestX; x <= maxDestX; x++) {
-
-							if (values[y][x] == null) {
-
-								// Determine the coverage data based upon the
-								// selected algorithm
-								Double value = null;
-								switch (algorithm) {
-								case NEAREST_NEIGHBOR:
-									value = getNearestNeighborValue(griddedTile,
-											image, leftLastColumns, topLeftRows,
-											topRows, y, x, widthRatio,
-											heightRatio, dest.getTop(),
-											dest.getLeft(), src.getTop(),
-											src.getLeft());
-									break;
-								case BILINEAR:
-									value = getBilinearInterpolationValue(
-											griddedTile, image, leftLastColumns,
-											topLeftRows, topRows, y, x,
-											widthRatio, heightRatio,
-											dest.getTop(), dest.getLeft(),
-											src.getTop(), src.getLeft());
-									break;
-								case BICUBIC:
-									value = getBicubicInterpolationValue(
-											griddedTile, image, leftLastColumns,
-											topLeftRows, topRows, y, x,
-											widthRatio, heightRatio,
-											dest.getTop(), dest.getLeft(),
-											src.getTop(), src.getLeft());
-									break;
-								default:
-									throw new UnsupportedOperationException(
-											"Algorithm is not supported: "
-													+ algorithm);
-								}
-
-								if (value != null) {
-									values[y][x] = value;
-								}
+			float diffY = maxY - minY;
+			if (diffY == 0) {
+				value = topRow;
+			} else {
+				float diffTop = diffY - yOffset;
+				value = (diffTop / diffY) * topRow
+						+ (yOffset / diffY) * bottomRow;
+			}
+		}
 
-							}
-						}
-					}
+		return value;
+	}
 
-				}
+	/**
+	 * Get the bicubic interpolation coverage data value of the 4 x 4 source
+	 * pixels surrounding the source location
+	 *
+	 * @param tile
+	 *            decoded coverage data tile values
+	 * @param xSource
+	 *            x source pixel
+	 * @param ySource
+	 *            y source pixel
+	 * @return coverage data value, NaN when any surrounding value is missing
+	 */
+	private double getBicubicInterpolationValue(CoverageDataTileValues tile,
+			float xSource, float ySource) {
+
+		CoverageDataSourcePixel xPixel = getXSourceMinAndMax(xSource);
+		CoverageDataSourcePixel yPixel = getYSourceMinAndMax(ySource);
+
+		int minX = xPixel.getMin() - 1;
+		int minY = yPixel.getMin() - 1;
+		double xOffset = xPixel.getOffset();
+
+		double[] rowValues = new double[4];
+		for (int row = 0; row < 4; row++) {
+			int y = minY + row;
+			double rowValue = getCubicInterpolationValue(
+					tile.getValueOverBorders(minX, y),
+					tile.getValueOverBorders(minX + 1, y),
+					tile.getValueOverBorders(minX + 2, y),
+					tile.getValueOverBorders(minX + 3, y), xOffset);
+			if (Double.isNaN(rowValue)) {
+				return Double.NaN;
 			}
+			rowValues[row] = rowValue;
+		}
 
-			// Determine and store the coverage data of the last columns and
-			// rows
-			leftLastColumns = new Double[overlappingPixels][(int) tileMatrix
-					.getTileHeight()];
-			Double[][] lastRows = new Double[overlappingPixels][(int) tileMatrix
-					.getTileWidth()];
-			lastRowsByColumn.put(currentColumn, lastRows);
+		return getCubicInterpolationValue(rowValues[0], rowValues[1],
+				rowValues[2], rowValues[3], yPixel.getOffset());
+	}
 
-			// For each overlapping pixel
-			for (int lastIndex = 0; lastIndex < overlappingPixels; lastIndex++) {
+	/**
+	 * Interpolate 4 values using the offset between value1 and value2
+	 *
+	 * @param value0
+	 *            value 0
+	 * @param value1
+	 *            value 1
+	 * @param value2
+	 *            value 2
+	 * @param value3
+	 *            value 3
+	 * @param offset
+	 *            offset between value1 and value2
+	 * @return cubic interpolation value, NaN when any value is NaN
+	 */
+	private static double getCubicInterpolationValue(double value0,
+			double value1, double value2, double value3, double offset) {
 
-				// Store the last column row coverage data values
-				int lastColumnIndex = (int) tileMatrix.getTileWidth()
-						- lastIndex - 1;
-				for (int row = 0; row < tileMatrix.getTileHeight(); row++) {
-					Double value = getValue(griddedTile, image, lastColumnIndex,
-							row);
-					leftLastColumns[lastIndex][row] = value;
-				}
+		double coefficient0 = 2 * value1;
+		double coefficient1 = value2 - value0;
+		double coefficient2 = 2 * value0 - 5 * value1 + 4 * value2 - value3;
+		double coefficient3 = -value0 + 3 * value1 - 3 * value2 + value3;
 
-				// Store the last row column coverage data values
-				int lastRowIndex = (int) tileMatrix.getTileHeight() - lastIndex
-						- 1;
-				for (int column = 0; column < tileMatrix
-						.getTileWidth(); column++) {
-					Double value = getValue(griddedTile, image, column,
-							lastRowIndex);
-					lastRows[lastIndex][column] = value;
-				}
+		return (coefficient3 * offset * offset * offset
+				+ coefficient2 * offset * offset + coefficient1 * offset
+				+ coefficient0) / 2;
+	}
 
+	/**
+	 * Reproject the coverage data values to the requested projection
+	 *
+	 * @param values
+	 *            coverage data values in the coverage data projection
+	 * @param valuesWidth
+	 *            coverage data values width
+	 * @param valuesHeight
+	 *            coverage data values height
+	 * @param requestedCoverageDataWidth
+	 *            requested coverage data width
+	 * @param requestedCoverageDataHeight
+	 *            requested coverage data height
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @param transformRequestToCoverage
+	 *            transformation from request to coverage data
+	 * @param coverageBoundingBox
+	 *            coverage data bounding box
+	 * @return projected coverage data values
+	 */
+	private double[] reprojectCoverageData(double[] values, int valuesWidth,
+			int valuesHeight, int requestedCoverageDataWidth,
+			int requestedCoverageDataHeight, BoundingBox requestBoundingBox,
+			ProjectionTransform transformRequestToCoverage,
+			BoundingBox coverageBoundingBox) {
+
+		double requestedWidthUnitsPerPixel = requestBoundingBox
+				.getLongitudeRange() / requestedCoverageDataWidth;
+		double requestedHeightUnitsPerPixel = requestBoundingBox
+				.getLatitudeRange() / requestedCoverageDataHeight;
+
+		double tilesDistanceWidth = coverageBoundingBox.getMaxLongitude()
+				- coverageBoundingBox.getMinLongitude();
+		double tilesDistanceHeight = coverageBoundingBox.getMaxLatitude()
+				- coverageBoundingBox.getMinLatitude();
+
+		double[] projectedValues = new double[requestedCoverageDataHeight
+				* requestedCoverageDataWidth];
+
+		// Retrieve each coverage data value in the unprojected coverage data
+		for (int y = 0; y < requestedCoverageDataHeight; y++) {
+			for (int x = 0; x < requestedCoverageDataWidth; x++) {
+
+				double longitude = requestBoundingBox.getMinLongitude()
+						+ (x * requestedWidthUnitsPerPixel);
+				double latitude = requestBoundingBox.getMaxLatitude()
+						- (y * requestedHeightUnitsPerPixel);
+				ProjCoordinate fromCoord = new ProjCoordinate(longitude,
+						latitude);
+				ProjCoordinate toCoord = transformRequestToCoverage
+						.transform(fromCoord);
+				double projectedLongitude = toCoord.x;
+				double projectedLatitude = toCoord.y;
+
+				int xPixel = (int) Math.round(((projectedLongitude
+						- coverageBoundingBox.getMinLongitude())
+						/ tilesDistanceWidth) * valuesWidth);
+				int yPixel = (int) Math.round(((coverageBoundingBox
+						.getMaxLatitude() - projectedLatitude)
+						/ tilesDistanceHeight) * valuesHeight);
+
+				xPixel = Math.max(0, xPixel);
+				xPixel = Math.min(valuesWidth - 1, xPixel);
+
+				yPixel = Math.max(0, yPixel);
+				yPixel = Math.min(valuesHeight - 1, yPixel);
+
+				projectedValues[y * requestedCoverageDataWidth
+						+ x] = values[yPixel * valuesWidth + xPixel];
 			}
-
-			// Update the previous row and column
-			previousRow = currentRow;
-			previousColumn = currentColumn;
 		}
 
-		return values;
+		return projectedValues;
 	}
 
 	/**
@@ -926,11 +1577,8 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 					int srcRight = Math.min(src.getRight(),
 							(int) tileMatrix.getTileWidth() - 1);
 
-					// Get the gridded tile value for the tile
-					GriddedTile griddedTile = getGriddedTile(tileRow.getId());
-
-					// Get the coverage data tile image
-					TImage image = createImage(tileRow);
+					// Get the decoded coverage data tile
+					CoverageDataTile tile = getTile(tileRow);
 
 					// Create the coverage data results for this tile
 					Double[][] values = new Double[srcBottom - srcTop
@@ -950,9 +1598,11 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 						for (int x = srcLeft; x <= srcRight; x++) {
 
 							// Get the coverage data value from the source pixel
-							Double value = getValue(griddedTile, image, x, y);
+							double value = tile.getValue(x, y);
 
-							values[y - srcTop][x - srcLeft] = value;
+							if (!Double.isNaN(value)) {
+								values[y - srcTop][x - srcLeft] = value;
+							}
 						}
 					}
 
@@ -1034,9 +1684,8 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 		if (tileMatrix != null) {
 
 			// Get the tile grid
-			TileGrid tileGrid = TileBoundingBoxUtils.getTileGrid(
-					coverageBoundingBox, tileMatrix.getMatrixWidth(),
-					tileMatrix.getMatrixHeight(), projectedRequestBoundingBox);
+			TileGrid tileGrid = getTileGrid(projectedRequestBoundingBox,
+					tileMatrix);
 
 			// Query for matching tiles in the tile grid
 			tileResults = tileDao.queryByTileGrid(tileGrid,
@@ -1048,6 +1697,23 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 		return tileResults;
 	}
 
+	/**
+	 * Get the tile grid of the coverage data tiles needed to create the
+	 * requested bounding box coverage data
+	 *
+	 * @param projectedRequestBoundingBox
+	 *            bounding box projected to the coverage data
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @return tile grid
+	 */
+	private TileGrid getTileGrid(BoundingBox projectedRequestBoundingBox,
+			TileMatrix tileMatrix) {
+		return TileBoundingBoxUtils.getTileGrid(coverageBoundingBox,
+				tileMatrix.getMatrixWidth(), tileMatrix.getMatrixHeight(),
+				projectedRequestBoundingBox);
+	}
+
 	/**
 	 * Get the coverage data value of the pixel in the tile row image
 	 * 
@@ -1065,4 +1731,328 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 		return value;
 	}
 
+	/**
+	 * Get the coverage data value of the pixel value as a primitive, applying
+	 * the gridded tile and gridded coverage scale and offset to integer data
+	 *
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param pixelValue
+	 *            pixel value
+	 * @return coverage data value, NaN for the data null pixel value
+	 * @since 6.6.7
+	 */
+	public double pixelValueToValue(GriddedTile griddedTile,
+			double pixelValue) {
+
+		double value = Double.NaN;
+
+		if (!isDataNull(pixelValue)) {
+
+			value = pixelValue;
+
+			GriddedCoverage griddedCoverage = getGriddedCoverage();
+			if (griddedCoverage != null && griddedCoverage
+					.getDataType() == GriddedCoverageDataType.INTEGER) {
+
+				if (griddedTile != null) {
+					value = value * griddedTile.getScale()
+							+ griddedTile.getOffset();
+				}
+
+				value = value * griddedCoverage.getScale()
+						+ griddedCoverage.getOffset();
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Decoded coverage data tile values with the overlapping values of the
+	 * neighboring tiles to the left, top left, and top
+	 */
+	private static class CoverageDataTileValues {
+
+		/**
+		 * Tile column
+		 */
+		private final long tileColumn;
+
+		/**
+		 * Tile row
+		 */
+		private final long tileRow;
+
+		/**
+		 * Tile values of length width * height, NaN for no data
+		 */
+		private final double[] values;
+
+		/**
+		 * Tile width
+		 */
+		private final int width;
+
+		/**
+		 * Tile height
+		 */
+		private final int height;
+
+		/**
+		 * Last columns of the tile to the left
+		 */
+		private final double[][] leftLastColumns;
+
+		/**
+		 * Last rows of the tile to the top left
+		 */
+		private final double[][] topLeftRows;
+
+		/**
+		 * Last rows of the tile to the top
+		 */
+		private final double[][] topRows;
+
+		/**
+		 * Constructor
+		 *
+		 * @param tile
+		 *            decoded coverage data tile
+		 * @param leftLastColumns
+		 *            last columns of the tile to the left
+		 * @param topLeftRows
+		 *            last rows of the tile to the top left
+		 * @param topRows
+		 *            last rows of the tile to the top
+		 */
+		private CoverageDataTileValues(CoverageDataTile tile,
+				double[][] leftLastColumns, double[][] topLeftRows,
+				double[][] topRows) {
+			this.tileColumn = tile.getTileColumn();
+			this.tileRow = tile.getTileRow();
+			this.values = tile.getValues();
+			this.width = tile.getWidth();
+			this.height = tile.getHeight();
+			this.leftLastColumns = leftLastColumns;
+			this.topLeftRows = topLeftRows;
+			this.topRows = topRows;
+		}
+
+		/**
+		 * Get the tile column
+		 *
+		 * @return tile column
+		 */
+		private long getTileColumn() {
+			return tileColumn;
+		}
+
+		/**
+		 * Get the tile row
+		 *
+		 * @return tile row
+		 */
+		private long getTileRow() {
+			return tileRow;
+		}
+
+		/**
+		 * Get the tile value
+		 *
+		 * @param x
+		 *            x coordinate
+		 * @param y
+		 *            y coordinate
+		 * @return value, NaN for no data
+		 */
+		private double getValue(int x, int y) {
+			return values[y * width + x];
+		}
+
+		/**
+		 * Get the value of the tile or the overlapping neighboring tile values
+		 * when the coordinate is to the left or above the tile
+		 *
+		 * @param x
+		 *            x coordinate, negative for the tiles to the left
+		 * @param y
+		 *            y coordinate, negative for the tiles above
+		 * @return value, NaN when not available
+		 */
+		private double getValueOverBorders(int x, int y) {
+
+			double value = Double.NaN;
+
+			if (x < width && y < height) {
+
+				if (x >= 0 && y >= 0) {
+					value = getValue(x, y);
+				} else if (x < 0 && y < 0) {
+					if (topLeftRows != null) {
+						int row = -y - 1;
+						if (row < topLeftRows.length) {
+							int column = x + topLeftRows[row].length;
+							if (column >= 0) {
+								value = topLeftRows[row][column];
+							}
+						}
+					}
+				} else if (x < 0) {
+					if (leftLastColumns != null) {
+						int column = -x - 1;
+						if (column < leftLastColumns.length
+								&& y < leftLastColumns[column].length) {
+							value = leftLastColumns[column][y];
+						}
+					}
+				} else if (topRows != null) {
+					int row = -y - 1;
+					if (row < topRows.length && x < topRows[row].length) {
+						value = topRows[row][x];
+					}
+				}
+			}
+
+			return value;
+		}
+
+	}
+
+	/**
+	 * Tracks the overlapping last columns of the tile to the left and the last
+	 * rows of the tiles in the row above while iterating tiles ordered by row
+	 * and then column
+	 */
+	private static class CoverageDataTileBorders {
+
+		/**
+		 * Tile matrix tile width
+		 */
+		private final int matrixTileWidth;
+
+		/**
+		 * Tile matrix tile height
+		 */
+		private final int matrixTileHeight;
+
+		/**
+		 * Overlapping pixels
+		 */
+		private final int overlappingPixels;
+
+		/**
+		 * Last columns of the tile to the left
+		 */
+		private double[][] leftLastColumns = null;
+
+		/**
+		 * Last rows of the tiles in the current row by column
+		 */
+		private Map<Long, double[][]> lastRowsByColumn = null;
+
+		/**
+		 * Last rows of the tiles in the previous row by column
+		 */
+		private Map<Long, double[][]> previousLastRowsByColumn = null;
+
+		/**
+		 * Previous tile row
+		 */
+		private long previousRow = -1;
+
+		/**
+		 * Previous tile column
+		 */
+		private long previousColumn = Long.MAX_VALUE;
+
+		/**
+		 * Constructor
+		 *
+		 * @param tileMatrix
+		 *            tile matrix
+		 * @param overlappingPixels
+		 *            overlapping request pixels
+		 */
+		private CoverageDataTileBorders(TileMatrix tileMatrix,
+				int overlappingPixels) {
+			this.matrixTileWidth = (int) tileMatrix.getTileWidth();
+			this.matrixTileHeight = (int) tileMatrix.getTileHeight();
+			this.overlappingPixels = overlappingPixels;
+		}
+
+		/**
+		 * Get the tile values of the next tile with the overlapping neighbor
+		 * tile values and store the tile last columns and rows
+		 *
+		 * @param coverageDataTile
+		 *            next decoded coverage data tile
+		 * @return tile values
+		 */
+		private CoverageDataTileValues next(CoverageDataTile coverageDataTile) {
+
+			long currentRow = coverageDataTile.getTileRow();
+			long currentColumn = coverageDataTile.getTileColumn();
+
+			// If the row has changed, save off the previous last rows and begin
+			// tracking this row. Clear the left last columns.
+			if (currentRow > previousRow) {
+				previousLastRowsByColumn = lastRowsByColumn;
+				lastRowsByColumn = new HashMap<Long, double[][]>();
+				leftLastColumns = null;
+			}
+
+			// If there was a previous row, retrieve the top left and top
+			// overlapping rows
+			double[][] topLeftRows = null;
+			double[][] topRows = null;
+			if (previousLastRowsByColumn != null) {
+				topLeftRows = previousLastRowsByColumn.get(currentColumn - 1);
+				topRows = previousLastRowsByColumn.get(currentColumn);
+			}
+
+			// If the current column is not the column after the previous clear
+			// the left values
+			if (currentColumn < previousColumn
+					|| currentColumn != previousColumn + 1) {
+				leftLastColumns = null;
+			}
+
+			CoverageDataTileValues tile = new CoverageDataTileValues(
+					coverageDataTile, leftLastColumns, topLeftRows, topRows);
+
+			// Determine and store the coverage data of the last columns and
+			// rows
+			leftLastColumns = new double[overlappingPixels][matrixTileHeight];
+			double[][] lastRows = new double[overlappingPixels][matrixTileWidth];
+			lastRowsByColumn.put(currentColumn, lastRows);
+
+			// For each overlapping pixel
+			for (int lastIndex = 0; lastIndex < overlappingPixels; lastIndex++) {
+
+				// Store the last column row coverage data values
+				int lastColumnIndex = matrixTileWidth - lastIndex - 1;
+				for (int row = 0; row < matrixTileHeight; row++) {
+					leftLastColumns[lastIndex][row] = tile
+							.getValue(lastColumnIndex, row);
+				}
+
+				// Store the last row column coverage data values
+				int lastRowIndex = matrixTileHeight - lastIndex - 1;
+				for (int column = 0; column < matrixTileWidth; column++) {
+					lastRows[lastIndex][column] = tile.getValue(column,
+							lastRowIndex);
+				}
+
+			}
+
+			// Update the previous row and column
+			previousRow = currentRow;
+			previousColumn = currentColumn;
+
+			return tile;
+		}
+
+	}
+
 }
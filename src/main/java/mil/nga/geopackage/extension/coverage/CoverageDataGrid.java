@@ -0,0 +1,167 @@
+package mil.nga.geopackage.extension.coverage;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.tiles.matrix.TileMatrix;
+
+/**
+ * Coverage Data results as a flat primitive array of values in row major
+ * order, where each coverage data value is at: (row * width) + column. Pixels
+ * without a coverage data value are {@link Double#NaN}, serving as the no data
+ * mask in place of the null values of {@link CoverageDataResults}.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class CoverageDataGrid {
+
+	/**
+	 * Coverage data values of length width * height
+	 */
+	private final double[] values;
+
+	/**
+	 * Width / number of columns
+	 */
+	private final int width;
+
+	/**
+	 * Height / number of rows
+	 */
+	private final int height;
+
+	/**
+	 * Tile matrix used to create the coverage data values
+	 */
+	private final TileMatrix tileMatrix;
+
+	/**
+	 * Constructor
+	 *
+	 * @param values
+	 *            coverage data values of length width * height, NaN for no
+	 *            data
+	 * @param width
+	 *            width
+	 * @param height
+	 *            height
+	 * @param tileMatrix
+	 *            tile matrix
+	 */
+	public CoverageDataGrid(double[] values, int width, int height,
+			TileMatrix tileMatrix) {
+		if (values.length != width * height) {
+			throw new GeoPackageException("Values length of "
+					+ values.length + " does not match the width " + width
+					+ " and height " + height);
+		}
+		this.values = values;
+		this.width = width;
+		this.height = height;
+		this.tileMatrix = tileMatrix;
+	}
+
+	/**
+	 * Get the coverage data values in row major order, NaN for no data
+	 *
+	 * @return coverage data values
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	/**
+	 * Get the coverage data values as floats in row major order, NaN for no
+	 * data
+	 *
+	 * @return coverage data float values
+	 */
+	public float[] getFloatValues() {
+		float[] floatValues = new float[values.length];
+		for (int i = 0; i < values.length; i++) {
+			floatValues[i] = (float) values[i];
+		}
+		return floatValues;
+	}
+
+	/**
+	 * Get the tile matrix
+	 *
+	 * @return tile matrix
+	 */
+	public TileMatrix getTileMatrix() {
+		return tileMatrix;
+	}
+
+	/**
+	 * Get the results height
+	 *
+	 * @return height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the results width
+	 *
+	 * @return width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the coverage data value at the row and column
+	 *
+	 * @param row
+	 *            row index
+	 * @param column
+	 *            column index
+	 * @return coverage data value, NaN for no data
+	 */
+	public double getValue(int row, int column) {
+		return values[row * width + column];
+	}
+
+	/**
+	 * Determine if there is a coverage data value at the row and column
+	 *
+	 * @param row
+	 *            row index
+	 * @param column
+	 *            column index
+	 * @return true if a value
+	 */
+	public boolean hasValue(int row, int column) {
+		return !Double.isNaN(getValue(row, column));
+	}
+
+	/**
+	 * Get the zoom level of the results
+	 *
+	 * @return zoom level
+	 */
+	public long getZoomLevel() {
+		return tileMatrix.getZoomLevel();
+	}
+
+	/**
+	 * Convert to Coverage Data results with null values for no data
+	 *
+	 * @return coverage data results
+	 */
+	public CoverageDataResults toResults() {
+		Double[][] results = new Double[height][width];
+		for (int row = 0; row < height; row++) {
+			int offset = row * width;
+			for (int column = 0; column < width; column++) {
+				double value = values[offset + column];
+				if (!Double.isNaN(value)) {
+					results[row][column] = value;
+				}
+			}
+		}
+		return new CoverageDataResults(results, tileMatrix);
+	}
+
+}
@@ -354,6 +354,21 @@ public class CoverageDataPng extends CoverageData<CoverageDataPngImage> {
 		return values;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double[] getTileValues(GriddedTile griddedTile,
+			CoverageDataPngImage image) {
+		short[] pixelValues = getPixelValues(image.getRaster());
+		double[] values = new double[pixelValues.length];
+		for (int i = 0; i < pixelValues.length; i++) {
+			values[i] = pixelValueToValue(griddedTile,
+					getUnsignedPixelValue(pixelValues[i]));
+		}
+		return values;
+	}
+
 	/**
 	 * Draw a coverage data image tile from the flat array of "unsigned short"
 	 * pixel values of length tileWidth * tileHeight where each pixel is at: (y
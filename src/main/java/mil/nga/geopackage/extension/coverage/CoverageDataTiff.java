@@ -1,5 +1,7 @@
 package mil.nga.geopackage.extension.coverage;
 
+import java.nio.ByteBuffer;
+
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.tiles.user.TileDao;
@@ -147,12 +149,25 @@ public class CoverageDataTiff extends CoverageData<CoverageDataTiffImage> {
 		FileDirectory directory = tiffImage.getFileDirectory();
 		validateImageType(directory);
 		Rasters rasters = directory.readRasters();
+		return getPixelValues(rasters);
+	}
+
+	/**
+	 * Get the pixel values of the single sample 32 bit float rasters, read
+	 * directly from the raster buffer without boxing each sample
+	 *
+	 * @param rasters
+	 *            rasters
+	 * @return float pixel values
+	 * @since 6.6.7
+	 */
+	public float[] getPixelValues(Rasters rasters) {
+		ByteBuffer buffer = rasters.hasSampleValues()
+				? rasters.getSampleValues()[0]
+				: rasters.getInterleaveValues();
 		float[] pixels = new float[rasters.getWidth() * rasters.getHeight()];
-		for (int y = 0; y < rasters.getHeight(); y++) {
-			for (int x = 0; x < rasters.getWidth(); x++) {
-				int index = rasters.getSampleIndex(x, y);
-				pixels[index] = rasters.getPixelSample(0, x, y).floatValue();
-			}
+		for (int index = 0; index < pixels.length; index++) {
+			pixels[index] = buffer.getFloat(index * Float.BYTES);
 		}
 		return pixels;
 	}
@@ -213,6 +228,25 @@ public class CoverageDataTiff extends CoverageData<CoverageDataTiffImage> {
 		return values;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double[] getTileValues(GriddedTile griddedTile,
+			CoverageDataTiffImage image) {
+		float[] pixelValues;
+		if (image.getDirectory() != null) {
+			pixelValues = getPixelValues(image.getRasters());
+		} else {
+			pixelValues = getPixelValues(image.getImageBytes());
+		}
+		double[] values = new double[pixelValues.length];
+		for (int i = 0; i < pixelValues.length; i++) {
+			values[i] = pixelValueToValue(griddedTile, pixelValues[i]);
+		}
+		return values;
+	}
+
 	/**
 	 * Draw a coverage data image tile from the flat array of float pixel values
 	 * of length tileWidth * tileHeight where each pixel is at: (y * tileWidth)
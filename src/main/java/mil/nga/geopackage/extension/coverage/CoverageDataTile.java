@@ -0,0 +1,169 @@
+package mil.nga.geopackage.extension.coverage;
+
+/**
+ * Decoded coverage data tile of primitive coverage data values with the
+ * gridded tile scale and offset used to create them, held by the
+ * {@link CoverageDataTileCache}
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class CoverageDataTile {
+
+	/**
+	 * Estimated bytes of a tile excluding the values
+	 */
+	private static final long TILE_BYTES = 128;
+
+	/**
+	 * Zoom level
+	 */
+	private final long zoomLevel;
+
+	/**
+	 * Tile column
+	 */
+	private final long tileColumn;
+
+	/**
+	 * Tile row
+	 */
+	private final long tileRow;
+
+	/**
+	 * Gridded tile
+	 */
+	private final GriddedTile griddedTile;
+
+	/**
+	 * Coverage data values of length width * height, NaN for no data
+	 */
+	private final double[] values;
+
+	/**
+	 * Tile width
+	 */
+	private final int width;
+
+	/**
+	 * Tile height
+	 */
+	private final int height;
+
+	/**
+	 * Constructor
+	 *
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param values
+	 *            coverage data values of length width * height, NaN for no
+	 *            data
+	 * @param width
+	 *            tile width
+	 * @param height
+	 *            tile height
+	 */
+	public CoverageDataTile(long zoomLevel, long tileColumn, long tileRow,
+			GriddedTile griddedTile, double[] values, int width, int height) {
+		this.zoomLevel = zoomLevel;
+		this.tileColumn = tileColumn;
+		this.tileRow = tileRow;
+		this.griddedTile = griddedTile;
+		this.values = values;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Get the zoom level
+	 *
+	 * @return zoom level
+	 */
+	public long getZoomLevel() {
+		return zoomLevel;
+	}
+
+	/**
+	 * Get the tile column
+	 *
+	 * @return tile column
+	 */
+	public long getTileColumn() {
+		return tileColumn;
+	}
+
+	/**
+	 * Get the tile row
+	 *
+	 * @return tile row
+	 */
+	public long getTileRow() {
+		return tileRow;
+	}
+
+	/**
+	 * Get the gridded tile with the tile scale and offset
+	 *
+	 * @return gridded tile
+	 */
+	public GriddedTile getGriddedTile() {
+		return griddedTile;
+	}
+
+	/**
+	 * Get the coverage data values, each at: (y * width) + x
+	 *
+	 * @return coverage data values, NaN for no data
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	/**
+	 * Get the tile width
+	 *
+	 * @return width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the tile height
+	 *
+	 * @return height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the coverage data value of the pixel
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return coverage data value, NaN for no data
+	 */
+	public double getValue(int x, int y) {
+		return values[y * width + x];
+	}
+
+	/**
+	 * Get the estimated bytes used to weigh the tile against the cache max
+	 * bytes
+	 *
+	 * @return bytes
+	 */
+	public long getBytes() {
+		return TILE_BYTES + (long) values.length * Double.BYTES;
+	}
+
+}
@@ -0,0 +1,316 @@
+package mil.nga.geopackage.extension.coverage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.WeightedLruCache;
+import mil.nga.geopackage.tiles.TileGrid;
+
+/**
+ * Cache of decoded coverage data tiles keyed by table, zoom level, tile
+ * column, and tile row, bounded by the estimated bytes of the tile values.
+ * Enabled through {@link CoverageData#enableTileCache()} so that repeated
+ * queries over the same tiles skip the tile queries and image decoding. May be
+ * shared by coverage data of multiple tables. Clear the table from the cache
+ * after modifying its coverage data.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class CoverageDataTileCache {
+
+	/**
+	 * Default maximum total estimated bytes of cached tiles, 32 MB
+	 */
+	public static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+
+	/**
+	 * Cached tiles by tile, weighed by estimated bytes
+	 */
+	private final WeightedLruCache<TileKey, CoverageDataTile> tiles = new WeightedLruCache<>(
+			CoverageDataTile::getBytes, 0);
+
+	/**
+	 * Constructor
+	 */
+	public CoverageDataTileCache() {
+		this(DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxBytes
+	 *            maximum total estimated bytes of cached tiles
+	 */
+	public CoverageDataTileCache(long maxBytes) {
+		setMaxBytes(maxBytes);
+	}
+
+	/**
+	 * Get the maximum total estimated bytes of cached tiles
+	 *
+	 * @return max bytes
+	 */
+	public synchronized long getMaxBytes() {
+		return tiles.getMaxWeight();
+	}
+
+	/**
+	 * Set the maximum total estimated bytes of cached tiles, evicting least
+	 * recently used tiles when reduced
+	 *
+	 * @param maxBytes
+	 *            max bytes
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		if (maxBytes < 0) {
+			throw new GeoPackageException(
+					"Max bytes must not be negative: " + maxBytes);
+		}
+		tiles.setMaxWeight(maxBytes);
+	}
+
+	/**
+	 * Get the total estimated bytes of cached tiles
+	 *
+	 * @return bytes
+	 */
+	public synchronized long getBytes() {
+		return tiles.getWeight();
+	}
+
+	/**
+	 * Get the number of cached tiles
+	 *
+	 * @return size
+	 */
+	public synchronized int size() {
+		return tiles.size();
+	}
+
+	/**
+	 * Get the number of tile requests served from the cache
+	 *
+	 * @return hits
+	 */
+	public synchronized long getHits() {
+		return tiles.getHits();
+	}
+
+	/**
+	 * Get the number of tile requests not in the cache
+	 *
+	 * @return misses
+	 */
+	public synchronized long getMisses() {
+		return tiles.getMisses();
+	}
+
+	/**
+	 * Get the number of tiles removed to keep the cache within the max bytes
+	 *
+	 * @return evictions
+	 */
+	public synchronized long getEvictions() {
+		return tiles.getEvictions();
+	}
+
+	/**
+	 * Get the ratio of tile requests served from the cache
+	 *
+	 * @return hit rate between 0.0 and 1.0
+	 */
+	public synchronized double getHitRate() {
+		return tiles.getHitRate();
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counters
+	 */
+	public synchronized void resetStats() {
+		tiles.resetStats();
+	}
+
+	/**
+	 * Get a cached tile, counting the request as a hit or miss
+	 *
+	 * @param tableName
+	 *            tile table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @return cached tile or null
+	 */
+	public synchronized CoverageDataTile get(String tableName, long zoomLevel,
+			long tileColumn, long tileRow) {
+		return tiles
+				.get(new TileKey(tableName, zoomLevel, tileColumn, tileRow));
+	}
+
+	/**
+	 * Get the cached tiles of a tile grid ordered by tile row and then tile
+	 * column when every tile of the grid is cached, counting each tile as a
+	 * hit. Nothing is counted when a tile is not cached.
+	 *
+	 * @param tableName
+	 *            tile table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileGrid
+	 *            tile grid
+	 * @return cached tiles or null if not all cached
+	 */
+	public synchronized List<CoverageDataTile> get(String tableName,
+			long zoomLevel, TileGrid tileGrid) {
+		List<CoverageDataTile> gridTiles = new ArrayList<>();
+		for (long row = tileGrid.getMinY(); row <= tileGrid
+				.getMaxY(); row++) {
+			for (long column = tileGrid.getMinX(); column <= tileGrid
+					.getMaxX(); column++) {
+				CoverageDataTile tile = tiles
+						.peek(new TileKey(tableName, zoomLevel, column, row));
+				if (tile == null) {
+					return null;
+				}
+				gridTiles.add(tile);
+			}
+		}
+		tiles.recordHits(gridTiles.size());
+		return gridTiles;
+	}
+
+	/**
+	 * Cache a tile, replacing an existing tile of the same table and
+	 * coordinate. Tiles larger than the max bytes are not cached.
+	 *
+	 * @param tableName
+	 *            tile table name
+	 * @param tile
+	 *            coverage data tile
+	 */
+	public synchronized void put(String tableName, CoverageDataTile tile) {
+		tiles.put(new TileKey(tableName, tile.getZoomLevel(),
+				tile.getTileColumn(), tile.getTileRow()), tile);
+	}
+
+	/**
+	 * Remove a cached tile
+	 *
+	 * @param tableName
+	 *            tile table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @return removed tile or null
+	 */
+	public synchronized CoverageDataTile remove(String tableName,
+			long zoomLevel, long tileColumn, long tileRow) {
+		return tiles.remove(
+				new TileKey(tableName, zoomLevel, tileColumn, tileRow));
+	}
+
+	/**
+	 * Remove all cached tiles of a tile table
+	 *
+	 * @param tableName
+	 *            tile table name
+	 */
+	public synchronized void clear(String tableName) {
+		tiles.removeIf(key -> key.tableName.equals(tableName));
+	}
+
+	/**
+	 * Remove all cached tiles
+	 */
+	public synchronized void clear() {
+		tiles.clear();
+	}
+
+	/**
+	 * Tile key of table, zoom level, tile column, and tile row
+	 */
+	private static class TileKey {
+
+		/**
+		 * Tile table name
+		 */
+		private final String tableName;
+
+		/**
+		 * Zoom level
+		 */
+		private final long zoomLevel;
+
+		/**
+		 * Tile column
+		 */
+		private final long tileColumn;
+
+		/**
+		 * Tile row
+		 */
+		private final long tileRow;
+
+		/**
+		 * Constructor
+		 *
+		 * @param tableName
+		 *            tile table name
+		 * @param zoomLevel
+		 *            zoom level
+		 * @param tileColumn
+		 *            tile column
+		 * @param tileRow
+		 *            tile row
+		 */
+		private TileKey(String tableName, long zoomLevel, long tileColumn,
+				long tileRow) {
+			this.tableName = tableName;
+			this.zoomLevel = zoomLevel;
+			this.tileColumn = tileColumn;
+			this.tileRow = tileRow;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + tableName.hashCode();
+			result = prime * result + Long.hashCode(zoomLevel);
+			result = prime * result + Long.hashCode(tileColumn);
+			result = prime * result + Long.hashCode(tileRow);
+			return result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			TileKey other = (TileKey) obj;
+			return zoomLevel == other.zoomLevel
+					&& tileColumn == other.tileColumn
+					&& tileRow == other.tileRow
+					&& tableName.equals(other.tableName);
+		}
+
+	}
+
+}
@@ -0,0 +1,671 @@
+package mil.nga.geopackage.extension.nga.dedup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.geopackage.GeoPackage;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.extension.BaseExtension;
+import mil.nga.geopackage.extension.ExtensionScopeType;
+import mil.nga.geopackage.extension.Extensions;
+import mil.nga.geopackage.extension.nga.NGAExtensions;
+import mil.nga.geopackage.tiles.user.TileDao;
+import mil.nga.geopackage.tiles.user.TileTable;
+import mil.nga.geopackage.tiles.user.TileTableReader;
+import mil.nga.geopackage.user.ContentValues;
+
+/**
+ * Tile Deduplication NGA Extension implementation. The first tile of each
+ * unique tile content is stored as a regular tile row, keyed by a SHA-256
+ * hash of the tile bytes in a hash table. Later tiles with the same content
+ * are stored as references from their tile coordinates to that tile row in a
+ * reference table instead of as tile rows. A view of the tile rows and the
+ * references is queried by the {@link TileDao} when the extension is
+ * attached to the DAO, so references read and write transparently with
+ * negative tile ids.
+ * <p>
+ * The tile table only holds PNG, JPEG, or WebP tile data, so readers without
+ * this extension read the stored tiles and ignore the referenced duplicates.
+ * Triggers on the tile table restore the references of a tile row as tile
+ * rows before its tile data is changed or deleted, and remove references
+ * replaced by new tile rows. {@link #removeExtension()} restores all
+ * references as tile rows.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class TileDeduplication extends BaseExtension {
+
+	/**
+	 * Extension author
+	 */
+	public static final String EXTENSION_AUTHOR = NGAExtensions.EXTENSION_AUTHOR;
+
+	/**
+	 * Extension name without the author
+	 */
+	public static final String EXTENSION_NAME_NO_AUTHOR = "tile_deduplication";
+
+	/**
+	 * Extension, with author and name
+	 */
+	public static final String EXTENSION_NAME = Extensions
+			.buildExtensionName(EXTENSION_AUTHOR, EXTENSION_NAME_NO_AUTHOR);
+
+	/**
+	 * Extension definition
+	 */
+	public static final String DEFINITION = "Duplicate tiles stored once as a tile row and referenced by their tile coordinates in a reference table";
+
+	/**
+	 * Reference table name prefix, followed by the tile table name
+	 */
+	public static final String TABLE_NAME_PREFIX = "nga_tile_ref_";
+
+	/**
+	 * Hash table name prefix, followed by the tile table name
+	 */
+	public static final String HASH_TABLE_NAME_PREFIX = "nga_tile_hash_";
+
+	/**
+	 * View name prefix, followed by the tile table name
+	 */
+	public static final String VIEW_NAME_PREFIX = "nga_tile_dedup_";
+
+	/**
+	 * Trigger name prefix, followed by the trigger type and tile table name
+	 */
+	public static final String TRIGGER_NAME_PREFIX = "nga_tile_dedup_";
+
+	/**
+	 * Reference id column
+	 */
+	public static final String COLUMN_ID = "id";
+
+	/**
+	 * Referenced tile id column
+	 */
+	public static final String COLUMN_TILE_ID = "tile_id";
+
+	/**
+	 * Tile data hash column
+	 */
+	public static final String COLUMN_HASH = "hash";
+
+	/**
+	 * GeoPackage connection
+	 */
+	private final GeoPackageConnection db;
+
+	/**
+	 * Tile table name
+	 */
+	private final String tableName;
+
+	/**
+	 * Reference table name
+	 */
+	private final String referenceTableName;
+
+	/**
+	 * Hash table name
+	 */
+	private final String hashTableName;
+
+	/**
+	 * View name
+	 */
+	private final String viewName;
+
+	/**
+	 * Cached extension check, null until checked
+	 */
+	private volatile Boolean enabled;
+
+	/**
+	 * Constructor
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @param tableName
+	 *            tile table name
+	 */
+	public TileDeduplication(GeoPackage geoPackage, String tableName) {
+		super(geoPackage);
+		this.db = geoPackage.getConnection();
+		this.tableName = tableName;
+		this.referenceTableName = TABLE_NAME_PREFIX + tableName;
+		this.hashTableName = HASH_TABLE_NAME_PREFIX + tableName;
+		this.viewName = VIEW_NAME_PREFIX + tableName;
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @param tileDao
+	 *            tile DAO
+	 */
+	public TileDeduplication(GeoPackage geoPackage, TileDao tileDao) {
+		this(geoPackage, tileDao.getTableName());
+	}
+
+	/**
+	 * Get the tile table name
+	 *
+	 * @return tile table name
+	 */
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * Get the reference table name
+	 *
+	 * @return reference table name
+	 */
+	public String getReferenceTableName() {
+		return referenceTableName;
+	}
+
+	/**
+	 * Get the hash table name
+	 *
+	 * @return hash table name
+	 */
+	public String getHashTableName() {
+		return hashTableName;
+	}
+
+	/**
+	 * Get the name of the view of the tile rows and references
+	 *
+	 * @return view name
+	 */
+	public String getViewName() {
+		return viewName;
+	}
+
+	/**
+	 * Determine if the tile table has the extension
+	 *
+	 * @return true if has extension
+	 */
+	public boolean has() {
+		return has(EXTENSION_NAME, tableName, TileTable.COLUMN_TILE_DATA)
+				&& geoPackage.isTable(referenceTableName);
+	}
+
+	/**
+	 * Determine if the tile table has the extension, checking once and caching
+	 * the result. Creating or removing the extension through this instance
+	 * updates the cached result.
+	 *
+	 * @return true if has extension
+	 */
+	public boolean isEnabled() {
+		Boolean value = enabled;
+		if (value == null) {
+			value = has();
+			enabled = value;
+		}
+		return value;
+	}
+
+	/**
+	 * Get or create the extension, tables, view, and triggers for the tile
+	 * table
+	 *
+	 * @return extension
+	 */
+	public Extensions getOrCreate() {
+
+		Extensions extension = getOrCreate(EXTENSION_NAME, tableName,
+				TileTable.COLUMN_TILE_DATA, DEFINITION,
+				ExtensionScopeType.READ_WRITE);
+		getOrCreate(EXTENSION_NAME, referenceTableName, null, DEFINITION,
+				ExtensionScopeType.READ_WRITE);
+		getOrCreate(EXTENSION_NAME, hashTableName, null, DEFINITION,
+				ExtensionScopeType.READ_WRITE);
+		getOrCreate(EXTENSION_NAME, viewName, null, DEFINITION,
+				ExtensionScopeType.READ_WRITE);
+
+		String table = CoreSQLUtils.quoteWrap(tableName);
+		String referenceTable = CoreSQLUtils.quoteWrap(referenceTableName);
+		String hashTable = CoreSQLUtils.quoteWrap(hashTableName);
+
+		db.execSQL("CREATE TABLE IF NOT EXISTS " + referenceTable + " ("
+				+ COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+				+ TileTable.COLUMN_ZOOM_LEVEL + " INTEGER NOT NULL, "
+				+ TileTable.COLUMN_TILE_COLUMN + " INTEGER NOT NULL, "
+				+ TileTable.COLUMN_TILE_ROW + " INTEGER NOT NULL, "
+				+ COLUMN_TILE_ID + " INTEGER NOT NULL, UNIQUE ("
+				+ TileTable.COLUMN_ZOOM_LEVEL + ", "
+				+ TileTable.COLUMN_TILE_COLUMN + ", "
+				+ TileTable.COLUMN_TILE_ROW + "))");
+		db.execSQL("CREATE INDEX IF NOT EXISTS "
+				+ CoreSQLUtils.quoteWrap(referenceTableName + "_tile_id")
+				+ " ON " + referenceTable + " (" + COLUMN_TILE_ID + ")");
+		db.execSQL("CREATE TABLE IF NOT EXISTS " + hashTable + " ("
+				+ COLUMN_TILE_ID + " INTEGER PRIMARY KEY NOT NULL, "
+				+ COLUMN_HASH + " TEXT NOT NULL UNIQUE)");
+
+		createView();
+
+		String coordinates = coordinatesWhere("NEW", referenceTable);
+
+		// Replace references at the coordinates of new tile rows
+		db.execSQL("CREATE TRIGGER IF NOT EXISTS " + triggerName("insert")
+				+ " AFTER INSERT ON " + table + " BEGIN DELETE FROM "
+				+ referenceTable + " WHERE " + coordinates + "; END");
+
+		// Reject references at the coordinates of tile rows
+		db.execSQL("CREATE TRIGGER IF NOT EXISTS " + triggerName("reference")
+				+ " BEFORE INSERT ON " + referenceTable
+				+ " WHEN EXISTS (SELECT 1 FROM " + table + " WHERE "
+				+ coordinatesWhere("NEW", table)
+				+ ") BEGIN SELECT RAISE(ABORT, 'Tile already exists at the reference coordinates'); END");
+
+		// Restore references as tile rows before their tile data is removed
+		String restore = restoreSQL("OLD");
+		db.execSQL("CREATE TRIGGER IF NOT EXISTS " + triggerName("update")
+				+ " AFTER UPDATE OF " + TileTable.COLUMN_ID + ", "
+				+ TileTable.COLUMN_TILE_DATA + " ON " + table + " WHEN OLD."
+				+ TileTable.COLUMN_ID + " != NEW." + TileTable.COLUMN_ID
+				+ " OR OLD." + TileTable.COLUMN_TILE_DATA + " IS NOT NEW."
+				+ TileTable.COLUMN_TILE_DATA + " BEGIN " + restore + " END");
+		db.execSQL("CREATE TRIGGER IF NOT EXISTS " + triggerName("delete")
+				+ " AFTER DELETE ON " + table + " BEGIN " + restore + " END");
+
+		enabled = true;
+
+		return extension;
+	}
+
+	/**
+	 * Get or create the extension and attach it to the tile DAO, so tile rows
+	 * written by the DAO are deduplicated
+	 *
+	 * @param tileDao
+	 *            tile DAO of the tile table
+	 * @return extension
+	 */
+	public Extensions getOrCreate(TileDao tileDao) {
+		Extensions extension = getOrCreate();
+		tileDao.setDeduplication(this);
+		return extension;
+	}
+
+	/**
+	 * Get the id of the tile row storing the tile content with the hash
+	 *
+	 * @param hash
+	 *            tile data hash, see {@link #hash(byte[])}
+	 * @return tile id or null
+	 */
+	public Long getTileId(String hash) {
+		Object id = db.querySingleResult(
+				"SELECT " + COLUMN_TILE_ID + " FROM "
+						+ CoreSQLUtils.quoteWrap(hashTableName) + " WHERE "
+						+ COLUMN_HASH + " = ?",
+				new String[] { hash }, 0, null);
+		return id != null ? ((Number) id).longValue() : null;
+	}
+
+	/**
+	 * Record the hash of the tile content stored by a tile row
+	 *
+	 * @param tileId
+	 *            tile id
+	 * @param hash
+	 *            tile data hash, see {@link #hash(byte[])}
+	 */
+	public void insertHash(long tileId, String hash) {
+		ContentValues values = new ContentValues();
+		values.put(COLUMN_TILE_ID, tileId);
+		values.put(COLUMN_HASH, hash);
+		SQLUtils.insertOrThrow(db.getStatementCache(), hashTableName,
+				COLUMN_TILE_ID, values);
+	}
+
+	/**
+	 * Insert a reference from tile coordinates to the tile row storing their
+	 * tile content
+	 *
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @param tileId
+	 *            id of the tile row storing the tile content
+	 * @return negative reference id, the tile id of the reference
+	 */
+	public long insertReference(long zoomLevel, long tileColumn, long tileRow,
+			long tileId) {
+		ContentValues values = new ContentValues();
+		values.put(TileTable.COLUMN_ZOOM_LEVEL, zoomLevel);
+		values.put(TileTable.COLUMN_TILE_COLUMN, tileColumn);
+		values.put(TileTable.COLUMN_TILE_ROW, tileRow);
+		values.put(COLUMN_TILE_ID, tileId);
+		return -SQLUtils.insertOrThrow(db.getStatementCache(),
+				referenceTableName, COLUMN_ID, values);
+	}
+
+	/**
+	 * Restore the references matching the where clause as tile rows, so they
+	 * can be updated as tile rows
+	 *
+	 * @param whereClause
+	 *            where clause on the view of the tile rows and references
+	 * @param whereArgs
+	 *            where arguments
+	 * @return restored count
+	 */
+	public int restore(String whereClause, String[] whereArgs) {
+		List<String> columns = new ArrayList<>();
+		for (String column : tableColumns()) {
+			if (!column.equals(TileTable.COLUMN_ID)) {
+				columns.add(CoreSQLUtils.quoteWrap(column));
+			}
+		}
+		String columnsSQL = String.join(", ", columns);
+		return executeUpdate("INSERT INTO " + CoreSQLUtils.quoteWrap(tableName)
+				+ " (" + columnsSQL + ") SELECT " + columnsSQL + " FROM "
+				+ CoreSQLUtils.quoteWrap(viewName) + " WHERE "
+				+ referencesWhere(whereClause), whereArgs);
+	}
+
+	/**
+	 * Restore a reference as a tile row
+	 *
+	 * @param id
+	 *            negative reference id
+	 * @return id of the restored tile row, or null if the reference does not
+	 *         exist
+	 */
+	public Long restore(long id) {
+
+		Long tileId = null;
+
+		List<List<Object>> results = db.queryResults("SELECT "
+				+ TileTable.COLUMN_ZOOM_LEVEL + ", "
+				+ TileTable.COLUMN_TILE_COLUMN + ", " + TileTable.COLUMN_TILE_ROW
+				+ " FROM " + CoreSQLUtils.quoteWrap(referenceTableName)
+				+ " WHERE " + COLUMN_ID + " = ?",
+				new String[] { String.valueOf(-id) }, null, null);
+
+		if (!results.isEmpty()) {
+			List<Object> coordinates = results.get(0);
+			restore(TileTable.COLUMN_ID + " = ?",
+					new String[] { String.valueOf(id) });
+			Object value = db.querySingleResult("SELECT "
+					+ TileTable.COLUMN_ID + " FROM "
+					+ CoreSQLUtils.quoteWrap(tableName) + " WHERE "
+					+ TileTable.COLUMN_ZOOM_LEVEL + " = ? AND "
+					+ TileTable.COLUMN_TILE_COLUMN + " = ? AND "
+					+ TileTable.COLUMN_TILE_ROW + " = ?",
+					new String[] { String.valueOf(coordinates.get(0)),
+							String.valueOf(coordinates.get(1)),
+							String.valueOf(coordinates.get(2)) },
+					0, null);
+			if (value != null) {
+				tileId = ((Number) value).longValue();
+			}
+		}
+
+		return tileId;
+	}
+
+	/**
+	 * Delete the references matching the where clause
+	 *
+	 * @param whereClause
+	 *            where clause on the view of the tile rows and references
+	 * @param whereArgs
+	 *            where arguments
+	 * @return deleted count
+	 */
+	public int deleteReferences(String whereClause, String[] whereArgs) {
+		return executeUpdate("DELETE FROM "
+				+ CoreSQLUtils.quoteWrap(referenceTableName) + " WHERE "
+				+ COLUMN_ID + " IN (SELECT -" + TileTable.COLUMN_ID + " FROM "
+				+ CoreSQLUtils.quoteWrap(viewName) + " WHERE "
+				+ referencesWhere(whereClause) + ")", whereArgs);
+	}
+
+	/**
+	 * Get the number of tiles stored as references
+	 *
+	 * @return reference count
+	 */
+	public int countReferences() {
+		return ((Number) db.querySingleResult("SELECT COUNT(*) FROM "
+				+ CoreSQLUtils.quoteWrap(referenceTableName), null, 0, null))
+				.intValue();
+	}
+
+	/**
+	 * Remove the extension, restoring the references as tile rows and
+	 * dropping the extension tables, view, and triggers
+	 */
+	public void removeExtension() {
+
+		for (String trigger : new String[] { "insert", "reference", "update",
+				"delete" }) {
+			db.execSQL("DROP TRIGGER IF EXISTS " + triggerName(trigger));
+		}
+
+		if (geoPackage.isTable(referenceTableName)) {
+			if (geoPackage.isTable(tableName) && geoPackage.isView(viewName)) {
+				restore(null, null);
+			}
+			geoPackage.dropTable(referenceTableName);
+		}
+		if (geoPackage.isView(viewName)) {
+			geoPackage.dropView(viewName);
+		}
+		if (geoPackage.isTable(hashTableName)) {
+			geoPackage.dropTable(hashTableName);
+		}
+
+		try {
+			if (extensionsDao.isTableExists()) {
+				for (String table : new String[] { tableName,
+						referenceTableName, hashTableName, viewName }) {
+					extensionsDao.deleteByExtension(EXTENSION_NAME, table);
+				}
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to delete Tile Deduplication extension. GeoPackage: "
+							+ geoPackage.getName() + ", Table: " + tableName,
+					e);
+		}
+
+		enabled = false;
+	}
+
+	/**
+	 * Create the view of the tile rows and references if it does not exist.
+	 * References take the tile data and additional columns of their tile row.
+	 */
+	private void createView() {
+
+		String[] columns = tableColumns();
+
+		StringBuilder references = new StringBuilder();
+		for (String column : columns) {
+			if (references.length() > 0) {
+				references.append(", ");
+			}
+			String quotedColumn = CoreSQLUtils.quoteWrap(column);
+			switch (column) {
+			case TileTable.COLUMN_ID:
+				// Integer affinity for comparisons with text arguments
+				references.append("CAST(-r.").append(COLUMN_ID)
+						.append(" AS INTEGER)");
+				break;
+			case TileTable.COLUMN_ZOOM_LEVEL:
+			case TileTable.COLUMN_TILE_COLUMN:
+			case TileTable.COLUMN_TILE_ROW:
+				references.append("r.").append(quotedColumn);
+				break;
+			default:
+				references.append("t.").append(quotedColumn);
+			}
+		}
+
+		db.execSQL("CREATE VIEW IF NOT EXISTS "
+				+ CoreSQLUtils.quoteWrap(viewName) + " AS SELECT "
+				+ String.join(", ", CoreSQLUtils.quoteWrap(columns)) + " FROM "
+				+ CoreSQLUtils.quoteWrap(tableName) + " UNION ALL SELECT "
+				+ references + " FROM "
+				+ CoreSQLUtils.quoteWrap(referenceTableName) + " r JOIN "
+				+ CoreSQLUtils.quoteWrap(tableName) + " t ON t."
+				+ TileTable.COLUMN_ID + " = r." + COLUMN_TILE_ID);
+	}
+
+	/**
+	 * Get the column names of the tile table
+	 *
+	 * @return column names
+	 */
+	private String[] tableColumns() {
+		return new TileTableReader(tableName).readTable(db).getColumnNames();
+	}
+
+	/**
+	 * Build the restore trigger statements of the references to a changed or
+	 * deleted tile row. The restored tile rows remove their references.
+	 *
+	 * @param row
+	 *            trigger row, OLD
+	 * @return SQL statements
+	 */
+	private String restoreSQL(String row) {
+		String referenceTable = CoreSQLUtils.quoteWrap(referenceTableName);
+		return "INSERT INTO " + CoreSQLUtils.quoteWrap(tableName) + " ("
+				+ TileTable.COLUMN_ZOOM_LEVEL + ", "
+				+ TileTable.COLUMN_TILE_COLUMN + ", " + TileTable.COLUMN_TILE_ROW
+				+ ", " + TileTable.COLUMN_TILE_DATA + ") SELECT "
+				+ TileTable.COLUMN_ZOOM_LEVEL + ", "
+				+ TileTable.COLUMN_TILE_COLUMN + ", " + TileTable.COLUMN_TILE_ROW
+				+ ", " + row + "." + TileTable.COLUMN_TILE_DATA + " FROM "
+				+ referenceTable + " WHERE " + COLUMN_TILE_ID + " = " + row
+				+ "." + TileTable.COLUMN_ID + "; DELETE FROM " + referenceTable
+				+ " WHERE " + COLUMN_TILE_ID + " = " + row + "."
+				+ TileTable.COLUMN_ID + "; DELETE FROM "
+				+ CoreSQLUtils.quoteWrap(hashTableName) + " WHERE "
+				+ COLUMN_TILE_ID + " = " + row + "." + TileTable.COLUMN_ID
+				+ ";";
+	}
+
+	/**
+	 * Build the where clause matching the tile coordinates of a trigger row
+	 *
+	 * @param row
+	 *            trigger row, NEW or OLD
+	 * @param table
+	 *            quoted table qualifying the coordinate columns
+	 * @return where clause
+	 */
+	private static String coordinatesWhere(String row, String table) {
+		StringBuilder where = new StringBuilder();
+		for (String column : new String[] { TileTable.COLUMN_ZOOM_LEVEL,
+				TileTable.COLUMN_TILE_COLUMN, TileTable.COLUMN_TILE_ROW }) {
+			if (where.length() > 0) {
+				where.append(" AND ");
+			}
+			where.append(table).append(".").append(column).append(" = ")
+					.append(row).append(".").append(column);
+		}
+		return where.toString();
+	}
+
+	/**
+	 * Build the where clause matching the references of a where clause on the
+	 * view
+	 *
+	 * @param whereClause
+	 *            where clause or null
+	 * @return where clause
+	 */
+	private static String referencesWhere(String whereClause) {
+		String where = TileTable.COLUMN_ID + " < 0";
+		if (whereClause != null) {
+			where = "(" + whereClause + ") AND " + where;
+		}
+		return where;
+	}
+
+	/**
+	 * Build the trigger name
+	 *
+	 * @param type
+	 *            trigger type
+	 * @return quoted trigger name
+	 */
+	private String triggerName(String type) {
+		return CoreSQLUtils
+				.quoteWrap(TRIGGER_NAME_PREFIX + type + "_" + tableName);
+	}
+
+	/**
+	 * Execute an update statement
+	 *
+	 * @param sql
+	 *            SQL statement
+	 * @param args
+	 *            arguments
+	 * @return changed count
+	 */
+	private int executeUpdate(String sql, String[] args) {
+		PreparedStatement statement = null;
+		try {
+			statement = db.getStatementCache().prepareStatement(sql);
+			SQLUtils.setArguments(statement, args);
+			return statement.executeUpdate();
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to execute Tile Deduplication statement: " + sql,
+					e);
+		} finally {
+			SQLUtils.closeStatement(statement, sql);
+		}
+	}
+
+	/**
+	 * Hash the tile data
+	 *
+	 * @param tileData
+	 *            tile data
+	 * @return hex SHA-256 hash
+	 */
+	public static String hash(byte[] tileData) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new GeoPackageException("SHA-256 digest is not available",
+					e);
+		}
+		byte[] hash = digest.digest(tileData);
+		StringBuilder hex = new StringBuilder(hash.length * 2);
+		for (byte value : hash) {
+			hex.append(Character.forDigit((value >> 4) & 0xF, 16));
+			hex.append(Character.forDigit(value & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+}
@@ -3,6 +3,7 @@ package mil.nga.geopackage.extension.nga.index;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -129,23 +130,112 @@ public class FeatureTableIndex extends FeatureTableCoreIndex {
 		return indexed;
 	}
 
+	/**
+	 * Resume indexing a table that was partially indexed, such as by a
+	 * canceled or failed {@link #index()} call. Indexing continues after the
+	 * largest feature id already in the geometry index. Does nothing if the
+	 * table is already indexed. Starts a new index when no index has been
+	 * started.
+	 * 
+	 * @return number of rows indexed by this call
+	 * @since 6.6.7
+	 */
+	public int resumeIndex() {
+
+		int count = 0;
+
+		TableIndex tableIndex = getTableIndex();
+		Long lastId = null;
+		if (tableIndex != null) {
+			lastId = getLastIndexedId();
+		}
+
+		if (lastId == null) {
+			count = index();
+		} else if (!isIndexed()) {
+			unindexGeometryIndexTable();
+			count = indexTable(tableIndex, lastId);
+			indexGeometryIndexTable();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Get the largest feature id in the geometry index for the table, used to
+	 * resume a partial index
+	 * 
+	 * @return largest indexed feature id or null if no features are indexed
+	 * @since 6.6.7
+	 */
+	public Long getLastIndexedId() {
+
+		Long lastId = null;
+
+		GeometryIndexDao geometryIndexDao = getGeometryIndexDao();
+		try {
+			if (geometryIndexDao.isTableExists()) {
+				String sql = "SELECT MAX(" + GeometryIndex.COLUMN_GEOM_ID
+						+ ") FROM " + GeometryIndex.TABLE_NAME + " WHERE "
+						+ GeometryIndex.COLUMN_TABLE_NAME + " = ?";
+				String[] results = geometryIndexDao
+						.queryRaw(sql, getTableName()).getFirstResult();
+				if (results != null && results[0] != null) {
+					lastId = Long.parseLong(results[0]);
+				}
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to query the last indexed id. GeoPackage: "
+							+ getGeoPackage().getName() + ", Table: "
+							+ getTableName(),
+					e);
+		}
+
+		return lastId;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
-	@SuppressWarnings("resource")
 	@Override
 	protected int indexTable(final TableIndex tableIndex) {
+		return indexTable(tableIndex, null);
+	}
+
+	/**
+	 * Index the table rows in primary key order, paging by the last id of
+	 * each chunk so each chunk query seeks directly to its first row
+	 * 
+	 * @param tableIndex
+	 *            table index
+	 * @param afterId
+	 *            index rows with ids after this id, null to index all
+	 * @return count
+	 */
+	private int indexTable(final TableIndex tableIndex, Long afterId) {
 
 		int count = 0;
 
-		long offset = 0;
 		int chunkCount = 0;
+		Long lastId = afterId;
 
-		String[] columns = featureDao.getIdAndGeometryColumnNames();
+		final String[] columns = featureDao.getIdAndGeometryColumnNames();
+		final String pkColumn = featureDao.getPkColumnName();
+		final AtomicLong chunkLastId = new AtomicLong();
 
 		while (chunkCount >= 0) {
 
-			final long chunkOffset = offset;
+			// Seek past the last id of the previous chunk
+			final String where;
+			final String[] whereArgs;
+			if (lastId != null) {
+				where = featureDao.buildWhere(pkColumn, lastId, ">");
+				whereArgs = featureDao.buildWhereArgs(lastId);
+			} else {
+				where = null;
+				whereArgs = null;
+			}
 
 			try {
 				// Iterate through each row and index as a single transaction
@@ -156,9 +246,11 @@ public class FeatureTableIndex extends FeatureTableCoreIndex {
 							public Integer call() throws Exception {
 
 								FeatureResultSet resultSet = featureDao
-										.queryForChunk(columns, chunkLimit,
-												chunkOffset);
-								int count = indexRows(tableIndex, resultSet);
+										.queryForChunk(columns, where,
+												whereArgs, pkColumn,
+												chunkLimit);
+								int count = indexRows(tableIndex, resultSet,
+										chunkLastId);
 
 								return count;
 							}
@@ -174,7 +266,7 @@ public class FeatureTableIndex extends FeatureTableCoreIndex {
 						e);
 			}
 
-			offset += chunkLimit;
+			lastId = chunkLastId.get();
 		}
 
 		// Update the last indexed time
@@ -192,9 +284,12 @@ public class FeatureTableIndex extends FeatureTableCoreIndex {
 	 *            table index
 	 * @param resultSet
 	 *            feature result
+	 * @param lastId
+	 *            set to the id of the last row read
 	 * @return count, -1 if no results or canceled
 	 */
-	private int indexRows(TableIndex tableIndex, FeatureResultSet resultSet) {
+	private int indexRows(TableIndex tableIndex, FeatureResultSet resultSet,
+			AtomicLong lastId) {
 
 		int count = -1;
 
@@ -205,6 +300,7 @@ public class FeatureTableIndex extends FeatureTableCoreIndex {
 					count++;
 				}
 				try {
+					lastId.set(resultSet.getId());
 					FeatureRow row = resultSet.getRow();
 					boolean indexed = index(tableIndex, row.getId(),
 							row.getGeometry());
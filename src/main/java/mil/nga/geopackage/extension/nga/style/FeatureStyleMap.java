@@ -0,0 +1,472 @@
+package mil.nga.geopackage.extension.nga.style;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.user.custom.UserCustomResultSet;
+import mil.nga.sf.GeometryType;
+
+/**
+ * Feature Style Map of pre-resolved feature styles and icons for a feature
+ * table. The style and icon mappings are read once for all features or for a
+ * set of feature ids, with the style and icon rows kept in id keyed arrays so
+ * that feature styles resolve without queries per feature. Changes to the
+ * feature styles after loading are not reflected.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class FeatureStyleMap {
+
+	/**
+	 * Max feature ids per mapping query
+	 */
+	private static final int QUERY_IDS = 1000;
+
+	/**
+	 * Feature table styles
+	 */
+	private final FeatureTableStyles featureTableStyles;
+
+	/**
+	 * Table styles
+	 */
+	private final Styles tableStyles;
+
+	/**
+	 * Table icons
+	 */
+	private final Icons tableIcons;
+
+	/**
+	 * Style rows used by features, by style id
+	 */
+	private final IdMap<StyleRow> styleRows;
+
+	/**
+	 * Icon rows used by features, by icon id
+	 */
+	private final IdMap<IconRow> iconRows;
+
+	/**
+	 * Sorted loaded feature ids, null when all features are loaded
+	 */
+	private final long[] featureIds;
+
+	/**
+	 * Feature styles by feature id
+	 */
+	private final IdMap<Styles> styles;
+
+	/**
+	 * Feature icons by feature id
+	 */
+	private final IdMap<Icons> icons;
+
+	/**
+	 * Constructor, loading the styles and icons of all features
+	 *
+	 * @param featureTableStyles
+	 *            feature table styles
+	 */
+	public FeatureStyleMap(FeatureTableStyles featureTableStyles) {
+		this(featureTableStyles, featureTableStyles.getCachedTableStyles(),
+				featureTableStyles.getCachedTableIcons(),
+				new IdMap<>(featureTableStyles.getFeatureStyles()),
+				new IdMap<>(featureTableStyles.getFeatureIcons()), null);
+	}
+
+	/**
+	 * Constructor, loading the styles and icons of the feature ids
+	 *
+	 * @param featureTableStyles
+	 *            feature table styles
+	 * @param featureIds
+	 *            feature ids
+	 */
+	public FeatureStyleMap(FeatureTableStyles featureTableStyles,
+			long[] featureIds) {
+		this(featureTableStyles, featureTableStyles.getCachedTableStyles(),
+				featureTableStyles.getCachedTableIcons(),
+				new IdMap<>(featureTableStyles.getFeatureStyles()),
+				new IdMap<>(featureTableStyles.getFeatureIcons()),
+				sort(featureIds));
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param featureTableStyles
+	 *            feature table styles
+	 * @param tableStyles
+	 *            table styles
+	 * @param tableIcons
+	 *            table icons
+	 * @param styleRows
+	 *            style rows by id
+	 * @param iconRows
+	 *            icon rows by id
+	 * @param featureIds
+	 *            sorted feature ids, null for all
+	 */
+	private FeatureStyleMap(FeatureTableStyles featureTableStyles,
+			Styles tableStyles, Icons tableIcons, IdMap<StyleRow> styleRows,
+			IdMap<IconRow> iconRows, long[] featureIds) {
+		this.featureTableStyles = featureTableStyles;
+		this.tableStyles = tableStyles;
+		this.tableIcons = tableIcons;
+		this.styleRows = styleRows;
+		this.iconRows = iconRows;
+		this.featureIds = featureIds;
+
+		Map<Long, Styles> featureStyles = new HashMap<>();
+		Map<Long, Icons> featureIcons = new HashMap<>();
+		loadStyles(featureTableStyles.getStyleMappingDao(), featureStyles);
+		loadIcons(featureTableStyles.getIconMappingDao(), featureIcons);
+		this.styles = new IdMap<>(featureStyles);
+		this.icons = new IdMap<>(featureIcons);
+	}
+
+	/**
+	 * Create a feature style map of the feature ids, sharing the table styles
+	 * and the style and icon rows of this map and only querying for the
+	 * feature mappings
+	 *
+	 * @param featureIds
+	 *            feature ids
+	 * @return feature style map
+	 */
+	public FeatureStyleMap forFeatures(long[] featureIds) {
+		return new FeatureStyleMap(featureTableStyles, tableStyles, tableIcons,
+				styleRows, iconRows, sort(featureIds));
+	}
+
+	/**
+	 * Get the feature table styles
+	 *
+	 * @return feature table styles
+	 */
+	public FeatureTableStyles getFeatureTableStyles() {
+		return featureTableStyles;
+	}
+
+	/**
+	 * Determine if the styles of all features are loaded
+	 *
+	 * @return true if all features are loaded
+	 */
+	public boolean isAllFeatures() {
+		return featureIds == null;
+	}
+
+	/**
+	 * Determine if the styles of the feature id are loaded
+	 *
+	 * @param featureId
+	 *            feature id
+	 * @return true if loaded
+	 */
+	public boolean contains(long featureId) {
+		return featureIds == null
+				|| Arrays.binarySearch(featureIds, featureId) >= 0;
+	}
+
+	/**
+	 * Get the number of features with styles or icons
+	 *
+	 * @return feature count
+	 */
+	public int size() {
+		int count = styles.size();
+		for (int i = 0; i < icons.size(); i++) {
+			if (styles.get(icons.keys[i]) == null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Get the feature style (style and icon) of the feature, searching in
+	 * order: feature geometry type style or icon, feature default style or
+	 * icon, table geometry type style or icon, table default style or icon
+	 *
+	 * @param featureId
+	 *            feature id
+	 * @param geometryType
+	 *            geometry type
+	 * @return feature style
+	 */
+	public FeatureStyle getFeatureStyle(long featureId,
+			GeometryType geometryType) {
+
+		FeatureStyle featureStyle = null;
+
+		StyleRow style = getStyle(featureId, geometryType);
+		IconRow icon = getIcon(featureId, geometryType);
+
+		if (style != null || icon != null) {
+			featureStyle = new FeatureStyle(style, icon);
+		}
+
+		return featureStyle;
+	}
+
+	/**
+	 * Get the style of the feature, searching in order: feature geometry type
+	 * style, feature default style, table geometry type style, table default
+	 * style
+	 *
+	 * @param featureId
+	 *            feature id
+	 * @param geometryType
+	 *            geometry type
+	 * @return style row
+	 */
+	public StyleRow getStyle(long featureId, GeometryType geometryType) {
+
+		StyleRow styleRow = null;
+
+		Styles featureStyles = styles.get(featureId);
+		if (featureStyles != null) {
+			styleRow = featureStyles.getStyle(geometryType);
+		}
+
+		if (styleRow == null && tableStyles != null) {
+			styleRow = tableStyles.getStyle(geometryType);
+		}
+
+		return styleRow;
+	}
+
+	/**
+	 * Get the icon of the feature, searching in order: feature geometry type
+	 * icon, feature default icon, table geometry type icon, table default icon
+	 *
+	 * @param featureId
+	 *            feature id
+	 * @param geometryType
+	 *            geometry type
+	 * @return icon row
+	 */
+	public IconRow getIcon(long featureId, GeometryType geometryType) {
+
+		IconRow iconRow = null;
+
+		Icons featureIcons = icons.get(featureId);
+		if (featureIcons != null) {
+			iconRow = featureIcons.getIcon(geometryType);
+		}
+
+		if (iconRow == null && tableIcons != null) {
+			iconRow = tableIcons.getIcon(geometryType);
+		}
+
+		return iconRow;
+	}
+
+	/**
+	 * Load the feature styles from the style mappings
+	 *
+	 * @param mappingDao
+	 *            style mapping DAO
+	 * @param featureStyles
+	 *            feature styles by feature id
+	 */
+	private void loadStyles(StyleMappingDao mappingDao,
+			Map<Long, Styles> featureStyles) {
+		if (mappingDao != null) {
+			for (int chunk = 0; chunk < getQueryChunks(); chunk++) {
+				UserCustomResultSet resultSet = queryMappings(mappingDao,
+						chunk * QUERY_IDS);
+				try {
+					while (resultSet.moveToNext()) {
+						StyleMappingRow mappingRow = mappingDao
+								.getRow(resultSet);
+						StyleRow styleRow = styleRows
+								.get(mappingRow.getRelatedId());
+						if (styleRow != null) {
+							Styles rowStyles = featureStyles
+									.get(mappingRow.getBaseId());
+							if (rowStyles == null) {
+								rowStyles = new Styles(false);
+								featureStyles.put(mappingRow.getBaseId(),
+										rowStyles);
+							}
+							rowStyles.setStyle(styleRow,
+									mappingRow.getGeometryType());
+						}
+					}
+				} finally {
+					resultSet.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Load the feature icons from the icon mappings
+	 *
+	 * @param mappingDao
+	 *            icon mapping DAO
+	 * @param featureIcons
+	 *            feature icons by feature id
+	 */
+	private void loadIcons(StyleMappingDao mappingDao,
+			Map<Long, Icons> featureIcons) {
+		if (mappingDao != null) {
+			for (int chunk = 0; chunk < getQueryChunks(); chunk++) {
+				UserCustomResultSet resultSet = queryMappings(mappingDao,
+						chunk * QUERY_IDS);
+				try {
+					while (resultSet.moveToNext()) {
+						StyleMappingRow mappingRow = mappingDao
+								.getRow(resultSet);
+						IconRow iconRow = iconRows
+								.get(mappingRow.getRelatedId());
+						if (iconRow != null) {
+							Icons rowIcons = featureIcons
+									.get(mappingRow.getBaseId());
+							if (rowIcons == null) {
+								rowIcons = new Icons(false);
+								featureIcons.put(mappingRow.getBaseId(),
+										rowIcons);
+							}
+							rowIcons.setIcon(iconRow,
+									mappingRow.getGeometryType());
+						}
+					}
+				} finally {
+					resultSet.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the number of mapping queries, one for all features or one per chunk
+	 * of feature ids
+	 *
+	 * @return query chunks
+	 */
+	private int getQueryChunks() {
+		int chunks = 1;
+		if (featureIds != null) {
+			chunks = (featureIds.length + QUERY_IDS - 1) / QUERY_IDS;
+		}
+		return chunks;
+	}
+
+	/**
+	 * Query for the mappings of all features or of a chunk of the feature ids
+	 *
+	 * @param mappingDao
+	 *            style mapping DAO
+	 * @param start
+	 *            feature ids start index
+	 * @return result set
+	 */
+	private UserCustomResultSet queryMappings(StyleMappingDao mappingDao,
+			int start) {
+		UserCustomResultSet resultSet = null;
+		if (featureIds == null) {
+			resultSet = mappingDao.queryForAll();
+		} else {
+			int end = Math.min(start + QUERY_IDS, featureIds.length);
+			StringBuilder where = new StringBuilder();
+			where.append(CoreSQLUtils
+					.quoteWrap(StyleMappingTable.COLUMN_BASE_ID));
+			where.append(" IN (");
+			for (int i = start; i < end; i++) {
+				if (i > start) {
+					where.append(", ");
+				}
+				where.append(featureIds[i]);
+			}
+			where.append(")");
+			resultSet = mappingDao.query(where.toString(), null);
+		}
+		return resultSet;
+	}
+
+	/**
+	 * Copy and sort the feature ids
+	 *
+	 * @param featureIds
+	 *            feature ids
+	 * @return sorted feature ids
+	 */
+	private static long[] sort(long[] featureIds) {
+		long[] sorted = Arrays.copyOf(featureIds, featureIds.length);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * Map of values by sorted primitive ids
+	 *
+	 * @param <T>
+	 *            value type
+	 */
+	private static class IdMap<T> {
+
+		/**
+		 * Sorted ids
+		 */
+		private final long[] keys;
+
+		/**
+		 * Values in id order
+		 */
+		private final Object[] values;
+
+		/**
+		 * Constructor
+		 *
+		 * @param map
+		 *            values by id
+		 */
+		IdMap(Map<Long, T> map) {
+			keys = new long[map.size()];
+			int index = 0;
+			for (long key : map.keySet()) {
+				keys[index++] = key;
+			}
+			Arrays.sort(keys);
+			values = new Object[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				values[i] = map.get(keys[i]);
+			}
+		}
+
+		/**
+		 * Get the number of ids
+		 *
+		 * @return size
+		 */
+		int size() {
+			return keys.length;
+		}
+
+		/**
+		 * Get the value of the id
+		 *
+		 * @param id
+		 *            id
+		 * @return value or null
+		 */
+		@SuppressWarnings("unchecked")
+		T get(long id) {
+			T value = null;
+			int index = Arrays.binarySearch(keys, id);
+			if (index >= 0) {
+				value = (T) values[index];
+			}
+			return value;
+		}
+
+	}
+
+}
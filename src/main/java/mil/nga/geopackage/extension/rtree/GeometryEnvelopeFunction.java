@@ -0,0 +1,67 @@
+package mil.nga.geopackage.extension.rtree;
+
+import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.geom.GeometryEnvelopeReader;
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * Geometry Function for reading the Geometry Envelope from a geometry column
+ * blob. The envelope is read from the GeoPackage binary header when present,
+ * or by a well-known binary coordinate scan, without reading the full
+ * geometry.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public abstract class GeometryEnvelopeFunction extends GeometryFunction {
+
+	/**
+	 * Constructor
+	 *
+	 * @param name
+	 *            function name
+	 */
+	public GeometryEnvelopeFunction(String name) {
+		super(name);
+	}
+
+	/**
+	 * Execute the function
+	 *
+	 * @param envelope
+	 *            geometry envelope, null for no geometry or an empty geometry
+	 * @param srsId
+	 *            spatial reference system id
+	 * @return function result
+	 */
+	public abstract Object execute(GeometryEnvelope envelope, int srsId);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object execute(GeoPackageGeometryData geometryData) {
+		GeometryEnvelope envelope = null;
+		int srsId = 0;
+		if (geometryData != null) {
+			envelope = geometryData.getOrBuildEnvelope();
+			srsId = geometryData.getSrsId();
+		}
+		return execute(envelope, srsId);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Object execute(byte[] bytes) {
+		GeometryEnvelope envelope = GeometryEnvelopeReader
+				.readEnvelope(bytes);
+		int srsId = 0;
+		if (envelope != null) {
+			srsId = GeometryEnvelopeReader.readSrsId(bytes);
+		}
+		return execute(envelope, srsId);
+	}
+
+}
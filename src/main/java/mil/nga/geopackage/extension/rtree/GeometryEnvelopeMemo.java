@@ -0,0 +1,121 @@
+package mil.nga.geopackage.extension.rtree;
+
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * Per thread memo of the last geodesic envelope computed by the Geometry
+ * Envelope Functions. The RTree triggers call the min and max y functions on
+ * the same geometry, the memo computes the geodesic envelope once and serves
+ * the remaining call of the row. Entries are keyed by the envelope bounds and
+ * spatial reference system id.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class GeometryEnvelopeMemo {
+
+	/**
+	 * Last geodesic envelope per thread
+	 */
+	private final ThreadLocal<Entry> entries = ThreadLocal
+			.withInitial(Entry::new);
+
+	/**
+	 * Get the memoized geodesic envelope of the envelope
+	 *
+	 * @param envelope
+	 *            geometry envelope
+	 * @param srsId
+	 *            spatial reference system id
+	 * @return geodesic envelope or null if not memoized
+	 */
+	public GeometryEnvelope get(GeometryEnvelope envelope, int srsId) {
+		GeometryEnvelope geodesicEnvelope = null;
+		Entry entry = entries.get();
+		if (entry.matches(envelope, srsId)) {
+			geodesicEnvelope = entry.geodesicEnvelope;
+		}
+		return geodesicEnvelope;
+	}
+
+	/**
+	 * Memoize the geodesic envelope of the envelope
+	 *
+	 * @param envelope
+	 *            geometry envelope
+	 * @param srsId
+	 *            spatial reference system id
+	 * @param geodesicEnvelope
+	 *            geodesic envelope
+	 */
+	public void put(GeometryEnvelope envelope, int srsId,
+			GeometryEnvelope geodesicEnvelope) {
+		Entry entry = entries.get();
+		entry.srsId = srsId;
+		entry.minX = envelope.getMinX();
+		entry.minY = envelope.getMinY();
+		entry.maxX = envelope.getMaxX();
+		entry.maxY = envelope.getMaxY();
+		entry.geodesicEnvelope = geodesicEnvelope;
+	}
+
+	/**
+	 * Clear the memo entry of the thread
+	 */
+	public void clear() {
+		entries.remove();
+	}
+
+	/**
+	 * Memo entry of a geodesic envelope
+	 */
+	private static class Entry {
+
+		/**
+		 * Spatial reference system id
+		 */
+		private int srsId;
+
+		/**
+		 * Envelope min x
+		 */
+		private double minX;
+
+		/**
+		 * Envelope min y
+		 */
+		private double minY;
+
+		/**
+		 * Envelope max x
+		 */
+		private double maxX;
+
+		/**
+		 * Envelope max y
+		 */
+		private double maxY;
+
+		/**
+		 * Geodesic envelope
+		 */
+		private GeometryEnvelope geodesicEnvelope;
+
+		/**
+		 * Check if the entry is of the envelope and srs id
+		 *
+		 * @param envelope
+		 *            geometry envelope
+		 * @param srsId
+		 *            spatial reference system id
+		 * @return true if a match
+		 */
+		private boolean matches(GeometryEnvelope envelope, int srsId) {
+			return geodesicEnvelope != null && srsId == this.srsId
+					&& envelope.getMinX() == minX && envelope.getMinY() == minY
+					&& envelope.getMaxX() == maxX && envelope.getMaxY() == maxY;
+		}
+
+	}
+
+}
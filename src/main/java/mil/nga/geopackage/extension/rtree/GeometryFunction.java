@@ -49,6 +49,24 @@ public abstract class GeometryFunction extends Function {
 	 */
 	public abstract Object execute(GeoPackageGeometryData geometryData);
 
+	/**
+	 * Execute the function on the geometry column blob bytes. Reads the
+	 * geometry data by default, functions needing only the binary header or
+	 * envelope may override to avoid reading the full geometry.
+	 *
+	 * @param bytes
+	 *            geometry bytes, may be null or empty
+	 * @return function result
+	 * @since 6.6.7
+	 */
+	protected Object execute(byte[] bytes) {
+		GeoPackageGeometryData geometryData = null;
+		if (bytes != null && bytes.length > 0) {
+			geometryData = GeoPackageGeometryData.create(bytes);
+		}
+		return execute(geometryData);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -61,13 +79,7 @@ public abstract class GeometryFunction extends Function {
 					"Single argument is required. args: " + argCount);
 		}
 
-		byte[] bytes = value_blob(0);
-		GeoPackageGeometryData geometryData = null;
-		if (bytes != null && bytes.length > 0) {
-			geometryData = GeoPackageGeometryData.create(bytes);
-		}
-
-		Object response = execute(geometryData);
+		Object response = execute(value_blob(0));
 
 		if (response == null) {
 			result();
@@ -0,0 +1,360 @@
+package mil.nga.geopackage.extension.rtree;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * Packed RTree, a read only in memory copy of an RTree Index table packed in
+ * Hilbert curve order into primitive arrays. Queries return the matching
+ * feature ids without SQL. Changes made to the feature table after the packed
+ * RTree is loaded are not reflected in query results.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class PackedRTree {
+
+	/**
+	 * Default number of child entries per node
+	 */
+	public static final int DEFAULT_NODE_SIZE = 16;
+
+	/**
+	 * Number of low bits holding the entry index in sort values
+	 */
+	private static final int INDEX_BITS = 31;
+
+	/**
+	 * Number of child entries per node
+	 */
+	private final int nodeSize;
+
+	/**
+	 * Number of indexed features
+	 */
+	private final int size;
+
+	/**
+	 * Feature ids of the leaf entries
+	 */
+	private final long[] ids;
+
+	/**
+	 * Node ranges of min x, max x, min y, and max y, leaf entries first
+	 * followed by each parent level up to the root
+	 */
+	private final float[] ranges;
+
+	/**
+	 * First and last (exclusive) child node of each parent node
+	 */
+	private final int[] children;
+
+	/**
+	 * Query range tolerance
+	 */
+	private final double tolerance;
+
+	/**
+	 * Date loaded
+	 */
+	private final Date loaded = new Date();
+
+	/**
+	 * Constructor
+	 *
+	 * @param ids
+	 *            feature ids
+	 * @param ranges
+	 *            feature ranges of min x, max x, min y, and max y
+	 * @param size
+	 *            number of features
+	 * @param nodeSize
+	 *            number of child entries per node
+	 * @param tolerance
+	 *            query range tolerance
+	 */
+	PackedRTree(long[] ids, float[] ranges, int size, int nodeSize,
+			double tolerance) {
+
+		if (nodeSize < 2) {
+			throw new GeoPackageException(
+					"Packed RTree node size must be at least 2, size: "
+							+ nodeSize);
+		}
+
+		this.nodeSize = nodeSize;
+		this.size = size;
+		this.tolerance = tolerance;
+
+		int nodes = size;
+		if (size > 0) {
+			int levelCount = size;
+			do {
+				levelCount = (levelCount + nodeSize - 1) / nodeSize;
+				nodes += levelCount;
+			} while (levelCount > 1);
+		}
+
+		this.ids = new long[size];
+		this.ranges = new float[nodes * 4];
+		this.children = new int[(nodes - size) * 2];
+
+		if (size > 0) {
+			sort(ids, ranges);
+			pack(nodes);
+		}
+	}
+
+	/**
+	 * Copy the feature entries in Hilbert curve order of their range centers
+	 *
+	 * @param ids
+	 *            feature ids
+	 * @param ranges
+	 *            feature ranges
+	 */
+	private void sort(long[] ids, float[] ranges) {
+
+		double[] extent = new double[] { Double.MAX_VALUE, Double.MAX_VALUE,
+				-Double.MAX_VALUE, -Double.MAX_VALUE };
+		for (int i = 0; i < size; i++) {
+			int offset = i * 4;
+			double x = (ranges[offset] + ranges[offset + 1]) / 2.0;
+			double y = (ranges[offset + 2] + ranges[offset + 3]) / 2.0;
+			extent[0] = Math.min(extent[0], x);
+			extent[1] = Math.min(extent[1], y);
+			extent[2] = Math.max(extent[2], x);
+			extent[3] = Math.max(extent[3], y);
+		}
+
+		long[] sorted = new long[size];
+		for (int i = 0; i < size; i++) {
+			int offset = i * 4;
+			long key = RTreeIndexBulkLoader.hilbertKey(extent,
+					(ranges[offset] + ranges[offset + 1]) / 2.0,
+					(ranges[offset + 2] + ranges[offset + 3]) / 2.0);
+			sorted[i] = (key << INDEX_BITS) | i;
+		}
+		Arrays.sort(sorted);
+
+		for (int i = 0; i < size; i++) {
+			int index = (int) (sorted[i] & ((1L << INDEX_BITS) - 1));
+			this.ids[i] = ids[index];
+			System.arraycopy(ranges, index * 4, this.ranges, i * 4, 4);
+		}
+	}
+
+	/**
+	 * Pack the parent levels, grouping each run of node size entries of a
+	 * level into a parent node of the next level
+	 *
+	 * @param nodes
+	 *            total number of nodes
+	 */
+	private void pack(int nodes) {
+		int levelStart = 0;
+		int levelEnd = size;
+		int parent = size;
+		while (parent < nodes) {
+			for (int child = levelStart; child < levelEnd; child += nodeSize) {
+				int end = Math.min(child + nodeSize, levelEnd);
+				float minX = Float.MAX_VALUE;
+				float maxX = -Float.MAX_VALUE;
+				float minY = Float.MAX_VALUE;
+				float maxY = -Float.MAX_VALUE;
+				for (int node = child; node < end; node++) {
+					int offset = node * 4;
+					minX = Math.min(minX, ranges[offset]);
+					maxX = Math.max(maxX, ranges[offset + 1]);
+					minY = Math.min(minY, ranges[offset + 2]);
+					maxY = Math.max(maxY, ranges[offset + 3]);
+				}
+				int offset = parent * 4;
+				ranges[offset] = minX;
+				ranges[offset + 1] = maxX;
+				ranges[offset + 2] = minY;
+				ranges[offset + 3] = maxY;
+				int childOffset = (parent - size) * 2;
+				children[childOffset] = child;
+				children[childOffset + 1] = end;
+				parent++;
+			}
+			levelStart = levelEnd;
+			levelEnd = parent;
+		}
+	}
+
+	/**
+	 * Get the number of child entries per node
+	 *
+	 * @return node size
+	 */
+	public int getNodeSize() {
+		return nodeSize;
+	}
+
+	/**
+	 * Get the number of indexed features
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get the query range tolerance
+	 *
+	 * @return query range tolerance
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * Get the date the packed RTree was loaded
+	 *
+	 * @return loaded date
+	 */
+	public Date getLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Get the bounding box of all indexed features
+	 *
+	 * @return bounding box, null when empty
+	 */
+	public BoundingBox getBoundingBox() {
+		BoundingBox boundingBox = null;
+		if (size > 0) {
+			int offset = ranges.length - 4;
+			boundingBox = new BoundingBox(ranges[offset], ranges[offset + 2],
+					ranges[offset + 1], ranges[offset + 3]);
+		}
+		return boundingBox;
+	}
+
+	/**
+	 * Query for feature ids within the bounding box
+	 *
+	 * @param boundingBox
+	 *            bounding box
+	 * @return feature ids
+	 */
+	public long[] query(BoundingBox boundingBox) {
+		return query(boundingBox.getMinLongitude(),
+				boundingBox.getMinLatitude(), boundingBox.getMaxLongitude(),
+				boundingBox.getMaxLatitude());
+	}
+
+	/**
+	 * Query for feature ids within the geometry envelope
+	 *
+	 * @param envelope
+	 *            geometry envelope
+	 * @return feature ids
+	 */
+	public long[] query(GeometryEnvelope envelope) {
+		return query(envelope.getMinX(), envelope.getMinY(),
+				envelope.getMaxX(), envelope.getMaxY());
+	}
+
+	/**
+	 * Query for feature ids within the bounds, matching the overlapping ranges
+	 * of an RTree Index table query
+	 *
+	 * @param minX
+	 *            min x
+	 * @param minY
+	 *            min y
+	 * @param maxX
+	 *            max x
+	 * @param maxY
+	 *            max y
+	 * @return feature ids in packed order
+	 */
+	public long[] query(double minX, double minY, double maxX, double maxY) {
+
+		minX -= tolerance;
+		maxX += tolerance;
+		minY -= tolerance;
+		maxY += tolerance;
+
+		long[] results = new long[Math.min(size, nodeSize)];
+		int count = 0;
+
+		if (size > 0) {
+
+			int[] stack = new int[nodeSize * 8];
+			int stackSize = 0;
+			int node = ranges.length / 4 - 1;
+
+			while (node >= 0) {
+
+				int childOffset = (node - size) * 2;
+				int end = children[childOffset + 1];
+				for (int child = children[childOffset]; child < end; child++) {
+					if (overlaps(child, minX, minY, maxX, maxY)) {
+						if (child < size) {
+							if (count == results.length) {
+								results = Arrays.copyOf(results,
+										Math.min(size, count * 2));
+							}
+							results[count++] = ids[child];
+						} else {
+							if (stackSize == stack.length) {
+								stack = Arrays.copyOf(stack, stackSize * 2);
+							}
+							stack[stackSize++] = child;
+						}
+					}
+				}
+
+				node = stackSize > 0 ? stack[--stackSize] : -1;
+			}
+		}
+
+		return count == results.length ? results
+				: Arrays.copyOf(results, count);
+	}
+
+	/**
+	 * Count the features within the geometry envelope
+	 *
+	 * @param envelope
+	 *            geometry envelope
+	 * @return count
+	 */
+	public int count(GeometryEnvelope envelope) {
+		return query(envelope).length;
+	}
+
+	/**
+	 * Determine if the node range overlaps the bounds
+	 *
+	 * @param node
+	 *            node
+	 * @param minX
+	 *            min x
+	 * @param minY
+	 *            min y
+	 * @param maxX
+	 *            max x
+	 * @param maxY
+	 *            max y
+	 * @return true if overlapping
+	 */
+	private boolean overlaps(int node, double minX, double minY, double maxX,
+			double maxY) {
+		int offset = node * 4;
+		return ranges[offset] <= maxX && ranges[offset + 1] >= minX
+				&& ranges[offset + 2] <= maxY && ranges[offset + 3] >= minY;
+	}
+
+}
@@ -0,0 +1,886 @@
+package mil.nga.geopackage.extension.rtree;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.extension.Extensions;
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureResultSet;
+import mil.nga.geopackage.geom.GeometryEnvelopeReader;
+import mil.nga.geopackage.io.GeoPackageProgress;
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * RTree Index bulk loader, creating the RTree extension for a feature table by
+ * streaming the feature ids and envelopes, sorting them along a Hilbert curve,
+ * and loading the RTree index table in that order. Feature counts beyond the
+ * chunk size are sorted in chunks spilled to temporary files and merged.
+ * Spatially ordered inserts build a better packed RTree faster than inserts
+ * in feature table order.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class RTreeIndexBulkLoader {
+
+	/**
+	 * Default max features sorted in memory per chunk
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1000000;
+
+	/**
+	 * Default inserts per batch
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/**
+	 * Hilbert curve order, bits per dimension
+	 */
+	private static final int HILBERT_ORDER = 16;
+
+	/**
+	 * Hilbert curve cells per dimension
+	 */
+	private static final int HILBERT_CELLS = 1 << HILBERT_ORDER;
+
+	/**
+	 * Chunk index bits of the in memory sort values
+	 */
+	private static final int INDEX_BITS = 31;
+
+	/**
+	 * RTree index extension
+	 */
+	private final RTreeIndexExtension rTree;
+
+	/**
+	 * Feature DAO
+	 */
+	private final FeatureDao featureDao;
+
+	/**
+	 * Progress
+	 */
+	private GeoPackageProgress progress;
+
+	/**
+	 * Max features sorted in memory per chunk
+	 */
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * Inserts per batch
+	 */
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * Temporary directory of spilled chunks, null for the system default
+	 */
+	private File tempDirectory;
+
+	/**
+	 * Constructor
+	 *
+	 * @param rTree
+	 *            RTree index extension
+	 * @param featureDao
+	 *            feature DAO
+	 */
+	public RTreeIndexBulkLoader(RTreeIndexExtension rTree,
+			FeatureDao featureDao) {
+		this.rTree = rTree;
+		this.featureDao = featureDao;
+	}
+
+	/**
+	 * Get the progress tracker
+	 *
+	 * @return progress tracker
+	 */
+	public GeoPackageProgress getProgress() {
+		return progress;
+	}
+
+	/**
+	 * Set the progress tracker, progress is added per loaded feature
+	 *
+	 * @param progress
+	 *            progress tracker
+	 */
+	public void setProgress(GeoPackageProgress progress) {
+		this.progress = progress;
+	}
+
+	/**
+	 * Get the max features sorted in memory per chunk
+	 *
+	 * @return chunk size
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Set the max features sorted in memory per chunk
+	 *
+	 * @param chunkSize
+	 *            chunk size
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1 || chunkSize > Integer.MAX_VALUE / 4) {
+			throw new GeoPackageException(
+					"Chunk size must be between 1 and "
+							+ (Integer.MAX_VALUE / 4) + ": " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Get the inserts per batch
+	 *
+	 * @return batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Set the inserts per batch
+	 *
+	 * @param batchSize
+	 *            batch size
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new GeoPackageException(
+					"Batch size must be at least 1: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Get the temporary directory of spilled chunks
+	 *
+	 * @return temporary directory, null for the system default
+	 */
+	public File getTempDirectory() {
+		return tempDirectory;
+	}
+
+	/**
+	 * Set the temporary directory of spilled chunks
+	 *
+	 * @param tempDirectory
+	 *            temporary directory, null for the system default
+	 */
+	public void setTempDirectory(File tempDirectory) {
+		this.tempDirectory = tempDirectory;
+	}
+
+	/**
+	 * Create the RTree extension for the feature table, bulk loading the RTree
+	 * index. When the connection is in auto commit mode the creation runs in a
+	 * single transaction. A progress cancellation deletes the partially created
+	 * extension.
+	 *
+	 * @return extension, null if canceled
+	 */
+	public Extensions create() {
+
+		if (!featureDao.hasPkColumn()) {
+			throw new GeoPackageException(
+					"RTree bulk load requires a primary key column. Table: "
+							+ featureDao.getTableName());
+		}
+
+		String tableName = featureDao.getTableName();
+		String geometryColumnName = featureDao.getGeometryColumnName();
+		String idColumnName = featureDao.getPkColumnName();
+
+		Connection connection = rTree.getGeoPackage().getConnection()
+				.getConnection();
+		Boolean autoCommit = null;
+		try {
+			if (connection.getAutoCommit()) {
+				autoCommit = rTree.getGeoPackage().getConnection()
+						.beginWriterTransaction();
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to check the connection auto commit mode", e);
+		}
+
+		Extensions extension = null;
+		boolean successful = false;
+		try {
+
+			extension = rTree.createIndexTable(tableName, geometryColumnName);
+
+			if (load(connection, rTree.getTableDao(featureDao).getTableName())) {
+				rTree.createAllTriggers(tableName, geometryColumnName,
+						idColumnName);
+				successful = true;
+			} else {
+				// Canceled, a caller owned transaction keeps the deletion
+				if (autoCommit == null) {
+					rTree.delete(tableName, geometryColumnName);
+				}
+				extension = null;
+			}
+
+		} finally {
+			if (autoCommit != null) {
+				rTree.getGeoPackage().getConnection()
+						.endWriterTransaction(successful, autoCommit);
+			}
+		}
+
+		return extension;
+	}
+
+	/**
+	 * Get the envelope with the geodesic y bounds, matching the RTree
+	 * functions that only apply geodesic bounds to the min and max y of
+	 * geometries with a spatial reference system
+	 *
+	 * @param envelope
+	 *            geometry envelope
+	 * @param srsId
+	 *            spatial reference system id
+	 * @return envelope
+	 */
+	private GeometryEnvelope geodesicEnvelope(GeometryEnvelope envelope,
+			int srsId) {
+		GeometryEnvelope result = envelope;
+		if (srsId > 0) {
+			GeometryEnvelope geodesic = rTree.getGeodesicEnvelope(envelope,
+					srsId);
+			result = new GeometryEnvelope(envelope.getMinX(),
+					geodesic.getMinY(), envelope.getMaxX(), geodesic.getMaxY());
+		}
+		return result;
+	}
+
+	/**
+	 * Load the RTree index table in Hilbert curve order
+	 *
+	 * @param connection
+	 *            connection
+	 * @param rTreeTableName
+	 *            RTree index table name
+	 * @return true if loaded, false if canceled
+	 */
+	private boolean load(Connection connection, String rTreeTableName) {
+
+		List<File> spills = new ArrayList<>();
+		try {
+
+			Chunk chunk = new Chunk(
+					(int) Math.min(chunkSize, Math.max(1, featureDao.count())));
+			double[] extent = new double[] { Double.MAX_VALUE,
+					Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE };
+
+			FeatureResultSet resultSet = featureDao
+					.query(featureDao.getIdAndGeometryColumnNames());
+			try {
+				int geometryIndex = resultSet.getColumns().getGeometryIndex();
+				while (resultSet.moveToNext()) {
+					if (progress != null && !progress.isActive()) {
+						return false;
+					}
+					byte[] bytes = resultSet.getBlob(geometryIndex);
+					GeometryEnvelope envelope = GeometryEnvelopeReader
+							.readEnvelope(bytes);
+					if (envelope == null) {
+						continue;
+					}
+					if (rTree.isGeodesic()) {
+						envelope = geodesicEnvelope(envelope,
+								GeometryEnvelopeReader.readSrsId(bytes));
+					}
+					chunk.add(resultSet.getId(), envelope);
+					double x = (envelope.getMinX() + envelope.getMaxX()) / 2.0;
+					double y = (envelope.getMinY() + envelope.getMaxY()) / 2.0;
+					extent[0] = Math.min(extent[0], x);
+					extent[1] = Math.min(extent[1], y);
+					extent[2] = Math.max(extent[2], x);
+					extent[3] = Math.max(extent[3], y);
+					if (chunk.isFull()) {
+						spills.add(chunk.spill(tempDirectory));
+					}
+				}
+			} finally {
+				resultSet.close();
+			}
+
+			String sql = "INSERT OR REPLACE INTO "
+					+ CoreSQLUtils.quoteWrap(rTreeTableName) + " ("
+					+ RTreeIndexExtension.COLUMN_ID + ", "
+					+ RTreeIndexExtension.COLUMN_MIN_X + ", "
+					+ RTreeIndexExtension.COLUMN_MAX_X + ", "
+					+ RTreeIndexExtension.COLUMN_MIN_Y + ", "
+					+ RTreeIndexExtension.COLUMN_MAX_Y
+					+ ") VALUES (?, ?, ?, ?, ?)";
+			Inserter inserter = new Inserter(connection, sql);
+			try {
+				boolean loaded;
+				if (spills.isEmpty()) {
+					loaded = chunk.insert(extent, inserter);
+				} else {
+					if (chunk.size() > 0) {
+						spills.add(chunk.spill(tempDirectory));
+					}
+					// Release the scan chunk before sorting the spills
+					chunk = null;
+					loaded = merge(spills, extent, inserter);
+				}
+				return loaded && inserter.flush();
+			} finally {
+				inserter.close();
+			}
+
+		} catch (IOException e) {
+			throw new GeoPackageException(
+					"Failed to spill RTree bulk load chunk. Table: "
+							+ featureDao.getTableName(),
+					e);
+		} finally {
+			for (File spill : spills) {
+				spill.delete();
+			}
+		}
+	}
+
+	/**
+	 * Sort the spilled chunks into runs and merge the runs into the RTree
+	 * index table
+	 *
+	 * @param spills
+	 *            spilled chunk files, replaced by the sorted run files
+	 * @param extent
+	 *            feature center extent
+	 * @param inserter
+	 *            RTree inserter
+	 * @return true if loaded, false if canceled
+	 * @throws IOException
+	 *             upon error
+	 */
+	private boolean merge(List<File> spills, double[] extent,
+			Inserter inserter) throws IOException {
+
+		for (int i = 0; i < spills.size(); i++) {
+			File spill = spills.get(i);
+			Chunk chunk = Chunk.read(spill);
+			spills.set(i, chunk.writeRun(extent, tempDirectory));
+			spill.delete();
+		}
+
+		PriorityQueue<Run> runs = new PriorityQueue<>();
+		try {
+			for (File spill : spills) {
+				Run run = new Run(spill);
+				if (run.next()) {
+					runs.add(run);
+				} else {
+					run.close();
+				}
+			}
+			while (!runs.isEmpty()) {
+				Run run = runs.poll();
+				if (!inserter.insert(run.id, run.minX, run.maxX, run.minY,
+						run.maxY)) {
+					run.close();
+					return false;
+				}
+				if (run.next()) {
+					runs.add(run);
+				} else {
+					run.close();
+				}
+			}
+		} finally {
+			for (Run run : runs) {
+				run.close();
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get the Hilbert curve key of the point within the extent
+	 *
+	 * @param extent
+	 *            extent of min x, min y, max x, and max y
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return Hilbert curve key
+	 */
+	static long hilbertKey(double[] extent, double x, double y) {
+		return hilbertKey(cell(x, extent[0], extent[2]),
+				cell(y, extent[1], extent[3]));
+	}
+
+	/**
+	 * Get the Hilbert curve cell of the coordinate within the range
+	 *
+	 * @param value
+	 *            coordinate
+	 * @param min
+	 *            range min
+	 * @param max
+	 *            range max
+	 * @return cell
+	 */
+	private static int cell(double value, double min, double max) {
+		int cell = 0;
+		double range = max - min;
+		if (range > 0) {
+			cell = (int) ((value - min) / range * (HILBERT_CELLS - 1));
+			cell = Math.max(0, Math.min(HILBERT_CELLS - 1, cell));
+		}
+		return cell;
+	}
+
+	/**
+	 * Get the Hilbert curve key of the cell
+	 *
+	 * @param x
+	 *            x cell
+	 * @param y
+	 *            y cell
+	 * @return Hilbert curve key
+	 */
+	static long hilbertKey(int x, int y) {
+		long key = 0;
+		for (int s = HILBERT_CELLS / 2; s > 0; s /= 2) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			key += (long) s * s * ((3 * rx) ^ ry);
+			if (ry == 0) {
+				if (rx == 1) {
+					x = HILBERT_CELLS - 1 - x;
+					y = HILBERT_CELLS - 1 - y;
+				}
+				int temp = x;
+				x = y;
+				y = temp;
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Chunk of feature ids and envelopes held in primitive arrays
+	 */
+	private static class Chunk {
+
+		/**
+		 * Feature ids
+		 */
+		private final long[] ids;
+
+		/**
+		 * Envelope bounds of min x, max x, min y, and max y per feature
+		 */
+		private final double[] bounds;
+
+		/**
+		 * Features in the chunk
+		 */
+		private int size = 0;
+
+		/**
+		 * Constructor
+		 *
+		 * @param capacity
+		 *            max features
+		 */
+		private Chunk(int capacity) {
+			ids = new long[capacity];
+			bounds = new double[capacity * 4];
+		}
+
+		/**
+		 * Read a spilled chunk
+		 *
+		 * @param file
+		 *            spilled chunk file
+		 * @return chunk
+		 * @throws IOException
+		 *             upon error
+		 */
+		private static Chunk read(File file) throws IOException {
+			Chunk chunk;
+			try (DataInputStream in = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(file)))) {
+				int size = in.readInt();
+				chunk = new Chunk(Math.max(1, size));
+				for (int i = 0; i < size; i++) {
+					chunk.ids[i] = in.readLong();
+					for (int j = 0; j < 4; j++) {
+						chunk.bounds[i * 4 + j] = in.readDouble();
+					}
+				}
+				chunk.size = size;
+			}
+			return chunk;
+		}
+
+		/**
+		 * Add a feature
+		 *
+		 * @param id
+		 *            feature id
+		 * @param envelope
+		 *            feature envelope
+		 */
+		private void add(long id, GeometryEnvelope envelope) {
+			ids[size] = id;
+			int offset = size * 4;
+			bounds[offset] = envelope.getMinX();
+			bounds[offset + 1] = envelope.getMaxX();
+			bounds[offset + 2] = envelope.getMinY();
+			bounds[offset + 3] = envelope.getMaxY();
+			size++;
+		}
+
+		/**
+		 * Get the number of features
+		 *
+		 * @return size
+		 */
+		private int size() {
+			return size;
+		}
+
+		/**
+		 * Check if the chunk is full
+		 *
+		 * @return true if full
+		 */
+		private boolean isFull() {
+			return size == ids.length;
+		}
+
+		/**
+		 * Spill the unsorted chunk to a temporary file and clear it
+		 *
+		 * @param directory
+		 *            temporary directory, null for the system default
+		 * @return spilled chunk file
+		 * @throws IOException
+		 *             upon error
+		 */
+		private File spill(File directory) throws IOException {
+			File file = File.createTempFile("rtree", ".chunk", directory);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(file)))) {
+				out.writeInt(size);
+				for (int i = 0; i < size; i++) {
+					out.writeLong(ids[i]);
+					for (int j = 0; j < 4; j++) {
+						out.writeDouble(bounds[i * 4 + j]);
+					}
+				}
+			} catch (IOException e) {
+				file.delete();
+				throw e;
+			}
+			size = 0;
+			return file;
+		}
+
+		/**
+		 * Sort the features by Hilbert curve key of their envelope centers
+		 *
+		 * @param extent
+		 *            feature center extent
+		 * @return sorted values of the key in the high bits and the feature
+		 *         index in the low bits
+		 */
+		private long[] sort(double[] extent) {
+			long[] sorted = new long[size];
+			for (int i = 0; i < size; i++) {
+				sorted[i] = (key(extent, i) << INDEX_BITS) | i;
+			}
+			Arrays.sort(sorted);
+			return sorted;
+		}
+
+		/**
+		 * Get the Hilbert curve key of the feature envelope center
+		 *
+		 * @param extent
+		 *            feature center extent
+		 * @param index
+		 *            feature index
+		 * @return Hilbert curve key
+		 */
+		private long key(double[] extent, int index) {
+			int offset = index * 4;
+			return hilbertKey(extent,
+					(bounds[offset] + bounds[offset + 1]) / 2.0,
+					(bounds[offset + 2] + bounds[offset + 3]) / 2.0);
+		}
+
+		/**
+		 * Insert the features in Hilbert curve order
+		 *
+		 * @param extent
+		 *            feature center extent
+		 * @param inserter
+		 *            RTree inserter
+		 * @return true if inserted, false if canceled
+		 */
+		private boolean insert(double[] extent, Inserter inserter) {
+			for (long value : sort(extent)) {
+				int index = (int) (value & ((1L << INDEX_BITS) - 1));
+				int offset = index * 4;
+				if (!inserter.insert(ids[index], bounds[offset],
+						bounds[offset + 1], bounds[offset + 2],
+						bounds[offset + 3])) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Write the features as a run sorted by Hilbert curve key
+		 *
+		 * @param extent
+		 *            feature center extent
+		 * @param directory
+		 *            temporary directory, null for the system default
+		 * @return run file
+		 * @throws IOException
+		 *             upon error
+		 */
+		private File writeRun(double[] extent, File directory)
+				throws IOException {
+			File file = File.createTempFile("rtree", ".run", directory);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(file)))) {
+				for (long value : sort(extent)) {
+					int index = (int) (value & ((1L << INDEX_BITS) - 1));
+					out.writeLong(value >>> INDEX_BITS);
+					out.writeLong(ids[index]);
+					for (int j = 0; j < 4; j++) {
+						out.writeDouble(bounds[index * 4 + j]);
+					}
+				}
+			} catch (IOException e) {
+				file.delete();
+				throw e;
+			}
+			return file;
+		}
+
+	}
+
+	/**
+	 * Sorted run reader positioned at its current feature
+	 */
+	private static class Run implements Comparable<Run> {
+
+		/**
+		 * Run input
+		 */
+		private final DataInputStream in;
+
+		/**
+		 * Current Hilbert curve key
+		 */
+		private long key;
+
+		/**
+		 * Current feature id
+		 */
+		private long id;
+
+		/**
+		 * Current envelope bounds
+		 */
+		private double minX;
+		private double maxX;
+		private double minY;
+		private double maxY;
+
+		/**
+		 * Constructor
+		 *
+		 * @param file
+		 *            run file
+		 * @throws IOException
+		 *             upon error
+		 */
+		private Run(File file) throws IOException {
+			in = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(file)));
+		}
+
+		/**
+		 * Read the next feature
+		 *
+		 * @return true if read, false at the end of the run
+		 * @throws IOException
+		 *             upon error
+		 */
+		private boolean next() throws IOException {
+			boolean read = true;
+			try {
+				key = in.readLong();
+				id = in.readLong();
+				minX = in.readDouble();
+				maxX = in.readDouble();
+				minY = in.readDouble();
+				maxY = in.readDouble();
+			} catch (EOFException e) {
+				read = false;
+			}
+			return read;
+		}
+
+		/**
+		 * Close the run input
+		 */
+		private void close() {
+			try {
+				in.close();
+			} catch (IOException e) {
+				// Spilled files are deleted after the load
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compareTo(Run other) {
+			return Long.compare(key, other.key);
+		}
+
+	}
+
+	/**
+	 * Batched RTree index table inserter
+	 */
+	private class Inserter {
+
+		/**
+		 * Insert statement
+		 */
+		private final PreparedStatement statement;
+
+		/**
+		 * Inserts in the pending batch
+		 */
+		private int batchCount = 0;
+
+		/**
+		 * Constructor
+		 *
+		 * @param connection
+		 *            connection
+		 * @param sql
+		 *            insert SQL
+		 */
+		private Inserter(Connection connection, String sql) {
+			try {
+				statement = connection.prepareStatement(sql);
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to prepare SQL insert statement: " + sql, e);
+			}
+		}
+
+		/**
+		 * Insert a feature envelope
+		 *
+		 * @param id
+		 *            feature id
+		 * @param minX
+		 *            min x
+		 * @param maxX
+		 *            max x
+		 * @param minY
+		 *            min y
+		 * @param maxY
+		 *            max y
+		 * @return true if inserted, false if canceled
+		 */
+		private boolean insert(long id, double minX, double maxX, double minY,
+				double maxY) {
+			try {
+				statement.setLong(1, id);
+				statement.setDouble(2, minX);
+				statement.setDouble(3, maxX);
+				statement.setDouble(4, minY);
+				statement.setDouble(5, maxY);
+				statement.addBatch();
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to add RTree insert. Table: "
+								+ featureDao.getTableName() + ", Id: " + id,
+						e);
+			}
+			boolean active = true;
+			if (++batchCount >= batchSize) {
+				active = flush();
+			}
+			return active;
+		}
+
+		/**
+		 * Execute the pending batch
+		 *
+		 * @return true if active, false if canceled
+		 */
+		private boolean flush() {
+			if (batchCount > 0) {
+				try {
+					statement.executeBatch();
+				} catch (SQLException e) {
+					throw new GeoPackageException(
+							"Failed to execute RTree insert batch. Table: "
+									+ featureDao.getTableName(),
+							e);
+				}
+				if (progress != null) {
+					progress.addProgress(batchCount);
+				}
+				batchCount = 0;
+			}
+			return progress == null || progress.isActive();
+		}
+
+		/**
+		 * Close the insert statement
+		 */
+		private void close() {
+			SQLUtils.closeStatement(statement, "RTree bulk insert");
+		}
+
+	}
+
+}
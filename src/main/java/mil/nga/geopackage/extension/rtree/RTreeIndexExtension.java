@@ -1,15 +1,17 @@
 package mil.nga.geopackage.extension.rtree;
 
 import java.sql.SQLException;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.sqlite.Function;
-
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.extension.ExtensionScopeType;
+import mil.nga.geopackage.extension.Extensions;
 import mil.nga.geopackage.features.user.FeatureDao;
 import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.geom.GeometryEnvelopeReader;
 import mil.nga.geopackage.user.custom.UserCustomDao;
 import mil.nga.geopackage.user.custom.UserCustomTable;
 import mil.nga.sf.GeometryEnvelope;
@@ -31,6 +33,11 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	private static final Logger log = Logger
 			.getLogger(RTreeIndexExtension.class.getName());
 
+	/**
+	 * Geodesic envelope memo shared by the min and max y functions of a row
+	 */
+	private final GeometryEnvelopeMemo envelopeMemo = new GeometryEnvelopeMemo();
+
 	/**
 	 * Constructor
 	 * 
@@ -92,22 +99,41 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 		return new RTreeIndexTableDao(this, userCustomDao, featureDao);
 	}
 
+	/**
+	 * Create the RTree extension, functions, and empty RTree index table for
+	 * the feature table, without loading the index or creating the triggers
+	 *
+	 * @param tableName
+	 *            feature table name
+	 * @param geometryColumnName
+	 *            geometry column name
+	 * @return extension
+	 */
+	Extensions createIndexTable(String tableName, String geometryColumnName) {
+		Extensions extension = getOrCreate(EXTENSION_NAME, tableName,
+				geometryColumnName, DEFINITION, ExtensionScopeType.WRITE_ONLY);
+		createAllFunctions();
+		createRTreeIndex(tableName, geometryColumnName);
+		return extension;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void createMinXFunction() {
-		createFunction(new GeometryFunction(MIN_X_FUNCTION) {
-			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				GeometryEnvelope envelope = getEnvelope(data);
-				if (envelope != null) {
-					value = envelope.getMinX();
-				}
-				return value;
-			}
-		});
+		createFunction(MIN_X_FUNCTION,
+				() -> new GeometryEnvelopeFunction(MIN_X_FUNCTION) {
+					@Override
+					public Object execute(GeometryEnvelope envelope,
+							int srsId) {
+						Object value = null;
+						if (envelope != null) {
+							value = envelope.getMinX();
+						}
+						return value;
+					}
+				});
 	}
 
 	/**
@@ -115,17 +141,18 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createMaxXFunction() {
-		createFunction(new GeometryFunction(MAX_X_FUNCTION) {
-			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				GeometryEnvelope envelope = getEnvelope(data);
-				if (envelope != null) {
-					value = envelope.getMaxX();
-				}
-				return value;
-			}
-		});
+		createFunction(MAX_X_FUNCTION,
+				() -> new GeometryEnvelopeFunction(MAX_X_FUNCTION) {
+					@Override
+					public Object execute(GeometryEnvelope envelope,
+							int srsId) {
+						Object value = null;
+						if (envelope != null) {
+							value = envelope.getMaxX();
+						}
+						return value;
+					}
+				});
 	}
 
 	/**
@@ -133,21 +160,21 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createMinYFunction() {
-		createFunction(new GeometryFunction(MIN_Y_FUNCTION) {
-			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				GeometryEnvelope envelope = getEnvelope(data);
-				if (envelope != null) {
-					int srsId = data.getSrsId();
-					if (srsId > 0) {
-						envelope = geodesicEnvelope(envelope, srsId);
+		createFunction(MIN_Y_FUNCTION,
+				() -> new GeometryEnvelopeFunction(MIN_Y_FUNCTION) {
+					@Override
+					public Object execute(GeometryEnvelope envelope,
+							int srsId) {
+						Object value = null;
+						if (envelope != null) {
+							if (srsId > 0) {
+								envelope = getGeodesicEnvelope(envelope, srsId);
+							}
+							value = envelope.getMinY();
+						}
+						return value;
 					}
-					value = envelope.getMinY();
-				}
-				return value;
-			}
-		});
+				});
 	}
 
 	/**
@@ -155,21 +182,21 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createMaxYFunction() {
-		createFunction(new GeometryFunction(MAX_Y_FUNCTION) {
-			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				GeometryEnvelope envelope = getEnvelope(data);
-				if (envelope != null) {
-					int srsId = data.getSrsId();
-					if (srsId > 0) {
-						envelope = geodesicEnvelope(envelope, srsId);
+		createFunction(MAX_Y_FUNCTION,
+				() -> new GeometryEnvelopeFunction(MAX_Y_FUNCTION) {
+					@Override
+					public Object execute(GeometryEnvelope envelope,
+							int srsId) {
+						Object value = null;
+						if (envelope != null) {
+							if (srsId > 0) {
+								envelope = getGeodesicEnvelope(envelope, srsId);
+							}
+							value = envelope.getMaxY();
+						}
+						return value;
 					}
-					value = envelope.getMaxY();
-				}
-				return value;
-			}
-		});
+				});
 	}
 
 	/**
@@ -177,37 +204,75 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createIsEmptyFunction() {
-		createFunction(new GeometryFunction(IS_EMPTY_FUNCTION) {
-			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				if (data != null) {
-					if (data.isEmpty() || data.getGeometry() == null) {
-						value = 1;
-					} else {
-						value = 0;
+		createFunction(IS_EMPTY_FUNCTION,
+				() -> new GeometryFunction(IS_EMPTY_FUNCTION) {
+					@Override
+					public Object execute(GeoPackageGeometryData data) {
+						Object value = null;
+						if (data != null) {
+							if (data.isEmpty() || data.getGeometry() == null) {
+								value = 1;
+							} else {
+								value = 0;
+							}
+						}
+						return value;
+					}
+
+					@Override
+					protected Object execute(byte[] bytes) {
+						Object value = null;
+						if (bytes != null && bytes.length > 0) {
+							value = GeometryEnvelopeReader.readEmpty(bytes) ? 1
+									: 0;
+						}
+						return value;
 					}
-				}
-				return value;
+				});
+	}
+
+	/**
+	 * Get the geodesic envelope when indexing using geodesic bounds. The
+	 * geodesic envelope of a row is computed once and shared by the min and
+	 * max y functions.
+	 *
+	 * @param envelope
+	 *            geometry envelope
+	 * @param srsId
+	 *            spatial reference system id
+	 * @return geodesic envelope or the envelope when not geodesic
+	 */
+	GeometryEnvelope getGeodesicEnvelope(GeometryEnvelope envelope,
+			int srsId) {
+
+		GeometryEnvelope result = envelope;
+
+		if (isGeodesic()) {
+			result = envelopeMemo.get(envelope, srsId);
+			if (result == null) {
+				result = geodesicEnvelope(envelope, srsId);
+				envelopeMemo.put(envelope, srsId, result);
 			}
-		});
+		}
+
+		return result;
 	}
 
 	/**
-	 * Create the function for the connection
+	 * Create the function for the connection, including pooled read
+	 * connections
 	 * 
 	 * @param name
 	 *            function name
 	 * @param function
-	 *            geometry function
+	 *            geometry function factory
 	 */
-	private void createFunction(GeometryFunction function) {
+	private void createFunction(String name,
+			Supplier<? extends GeometryFunction> function) {
 		try {
-			Function.create(getGeoPackage().getConnection().getConnection(),
-					function.getName(), function);
+			getGeoPackage().getConnection().createFunction(name, function);
 		} catch (SQLException e) {
-			log.log(Level.SEVERE,
-					"Failed to create function: " + function.getName(), e);
+			log.log(Level.SEVERE, "Failed to create function: " + name, e);
 		}
 	}
 
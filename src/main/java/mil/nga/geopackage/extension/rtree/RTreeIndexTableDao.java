@@ -1,5 +1,6 @@
 package mil.nga.geopackage.extension.rtree;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -14,6 +15,7 @@ import mil.nga.geopackage.io.GeoPackageProgress;
 import mil.nga.geopackage.user.custom.UserCustomDao;
 import mil.nga.geopackage.user.custom.UserCustomResultSet;
 import mil.nga.geopackage.user.custom.UserCustomRow;
+import mil.nga.geopackage.user.custom.UserCustomTable;
 import mil.nga.proj.Projection;
 import mil.nga.sf.GeometryEnvelope;
 import mil.nga.sf.proj.GeometryTransform;
@@ -46,6 +48,11 @@ public class RTreeIndexTableDao extends UserCustomDao {
 	 */
 	protected double tolerance = .00000000000001;
 
+	/**
+	 * Create the RTree index with the bulk loader
+	 */
+	protected boolean bulk = false;
+
 	/**
 	 * Constructor
 	 * 
@@ -93,6 +100,29 @@ public class RTreeIndexTableDao extends UserCustomDao {
 		this.tolerance = tolerance;
 	}
 
+	/**
+	 * Is the RTree index created with the bulk loader
+	 *
+	 * @return true if bulk loaded
+	 * @since 6.6.7
+	 */
+	public boolean isBulk() {
+		return bulk;
+	}
+
+	/**
+	 * Set whether the RTree index is created with the bulk loader, loading
+	 * the index in Hilbert curve order of the feature envelopes instead of
+	 * feature table order
+	 *
+	 * @param bulk
+	 *            true to bulk load
+	 * @since 6.6.7
+	 */
+	public void setBulk(boolean bulk) {
+		this.bulk = bulk;
+	}
+
 	/**
 	 * Determine if this feature table has the RTree extension
 	 * 
@@ -110,9 +140,16 @@ public class RTreeIndexTableDao extends UserCustomDao {
 	public Extensions create() {
 		Extensions extension = null;
 		if (!has()) {
-			extension = rTree.create(featureDao.getTable());
-			if (progress != null) {
-				progress.addProgress(count());
+			if (bulk) {
+				RTreeIndexBulkLoader loader = new RTreeIndexBulkLoader(rTree,
+						featureDao);
+				loader.setProgress(progress);
+				extension = loader.create();
+			} else {
+				extension = rTree.create(featureDao.getTable());
+				if (progress != null) {
+					progress.addProgress(count());
+				}
 			}
 		}
 		return extension;
@@ -743,6 +780,71 @@ public class RTreeIndexTableDao extends UserCustomDao {
 		return boundingBox;
 	}
 
+	/**
+	 * Load a read only packed RTree from the RTree Index table, using the
+	 * current query range tolerance
+	 *
+	 * @return packed RTree
+	 * @since 6.6.7
+	 */
+	public PackedRTree createPackedRTree() {
+		return createPackedRTree(PackedRTree.DEFAULT_NODE_SIZE);
+	}
+
+	/**
+	 * Load a read only packed RTree from the RTree Index table, using the
+	 * current query range tolerance
+	 *
+	 * @param nodeSize
+	 *            number of child entries per node
+	 * @return packed RTree
+	 * @since 6.6.7
+	 */
+	public PackedRTree createPackedRTree(int nodeSize) {
+		validateRTree();
+
+		UserCustomTable table = getTable();
+		int idIndex = table.getColumnIndex(RTreeIndexExtension.COLUMN_ID);
+		int minXIndex = table
+				.getColumnIndex(RTreeIndexExtension.COLUMN_MIN_X);
+		int maxXIndex = table
+				.getColumnIndex(RTreeIndexExtension.COLUMN_MAX_X);
+		int minYIndex = table
+				.getColumnIndex(RTreeIndexExtension.COLUMN_MIN_Y);
+		int maxYIndex = table
+				.getColumnIndex(RTreeIndexExtension.COLUMN_MAX_Y);
+
+		int capacity = Math.max(count(), 1);
+		long[] ids = new long[capacity];
+		float[] ranges = new float[capacity * 4];
+		int size = 0;
+
+		UserCustomResultSet resultSet = queryForAll();
+		try {
+			while (resultSet.moveToNext()) {
+				if (size == ids.length) {
+					ids = Arrays.copyOf(ids, size * 2);
+					ranges = Arrays.copyOf(ranges, size * 8);
+				}
+				int offset = size * 4;
+				ids[size] = ((Number) resultSet.getValue(idIndex)).longValue();
+				ranges[offset] = ((Number) resultSet.getValue(minXIndex))
+						.floatValue();
+				ranges[offset + 1] = ((Number) resultSet.getValue(maxXIndex))
+						.floatValue();
+				ranges[offset + 2] = ((Number) resultSet.getValue(minYIndex))
+						.floatValue();
+				ranges[offset + 3] = ((Number) resultSet.getValue(maxYIndex))
+						.floatValue();
+				size++;
+			}
+		} finally {
+			resultSet.close();
+		}
+
+		return new PackedRTree(ids, ranges, size, nodeSize, tolerance);
+	}
+
 	/**
 	 * Query for rows within the bounding box
 	 * 
@@ -0,0 +1,168 @@
+package mil.nga.geopackage.features.index;
+
+import java.util.Iterator;
+
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureRow;
+
+/**
+ * Feature Index Results of feature ids, reading each feature row by id only
+ * when iterated
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class FeatureIndexIdResults implements FeatureIndexResults {
+
+	/**
+	 * Feature DAO
+	 */
+	private final FeatureDao featureDao;
+
+	/**
+	 * Feature columns
+	 */
+	private final String[] columns;
+
+	/**
+	 * Feature ids
+	 */
+	private final long[] ids;
+
+	/**
+	 * Constructor
+	 *
+	 * @param featureDao
+	 *            feature DAO
+	 * @param ids
+	 *            feature ids
+	 */
+	public FeatureIndexIdResults(FeatureDao featureDao, long[] ids) {
+		this(featureDao, null, ids);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param featureDao
+	 *            feature DAO
+	 * @param columns
+	 *            columns, null for all
+	 * @param ids
+	 *            feature ids
+	 */
+	public FeatureIndexIdResults(FeatureDao featureDao, String[] columns,
+			long[] ids) {
+		this.featureDao = featureDao;
+		this.columns = columns != null ? columns : featureDao.getColumnNames();
+		this.ids = ids;
+	}
+
+	/**
+	 * Get the feature DAO
+	 *
+	 * @return feature DAO
+	 */
+	public FeatureDao getFeatureDao() {
+		return featureDao;
+	}
+
+	/**
+	 * Get the feature columns
+	 *
+	 * @return columns
+	 */
+	public String[] getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Get the feature ids
+	 *
+	 * @return feature ids
+	 */
+	public long[] getIds() {
+		return ids;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<FeatureRow> iterator() {
+		return new Iterator<FeatureRow>() {
+
+			int index = 0;
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public boolean hasNext() {
+				return index < ids.length;
+			}
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public FeatureRow next() {
+				return featureDao.queryForIdRow(columns, ids[index++]);
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long count() {
+		return ids.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterable<Long> ids() {
+		return new Iterable<Long>() {
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public Iterator<Long> iterator() {
+				return new Iterator<Long>() {
+
+					int index = 0;
+
+					/**
+					 * {@inheritDoc}
+					 */
+					@Override
+					public boolean hasNext() {
+						return index < ids.length;
+					}
+
+					/**
+					 * {@inheritDoc}
+					 */
+					@Override
+					public Long next() {
+						return ids[index++];
+					}
+
+				};
+			}
+		};
+	}
+
+}
@@ -16,6 +16,7 @@ import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.extension.nga.index.FeatureTableIndex;
+import mil.nga.geopackage.extension.rtree.PackedRTree;
 import mil.nga.geopackage.extension.rtree.RTreeIndexExtension;
 import mil.nga.geopackage.extension.rtree.RTreeIndexTableDao;
 import mil.nga.geopackage.features.user.FeatureDao;
@@ -26,6 +27,7 @@ import mil.nga.geopackage.features.user.ManualFeatureQuery;
 import mil.nga.geopackage.io.GeoPackageProgress;
 import mil.nga.proj.Projection;
 import mil.nga.sf.GeometryEnvelope;
+import mil.nga.sf.proj.GeometryTransform;
 
 /**
  * Feature Index Manager to manage indexing of feature geometries within a
@@ -58,6 +60,11 @@ public class FeatureIndexManager {
 	 */
 	private final RTreeIndexTableDao rTreeIndexTableDao;
 
+	/**
+	 * Packed RTree, loaded in memory from the RTree Index when indexed
+	 */
+	private PackedRTree packedRTree;
+
 	/**
 	 * Manual Feature Queries
 	 */
@@ -154,10 +161,11 @@ public class FeatureIndexManager {
 	}
 
 	/**
-	 * Close the index connections
+	 * Close the index connections and manual query threads
 	 */
 	public void close() {
 		featureTableIndex.close();
+		manualFeatureQuery.close();
 		// rTreeIndexTableDao.close();
 	}
 
@@ -189,6 +197,17 @@ public class FeatureIndexManager {
 		return rTreeIndexTableDao;
 	}
 
+	/**
+	 * Get the Packed RTree, loaded when indexed with
+	 * {@link FeatureIndexType#PACKED_RTREE}
+	 *
+	 * @return packed RTree or null
+	 * @since 6.6.7
+	 */
+	public PackedRTree getPackedRTree() {
+		return packedRTree;
+	}
+
 	/**
 	 * Get the ordered set of ordered index query locations
 	 *
@@ -252,6 +271,31 @@ public class FeatureIndexManager {
 		manualFeatureQuery.setGeodesic(geodesic);
 	}
 
+	/**
+	 * Get the number of threads used by manual bounds queries when no feature
+	 * index is available
+	 * 
+	 * @return threads
+	 * @since 6.6.7
+	 */
+	public int getManualQueryThreads() {
+		return manualFeatureQuery.getThreads();
+	}
+
+	/**
+	 * Set the number of threads used by manual bounds queries when no feature
+	 * index is available. When greater than 1, the feature table is split
+	 * into primary key ranges scanned in parallel on pooled read connections
+	 * of a GeoPackage opened with write-ahead logging.
+	 * 
+	 * @param threads
+	 *            number of threads, 1 for serial scans
+	 * @since 6.6.7
+	 */
+	public void setManualQueryThreads(int threads) {
+		manualFeatureQuery.setThreads(threads);
+	}
+
 	/**
 	 * Prioritize the query location order. All types are placed at the front of
 	 * the query order in the order they are given. Omitting a location leaves
@@ -427,8 +471,18 @@ public class FeatureIndexManager {
 				if (rTreeIndexed) {
 					rTreeIndexTableDao.delete();
 				}
-				rTreeIndexTableDao.create();
-				count = rTreeIndexTableDao.count();
+				if (rTreeIndexTableDao.create() != null) {
+					count = rTreeIndexTableDao.count();
+				}
+			}
+			break;
+		case PACKED_RTREE:
+			if (packedRTree == null || force) {
+				if (rTreeIndexTableDao.has()
+						|| rTreeIndexTableDao.create() != null) {
+					packedRTree = rTreeIndexTableDao.createPackedRTree();
+					count = packedRTree.size();
+				}
 			}
 			break;
 		default:
@@ -496,6 +550,10 @@ public class FeatureIndexManager {
 			// Updated by triggers, ignore for RTree
 			indexed = true;
 			break;
+		case PACKED_RTREE:
+			// Packed RTree is read only, unload the outdated index
+			packedRTree = null;
+			break;
 		default:
 			throw new GeoPackageException(
 					"Unsupported FeatureIndexType: " + type);
@@ -559,6 +617,10 @@ public class FeatureIndexManager {
 			rTreeIndexTableDao.delete();
 			deleted = true;
 			break;
+		case PACKED_RTREE:
+			deleted = packedRTree != null;
+			packedRTree = null;
+			break;
 		default:
 			throw new GeoPackageException(
 					"Unsupported FeatureIndexType: " + type);
@@ -662,6 +724,11 @@ public class FeatureIndexManager {
 			// Updated by triggers, ignore for RTree
 			deleted = true;
 			break;
+		case PACKED_RTREE:
+			// Packed RTree is read only, unload the outdated index
+			deleted = packedRTree != null;
+			packedRTree = null;
+			break;
 		default:
 			throw new GeoPackageException(
 					"Unsupported FeatureIndexType: " + type);
@@ -730,6 +797,9 @@ public class FeatureIndexManager {
 			case RTREE:
 				indexed = rTreeIndexTableDao.has();
 				break;
+			case PACKED_RTREE:
+				indexed = packedRTree != null;
+				break;
 			default:
 				throw new GeoPackageException(
 						"Unsupported FeatureIndexType: " + type);
@@ -791,6 +861,11 @@ public class FeatureIndexManager {
 					lastIndexed = new Date();
 				}
 				break;
+			case PACKED_RTREE:
+				if (packedRTree != null) {
+					lastIndexed = packedRTree.getLoaded();
+				}
+				break;
 			default:
 				throw new GeoPackageException(
 						"Unsupported FeatureIndexType: " + type);
@@ -897,6 +972,7 @@ public class FeatureIndexManager {
 							geoPackageResultSet);
 					break;
 				case RTREE:
+				case PACKED_RTREE:
 					FeatureResultSet rTreeResultSet = rTreeIndexTableDao
 							.queryFeatures(distinct, columns);
 					results = new FeatureIndexFeatureResults(rTreeResultSet);
@@ -939,6 +1015,9 @@ public class FeatureIndexManager {
 				case RTREE:
 					count = (long) rTreeIndexTableDao.count();
 					break;
+				case PACKED_RTREE:
+					count = (long) packedRTree.size();
+					break;
 				default:
 					throw new GeoPackageException(
 							"Unsupported feature index type: " + type);
@@ -991,6 +1070,7 @@ public class FeatureIndexManager {
 							column);
 					break;
 				case RTREE:
+				case PACKED_RTREE:
 					count = (long) rTreeIndexTableDao.countFeatures(distinct,
 							column);
 					break;
@@ -1314,6 +1394,7 @@ public class FeatureIndexManager {
 							geoPackageResultSet);
 					break;
 				case RTREE:
+				case PACKED_RTREE:
 					FeatureResultSet rTreeResultSet = rTreeIndexTableDao
 							.queryFeatures(distinct, columns, where, whereArgs);
 					results = new FeatureIndexFeatureResults(rTreeResultSet);
@@ -1398,6 +1479,7 @@ public class FeatureIndexManager {
 							column, where, whereArgs);
 					break;
 				case RTREE:
+				case PACKED_RTREE:
 					count = (long) rTreeIndexTableDao.countFeatures(distinct,
 							column, where, whereArgs);
 					break;
@@ -1439,6 +1521,9 @@ public class FeatureIndexManager {
 				case RTREE:
 					bounds = rTreeIndexTableDao.getBoundingBox();
 					break;
+				case PACKED_RTREE:
+					bounds = packedRTree.getBoundingBox();
+					break;
 				default:
 					throw new GeoPackageException(
 							"Unsupported feature index type: " + type);
@@ -1481,6 +1566,13 @@ public class FeatureIndexManager {
 				case RTREE:
 					bounds = rTreeIndexTableDao.getBoundingBox(projection);
 					break;
+				case PACKED_RTREE:
+					bounds = packedRTree.getBoundingBox();
+					if (bounds != null && projection != null) {
+						bounds = bounds.transform(GeometryTransform
+								.create(featureDao.getProjection(), projection));
+					}
+					break;
 				default:
 					throw new GeoPackageException(
 							"Unsupported feature index type: " + type);
@@ -2121,6 +2213,14 @@ public class FeatureIndexManager {
 						count = (long) rTreeIndexTableDao.count(envelope);
 					}
 					break;
+				case PACKED_RTREE:
+					if (column != null) {
+						count = (long) rTreeIndexTableDao.count(distinct,
+								column, envelope);
+					} else {
+						count = (long) packedRTree.count(envelope);
+					}
+					break;
 				default:
 					throw new GeoPackageException(
 							"Unsupported feature index type: " + type);
@@ -2479,6 +2579,18 @@ public class FeatureIndexManager {
 									whereArgs);
 					results = new FeatureIndexFeatureResults(rTreeResultSet);
 					break;
+				case PACKED_RTREE:
+					if (where != null) {
+						FeatureResultSet packedResultSet = rTreeIndexTableDao
+								.queryFeatures(distinct, columns, envelope,
+										where, whereArgs);
+						results = new FeatureIndexFeatureResults(
+								packedResultSet);
+					} else {
+						results = new FeatureIndexIdResults(featureDao,
+								columns, packedRTree.query(envelope));
+					}
+					break;
 				default:
 					throw new GeoPackageException(
 							"Unsupported feature index type: " + type);
@@ -2566,6 +2678,14 @@ public class FeatureIndexManager {
 					count = (long) rTreeIndexTableDao.countFeatures(distinct,
 							column, envelope, where, whereArgs);
 					break;
+				case PACKED_RTREE:
+					if (column != null || where != null) {
+						count = (long) rTreeIndexTableDao.countFeatures(
+								distinct, column, envelope, where, whereArgs);
+					} else {
+						count = (long) packedRTree.count(envelope);
+					}
+					break;
 				default:
 					throw new GeoPackageException(
 							"Unsupported feature index type: " + type);
@@ -3538,6 +3658,7 @@ public class FeatureIndexManager {
 							geoPackageResultSet);
 					break;
 				case RTREE:
+				case PACKED_RTREE:
 					FeatureResultSet rTreeResultSet = rTreeIndexTableDao
 							.queryFeaturesForChunk(distinct, columns, orderBy,
 									limit, offset);
@@ -4643,6 +4764,7 @@ public class FeatureIndexManager {
 							geoPackageResultSet);
 					break;
 				case RTREE:
+				case PACKED_RTREE:
 					FeatureResultSet rTreeResultSet = rTreeIndexTableDao
 							.queryFeaturesForChunk(distinct, columns, where,
 									whereArgs, orderBy, limit, offset);
@@ -7690,6 +7812,7 @@ public class FeatureIndexManager {
 							geoPackageResultSet);
 					break;
 				case RTREE:
+				case PACKED_RTREE:
 					FeatureResultSet rTreeResultSet = rTreeIndexTableDao
 							.queryFeaturesForChunk(distinct, columns, envelope,
 									where, whereArgs, orderBy, limit, offset);
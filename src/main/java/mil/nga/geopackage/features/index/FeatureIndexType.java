@@ -18,6 +18,14 @@ public enum FeatureIndexType {
 	 */
 	RTREE,
 
+	/**
+	 * In memory packed RTree loaded from the RTree Index extension, for read
+	 * only feature tables
+	 * 
+	 * @since 6.6.7
+	 */
+	PACKED_RTREE,
+
 	/**
 	 * No index
 	 */
@@ -0,0 +1,533 @@
+package mil.nga.geopackage.features.user;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import mil.nga.geopackage.GeoPackage;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.extension.rtree.RTreeIndexExtension;
+import mil.nga.geopackage.user.ContentValues;
+
+/**
+ * Feature Bulk Inserter for loading large numbers of feature rows into a
+ * feature table. Reuses a prepared insert statement per set of inserted
+ * columns, executes inserts as JDBC batches, and commits every commit limit
+ * rows. Optionally defers RTree index maintenance, indexing the inserted rows
+ * once per commit instead of firing the insert trigger for each row.
+ * <p>
+ * Batched inserts do not return row ids, inserted rows are not updated with
+ * their new ids.
+ * <p>
+ * Not thread safe, use from the thread that owns the GeoPackage connection.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class FeatureBulkInserter implements Closeable {
+
+	/**
+	 * Default number of rows per executed batch
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/**
+	 * Default number of rows per committed transaction
+	 */
+	public static final int DEFAULT_COMMIT_LIMIT = 10000;
+
+	/**
+	 * GeoPackage
+	 */
+	private final GeoPackage geoPackage;
+
+	/**
+	 * Feature DAO
+	 */
+	private final FeatureDao featureDao;
+
+	/**
+	 * Connection
+	 */
+	private final Connection connection;
+
+	/**
+	 * Prepared insert statements by inserted columns
+	 */
+	private final Map<List<String>, PreparedStatement> statements = new HashMap<>();
+
+	/**
+	 * Statement with pending batched rows
+	 */
+	private PreparedStatement batchStatement = null;
+
+	/**
+	 * Number of rows per executed batch
+	 */
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * Number of rows per committed transaction
+	 */
+	private int commitLimit = DEFAULT_COMMIT_LIMIT;
+
+	/**
+	 * Defer RTree index maintenance until close
+	 */
+	private boolean deferRTree = false;
+
+	/**
+	 * Rows pending in the current batch
+	 */
+	private int batchCount = 0;
+
+	/**
+	 * Rows pending in the current transaction
+	 */
+	private int commitCount = 0;
+
+	/**
+	 * Total inserted rows
+	 */
+	private long count = 0;
+
+	/**
+	 * Pre-transaction auto commit value when this inserter began the
+	 * transaction, null when not in a transaction owned by this inserter
+	 */
+	private Boolean autoCommit = null;
+
+	/**
+	 * True after the first insert started the bulk load
+	 */
+	private boolean started = false;
+
+	/**
+	 * True after a batch failed to execute
+	 */
+	private boolean failed = false;
+
+	/**
+	 * RTree index extension when the RTree insert trigger was dropped
+	 */
+	private RTreeIndexExtension rTreeIndexExtension = null;
+
+	/**
+	 * Max feature id indexed when the RTree insert trigger was dropped, rows
+	 * with larger ids are indexed when the trigger is restored
+	 */
+	private long indexedId = 0;
+
+	/**
+	 * True when a row was inserted with an id not above the indexed id,
+	 * requiring the full RTree index to be loaded
+	 */
+	private boolean indexAll = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @param featureDao
+	 *            feature DAO
+	 */
+	public FeatureBulkInserter(GeoPackage geoPackage, FeatureDao featureDao) {
+		geoPackage.verifyWritable();
+		this.geoPackage = geoPackage;
+		this.featureDao = featureDao;
+		this.connection = featureDao.getConnection();
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @param featureTable
+	 *            feature table name
+	 */
+	public FeatureBulkInserter(GeoPackage geoPackage, String featureTable) {
+		this(geoPackage, geoPackage.getFeatureDao(featureTable));
+	}
+
+	/**
+	 * Get the feature DAO
+	 *
+	 * @return feature DAO
+	 */
+	public FeatureDao getFeatureDao() {
+		return featureDao;
+	}
+
+	/**
+	 * Get the number of rows per executed batch
+	 *
+	 * @return batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Set the number of rows per executed batch
+	 *
+	 * @param batchSize
+	 *            batch size
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new GeoPackageException(
+					"Batch size must be at least 1, not: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Get the number of rows per committed transaction
+	 *
+	 * @return commit limit
+	 */
+	public int getCommitLimit() {
+		return commitLimit;
+	}
+
+	/**
+	 * Set the number of rows per committed transaction. Only used when the
+	 * connection is in auto commit mode when the first row is inserted,
+	 * otherwise the caller's transaction is left to the caller.
+	 *
+	 * @param commitLimit
+	 *            commit limit
+	 */
+	public void setCommitLimit(int commitLimit) {
+		if (commitLimit < 1) {
+			throw new GeoPackageException(
+					"Commit limit must be at least 1, not: " + commitLimit);
+		}
+		this.commitLimit = commitLimit;
+	}
+
+	/**
+	 * Is RTree index maintenance deferred until close
+	 *
+	 * @return true if deferred
+	 */
+	public boolean isDeferRTree() {
+		return deferRTree;
+	}
+
+	/**
+	 * Set whether to defer RTree index maintenance. When the feature table has
+	 * an RTree index, the insert trigger is dropped in the bulk load
+	 * transaction before the first insert. The inserted rows are indexed and
+	 * the trigger recreated within the same transaction before each commit and
+	 * when the inserter is closed, so committed rows are always indexed. Must
+	 * be set before the first insert.
+	 *
+	 * @param deferRTree
+	 *            true to defer
+	 */
+	public void setDeferRTree(boolean deferRTree) {
+		if (started) {
+			throw new GeoPackageException(
+					"Defer RTree must be set before the first insert");
+		}
+		this.deferRTree = deferRTree;
+	}
+
+	/**
+	 * Get the number of inserted rows, including batched rows not yet
+	 * executed
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Insert the feature row as part of the current batch
+	 *
+	 * @param row
+	 *            feature row
+	 */
+	public void insert(FeatureRow row) {
+
+		if (!started) {
+			start();
+		}
+
+		ContentValues values = row.toContentValues(false);
+
+		if (rTreeIndexExtension != null && !indexAll) {
+			Object id = values.get(featureDao.getPkColumnName());
+			if (id instanceof Number
+					&& ((Number) id).longValue() <= indexedId) {
+				indexAll = true;
+			}
+		}
+
+		// Order the inserted columns by table column order
+		List<String> columns = new ArrayList<>(values.size());
+		Set<String> valueColumns = values.keySet();
+		for (String column : featureDao.getTable().getColumnNames()) {
+			if (valueColumns.contains(column)) {
+				columns.add(column);
+			}
+		}
+
+		PreparedStatement statement = getStatement(columns);
+
+		// Execute the pending batch before switching statements to preserve
+		// the insert order
+		if (batchStatement != null && batchStatement != statement) {
+			executeBatch();
+		}
+
+		Object[] args = new Object[columns.size()];
+		for (int i = 0; i < args.length; i++) {
+			args[i] = values.get(columns.get(i));
+		}
+
+		try {
+			SQLUtils.setArguments(statement, args);
+			statement.addBatch();
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to add feature row to batch. Table: "
+							+ featureDao.getTableName(),
+					e);
+		}
+		batchStatement = statement;
+		batchCount++;
+		count++;
+
+		if (batchCount >= batchSize) {
+			executeBatch();
+		}
+	}
+
+	/**
+	 * Execute the pending batch and commit when this inserter owns the
+	 * transaction
+	 */
+	public void flush() {
+		executeBatch();
+		if (autoCommit != null && commitCount > 0) {
+			commit();
+		}
+	}
+
+	/**
+	 * Flush pending rows, index the inserted rows and restore the RTree insert
+	 * trigger if deferred, end the transaction owned by this inserter, and
+	 * close the prepared statements. When a batch failed or the flush fails,
+	 * the transaction owned by this inserter is rolled back, restoring the
+	 * RTree insert trigger of the last commit. Within a caller transaction,
+	 * the RTree insert trigger is always restored.
+	 */
+	@Override
+	public void close() {
+		boolean successful = false;
+		try {
+			if (!failed) {
+				executeBatch();
+				if (rTreeIndexExtension != null) {
+					restoreRTree();
+					rTreeIndexExtension = null;
+				}
+				successful = true;
+			}
+		} finally {
+			for (PreparedStatement statement : statements.values()) {
+				SQLUtils.closeStatement(statement,
+						"Feature bulk insert " + featureDao.getTableName());
+			}
+			statements.clear();
+			batchStatement = null;
+			if (autoCommit != null) {
+				featureDao.getDb().endWriterTransaction(successful,
+						autoCommit);
+				autoCommit = null;
+			} else if (rTreeIndexExtension != null) {
+				restoreRTree();
+			}
+			rTreeIndexExtension = null;
+			batchCount = 0;
+			commitCount = 0;
+			failed = false;
+			started = false;
+		}
+	}
+
+	/**
+	 * Start the bulk load on the first insert, beginning a transaction and
+	 * dropping the RTree insert trigger within it when deferred
+	 */
+	private void start() {
+
+		try {
+			if (connection.getAutoCommit()) {
+				autoCommit = featureDao.getDb().beginWriterTransaction();
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to check the connection auto commit mode", e);
+		}
+
+		started = true;
+
+		if (deferRTree) {
+			String tableName = featureDao.getTableName();
+			String geometryColumnName = featureDao.getGeometryColumnName();
+			RTreeIndexExtension extension = new RTreeIndexExtension(
+					geoPackage);
+			if (extension.has(tableName, geometryColumnName)) {
+				extension.createFunctions(tableName, geometryColumnName);
+				Number maxId = featureDao.max(featureDao.getPkColumnName());
+				indexedId = maxId != null ? maxId.longValue() : 0;
+				indexAll = false;
+				extension.dropInsertTrigger(tableName, geometryColumnName);
+				rTreeIndexExtension = extension;
+			}
+		}
+
+	}
+
+	/**
+	 * Get or create the prepared insert statement for the columns
+	 *
+	 * @param columns
+	 *            inserted columns
+	 * @return prepared statement
+	 */
+	private PreparedStatement getStatement(List<String> columns) {
+
+		PreparedStatement statement = statements.get(columns);
+		if (statement == null) {
+
+			StringBuilder insert = new StringBuilder();
+			insert.append("insert into ")
+					.append(CoreSQLUtils.quoteWrap(featureDao.getTableName()))
+					.append("(");
+			for (int i = 0; i < columns.size(); i++) {
+				insert.append((i > 0) ? "," : "");
+				insert.append(CoreSQLUtils.quoteWrap(columns.get(i)));
+			}
+			insert.append(") values (");
+			for (int i = 0; i < columns.size(); i++) {
+				insert.append((i > 0) ? ",?" : "?");
+			}
+			insert.append(')');
+			String sql = insert.toString();
+
+			try {
+				statement = connection.prepareStatement(sql);
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to prepare SQL insert statement: " + sql, e);
+			}
+			statements.put(columns, statement);
+		}
+
+		return statement;
+	}
+
+	/**
+	 * Execute the pending batch
+	 */
+	private void executeBatch() {
+		if (batchStatement != null && batchCount > 0) {
+			try {
+				batchStatement.executeBatch();
+			} catch (SQLException e) {
+				failed = true;
+				throw new GeoPackageException(
+						"Failed to execute feature insert batch. Table: "
+								+ featureDao.getTableName() + ", Rows: "
+								+ batchCount,
+						e);
+			}
+			commitCount += batchCount;
+			batchCount = 0;
+			if (autoCommit != null && commitCount >= commitLimit) {
+				commit();
+			}
+		}
+	}
+
+	/**
+	 * Commit the transaction owned by this inserter
+	 */
+	private void commit() {
+		if (rTreeIndexExtension != null) {
+			restoreRTree();
+		}
+		try {
+			connection.commit();
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to commit feature inserts. Table: "
+							+ featureDao.getTableName(),
+					e);
+		}
+		commitCount = 0;
+		if (rTreeIndexExtension != null) {
+			rTreeIndexExtension.dropInsertTrigger(featureDao.getTableName(),
+					featureDao.getGeometryColumnName());
+		}
+	}
+
+	/**
+	 * Index the rows inserted since the RTree insert trigger was dropped and
+	 * recreate the trigger
+	 */
+	private void restoreRTree() {
+		String tableName = featureDao.getTableName();
+		String geometryColumnName = featureDao.getGeometryColumnName();
+		String idColumnName = featureDao.getPkColumnName();
+		if (indexAll) {
+			rTreeIndexExtension.loadRTreeIndex(tableName, geometryColumnName,
+					idColumnName);
+		} else {
+			String geometryColumn = CoreSQLUtils.quoteWrap(geometryColumnName);
+			String idColumn = CoreSQLUtils.quoteWrap(idColumnName);
+			featureDao.getDb()
+					.execSQL("INSERT OR REPLACE INTO "
+							+ CoreSQLUtils.quoteWrap(
+									RTreeIndexExtension.RTREE_PREFIX + tableName
+											+ "_" + geometryColumnName)
+							+ " SELECT " + idColumn + ", "
+							+ RTreeIndexExtension.MIN_X_FUNCTION + "("
+							+ geometryColumn + "), "
+							+ RTreeIndexExtension.MAX_X_FUNCTION + "("
+							+ geometryColumn + "), "
+							+ RTreeIndexExtension.MIN_Y_FUNCTION + "("
+							+ geometryColumn + "), "
+							+ RTreeIndexExtension.MAX_Y_FUNCTION + "("
+							+ geometryColumn + ") FROM "
+							+ CoreSQLUtils.quoteWrap(tableName) + " WHERE "
+							+ geometryColumn + " NOT NULL AND NOT "
+							+ RTreeIndexExtension.IS_EMPTY_FUNCTION + "("
+							+ geometryColumn + ") AND " + idColumn + " > "
+							+ indexedId);
+		}
+		Number maxId = featureDao.max(idColumnName);
+		if (maxId != null) {
+			indexedId = Math.max(indexedId, maxId.longValue());
+		}
+		indexAll = false;
+		rTreeIndexExtension.createInsertTrigger(tableName, geometryColumnName,
+				idColumnName);
+	}
+
+}
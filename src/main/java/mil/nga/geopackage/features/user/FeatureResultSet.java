@@ -3,7 +3,9 @@ package mil.nga.geopackage.features.user;
 import java.sql.ResultSet;
 
 import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.geom.GeometryEnvelopeReader;
 import mil.nga.geopackage.user.UserResultSet;
+import mil.nga.sf.GeometryEnvelope;
 
 /**
  * Feature Result Set to wrap a database ResultSet for feature queries
@@ -134,4 +136,16 @@ public class FeatureResultSet
 		return geometry;
 	}
 
+	/**
+	 * Get the geometry envelope, read from the geometry blob header or scanned
+	 * from the geometry bytes without reading the full geometry
+	 * 
+	 * @return geometry envelope
+	 * @since 6.6.7
+	 */
+	public GeometryEnvelope getGeometryEnvelope() {
+		int columnIndex = getColumns().getGeometryIndex();
+		return GeometryEnvelopeReader.readEnvelope(getBlob(columnIndex));
+	}
+
 }
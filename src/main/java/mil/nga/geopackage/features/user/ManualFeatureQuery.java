@@ -1,10 +1,19 @@
 package mil.nga.geopackage.features.user;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.GeoPackageConnection;
 import mil.nga.geopackage.db.CoreSQLUtils;
 import mil.nga.geopackage.features.index.FeatureIndexManager;
 import mil.nga.proj.Projection;
@@ -41,6 +50,30 @@ public class ManualFeatureQuery {
 	 */
 	private boolean geodesic = false;
 
+	/**
+	 * Number of threads scanning primary key ranges in parallel for bounds
+	 * queries, 1 for serial scans
+	 */
+	private int threads = 1;
+
+	/**
+	 * Primary key ranges scanned per thread when querying in parallel,
+	 * balancing threads across sparse or unevenly matching ranges
+	 */
+	private static final int RANGES_PER_THREAD = 4;
+
+	/**
+	 * Worker thread count, numbering the worker thread names
+	 */
+	private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+	/**
+	 * Worker threads scanning primary key ranges, created by the first
+	 * parallel query and reused until the threads change or the query is
+	 * closed
+	 */
+	private ExecutorService executor = null;
+
 	/**
 	 * Constructor
 	 *
@@ -133,6 +166,94 @@ public class ManualFeatureQuery {
 		this.geodesic = geodesic;
 	}
 
+	/**
+	 * Get the number of threads scanning primary key ranges in parallel for
+	 * bounds queries
+	 * 
+	 * @return threads
+	 * @since 6.6.7
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Set the number of threads scanning primary key ranges in parallel for
+	 * bounds queries. When greater than 1, bounds queries on a feature table
+	 * with a primary key split the table into primary key ranges, each scanned
+	 * by a worker thread on a pooled read connection. Requires a GeoPackage
+	 * connection with write-ahead logging enabled, otherwise or while in a
+	 * transaction the queries scan serially. The worker threads are shared by
+	 * the queries until the threads change or {@link #close()} is called.
+	 * 
+	 * @param threads
+	 *            number of threads, 1 for serial scans
+	 * @since 6.6.7
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new GeoPackageException(
+					"Threads must be at least 1, not: " + threads);
+		}
+		ExecutorService previous = null;
+		synchronized (this) {
+			if (threads != this.threads) {
+				previous = executor;
+				executor = null;
+			}
+			this.threads = threads;
+		}
+		if (previous != null) {
+			previous.shutdown();
+		}
+	}
+
+	/**
+	 * Is parallel querying enabled
+	 * 
+	 * @return true if bounds queries scan with multiple threads
+	 * @since 6.6.7
+	 */
+	public boolean isParallel() {
+		return threads > 1;
+	}
+
+	/**
+	 * Close the query, shutting down the worker threads of parallel queries.
+	 * A later parallel query starts new worker threads.
+	 * 
+	 * @since 6.6.7
+	 */
+	public void close() {
+		ExecutorService previous;
+		synchronized (this) {
+			previous = executor;
+			executor = null;
+		}
+		if (previous != null) {
+			previous.shutdownNow();
+		}
+	}
+
+	/**
+	 * Get the worker threads scanning primary key ranges, starting them on
+	 * the first parallel query
+	 * 
+	 * @return executor
+	 */
+	private synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable,
+						"geopackage-manual-query-"
+								+ WORKER_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executor;
+	}
+
 	/**
 	 * Query for features
 	 * 
@@ -582,45 +703,34 @@ public class ManualFeatureQuery {
 
 		GeometryEnvelope envelope = null;
 
-		long offset = 0;
-		boolean hasResults = true;
-
 		String[] columns = new String[] { featureDao.getGeometryColumnName() };
+		if (featureDao.hasPkColumn()) {
+			columns = featureDao.getIdAndGeometryColumnNames();
+		}
 
-		while (hasResults) {
-
-			hasResults = false;
-
-			FeatureResultSet resultSet = featureDao.queryForChunk(columns,
-					chunkLimit, offset);
-			try {
-				while (resultSet.moveToNext()) {
-					hasResults = true;
-
-					FeatureRow featureRow = resultSet.getRow();
-					GeometryEnvelope featureEnvelope = featureRow
-							.getGeometryEnvelope();
-					if (featureEnvelope != null) {
+		ChunkedScan scan = new ChunkedScan(false, columns, null, null);
+		try {
+			while (scan.moveToNext()) {
 
-						if (geodesic) {
-							featureEnvelope = ProjectionGeometryUtils
-									.geodesicEnvelope(featureEnvelope,
-											featureDao.getProjection());
-						}
+				GeometryEnvelope featureEnvelope = scan.getGeometryEnvelope();
+				if (featureEnvelope != null) {
 
-						if (envelope == null) {
-							envelope = featureEnvelope;
-						} else {
-							envelope = envelope.union(featureEnvelope);
-						}
+					if (geodesic) {
+						featureEnvelope = ProjectionGeometryUtils
+								.geodesicEnvelope(featureEnvelope,
+										featureDao.getProjection());
+					}
 
+					if (envelope == null) {
+						envelope = featureEnvelope;
+					} else {
+						envelope = envelope.union(featureEnvelope);
 					}
+
 				}
-			} finally {
-				resultSet.close();
 			}
-
-			offset += chunkLimit;
+		} finally {
+			scan.close();
 		}
 
 		BoundingBox boundingBox = null;
@@ -2164,60 +2274,237 @@ public class ManualFeatureQuery {
 			double minX, double minY, double maxX, double maxY, String where,
 			String[] whereArgs) {
 
-		List<Long> featureIds = new ArrayList<>();
-
-		long offset = 0;
-		boolean hasResults = true;
-
 		minX -= tolerance;
 		maxX += tolerance;
 		minY -= tolerance;
 		maxY += tolerance;
 
-		String[] queryColumns = featureDao.getIdAndGeometryColumnNames();
+		List<Long> featureIds = null;
+		if (isParallel() && canQueryInParallel()) {
+			featureIds = queryIdsParallel(distinct, minX, minY, maxX, maxY,
+					where, whereArgs);
+		} else {
+			featureIds = queryIds(distinct, minX, minY, maxX, maxY, where,
+					whereArgs);
+		}
 
-		while (hasResults) {
+		ManualFeatureQueryResults results = new ManualFeatureQueryResults(
+				featureDao, columns, featureIds);
 
-			hasResults = false;
+		return results;
+	}
 
-			FeatureResultSet resultSet = featureDao.queryForChunk(distinct,
-					queryColumns, where, whereArgs, chunkLimit, offset);
-			try {
-				while (resultSet.moveToNext()) {
-					hasResults = true;
+	/**
+	 * Scan for the ids of rows within the tolerance expanded bounds
+	 * 
+	 * @param distinct
+	 *            distinct rows
+	 * @param minX
+	 *            min x
+	 * @param minY
+	 *            min y
+	 * @param maxX
+	 *            max x
+	 * @param maxY
+	 *            max y
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where args
+	 * @return feature ids in id order
+	 */
+	private List<Long> queryIds(boolean distinct, double minX, double minY,
+			double maxX, double maxY, String where, String[] whereArgs) {
 
-					FeatureRow featureRow = resultSet.getRow();
-					GeometryEnvelope envelope = featureRow
-							.getGeometryEnvelope();
-					if (envelope != null) {
+		List<Long> featureIds = new ArrayList<>();
 
-						if (geodesic) {
-							envelope = ProjectionGeometryUtils.geodesicEnvelope(
-									envelope, featureDao.getProjection());
-						}
+		String[] queryColumns = featureDao.getIdAndGeometryColumnNames();
 
-						double minXMax = Math.max(minX, envelope.getMinX());
-						double maxXMin = Math.min(maxX, envelope.getMaxX());
-						double minYMax = Math.max(minY, envelope.getMinY());
-						double maxYMin = Math.min(maxY, envelope.getMaxY());
+		ChunkedScan scan = new ChunkedScan(distinct, queryColumns, where,
+				whereArgs);
+		try {
+			while (scan.moveToNext()) {
 
-						if (minXMax <= maxXMin && minYMax <= maxYMin) {
-							featureIds.add(featureRow.getId());
-						}
+				GeometryEnvelope envelope = scan.getGeometryEnvelope();
+				if (envelope != null) {
 
+					if (geodesic) {
+						envelope = ProjectionGeometryUtils.geodesicEnvelope(
+								envelope, featureDao.getProjection());
 					}
+
+					double minXMax = Math.max(minX, envelope.getMinX());
+					double maxXMin = Math.min(maxX, envelope.getMaxX());
+					double minYMax = Math.max(minY, envelope.getMinY());
+					double maxYMin = Math.min(maxY, envelope.getMaxY());
+
+					if (minXMax <= maxXMin && minYMax <= maxYMin) {
+						featureIds.add(scan.getId());
+					}
+
 				}
-			} finally {
-				resultSet.close();
 			}
+		} finally {
+			scan.close();
+		}
+
+		return featureIds;
+	}
+
+	/**
+	 * Determine if the feature table can be scanned in parallel, requiring a
+	 * primary key to partition by and pooled read connections outside of a
+	 * transaction
+	 * 
+	 * @return true if can query in parallel
+	 */
+	private boolean canQueryInParallel() {
+		GeoPackageConnection db = featureDao.getDb();
+		return featureDao.hasPkColumn() && db.isWriteAheadLogging()
+				&& !db.inTransaction();
+	}
 
-			offset += chunkLimit;
+	/**
+	 * Scan for the ids of rows within the tolerance expanded bounds, splitting
+	 * the table into primary key ranges scanned in parallel
+	 * 
+	 * @param distinct
+	 *            distinct rows
+	 * @param minX
+	 *            min x
+	 * @param minY
+	 *            min y
+	 * @param maxX
+	 *            max x
+	 * @param maxY
+	 *            max y
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where args
+	 * @return feature ids in id order
+	 */
+	private List<Long> queryIdsParallel(boolean distinct, double minX,
+			double minY, double maxX, double maxY, String where,
+			String[] whereArgs) {
+
+		String pkColumn = CoreSQLUtils
+				.quoteWrap(featureDao.getPkColumnName());
+
+		StringBuilder rangeSql = new StringBuilder();
+		rangeSql.append("SELECT MIN(").append(pkColumn).append("), MAX(")
+				.append(pkColumn).append(") FROM ")
+				.append(CoreSQLUtils.quoteWrap(featureDao.getTableName()));
+		if (where != null && !where.isEmpty()) {
+			rangeSql.append(" WHERE ").append(where);
 		}
+		List<Object> range = featureDao.getDb()
+				.queryResults(rangeSql.toString(), whereArgs).get(0);
 
-		ManualFeatureQueryResults results = new ManualFeatureQueryResults(
-				featureDao, columns, featureIds);
+		List<Long> featureIds = new ArrayList<>();
+		if (range.get(0) != null) {
+			featureIds = queryRangesParallel(distinct, minX, minY, maxX, maxY,
+					where, whereArgs, ((Number) range.get(0)).longValue(),
+					((Number) range.get(1)).longValue());
+		}
 
-		return results;
+		return featureIds;
+	}
+
+	/**
+	 * Scan the primary key ranges between the min and max ids in parallel
+	 * 
+	 * @param distinct
+	 *            distinct rows
+	 * @param minX
+	 *            min x
+	 * @param minY
+	 *            min y
+	 * @param maxX
+	 *            max x
+	 * @param maxY
+	 *            max y
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where args
+	 * @param minId
+	 *            min id
+	 * @param maxId
+	 *            max id
+	 * @return feature ids in id order
+	 */
+	private List<Long> queryRangesParallel(final boolean distinct,
+			final double minX, final double minY, final double maxX,
+			final double maxY, String where, String[] whereArgs, long minId,
+			long maxId) {
+
+		String pkColumn = CoreSQLUtils
+				.quoteWrap(featureDao.getPkColumnName());
+
+		List<Long> featureIds = new ArrayList<>();
+
+		long ranges = Math.min((long) threads * RANGES_PER_THREAD,
+				maxId - minId + 1);
+		long rangeSize = (maxId - minId) / ranges + 1;
+
+		String rangeWhere = pkColumn + " >= ? AND " + pkColumn + " <= ?";
+		if (where != null && !where.isEmpty()) {
+			rangeWhere = "(" + where + ") AND " + rangeWhere;
+		}
+		int argsLength = whereArgs != null ? whereArgs.length : 0;
+
+		ExecutorService executor = getExecutor();
+		List<Future<List<Long>>> futures = new ArrayList<>();
+		try {
+
+			for (long start = minId; start <= maxId; start += rangeSize) {
+				long end = Math.min(maxId, start + rangeSize - 1);
+
+				final String[] rangeArgs = new String[argsLength + 2];
+				if (argsLength > 0) {
+					System.arraycopy(whereArgs, 0, rangeArgs, 0, argsLength);
+				}
+				rangeArgs[argsLength] = String.valueOf(start);
+				rangeArgs[argsLength + 1] = String.valueOf(end);
+				final String rangeWhereClause = rangeWhere;
+
+				futures.add(executor.submit(new Callable<List<Long>>() {
+					@Override
+					public List<Long> call() {
+						return queryIds(distinct, minX, minY, maxX, maxY,
+								rangeWhereClause, rangeArgs);
+					}
+				}));
+
+				if (end == maxId) {
+					break;
+				}
+			}
+
+			// Ranges are in id order, merge in order to match a serial scan
+			for (Future<List<Long>> future : futures) {
+				featureIds.addAll(future.get());
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted while querying features in parallel. Table: "
+							+ featureDao.getTableName(),
+					e);
+		} catch (ExecutionException e) {
+			throw new GeoPackageException(
+					"Failed to query features in parallel. Table: "
+							+ featureDao.getTableName(),
+					e.getCause());
+		} finally {
+			for (Future<List<Long>> future : futures) {
+				future.cancel(true);
+			}
+		}
+
+		return featureIds;
 	}
 
 	/**
@@ -3623,9 +3910,6 @@ public class ManualFeatureQuery {
 		int index = 0;
 		List<Long> featureIds = new ArrayList<>();
 
-		long localOffset = 0;
-		boolean hasResults = true;
-
 		minX -= tolerance;
 		maxX += tolerance;
 		minY -= tolerance;
@@ -3633,48 +3917,35 @@ public class ManualFeatureQuery {
 
 		String[] queryColumns = featureDao.getIdAndGeometryColumnNames();
 
-		while (hasResults) {
-
-			hasResults = false;
+		ChunkedScan scan = new ChunkedScan(distinct, queryColumns, where,
+				whereArgs);
+		try {
+			while (featureIds.size() < limit && scan.moveToNext()) {
 
-			FeatureResultSet resultSet = featureDao.queryForChunk(distinct,
-					queryColumns, where, whereArgs, chunkLimit, localOffset);
-			try {
-				while (resultSet.moveToNext()) {
-					hasResults = true;
+				GeometryEnvelope envelope = scan.getGeometryEnvelope();
+				if (envelope != null) {
 
-					FeatureRow featureRow = resultSet.getRow();
-					GeometryEnvelope envelope = featureRow
-							.getGeometryEnvelope();
-					if (envelope != null) {
+					if (geodesic) {
+						envelope = ProjectionGeometryUtils.geodesicEnvelope(
+								envelope, featureDao.getProjection());
+					}
 
-						if (geodesic) {
-							envelope = ProjectionGeometryUtils.geodesicEnvelope(
-									envelope, featureDao.getProjection());
-						}
+					double minXMax = Math.max(minX, envelope.getMinX());
+					double maxXMin = Math.min(maxX, envelope.getMaxX());
+					double minYMax = Math.max(minY, envelope.getMinY());
+					double maxYMin = Math.min(maxY, envelope.getMaxY());
 
-						double minXMax = Math.max(minX, envelope.getMinX());
-						double maxXMin = Math.min(maxX, envelope.getMaxX());
-						double minYMax = Math.max(minY, envelope.getMinY());
-						double maxYMin = Math.min(maxY, envelope.getMaxY());
-
-						if (minXMax <= maxXMin && minYMax <= maxYMin) {
-							if (offset <= index) {
-								featureIds.add(featureRow.getId());
-								if (featureIds.size() >= limit) {
-									break;
-								}
-							}
-							index++;
+					if (minXMax <= maxXMin && minYMax <= maxYMin) {
+						if (offset <= index) {
+							featureIds.add(scan.getId());
 						}
-
+						index++;
 					}
+
 				}
-			} finally {
-				resultSet.close();
 			}
-
-			localOffset += chunkLimit;
+		} finally {
+			scan.close();
 		}
 
 		ManualFeatureQueryResults results = new ManualFeatureQueryResults(
@@ -3683,4 +3954,177 @@ public class ManualFeatureQuery {
 		return results;
 	}
 
+	/**
+	 * Full scan of the feature rows read in chunks of the chunk limit ordered
+	 * by id. When the table has a primary key, each chunk continues after the
+	 * last read id so that every chunk seeks directly to its first row and a
+	 * full scan is a single pass over the table. Tables without a primary key
+	 * page by offset.
+	 */
+	private class ChunkedScan {
+
+		/**
+		 * Distinct rows
+		 */
+		private final boolean distinct;
+
+		/**
+		 * Columns, including the id column when paging by id
+		 */
+		private final String[] columns;
+
+		/**
+		 * Where clause
+		 */
+		private final String where;
+
+		/**
+		 * Where arguments
+		 */
+		private final String[] whereArgs;
+
+		/**
+		 * Page by the last read id
+		 */
+		private final boolean keyset;
+
+		/**
+		 * Current chunk results
+		 */
+		private FeatureResultSet resultSet = null;
+
+		/**
+		 * Rows read from the current chunk
+		 */
+		private int chunkRows = 0;
+
+		/**
+		 * Offset of the next chunk when not paging by id
+		 */
+		private long offset = 0;
+
+		/**
+		 * Last read id
+		 */
+		private Long lastId = null;
+
+		/**
+		 * All chunks have been read
+		 */
+		private boolean complete = false;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param distinct
+		 *            distinct rows
+		 * @param columns
+		 *            columns
+		 * @param where
+		 *            where clause
+		 * @param whereArgs
+		 *            where arguments
+		 */
+		private ChunkedScan(boolean distinct, String[] columns, String where,
+				String[] whereArgs) {
+			this.distinct = distinct;
+			this.columns = columns;
+			this.where = where;
+			this.whereArgs = whereArgs;
+			this.keyset = featureDao.hasPkColumn() && Arrays.asList(columns)
+					.contains(featureDao.getPkColumnName());
+		}
+
+		/**
+		 * Move to the next row, querying the next chunk as needed
+		 * 
+		 * @return true if moved to a row
+		 */
+		private boolean moveToNext() {
+			boolean moved = false;
+			while (!moved && !complete) {
+				if (resultSet == null) {
+					resultSet = queryForNextChunk();
+					chunkRows = 0;
+				}
+				if (resultSet.moveToNext()) {
+					moved = true;
+					chunkRows++;
+					if (keyset) {
+						lastId = resultSet.getId();
+					}
+				} else {
+					resultSet.close();
+					resultSet = null;
+					complete = chunkRows == 0 || chunkRows < chunkLimit;
+					offset += chunkLimit;
+				}
+			}
+			return moved;
+		}
+
+		/**
+		 * Get the current row id
+		 * 
+		 * @return id
+		 */
+		private long getId() {
+			return resultSet.getId();
+		}
+
+		/**
+		 * Get the current row geometry envelope without reading the full
+		 * geometry
+		 * 
+		 * @return geometry envelope
+		 */
+		private GeometryEnvelope getGeometryEnvelope() {
+			return resultSet.getGeometryEnvelope();
+		}
+
+		/**
+		 * Close the current chunk results
+		 */
+		private void close() {
+			if (resultSet != null) {
+				resultSet.close();
+				resultSet = null;
+			}
+			complete = true;
+		}
+
+		/**
+		 * Query for the next chunk
+		 * 
+		 * @return feature results
+		 */
+		private FeatureResultSet queryForNextChunk() {
+			FeatureResultSet chunk = null;
+			if (keyset && lastId != null) {
+				String chunkWhere = featureDao
+						.buildWhere(featureDao.getPkColumnName(), lastId, ">");
+				String[] chunkWhereArgs = featureDao.buildWhereArgs(lastId);
+				if (where != null && !where.isEmpty()) {
+					chunkWhere = "(" + where + ") AND " + chunkWhere;
+					if (whereArgs != null && whereArgs.length > 0) {
+						String[] args = new String[whereArgs.length
+								+ chunkWhereArgs.length];
+						System.arraycopy(whereArgs, 0, args, 0,
+								whereArgs.length);
+						System.arraycopy(chunkWhereArgs, 0, args,
+								whereArgs.length, chunkWhereArgs.length);
+						chunkWhereArgs = args;
+					}
+				}
+				chunk = featureDao.queryForChunk(distinct, columns, chunkWhere,
+						chunkWhereArgs, chunkLimit, 0);
+			} else {
+				chunk = featureDao.queryForChunk(distinct, columns, where,
+						whereArgs, chunkLimit, offset);
+			}
+			return chunk;
+		}
+
+	}
+
 }
@@ -0,0 +1,404 @@
+package mil.nga.geopackage.geom;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * Lightweight reader of the geometry envelope from GeoPackage geometry blob
+ * bytes. The envelope is read directly from the GeoPackage binary header when
+ * present. Without a header envelope, the well-known binary coordinates are
+ * scanned in place to build the envelope without creating geometry objects.
+ * Extended geometries and geometry types the scan does not support fall back
+ * to {@link GeoPackageGeometryData#getOrBuildEnvelope()}, producing the same
+ * envelope as a full geometry read.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class GeometryEnvelopeReader {
+
+	/**
+	 * GeoPackage binary header length before the envelope
+	 */
+	private static final int HEADER_LENGTH = 8;
+
+	/**
+	 * GeoPackage binary version 1 value
+	 */
+	private static final byte VERSION_1 = 0;
+
+	/**
+	 * Read the geometry envelope from GeoPackage geometry blob bytes
+	 *
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return geometry envelope or null for no bytes or an empty geometry
+	 */
+	public static GeometryEnvelope readEnvelope(byte[] bytes) {
+
+		GeometryEnvelope envelope = null;
+
+		if (bytes != null && bytes.length > 0) {
+
+			if (!hasHeader(bytes)) {
+				// Let the full read report the invalid header
+				envelope = buildEnvelope(bytes);
+			} else {
+
+				int flags = bytes[3];
+				boolean extended = ((flags >> 5) & 1) == 1;
+				boolean empty = ((flags >> 4) & 1) == 1;
+				int indicator = (flags >> 1) & 7;
+				ByteOrder byteOrder = (flags & 1) == 0 ? ByteOrder.BIG_ENDIAN
+						: ByteOrder.LITTLE_ENDIAN;
+
+				int envelopeLength = getEnvelopeLength(indicator);
+
+				if (envelopeLength < 0
+						|| bytes.length < HEADER_LENGTH + envelopeLength) {
+					envelope = buildEnvelope(bytes);
+				} else if (indicator > 0) {
+					envelope = readHeaderEnvelope(bytes, byteOrder, indicator);
+				} else if (extended) {
+					envelope = buildEnvelope(bytes);
+				} else if (!empty) {
+					EnvelopeScan scan = new EnvelopeScan();
+					if (scan.scan(bytes, HEADER_LENGTH)) {
+						envelope = scan.getEnvelope();
+					} else {
+						envelope = buildEnvelope(bytes);
+					}
+				}
+
+			}
+
+		}
+
+		return envelope;
+	}
+
+	/**
+	 * Read the spatial reference system id from GeoPackage geometry blob bytes
+	 *
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return srs id
+	 */
+	public static int readSrsId(byte[] bytes) {
+		int srsId;
+		if (hasHeader(bytes)) {
+			ByteOrder byteOrder = (bytes[3] & 1) == 0 ? ByteOrder.BIG_ENDIAN
+					: ByteOrder.LITTLE_ENDIAN;
+			srsId = ByteBuffer.wrap(bytes, 4, 4).order(byteOrder).getInt();
+		} else {
+			srsId = GeoPackageGeometryData.create(bytes).getSrsId();
+		}
+		return srsId;
+	}
+
+	/**
+	 * Read the empty geometry flag from GeoPackage geometry blob bytes
+	 *
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return true if an empty geometry
+	 */
+	public static boolean readEmpty(byte[] bytes) {
+		boolean empty;
+		if (hasHeader(bytes)) {
+			empty = ((bytes[3] >> 4) & 1) == 1;
+		} else {
+			GeoPackageGeometryData geometryData = GeoPackageGeometryData
+					.create(bytes);
+			empty = geometryData.isEmpty()
+					|| geometryData.getGeometry() == null;
+		}
+		return empty;
+	}
+
+	/**
+	 * Check if the bytes start with a GeoPackage binary version 1 header
+	 *
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return true if a valid header
+	 */
+	private static boolean hasHeader(byte[] bytes) {
+		return bytes.length >= HEADER_LENGTH && bytes[0] == 'G'
+				&& bytes[1] == 'P' && bytes[2] == VERSION_1;
+	}
+
+	/**
+	 * Get the envelope byte length for the envelope indicator
+	 *
+	 * @param indicator
+	 *            envelope indicator
+	 * @return envelope length, -1 for an invalid indicator
+	 */
+	private static int getEnvelopeLength(int indicator) {
+		int length;
+		switch (indicator) {
+		case 0:
+			length = 0;
+			break;
+		case 1:
+			length = 32;
+			break;
+		case 2:
+		case 3:
+			length = 48;
+			break;
+		case 4:
+			length = 64;
+			break;
+		default:
+			length = -1;
+		}
+		return length;
+	}
+
+	/**
+	 * Read the envelope from the GeoPackage binary header
+	 *
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @param byteOrder
+	 *            header byte order
+	 * @param indicator
+	 *            envelope indicator
+	 * @return geometry envelope
+	 */
+	private static GeometryEnvelope readHeaderEnvelope(byte[] bytes,
+			ByteOrder byteOrder, int indicator) {
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
+		buffer.position(HEADER_LENGTH);
+
+		boolean hasZ = indicator == 2 || indicator == 4;
+		boolean hasM = indicator == 3 || indicator == 4;
+
+		GeometryEnvelope envelope = new GeometryEnvelope(hasZ, hasM);
+		envelope.setMinX(buffer.getDouble());
+		envelope.setMaxX(buffer.getDouble());
+		envelope.setMinY(buffer.getDouble());
+		envelope.setMaxY(buffer.getDouble());
+		if (hasZ) {
+			envelope.setMinZ(buffer.getDouble());
+			envelope.setMaxZ(buffer.getDouble());
+		}
+		if (hasM) {
+			envelope.setMinM(buffer.getDouble());
+			envelope.setMaxM(buffer.getDouble());
+		}
+
+		return envelope;
+	}
+
+	/**
+	 * Build the envelope from a full geometry read
+	 *
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return geometry envelope
+	 */
+	private static GeometryEnvelope buildEnvelope(byte[] bytes) {
+		return GeoPackageGeometryData.create(bytes).getOrBuildEnvelope();
+	}
+
+	/**
+	 * Well-known binary coordinate scan accumulating the envelope bounds
+	 */
+	private static class EnvelopeScan {
+
+		/**
+		 * X bounds
+		 */
+		private double minX = Double.MAX_VALUE;
+		private double maxX = -Double.MAX_VALUE;
+
+		/**
+		 * Y bounds
+		 */
+		private double minY = Double.MAX_VALUE;
+		private double maxY = -Double.MAX_VALUE;
+
+		/**
+		 * Z values flag and bounds
+		 */
+		private boolean hasZ = false;
+		private double minZ = Double.MAX_VALUE;
+		private double maxZ = -Double.MAX_VALUE;
+
+		/**
+		 * M values flag and bounds
+		 */
+		private boolean hasM = false;
+		private double minM = Double.MAX_VALUE;
+		private double maxM = -Double.MAX_VALUE;
+
+		/**
+		 * Scan the well-known binary geometry
+		 *
+		 * @param bytes
+		 *            GeoPackage geometry bytes
+		 * @param offset
+		 *            well-known binary offset
+		 * @return true if scanned, false if not supported by the scan
+		 */
+		private boolean scan(byte[] bytes, int offset) {
+			boolean scanned;
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			buffer.position(offset);
+			try {
+				scanned = scanGeometry(buffer);
+			} catch (BufferUnderflowException e) {
+				scanned = false;
+			}
+			return scanned;
+		}
+
+		/**
+		 * Scan a geometry, including its byte order and type code
+		 *
+		 * @param buffer
+		 *            byte buffer positioned at the geometry
+		 * @return true if scanned
+		 */
+		private boolean scanGeometry(ByteBuffer buffer) {
+
+			buffer.order(buffer.get() == 0 ? ByteOrder.BIG_ENDIAN
+					: ByteOrder.LITTLE_ENDIAN);
+
+			int code = buffer.getInt();
+			boolean z = (code & 0x80000000) != 0;
+			boolean m = (code & 0x40000000) != 0;
+			code &= 0x0FFFFFFF;
+			int dimension = code / 1000;
+			z = z || dimension == 1 || dimension == 3;
+			m = m || dimension == 2 || dimension == 3;
+			hasZ = hasZ || z;
+			hasM = hasM || m;
+
+			boolean scanned = true;
+
+			switch (code % 1000) {
+			case 1: // Point
+				scanPoint(buffer, z, m);
+				break;
+			case 2: // LineString
+			case 8: // CircularString
+				scanPoints(buffer, z, m);
+				break;
+			case 3: // Polygon
+			case 17: // Triangle
+				int rings = buffer.getInt();
+				for (int i = 0; i < rings; i++) {
+					scanPoints(buffer, z, m);
+				}
+				break;
+			case 4: // MultiPoint
+			case 5: // MultiLineString
+			case 6: // MultiPolygon
+			case 7: // GeometryCollection
+			case 9: // CompoundCurve
+			case 10: // CurvePolygon
+			case 11: // MultiCurve
+			case 12: // MultiSurface
+			case 15: // PolyhedralSurface
+			case 16: // TIN
+				int geometries = buffer.getInt();
+				for (int i = 0; scanned && i < geometries; i++) {
+					scanned = scanGeometry(buffer);
+				}
+				break;
+			default:
+				scanned = false;
+			}
+
+			return scanned;
+		}
+
+		/**
+		 * Scan a count prefixed sequence of points
+		 *
+		 * @param buffer
+		 *            byte buffer
+		 * @param z
+		 *            points have z values
+		 * @param m
+		 *            points have m values
+		 */
+		private void scanPoints(ByteBuffer buffer, boolean z, boolean m) {
+			int points = buffer.getInt();
+			for (int i = 0; i < points; i++) {
+				scanPoint(buffer, z, m);
+			}
+		}
+
+		/**
+		 * Scan a point, skipping empty points of NaN coordinates
+		 *
+		 * @param buffer
+		 *            byte buffer
+		 * @param z
+		 *            point has a z value
+		 * @param m
+		 *            point has an m value
+		 */
+		private void scanPoint(ByteBuffer buffer, boolean z, boolean m) {
+			double x = buffer.getDouble();
+			double y = buffer.getDouble();
+			boolean empty = Double.isNaN(x) && Double.isNaN(y);
+			if (!empty) {
+				minX = Math.min(minX, x);
+				maxX = Math.max(maxX, x);
+				minY = Math.min(minY, y);
+				maxY = Math.max(maxY, y);
+			}
+			if (z) {
+				double zValue = buffer.getDouble();
+				if (!empty) {
+					minZ = Math.min(minZ, zValue);
+					maxZ = Math.max(maxZ, zValue);
+				}
+			}
+			if (m) {
+				double mValue = buffer.getDouble();
+				if (!empty) {
+					minM = Math.min(minM, mValue);
+					maxM = Math.max(maxM, mValue);
+				}
+			}
+		}
+
+		/**
+		 * Get the scanned envelope
+		 *
+		 * @return geometry envelope or null if no points were scanned
+		 */
+		private GeometryEnvelope getEnvelope() {
+			GeometryEnvelope envelope = null;
+			if (minX <= maxX && minY <= maxY) {
+				envelope = new GeometryEnvelope(hasZ, hasM);
+				envelope.setMinX(minX);
+				envelope.setMaxX(maxX);
+				envelope.setMinY(minY);
+				envelope.setMaxY(maxY);
+				if (hasZ && minZ <= maxZ) {
+					envelope.setMinZ(minZ);
+					envelope.setMaxZ(maxZ);
+				}
+				if (hasM && minM <= maxM) {
+					envelope.setMinM(minM);
+					envelope.setMaxM(maxM);
+				}
+			}
+			return envelope;
+		}
+
+	}
+
+}
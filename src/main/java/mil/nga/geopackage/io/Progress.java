@@ -69,6 +69,16 @@ public class Progress implements GeoPackageProgress {
 	 */
 	protected Date localTime = new Date();
 
+	/**
+	 * Start time of the first progress, used to calculate the rate
+	 */
+	protected Date startTime = null;
+
+	/**
+	 * Log the progress rate, disabled by default
+	 */
+	protected boolean logRate = false;
+
 	/**
 	 * Constructor
 	 * 
@@ -117,6 +127,9 @@ public class Progress implements GeoPackageProgress {
 	 */
 	@Override
 	public void addProgress(int progress) {
+		if (startTime == null) {
+			startTime = new Date();
+		}
 		this.progress += progress;
 		localCount += progress;
 		if (localCount >= countFrequency
@@ -136,7 +149,11 @@ public class Progress implements GeoPackageProgress {
 				title + " - " + this.progress
 						+ (max != null ? " of " + max + unit + " ("
 								+ getPercentage(this.progress, max) + ")"
-								: unit));
+								: unit)
+						+ (logRate
+								? ", " + decimalFormat.format(getRate())
+										+ unit + " / sec"
+								: ""));
 	}
 
 	/**
@@ -222,6 +239,45 @@ public class Progress implements GeoPackageProgress {
 		return progress;
 	}
 
+	/**
+	 * Is the progress rate logged
+	 * 
+	 * @return true if logging the rate
+	 * @since 6.6.7
+	 */
+	public boolean isLogRate() {
+		return logRate;
+	}
+
+	/**
+	 * Set whether to log the progress rate, appending ", N unit / sec" to each
+	 * progress log
+	 * 
+	 * @param logRate
+	 *            true to log the rate
+	 * @since 6.6.7
+	 */
+	public void setLogRate(boolean logRate) {
+		this.logRate = logRate;
+	}
+
+	/**
+	 * Get the progress rate per second since the first progress was added
+	 * 
+	 * @return progress per second
+	 * @since 6.6.7
+	 */
+	public double getRate() {
+		double rate = 0;
+		if (startTime != null) {
+			long elapsed = new Date().getTime() - startTime.getTime();
+			if (elapsed > 0) {
+				rate = progress / (elapsed / 1000.0);
+			}
+		}
+		return rate;
+	}
+
 	/**
 	 * Get the string percentage of the count and total
 	 * 
@@ -1,5 +1,9 @@
 package mil.nga.geopackage.tiles;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.extension.nga.scale.TileScaling;
 import mil.nga.geopackage.tiles.user.TileDao;
@@ -97,6 +101,36 @@ public class GeoPackageTileRetriever implements TileRetriever {
 		return tile;
 	}
 
+	/**
+	 * Get the tiles from the XYZ tile coordinates of a zoom level, retrieving
+	 * tiles with a range query per batch of tiles instead of a query per tile
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param coordinates
+	 *            tile coordinates with x as the column and y as the row
+	 * @return tiles with dimensions and bytes in coordinate order, null
+	 *         entries where no tile exists
+	 * @since 6.6.7
+	 */
+	public List<GeoPackageTile> getTiles(int zoom,
+			Collection<TileCoordinate> coordinates) {
+
+		// Get the bounding boxes of the requested tiles
+		List<BoundingBox> webMercatorBoundingBoxes = new ArrayList<>(
+				coordinates.size());
+		for (TileCoordinate coordinate : coordinates) {
+			webMercatorBoundingBoxes.add(TileBoundingBoxUtils
+					.getWebMercatorBoundingBox(coordinate.getColumn(),
+							coordinate.getRow(), zoom));
+		}
+
+		List<GeoPackageTile> tiles = tileCreator
+				.getTiles(webMercatorBoundingBoxes);
+
+		return tiles;
+	}
+
 	/**
 	 * Get the Tile Scaling options
 	 *
@@ -118,4 +152,27 @@ public class GeoPackageTileRetriever implements TileRetriever {
 		tileCreator.setScaling(scaling);
 	}
 
+	/**
+	 * Is stored tile passthrough enabled
+	 *
+	 * @return true if enabled
+	 * @since 6.6.7
+	 */
+	public boolean isPassthrough() {
+		return tileCreator.isPassthrough();
+	}
+
+	/**
+	 * Set whether stored tiles aligned with requested XYZ tiles are returned
+	 * as the stored image bytes without decoding and drawing. See
+	 * {@link TileCreator#setPassthrough(boolean)}.
+	 *
+	 * @param passthrough
+	 *            true to enable
+	 * @since 6.6.7
+	 */
+	public void setPassthrough(boolean passthrough) {
+		tileCreator.setPassthrough(passthrough);
+	}
+
 }
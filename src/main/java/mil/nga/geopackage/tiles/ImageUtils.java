@@ -138,6 +138,64 @@ public class ImageUtils {
 		return image;
 	}
 
+	/**
+	 * Get the image format of the image bytes from the leading signature bytes,
+	 * without decoding the image
+	 * 
+	 * @param imageBytes
+	 *            image bytes
+	 * @return {@link #IMAGE_FORMAT_PNG}, {@link #IMAGE_FORMAT_JPEG},
+	 *         {@link #IMAGE_FORMAT_TIFF}, or null if not recognized
+	 * @since 6.6.7
+	 */
+	public static String getImageFormat(byte[] imageBytes) {
+
+		String format = null;
+
+		if (imageBytes != null && imageBytes.length >= 4) {
+			int b0 = imageBytes[0] & 0xFF;
+			int b1 = imageBytes[1] & 0xFF;
+			int b2 = imageBytes[2] & 0xFF;
+			int b3 = imageBytes[3] & 0xFF;
+			if (b0 == 0x89 && b1 == 'P' && b2 == 'N' && b3 == 'G') {
+				format = IMAGE_FORMAT_PNG;
+			} else if (b0 == 0xFF && b1 == 0xD8 && b2 == 0xFF) {
+				format = IMAGE_FORMAT_JPEG;
+			} else if ((b0 == 'I' && b1 == 'I' && b2 == 42 && b3 == 0)
+					|| (b0 == 'M' && b1 == 'M' && b2 == 0 && b3 == 42)) {
+				format = IMAGE_FORMAT_TIFF;
+			}
+		}
+
+		return format;
+	}
+
+	/**
+	 * Determine if the image bytes are of the image format
+	 * 
+	 * @param imageBytes
+	 *            image bytes
+	 * @param imageFormat
+	 *            image format, jpg and jpeg are equivalent
+	 * @return true if the image bytes are of the format
+	 * @since 6.6.7
+	 */
+	public static boolean isImageFormat(byte[] imageBytes,
+			String imageFormat) {
+		boolean matches = false;
+		String format = getImageFormat(imageBytes);
+		if (format != null && imageFormat != null) {
+			String requestFormat = imageFormat.toLowerCase();
+			if (requestFormat.equals(IMAGE_FORMAT_JPG)) {
+				requestFormat = IMAGE_FORMAT_JPEG;
+			} else if (requestFormat.equals("tif")) {
+				requestFormat = IMAGE_FORMAT_TIFF;
+			}
+			matches = format.equals(requestFormat);
+		}
+		return matches;
+	}
+
 	/**
 	 * Write the image to bytes in the provided format and optional quality
 	 * 
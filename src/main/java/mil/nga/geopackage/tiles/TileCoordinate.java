@@ -0,0 +1,91 @@
+package mil.nga.geopackage.tiles;
+
+/**
+ * Tile coordinate of a tile column (x) and tile row (y) within a zoom level
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class TileCoordinate {
+
+	/**
+	 * Tile column (x)
+	 */
+	private final long column;
+
+	/**
+	 * Tile row (y)
+	 */
+	private final long row;
+
+	/**
+	 * Constructor
+	 *
+	 * @param column
+	 *            tile column (x)
+	 * @param row
+	 *            tile row (y)
+	 */
+	public TileCoordinate(long column, long row) {
+		this.column = column;
+		this.row = row;
+	}
+
+	/**
+	 * Get the tile column (x)
+	 *
+	 * @return tile column
+	 */
+	public long getColumn() {
+		return column;
+	}
+
+	/**
+	 * Get the tile row (y)
+	 *
+	 * @return tile row
+	 */
+	public long getRow() {
+		return row;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (int) (column ^ (column >>> 32));
+		result = prime * result + (int) (row ^ (row >>> 32));
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		TileCoordinate other = (TileCoordinate) obj;
+		if (column != other.column)
+			return false;
+		if (row != other.row)
+			return false;
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "TileCoordinate [column=" + column + ", row=" + row + "]";
+	}
+
+}
@@ -4,7 +4,9 @@ import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.locationtech.proj4j.ProjCoordinate;
 
@@ -84,6 +86,26 @@ public class TileCreator {
 	 */
 	private final String imageFormat;
 
+	/**
+	 * Default maximum number of tiles prefetched per query when creating
+	 * multiple tiles
+	 * 
+	 * @since 6.6.7
+	 */
+	public static final int DEFAULT_BATCH_LIMIT = 256;
+
+	/**
+	 * Maximum number of tiles prefetched per query when creating multiple
+	 * tiles
+	 */
+	private int batchLimit = DEFAULT_BATCH_LIMIT;
+
+	/**
+	 * Flag indicating if stored tiles aligned with the request are returned
+	 * as stored bytes without decoding and drawing
+	 */
+	private boolean passthrough = false;
+
 	/**
 	 * Constructor
 	 *
@@ -295,6 +317,60 @@ public class TileCreator {
 		return imageFormat;
 	}
 
+	/**
+	 * Is stored tile passthrough enabled
+	 *
+	 * @return true if enabled
+	 * @since 6.6.7
+	 */
+	public boolean isPassthrough() {
+		return passthrough;
+	}
+
+	/**
+	 * Set whether stored tiles are passed through without decoding when a
+	 * request in the tiles projection aligns exactly with a single stored
+	 * tile, the requested size matches the tile matrix tile size, and the
+	 * stored image is in the requested image format. Passthrough tiles
+	 * contain the stored image bytes ({@link GeoPackageTile#getData()}) with
+	 * no image ({@link GeoPackageTile#getImage()}), and are not checked for
+	 * full transparency.
+	 *
+	 * @param passthrough
+	 *            true to enable
+	 * @since 6.6.7
+	 */
+	public void setPassthrough(boolean passthrough) {
+		this.passthrough = passthrough;
+	}
+
+	/**
+	 * Get the maximum number of tiles prefetched per query when creating
+	 * multiple tiles
+	 *
+	 * @return batch limit
+	 * @since 6.6.7
+	 */
+	public int getBatchLimit() {
+		return batchLimit;
+	}
+
+	/**
+	 * Set the maximum number of tiles prefetched per query when creating
+	 * multiple tiles, bounding the tile rows held in memory
+	 *
+	 * @param batchLimit
+	 *            batch limit
+	 * @since 6.6.7
+	 */
+	public void setBatchLimit(int batchLimit) {
+		if (batchLimit < 1) {
+			throw new GeoPackageException(
+					"Batch limit must be at least 1, not: " + batchLimit);
+		}
+		this.batchLimit = batchLimit;
+	}
+
 	/**
 	 * Check if the tile table contains a tile for the request bounding box
 	 *
@@ -405,53 +481,9 @@ public class TileCreator {
 				try {
 
 					if (tileResults.getCount() > 0) {
-
-						// Determine the tile dimensions
-						int[] tileDimensions = tileDimensions(
-								requestBoundingBox, tilesBoundingBox,
-								tileMatrix);
-						int requestedTileWidth = tileDimensions[0];
-						int requestedTileHeight = tileDimensions[1];
-
-						// Determine the size of the tile to initially draw
-						int tileWidth = requestedTileWidth;
-						int tileHeight = requestedTileHeight;
-						if (!sameUnit) {
-							tileWidth = (int) Math.round((tilesBoundingBox
-									.getMaxLongitude()
-									- tilesBoundingBox.getMinLongitude())
-									/ tileMatrix.getPixelXSize());
-							tileHeight = (int) Math
-									.round((tilesBoundingBox.getMaxLatitude()
-											- tilesBoundingBox.getMinLatitude())
-											/ tileMatrix.getPixelYSize());
-						}
-
-						// Draw the resulting bitmap with the matching tiles
-						GeoPackageTile geoPackageTile = drawTile(tileMatrix,
-								tileResults, tilesBoundingBox, tileWidth,
-								tileHeight);
-
-						// Create the tile
-						if (geoPackageTile != null) {
-
-							// Project the tile if needed
-							if (!sameProjection
-									&& geoPackageTile.getImage() != null) {
-								BufferedImage reprojectTile = reprojectTile(
-										geoPackageTile.getImage(),
-										requestedTileWidth, requestedTileHeight,
-										requestBoundingBox,
-										transformRequestToTiles,
-										tilesBoundingBox);
-								geoPackageTile = new GeoPackageTile(
-										requestedTileWidth, requestedTileHeight,
-										reprojectTile);
-							}
-
-							tile = geoPackageTile;
-						}
-
+						tile = createTile(requestBoundingBox,
+								transformRequestToTiles, tilesBoundingBox,
+								tileMatrix, tileResults);
 					}
 				} finally {
 					tileResults.close();
@@ -462,6 +494,267 @@ public class TileCreator {
 		return tile;
 	}
 
+	/**
+	 * Get the tiles from the request bounding boxes in the request
+	 * projection. Requests sharing a zoom level are served from tile rows
+	 * prefetched with a range query per batch of up to the batch limit tiles,
+	 * rather than a query per request.
+	 *
+	 * @param requestBoundingBoxes
+	 *            request bounding boxes in the request projection
+	 * @return tiles in request order, null entries where no tile exists
+	 * @since 6.6.7
+	 */
+	public List<GeoPackageTile> getTiles(
+			List<BoundingBox> requestBoundingBoxes) {
+
+		int size = requestBoundingBoxes.size();
+		List<GeoPackageTile> tiles = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			tiles.add(null);
+		}
+
+		GeometryTransform transformRequestToTiles = GeometryTransform
+				.create(requestProjection, tilesProjection);
+
+		BoundingBox[] tilesBoundingBoxes = new BoundingBox[size];
+		List<List<TileMatrix>> requestTileMatrices = new ArrayList<>(size);
+
+		// Group the requests by the first tile matrix to check
+		Map<Long, List<Integer>> zoomRequests = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			tilesBoundingBoxes[i] = requestBoundingBoxes.get(i)
+					.transform(transformRequestToTiles);
+			List<TileMatrix> tileMatrices = getTileMatrices(
+					tilesBoundingBoxes[i]);
+			requestTileMatrices.add(tileMatrices);
+			if (!tileMatrices.isEmpty()) {
+				long zoomLevel = tileMatrices.get(0).getZoomLevel();
+				List<Integer> requests = zoomRequests.get(zoomLevel);
+				if (requests == null) {
+					requests = new ArrayList<>();
+					zoomRequests.put(zoomLevel, requests);
+				}
+				requests.add(i);
+			}
+		}
+
+		for (List<Integer> requests : zoomRequests.values()) {
+
+			TileMatrix tileMatrix = requestTileMatrices.get(requests.get(0))
+					.get(0);
+
+			// Batch the requests while the combined tile grid is within the
+			// batch limit
+			List<Integer> batch = new ArrayList<>();
+			List<TileGrid> batchGrids = new ArrayList<>();
+			TileGrid batchGrid = null;
+			for (int request : requests) {
+
+				TileGrid tileGrid = TileBoundingBoxUtils.getTileGrid(
+						tileSetBoundingBox, tileMatrix.getMatrixWidth(),
+						tileMatrix.getMatrixHeight(),
+						tilesBoundingBoxes[request]);
+
+				TileGrid unionGrid = union(batchGrid, tileGrid);
+				if (batchGrid != null && unionGrid.count() > batchLimit) {
+					createTiles(tiles, batch, batchGrids, batchGrid,
+							tileMatrix, requestBoundingBoxes,
+							tilesBoundingBoxes, requestTileMatrices,
+							transformRequestToTiles);
+					batch.clear();
+					batchGrids.clear();
+					unionGrid = tileGrid;
+				}
+
+				batch.add(request);
+				batchGrids.add(tileGrid);
+				batchGrid = unionGrid;
+			}
+			createTiles(tiles, batch, batchGrids, batchGrid, tileMatrix,
+					requestBoundingBoxes, tilesBoundingBoxes,
+					requestTileMatrices, transformRequestToTiles);
+		}
+
+		return tiles;
+	}
+
+	/**
+	 * Create the tiles for a batch of requests from the tile rows of the
+	 * batch tile grid, falling back to the remaining tile matrices for
+	 * requests without a tile
+	 *
+	 * @param tiles
+	 *            tiles in request order to populate
+	 * @param batch
+	 *            batch request indices
+	 * @param batchGrids
+	 *            tile grid of each batch request
+	 * @param batchGrid
+	 *            combined tile grid of the batch
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param requestBoundingBoxes
+	 *            request bounding boxes in the request projection
+	 * @param tilesBoundingBoxes
+	 *            request bounding boxes in the tiles projection
+	 * @param requestTileMatrices
+	 *            tile matrices of each request
+	 * @param transformRequestToTiles
+	 *            transformation from request to tiles
+	 */
+	private void createTiles(List<GeoPackageTile> tiles, List<Integer> batch,
+			List<TileGrid> batchGrids, TileGrid batchGrid,
+			TileMatrix tileMatrix, List<BoundingBox> requestBoundingBoxes,
+			BoundingBox[] tilesBoundingBoxes,
+			List<List<TileMatrix>> requestTileMatrices,
+			GeometryTransform transformRequestToTiles) {
+
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		// Prefetch the tile rows of the batch
+		List<TileRow> tileRows = new ArrayList<>();
+		TileResultSet tileResults = tileDao.queryByTileGrid(batchGrid,
+				tileMatrix.getZoomLevel());
+		if (tileResults != null) {
+			try {
+				while (tileResults.moveToNext()) {
+					tileRows.add(tileResults.getRow());
+				}
+			} finally {
+				tileResults.close();
+			}
+		}
+
+		for (int i = 0; i < batch.size(); i++) {
+
+			int request = batch.get(i);
+			TileGrid tileGrid = batchGrids.get(i);
+			BoundingBox requestBoundingBox = requestBoundingBoxes.get(request);
+
+			List<TileRow> requestTileRows = new ArrayList<>();
+			for (TileRow tileRow : tileRows) {
+				long column = tileRow.getTileColumn();
+				long row = tileRow.getTileRow();
+				if (column >= tileGrid.getMinX() && column <= tileGrid.getMaxX()
+						&& row >= tileGrid.getMinY()
+						&& row <= tileGrid.getMaxY()) {
+					requestTileRows.add(tileRow);
+				}
+			}
+
+			GeoPackageTile tile = null;
+			if (!requestTileRows.isEmpty()) {
+				tile = createTile(requestBoundingBox, transformRequestToTiles,
+						tilesBoundingBoxes[request], tileMatrix,
+						requestTileRows);
+			}
+
+			// Check the remaining tile matrices
+			List<TileMatrix> tileMatrices = requestTileMatrices.get(request);
+			if (tile == null && tileMatrices.size() > 1) {
+				tile = getTile(requestBoundingBox,
+						tileMatrices.subList(1, tileMatrices.size()));
+			}
+
+			tiles.set(request, tile);
+		}
+	}
+
+	/**
+	 * Get the union of the tile grids
+	 *
+	 * @param tileGrid1
+	 *            tile grid, may be null
+	 * @param tileGrid2
+	 *            tile grid
+	 * @return union tile grid
+	 */
+	private static TileGrid union(TileGrid tileGrid1, TileGrid tileGrid2) {
+		TileGrid union = tileGrid2;
+		if (tileGrid1 != null) {
+			union = new TileGrid(
+					Math.min(tileGrid1.getMinX(), tileGrid2.getMinX()),
+					Math.min(tileGrid1.getMinY(), tileGrid2.getMinY()),
+					Math.max(tileGrid1.getMaxX(), tileGrid2.getMaxX()),
+					Math.max(tileGrid1.getMaxY(), tileGrid2.getMaxY()));
+		}
+		return union;
+	}
+
+	/**
+	 * Create the tile from the tile rows of the tile matrix overlapping the
+	 * request
+	 *
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @param transformRequestToTiles
+	 *            transformation from request to tiles
+	 * @param tilesBoundingBox
+	 *            request bounding box in the tiles projection
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param tileRows
+	 *            tile rows
+	 * @return tile or null
+	 */
+	private GeoPackageTile createTile(BoundingBox requestBoundingBox,
+			GeometryTransform transformRequestToTiles,
+			BoundingBox tilesBoundingBox, TileMatrix tileMatrix,
+			Iterable<TileRow> tileRows) {
+
+		// Determine the tile dimensions
+		int[] tileDimensions = tileDimensions(requestBoundingBox,
+				tilesBoundingBox, tileMatrix);
+		int requestedTileWidth = tileDimensions[0];
+		int requestedTileHeight = tileDimensions[1];
+
+		// Determine the size of the tile to initially draw
+		int tileWidth = requestedTileWidth;
+		int tileHeight = requestedTileHeight;
+		if (!sameUnit) {
+			tileWidth = (int) Math.round((tilesBoundingBox.getMaxLongitude()
+					- tilesBoundingBox.getMinLongitude())
+					/ tileMatrix.getPixelXSize());
+			tileHeight = (int) Math.round((tilesBoundingBox.getMaxLatitude()
+					- tilesBoundingBox.getMinLatitude())
+					/ tileMatrix.getPixelYSize());
+		}
+
+		// Return an aligned stored tile as is
+		if (passthrough && sameProjection && imageFormat != null) {
+			List<TileRow> tileRowList = new ArrayList<>();
+			for (TileRow tileRow : tileRows) {
+				tileRowList.add(tileRow);
+			}
+			GeoPackageTile passthroughTile = passthroughTile(tileMatrix,
+					tileRowList, tilesBoundingBox, tileWidth, tileHeight);
+			if (passthroughTile != null) {
+				return passthroughTile;
+			}
+			tileRows = tileRowList;
+		}
+
+		// Draw the resulting bitmap with the matching tiles
+		GeoPackageTile geoPackageTile = drawTile(tileMatrix, tileRows,
+				tilesBoundingBox, tileWidth, tileHeight);
+
+		// Project the tile if needed
+		if (geoPackageTile != null && !sameProjection
+				&& geoPackageTile.getImage() != null) {
+			BufferedImage reprojectTile = reprojectTile(
+					geoPackageTile.getImage(), requestedTileWidth,
+					requestedTileHeight, requestBoundingBox,
+					transformRequestToTiles, tilesBoundingBox);
+			geoPackageTile = new GeoPackageTile(requestedTileWidth,
+					requestedTileHeight, reprojectTile);
+		}
+
+		return geoPackageTile;
+	}
+
 	/**
 	 * Determine the tile dimensions. Specified width and/or height values are
 	 * used. When only one of width or height is specified, other is determined
@@ -552,8 +845,8 @@ public class TileCreator {
 	 *
 	 * @param tileMatrix
 	 *            tile matrix
-	 * @param tileResults
-	 *            tile results
+	 * @param tileRows
+	 *            tile rows
 	 * @param requestBoundingBox
 	 *            projected request bounding box
 	 * @param tileWidth
@@ -563,19 +856,22 @@ public class TileCreator {
 	 * @return GeoPackage Tile
 	 */
 	private GeoPackageTile drawTile(TileMatrix tileMatrix,
-			TileResultSet tileResults, BoundingBox requestBoundingBox,
+			Iterable<TileRow> tileRows, BoundingBox requestBoundingBox,
 			int tileWidth, int tileHeight) {
 
 		// Draw the resulting bitmap with the matching tiles
 		GeoPackageTile geoPackageTile = null;
 		Graphics graphics = null;
-		while (tileResults.moveToNext()) {
-
-			// Get the next tile
-			TileRow tileRow = tileResults.getRow();
+		TileImageCache imageCache = tileDao.getImageCache();
+		for (TileRow tileRow : tileRows) {
 			BufferedImage tileDataImage;
 			try {
-				tileDataImage = tileRow.getTileDataImage();
+				if (imageCache != null) {
+					tileDataImage = imageCache
+							.getImage(tileDao.getTableName(), tileRow);
+				} else {
+					tileDataImage = tileRow.getTileDataImage();
+				}
 			} catch (IOException e) {
 				throw new GeoPackageException(
 						"Failed to read the tile row image data", e);
@@ -647,6 +943,73 @@ public class TileCreator {
 		return geoPackageTile;
 	}
 
+	/**
+	 * Get the stored tile bytes when a single tile aligns exactly with the
+	 * request, matching the tile size and image format
+	 *
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param tileRows
+	 *            tile rows
+	 * @param requestBoundingBox
+	 *            projected request bounding box
+	 * @param tileWidth
+	 *            tile width
+	 * @param tileHeight
+	 *            tile height
+	 * @return GeoPackage Tile with the stored bytes, or null if not aligned
+	 */
+	private GeoPackageTile passthroughTile(TileMatrix tileMatrix,
+			List<TileRow> tileRows, BoundingBox requestBoundingBox,
+			int tileWidth, int tileHeight) {
+
+		if (tileWidth != tileMatrix.getTileWidth()
+				|| tileHeight != tileMatrix.getTileHeight()) {
+			return null;
+		}
+
+		TileRow alignedTileRow = null;
+		for (TileRow tileRow : tileRows) {
+
+			BoundingBox tileBoundingBox = TileBoundingBoxUtils.getBoundingBox(
+					tileSetBoundingBox, tileMatrix, tileRow.getTileColumn(),
+					tileRow.getTileRow());
+			BoundingBox overlap = requestBoundingBox.overlap(tileBoundingBox);
+
+			if (overlap != null) {
+
+				ImageRectangle src = TileBoundingBoxJavaUtils.getRectangle(
+						tileMatrix.getTileWidth(), tileMatrix.getTileHeight(),
+						tileBoundingBox, overlap);
+				ImageRectangle dest = TileBoundingBoxJavaUtils.getRectangle(
+						tileWidth, tileHeight, requestBoundingBox, overlap);
+
+				if (src.isValid() && dest.isValid()) {
+
+					// Only a single full tile drawn at the same position
+					if (alignedTileRow != null || !src.equals(dest)
+							|| src.getLeft() != 0 || src.getTop() != 0
+							|| src.getRight() != tileWidth
+							|| src.getBottom() != tileHeight) {
+						return null;
+					}
+					alignedTileRow = tileRow;
+				}
+			}
+		}
+
+		GeoPackageTile geoPackageTile = null;
+		if (alignedTileRow != null) {
+			byte[] tileData = alignedTileRow.getTileData();
+			if (ImageUtils.isImageFormat(tileData, imageFormat)) {
+				geoPackageTile = new GeoPackageTile(tileWidth, tileHeight,
+						tileData);
+			}
+		}
+
+		return geoPackageTile;
+	}
+
 	/**
 	 * Reproject the tile to the requested projection
 	 *
@@ -12,6 +12,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,6 +30,7 @@ import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.contents.Contents;
 import mil.nga.geopackage.contents.ContentsDao;
+import mil.nga.geopackage.extension.nga.dedup.TileDeduplication;
 import mil.nga.geopackage.extension.nga.scale.TileScaling;
 import mil.nga.geopackage.extension.nga.scale.TileTableScaling;
 import mil.nga.geopackage.io.GeoPackageZoomLevelProgress;
@@ -142,6 +151,44 @@ public abstract class TileGenerator {
 	 */
 	private boolean skipExisting = false;
 
+	/**
+	 * Number of worker threads creating tiles, 1 for serial generation
+	 */
+	private int threads = 1;
+
+	/**
+	 * Max number of tiles being created or waiting to be written at once when
+	 * generating in parallel, null to use a multiple of the thread count
+	 */
+	private Integer queueSize = null;
+
+	/**
+	 * Number of tiles written per transaction when generating in parallel
+	 */
+	private int transactionLimit = DEFAULT_TRANSACTION_LIMIT;
+
+	/**
+	 * Resumable generation from persisted checkpoints
+	 */
+	private boolean resumable = false;
+
+	/**
+	 * Deduplicate identical tile data
+	 */
+	private boolean deduplicate = false;
+
+	/**
+	 * Default number of tiles written per transaction when generating in
+	 * parallel
+	 */
+	public static final int DEFAULT_TRANSACTION_LIMIT = 1000;
+
+	/**
+	 * Default queue size multiplier of the thread count when generating in
+	 * parallel
+	 */
+	private static final int QUEUE_SIZE_PER_THREAD = 4;
+
 	/**
 	 * Constructor
 	 *
@@ -506,6 +553,175 @@ public abstract class TileGenerator {
 		this.skipExisting = skipExisting;
 	}
 
+	/**
+	 * Get the number of worker threads creating tiles
+	 * 
+	 * @return thread count, 1 when generating serially
+	 * @since 6.6.7
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Set the number of worker threads creating tiles. When greater than 1,
+	 * {@link #createTile(int, long, long)} is called concurrently from a pool
+	 * of worker threads while the calling thread writes the created tiles to
+	 * the GeoPackage. Default is 1, generating tiles serially.
+	 * 
+	 * @param threads
+	 *            thread count
+	 * @since 6.6.7
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new GeoPackageException(
+					"Threads must be at least 1, not: " + threads);
+		}
+		this.threads = threads;
+	}
+
+	/**
+	 * Is parallel tile generation enabled
+	 * 
+	 * @return true if tiles are created by multiple threads
+	 * @since 6.6.7
+	 */
+	public boolean isParallel() {
+		return threads > 1;
+	}
+
+	/**
+	 * Get the max number of tiles being created or waiting to be written at
+	 * once when generating in parallel
+	 * 
+	 * @return queue size
+	 * @since 6.6.7
+	 */
+	public int getQueueSize() {
+		int size;
+		if (queueSize != null) {
+			size = queueSize;
+		} else {
+			size = getDefaultQueueSize();
+		}
+		return size;
+	}
+
+	/**
+	 * Get the default max number of tiles being created or waiting to be
+	 * written at once when generating in parallel, used when a queue size is
+	 * not set
+	 * 
+	 * @return default queue size
+	 * @since 6.6.7
+	 */
+	protected int getDefaultQueueSize() {
+		return threads * QUEUE_SIZE_PER_THREAD;
+	}
+
+	/**
+	 * Set the max number of tiles being created or waiting to be written at
+	 * once when generating in parallel. Bounds the memory used by created
+	 * tiles when tile creation outpaces writing.
+	 * 
+	 * @param queueSize
+	 *            queue size, null to use a multiple of the thread count
+	 * @since 6.6.7
+	 */
+	public void setQueueSize(Integer queueSize) {
+		if (queueSize != null && queueSize < 1) {
+			throw new GeoPackageException(
+					"Queue size must be at least 1, not: " + queueSize);
+		}
+		this.queueSize = queueSize;
+	}
+
+	/**
+	 * Get the number of tiles written per transaction when generating in
+	 * parallel
+	 * 
+	 * @return transaction limit
+	 * @since 6.6.7
+	 */
+	public int getTransactionLimit() {
+		return transactionLimit;
+	}
+
+	/**
+	 * Set the number of tiles written per transaction when generating in
+	 * parallel
+	 * 
+	 * @param transactionLimit
+	 *            transaction limit
+	 * @since 6.6.7
+	 */
+	public void setTransactionLimit(int transactionLimit) {
+		if (transactionLimit < 1) {
+			throw new GeoPackageException(
+					"Transaction limit must be at least 1, not: "
+							+ transactionLimit);
+		}
+		this.transactionLimit = transactionLimit;
+	}
+
+	/**
+	 * Is resumable generation enabled
+	 *
+	 * @return true if resumable
+	 * @since 6.6.7
+	 */
+	public boolean isResumable() {
+		return resumable;
+	}
+
+	/**
+	 * Set resumable generation. When resumable, the tile columns of each zoom
+	 * level whose tiles have all been written are checkpointed in the
+	 * GeoPackage (see {@link TileGeneratorCheckpoint}). Generating again after
+	 * a cancel or failure skips the completed columns without querying for
+	 * existing tiles. Written tiles are kept on cancel or failure, and the
+	 * checkpoints are deleted once every zoom level is complete. Default is
+	 * false.
+	 *
+	 * @param resumable
+	 *            true to resume from and record checkpoints
+	 * @since 6.6.7
+	 */
+	public void setResumable(boolean resumable) {
+		this.resumable = resumable;
+	}
+
+	/**
+	 * Is tile deduplication enabled
+	 *
+	 * @return true if deduplicating
+	 * @since 6.6.7
+	 */
+	public boolean isDeduplicate() {
+		return deduplicate;
+	}
+
+	/**
+	 * Set tile deduplication. When enabled, identical generated tiles, such as
+	 * fully transparent or solid fill tiles, are stored once as a tile row and
+	 * repeated tiles are stored as references to it in the
+	 * {@link TileDeduplication} extension tables. Tiles read through a
+	 * {@link TileDao} include the references transparently. Default is false.
+	 * <p>
+	 * Tile data always holds images. Readers without the extension read the
+	 * stored tile rows and see referenced tiles as missing. Use
+	 * {@link TileDeduplication#removeExtension()} to restore the references as
+	 * tile rows before sharing the GeoPackage.
+	 *
+	 * @param deduplicate
+	 *            true to deduplicate tile data
+	 * @since 6.6.7
+	 */
+	public void setDeduplicate(boolean deduplicate) {
+		this.deduplicate = deduplicate;
+	}
+
 	/**
 	 * Get the tile count of tiles to be generated
 	 *
@@ -615,11 +831,34 @@ public abstract class TileGenerator {
 			tileTableScaling.createOrUpdate(scaling);
 		}
 
+		// Create the worker pool when generating in parallel
+		ExecutorService executor = null;
+		if (isParallel()) {
+			executor = Executors.newFixedThreadPool(threads);
+		}
+		boolean async = isAsyncTileCreation();
+
+		// Resume from and record generation checkpoints
+		TileGeneratorCheckpoint checkpoint = null;
+		if (resumable) {
+			checkpoint = new TileGeneratorCheckpoint(geoPackage, tableName);
+			checkpoint.createTable();
+			if (!update) {
+				// Clear stale checkpoints of a previously deleted table
+				checkpoint.delete();
+				checkpoint.createTable();
+			}
+		}
+
 		// Create the tiles
 		try {
 			Contents contents = tileMatrixSet.getContents();
 			TileMatrixDao tileMatrixDao = geoPackage.getTileMatrixDao();
 			TileDao tileDao = geoPackage.getTileDao(tileMatrixSet);
+			if (deduplicate) {
+				new TileDeduplication(geoPackage, tileDao)
+						.getOrCreate(tileDao);
+			}
 
 			// Create the new matrix tiles
 			for (int zoom = minZoom; zoom <= maxZoom
@@ -647,7 +886,7 @@ public abstract class TileGenerator {
 					TileGrid tileGrid = tileGrids.get(zoom);
 					count += generateTiles(tileMatrixDao, tileDao, contents,
 							zoom, tileGrid, localTileGrid, matrixWidth,
-							matrixHeight, update);
+							matrixHeight, update, executor, async, checkpoint);
 
 				}
 
@@ -658,31 +897,69 @@ public abstract class TileGenerator {
 				}
 			}
 
-			// Delete the table if canceled
-			if (progress != null && !progress.isActive()
-					&& progress.cleanupOnCancel()) {
-				geoPackage.deleteTableQuietly(tableName);
+			// Delete the table if canceled, unless resumable
+			boolean canceled = progress != null && !progress.isActive();
+			if (canceled && progress.cleanupOnCancel() && !resumable) {
+				deleteTableQuietly();
 				count = 0;
 			} else {
 				// Update the contents last modified date
 				contents.setLastChange(new Date());
 				ContentsDao contentsDao = geoPackage.getContentsDao();
 				contentsDao.update(contents);
+
+				// Delete the checkpoints once every zoom level is complete,
+				// including when the progress ends at the final tile
+				if (checkpoint != null && checkpoint.isComplete(zoomLevels)) {
+					checkpoint.delete();
+				}
 			}
 		} catch (RuntimeException e) {
-			geoPackage.deleteTableQuietly(tableName);
+			deleteTableUnlessResumable();
 			throw e;
 		} catch (SQLException e) {
-			geoPackage.deleteTableQuietly(tableName);
+			deleteTableUnlessResumable();
 			throw e;
 		} catch (IOException e) {
-			geoPackage.deleteTableQuietly(tableName);
+			deleteTableUnlessResumable();
 			throw e;
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+			postTileGeneration();
 		}
 
 		return count;
 	}
 
+	/**
+	 * Delete the tile table after a failure, keeping the written tiles to
+	 * resume from when resumable
+	 */
+	private void deleteTableUnlessResumable() {
+		if (!resumable) {
+			deleteTableQuietly();
+		}
+	}
+
+	/**
+	 * Delete the tile table and its deduplicated tile data, ignoring errors
+	 */
+	private void deleteTableQuietly() {
+		geoPackage.deleteTableQuietly(tableName);
+		if (deduplicate) {
+			try {
+				new TileDeduplication(geoPackage, tableName).removeExtension();
+			} catch (Exception e) {
+				LOGGER.log(Level.WARNING,
+						"Failed to delete deduplicated tile data. Table: "
+								+ tableName,
+						e);
+			}
+		}
+	}
+
 	/**
 	 * Validate that at least one zoom level was specified
 	 */
@@ -979,6 +1256,12 @@ public abstract class TileGenerator {
 	 * @param matrixWidth
 	 * @param matrixHeight
 	 * @param update
+	 * @param executor
+	 *            worker pool when generating in parallel
+	 * @param async
+	 *            true to create tiles asynchronously
+	 * @param checkpoint
+	 *            generation checkpoint when resumable
 	 * @return tile count
 	 * @throws java.sql.SQLException
 	 * @throws java.io.IOException
@@ -986,12 +1269,9 @@ public abstract class TileGenerator {
 	private int generateTiles(TileMatrixDao tileMatrixDao, TileDao tileDao,
 			Contents contents, int zoomLevel, TileGrid tileGrid,
 			TileGrid localTileGrid, long matrixWidth, long matrixHeight,
-			boolean update) throws SQLException, IOException {
-
-		int count = 0;
-
-		Integer tileWidth = null;
-		Integer tileHeight = null;
+			boolean update, ExecutorService executor, boolean async,
+			TileGeneratorCheckpoint checkpoint)
+			throws SQLException, IOException {
 
 		Map<Long, Set<Long>> existingTiles = null;
 		if (update && skipExisting) {
@@ -1019,115 +1299,34 @@ public abstract class TileGenerator {
 			}
 		}
 
-		// Download and create the tile and each coordinate
-		for (long x = tileGrid.getMinX(); x <= tileGrid.getMaxX(); x++) {
-
-			// Check if the progress has been canceled
-			if (progress != null && !progress.isActive()) {
-				break;
-			}
-
-			long tileColumn = x;
-			// Update the column to the local tile grid location
-			if (localTileGrid != null) {
-				tileColumn = (x - tileGrid.getMinX()) + localTileGrid.getMinX();
-			}
-
-			Set<Long> existingColumnRows = null;
-			if (existingTiles != null) {
-				existingColumnRows = existingTiles.get(tileColumn);
-			}
-
-			for (long y = tileGrid.getMinY(); y <= tileGrid.getMaxY(); y++) {
-
-				// Check if the progress has been canceled
-				if (progress != null && !progress.isActive()) {
-					break;
-				}
-
-				long tileRow = y;
-				// Update the row to the local tile grid location
-				if (localTileGrid != null) {
-					tileRow = (y - tileGrid.getMinY())
-							+ localTileGrid.getMinY();
-				}
-
-				boolean createTile = true;
-				if (existingColumnRows != null) {
-					createTile = !existingColumnRows.contains(tileRow);
-				}
-
-				if (createTile) {
-					try {
-
-						// Create the tile
-						byte[] tileBytes = createTile(zoomLevel, x, y);
-
-						if (tileBytes != null && tileBytes.length > 0) {
-
-							BufferedImage image = null;
-
-							// Compress the image
-							if (compressFormat != null) {
-								image = ImageUtils.getImage(tileBytes);
-								if (image != null) {
-									tileBytes = ImageUtils.writeImageToBytes(
-											image, compressFormat,
-											compressQuality);
-								}
-							}
-
-							// Create a new tile row
-							TileRow newRow = tileDao.newRow();
-							newRow.setZoomLevel(zoomLevel);
-
-							// If an update, delete an existing row
-							if (update) {
-								tileDao.deleteTile(tileColumn, tileRow,
-										zoomLevel);
-							}
+		ZoomLevelWriter writer = new ZoomLevelWriter(tileDao, zoomLevel,
+				update, tileGrid, checkpoint);
 
-							newRow.setTileColumn(tileColumn);
-							newRow.setTileRow(tileRow);
-							newRow.setTileData(tileBytes);
-							tileDao.create(newRow);
-
-							count++;
-
-							// Determine the tile width and height
-							if (tileWidth == null) {
-								if (image == null) {
-									image = ImageUtils.getImage(tileBytes);
-								}
-								if (image != null) {
-									tileWidth = image.getWidth();
-									tileHeight = image.getHeight();
-								}
-							}
-						}
-					} catch (Exception e) {
-						LOGGER.log(
-								Level.WARNING, "Failed to create tile. Zoom: "
-										+ zoomLevel + ", x: " + x + ", y: " + y,
-								e);
-						// Skip this tile, don't increase count
-					}
-				}
-
-				// Update the progress count, even on failures
-				if (progress != null) {
-					progress.addZoomLevelProgress(zoomLevel, 1);
-					progress.addProgress(1);
-				}
-
-			}
+		if (async) {
+			generateTilesParallel(writer, tileGrid, localTileGrid,
+					existingTiles, null);
+		} else if (executor != null) {
+			generateTilesParallel(writer, tileGrid, localTileGrid,
+					existingTiles, executor);
+		} else {
+			generateTilesSerial(writer, tileGrid, localTileGrid,
+					existingTiles);
+		}
 
+		// When resuming, tiles written before the checkpoint may be the only
+		// tiles with dimensions
+		if (writer.isResumed() && writer.getTileWidth() == null) {
+			writer.readTileSize();
 		}
 
+		int count = writer.getCount();
+		Integer tileWidth = writer.getTileWidth();
+		Integer tileHeight = writer.getTileHeight();
+
 		// If none of the tiles were translated into a bitmap with dimensions,
 		// delete them
 		if ((tileWidth == null || tileHeight == null)
-				&& existingTiles == null) {
+				&& existingTiles == null && !writer.isResumed()) {
 			count = 0;
 
 			StringBuilder where = new StringBuilder();
@@ -1157,7 +1356,7 @@ public abstract class TileGenerator {
 
 			tileDao.delete(where.toString(), whereArgs);
 
-		} else {
+		} else if (tileWidth != null && tileHeight != null) {
 
 			// Check if the tile matrix already exists
 			boolean create = true;
@@ -1194,12 +1393,864 @@ public abstract class TileGenerator {
 		return count;
 	}
 
+	/**
+	 * Generate the tiles for the zoom level on the calling thread
+	 * 
+	 * @param writer
+	 *            zoom level writer
+	 * @param tileGrid
+	 *            tile grid
+	 * @param localTileGrid
+	 *            local tile grid for GeoPackage format
+	 * @param existingTiles
+	 *            existing tiles to skip
+	 */
+	private void generateTilesSerial(ZoomLevelWriter writer, TileGrid tileGrid,
+			TileGrid localTileGrid, Map<Long, Set<Long>> existingTiles) {
+
+		int zoomLevel = writer.getZoomLevel();
+
+		// Download and create the tile and each coordinate
+		for (long x = writer.start(); x <= tileGrid.getMaxX(); x++) {
+
+			// Check if the progress has been canceled
+			if (progress != null && !progress.isActive()) {
+				break;
+			}
+
+			long tileColumn = getTileColumn(tileGrid, localTileGrid, x);
+			Set<Long> existingColumnRows = null;
+			if (existingTiles != null) {
+				existingColumnRows = existingTiles.get(tileColumn);
+			}
+
+			for (long y = tileGrid.getMinY(); y <= tileGrid.getMaxY(); y++) {
+
+				// Check if the progress has been canceled
+				if (progress != null && !progress.isActive()) {
+					break;
+				}
+
+				long tileRow = getTileRow(tileGrid, localTileGrid, y);
+
+				boolean failed = false;
+				if (existingColumnRows == null
+						|| !existingColumnRows.contains(tileRow)) {
+					try {
+						GeneratedTile tile = createGeneratedTile(zoomLevel, x,
+								y, tileColumn, tileRow);
+						writer.write(tile);
+					} catch (Exception e) {
+						LOGGER.log(
+								Level.WARNING, "Failed to create tile. Zoom: "
+										+ zoomLevel + ", x: " + x + ", y: " + y,
+								e);
+						// Skip this tile, don't increase count
+						failed = true;
+					}
+				}
+
+				// Update the progress count, even on failures
+				writer.progress(x, failed);
+			}
+
+		}
+
+	}
+
+	/**
+	 * Generate the tiles for the zoom level by creating tiles on the worker
+	 * pool, or asynchronously when no worker pool is given, and writing them on
+	 * the calling thread. The number of tiles being created or waiting to be
+	 * written is bounded by the queue size.
+	 * 
+	 * @param writer
+	 *            zoom level writer
+	 * @param tileGrid
+	 *            tile grid
+	 * @param localTileGrid
+	 *            local tile grid for GeoPackage format
+	 * @param existingTiles
+	 *            existing tiles to skip
+	 * @param executor
+	 *            worker pool, null to create tiles asynchronously
+	 */
+	private void generateTilesParallel(ZoomLevelWriter writer,
+			TileGrid tileGrid, TileGrid localTileGrid,
+			Map<Long, Set<Long>> existingTiles, ExecutorService executor) {
+
+		int zoomLevel = writer.getZoomLevel();
+		int queueSize = getQueueSize();
+
+		BlockingQueue<Future<GeneratedTile>> completedTiles = new LinkedBlockingQueue<>();
+		Map<Future<GeneratedTile>, Long> pending = new HashMap<>();
+
+		writer.beginTransaction();
+		boolean successful = false;
+		try {
+
+			for (long x = writer.start(); x <= tileGrid.getMaxX()
+					&& writer.isActive(); x++) {
+
+				long tileColumn = getTileColumn(tileGrid, localTileGrid, x);
+				Set<Long> existingColumnRows = null;
+				if (existingTiles != null) {
+					existingColumnRows = existingTiles.get(tileColumn);
+				}
+
+				for (long y = tileGrid.getMinY(); y <= tileGrid.getMaxY()
+						&& writer.isActive(); y++) {
+
+					long tileRow = getTileRow(tileGrid, localTileGrid, y);
+
+					if (existingColumnRows != null
+							&& existingColumnRows.contains(tileRow)) {
+						writer.progress(x, false);
+						continue;
+					}
+
+					// Wait for a created tile when the queue is full
+					while (pending.size() >= queueSize && writer.isActive()) {
+						writeCompleted(writer, pending, take(completedTiles));
+					}
+
+					if (writer.isActive()) {
+						pending.put(submitTile(executor, completedTiles,
+								zoomLevel, x, y, tileColumn, tileRow), x);
+					}
+
+					// Write tiles that have already been created
+					Future<GeneratedTile> completed = null;
+					while ((completed = completedTiles.poll()) != null) {
+						writeCompleted(writer, pending, completed);
+					}
+				}
+			}
+
+			// Write the remaining tiles or cancel them if canceled
+			while (!pending.isEmpty()) {
+				if (writer.isActive()) {
+					writeCompleted(writer, pending, take(completedTiles));
+				} else {
+					for (Future<GeneratedTile> future : pending.keySet()) {
+						future.cancel(true);
+					}
+					pending.clear();
+				}
+			}
+
+			successful = true;
+		} finally {
+			for (Future<GeneratedTile> future : pending.keySet()) {
+				future.cancel(true);
+			}
+			writer.endTransaction(successful);
+		}
+
+	}
+
+	/**
+	 * Submit a tile for creation on the worker pool, or asynchronously when no
+	 * worker pool is given. The tile future is added to the completed tiles
+	 * queue when done.
+	 * 
+	 * @param executor
+	 *            worker pool or null
+	 * @param completedTiles
+	 *            completed tiles queue
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @return tile future
+	 */
+	private Future<GeneratedTile> submitTile(ExecutorService executor,
+			BlockingQueue<Future<GeneratedTile>> completedTiles, int zoomLevel,
+			long x, long y, long tileColumn, long tileRow) {
+
+		Future<GeneratedTile> future;
+
+		if (executor != null) {
+			FutureTask<GeneratedTile> task = new FutureTask<GeneratedTile>(
+					() -> createGeneratedTile(zoomLevel, x, y, tileColumn,
+							tileRow)) {
+				@Override
+				protected void done() {
+					completedTiles.add(this);
+				}
+			};
+			executor.execute(task);
+			future = task;
+		} else {
+			CompletableFuture<GeneratedTile> tileFuture = createTileAsync(
+					zoomLevel, x, y).thenApply((tileBytes) -> {
+						try {
+							return createGeneratedTile(x, y, tileColumn,
+									tileRow, tileBytes);
+						} catch (IOException e) {
+							throw new GeoPackageException(
+									"Failed to create tile. Zoom: " + zoomLevel
+											+ ", x: " + x + ", y: " + y,
+									e);
+						}
+					});
+			tileFuture.whenComplete(
+					(tile, error) -> completedTiles.add(tileFuture));
+			future = tileFuture;
+		}
+
+		return future;
+	}
+
+	/**
+	 * Take the next created tile, waiting if needed
+	 * 
+	 * @param completedTiles
+	 *            completed tiles queue
+	 * @return completed future
+	 */
+	private static Future<GeneratedTile> take(
+			BlockingQueue<Future<GeneratedTile>> completedTiles) {
+		try {
+			return completedTiles.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted while waiting for tile creation", e);
+		}
+	}
+
+	/**
+	 * Write a completed tile creation and update the progress
+	 * 
+	 * @param writer
+	 *            zoom level writer
+	 * @param pending
+	 *            pending tile creations and their x coordinates
+	 * @param completed
+	 *            completed tile creation
+	 */
+	private void writeCompleted(ZoomLevelWriter writer,
+			Map<Future<GeneratedTile>, Long> pending,
+			Future<GeneratedTile> completed) {
+		long x = pending.remove(completed);
+		boolean failed = true;
+		try {
+			writer.write(completed.get());
+			failed = false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted while waiting for tile creation", e);
+		} catch (ExecutionException e) {
+			LOGGER.log(Level.WARNING, "Failed to create tile. Zoom: "
+					+ writer.getZoomLevel(), e.getCause());
+			// Skip this tile, don't increase count
+		} catch (Exception e) {
+			LOGGER.log(Level.WARNING,
+					"Failed to write tile. Zoom: " + writer.getZoomLevel(), e);
+			// Skip this tile, don't increase count
+		}
+
+		// Update the progress count, even on failures
+		writer.progress(x, failed);
+	}
+
+	/**
+	 * Get the tile column, updated to the local tile grid location when
+	 * generating GeoPackage format tiles
+	 * 
+	 * @param tileGrid
+	 *            tile grid
+	 * @param localTileGrid
+	 *            local tile grid
+	 * @param x
+	 *            x coordinate
+	 * @return tile column
+	 */
+	private static long getTileColumn(TileGrid tileGrid,
+			TileGrid localTileGrid, long x) {
+		long tileColumn = x;
+		if (localTileGrid != null) {
+			tileColumn = (x - tileGrid.getMinX()) + localTileGrid.getMinX();
+		}
+		return tileColumn;
+	}
+
+	/**
+	 * Get the tile row, updated to the local tile grid location when
+	 * generating GeoPackage format tiles
+	 * 
+	 * @param tileGrid
+	 *            tile grid
+	 * @param localTileGrid
+	 *            local tile grid
+	 * @param y
+	 *            y coordinate
+	 * @return tile row
+	 */
+	private static long getTileRow(TileGrid tileGrid, TileGrid localTileGrid,
+			long y) {
+		long tileRow = y;
+		if (localTileGrid != null) {
+			tileRow = (y - tileGrid.getMinY()) + localTileGrid.getMinY();
+		}
+		return tileRow;
+	}
+
+	/**
+	 * Create the tile and compress it when a compress format is set. Called
+	 * from worker threads when generating in parallel.
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @return generated tile
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private GeneratedTile createGeneratedTile(int zoomLevel, long x, long y,
+			long tileColumn, long tileRow) throws IOException {
+		return createGeneratedTile(x, y, tileColumn, tileRow,
+				createTile(zoomLevel, x, y));
+	}
+
+	/**
+	 * Create the generated tile from the created tile bytes and compress it
+	 * when a compress format is set
+	 * 
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @param tileBytes
+	 *            created tile bytes
+	 * @return generated tile
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private GeneratedTile createGeneratedTile(long x, long y, long tileColumn,
+			long tileRow, byte[] tileBytes) throws IOException {
+
+		GeneratedTile tile = new GeneratedTile(x, y, tileColumn, tileRow);
+
+		if (tileBytes != null && tileBytes.length > 0) {
+
+			// Compress the image
+			if (compressFormat != null) {
+				BufferedImage image = ImageUtils.getImage(tileBytes);
+				if (image != null) {
+					tileBytes = ImageUtils.writeImageToBytes(image,
+							compressFormat, compressQuality);
+					tile.setSize(image.getWidth(), image.getHeight());
+				}
+			}
+
+			tile.setBytes(tileBytes);
+		}
+
+		return tile;
+	}
+
+	/**
+	 * Created tile waiting to be written
+	 */
+	private static class GeneratedTile {
+
+		/**
+		 * X coordinate
+		 */
+		private final long x;
+
+		/**
+		 * Y coordinate
+		 */
+		private final long y;
+
+		/**
+		 * Tile column
+		 */
+		private final long tileColumn;
+
+		/**
+		 * Tile row
+		 */
+		private final long tileRow;
+
+		/**
+		 * Tile bytes
+		 */
+		private byte[] bytes;
+
+		/**
+		 * Image width when decoded
+		 */
+		private Integer width;
+
+		/**
+		 * Image height when decoded
+		 */
+		private Integer height;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param x
+		 *            x coordinate
+		 * @param y
+		 *            y coordinate
+		 * @param tileColumn
+		 *            tile column
+		 * @param tileRow
+		 *            tile row
+		 */
+		GeneratedTile(long x, long y, long tileColumn, long tileRow) {
+			this.x = x;
+			this.y = y;
+			this.tileColumn = tileColumn;
+			this.tileRow = tileRow;
+		}
+
+		/**
+		 * Set the tile bytes
+		 * 
+		 * @param bytes
+		 *            tile bytes
+		 */
+		void setBytes(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		/**
+		 * Set the decoded image size
+		 * 
+		 * @param width
+		 *            image width
+		 * @param height
+		 *            image height
+		 */
+		void setSize(int width, int height) {
+			this.width = width;
+			this.height = height;
+		}
+
+		/**
+		 * Check if the tile has bytes
+		 * 
+		 * @return true if tile bytes were created
+		 */
+		boolean hasBytes() {
+			return bytes != null && bytes.length > 0;
+		}
+
+	}
+
+	/**
+	 * Writes created tiles for a single zoom level, updating the progress and
+	 * tracking the tile count and dimensions. When resumable, advances the
+	 * checkpoint over the contiguous tile columns whose tiles have all been
+	 * processed without failure. Only used from the thread that owns the
+	 * GeoPackage connection.
+	 */
+	private class ZoomLevelWriter {
+
+		/**
+		 * Tile DAO
+		 */
+		private final TileDao tileDao;
+
+		/**
+		 * Zoom level
+		 */
+		private final int zoomLevel;
+
+		/**
+		 * Updating an existing tile table
+		 */
+		private final boolean update;
+
+		/**
+		 * Tiles written
+		 */
+		private int count = 0;
+
+		/**
+		 * Tiles written within the current transaction
+		 */
+		private int transactionCount = 0;
+
+		/**
+		 * True when this writer began a transaction
+		 */
+		private boolean transaction = false;
+
+		/**
+		 * Tile width
+		 */
+		private Integer tileWidth = null;
+
+		/**
+		 * Tile height
+		 */
+		private Integer tileHeight = null;
+
+		/**
+		 * Tile grid
+		 */
+		private final TileGrid tileGrid;
+
+		/**
+		 * Generation checkpoint, null when not resumable
+		 */
+		private final TileGeneratorCheckpoint checkpoint;
+
+		/**
+		 * Next x column not yet checkpointed as complete
+		 */
+		private long checkpointX;
+
+		/**
+		 * First x column with a failed tile, blocking checkpoint advances
+		 */
+		private long failedX = Long.MAX_VALUE;
+
+		/**
+		 * Processed tile counts of started columns not yet checkpointed
+		 */
+		private final Map<Long, Long> columnProgress = new HashMap<>();
+
+		/**
+		 * True when resumed from a checkpoint
+		 */
+		private boolean resumed = false;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param tileDao
+		 *            tile DAO
+		 * @param zoomLevel
+		 *            zoom level
+		 * @param update
+		 *            true if updating an existing table
+		 * @param tileGrid
+		 *            tile grid
+		 * @param checkpoint
+		 *            generation checkpoint, null when not resumable
+		 */
+		ZoomLevelWriter(TileDao tileDao, int zoomLevel, boolean update,
+				TileGrid tileGrid, TileGeneratorCheckpoint checkpoint) {
+			this.tileDao = tileDao;
+			this.zoomLevel = zoomLevel;
+			this.update = update;
+			this.tileGrid = tileGrid;
+			this.checkpoint = checkpoint;
+			this.checkpointX = tileGrid.getMinX();
+		}
+
+		/**
+		 * Start the zoom level, resuming after the checkpointed columns
+		 * 
+		 * @return first x column to generate
+		 */
+		long start() {
+			if (checkpoint != null) {
+				Long completedX = checkpoint.start(zoomLevel, tileGrid);
+				if (completedX != null) {
+					resumed = true;
+					checkpointX = completedX + 1;
+					if (progress != null) {
+						long rows = tileGrid.getMaxY() - tileGrid.getMinY() + 1;
+						int skipped = (int) ((checkpointX - tileGrid.getMinX())
+								* rows);
+						progress.addZoomLevelProgress(zoomLevel, skipped);
+						progress.addProgress(skipped);
+					}
+				}
+			}
+			return checkpointX;
+		}
+
+		/**
+		 * Check if resumed from a checkpoint
+		 * 
+		 * @return true if resumed
+		 */
+		boolean isResumed() {
+			return resumed;
+		}
+
+		/**
+		 * Read the tile dimensions from an existing tile of the zoom level
+		 */
+		void readTileSize() {
+			TileResultSet tileResultSet = tileDao.queryForTile(zoomLevel);
+			try {
+				while (tileWidth == null && tileResultSet.moveToNext()) {
+					try {
+						BufferedImage image = ImageUtils.getImage(
+								tileResultSet.getRow().getTileData());
+						if (image != null) {
+							tileWidth = image.getWidth();
+							tileHeight = image.getHeight();
+						}
+					} catch (IOException e) {
+						LOGGER.log(Level.WARNING,
+								"Failed to read tile image. Zoom: "
+										+ zoomLevel,
+								e);
+					}
+				}
+			} finally {
+				tileResultSet.close();
+			}
+		}
+
+		/**
+		 * Get the zoom level
+		 * 
+		 * @return zoom level
+		 */
+		int getZoomLevel() {
+			return zoomLevel;
+		}
+
+		/**
+		 * Get the tiles written
+		 * 
+		 * @return count
+		 */
+		int getCount() {
+			return count;
+		}
+
+		/**
+		 * Get the tile width
+		 * 
+		 * @return tile width or null
+		 */
+		Integer getTileWidth() {
+			return tileWidth;
+		}
+
+		/**
+		 * Get the tile height
+		 * 
+		 * @return tile height or null
+		 */
+		Integer getTileHeight() {
+			return tileHeight;
+		}
+
+		/**
+		 * Check if generation is still active
+		 * 
+		 * @return false if canceled
+		 */
+		boolean isActive() {
+			return progress == null || progress.isActive();
+		}
+
+		/**
+		 * Begin a batch transaction unless the caller already has one
+		 */
+		void beginTransaction() {
+			if (!tileDao.inTransaction() && !geoPackage.inTransaction()) {
+				tileDao.beginTransaction();
+				transaction = true;
+			}
+		}
+
+		/**
+		 * End the batch transaction if one was begun
+		 * 
+		 * @param successful
+		 *            true to commit, false to rollback
+		 */
+		void endTransaction(boolean successful) {
+			if (transaction) {
+				transaction = false;
+				tileDao.endTransaction(successful);
+			}
+		}
+
+		/**
+		 * Write the created tile
+		 * 
+		 * @param tile
+		 *            generated tile
+		 */
+		void write(GeneratedTile tile) {
+
+			if (tile.hasBytes()) {
+
+				// Create a new tile row
+				TileRow newRow = tileDao.newRow();
+				newRow.setZoomLevel(zoomLevel);
+
+				// If an update, delete an existing row
+				if (update) {
+					tileDao.deleteTile(tile.tileColumn, tile.tileRow,
+							zoomLevel);
+				}
+
+				newRow.setTileColumn(tile.tileColumn);
+				newRow.setTileRow(tile.tileRow);
+				newRow.setTileData(tile.bytes);
+				tileDao.create(newRow);
+
+				count++;
+
+				// Commit the batch when the transaction limit is reached
+				if (transaction && ++transactionCount >= transactionLimit) {
+					tileDao.commit();
+					transactionCount = 0;
+				}
+
+				// Determine the tile width and height
+				if (tileWidth == null) {
+					if (tile.width != null) {
+						tileWidth = tile.width;
+						tileHeight = tile.height;
+					} else {
+						try {
+							BufferedImage image = ImageUtils
+									.getImage(tile.bytes);
+							if (image != null) {
+								tileWidth = image.getWidth();
+								tileHeight = image.getHeight();
+							}
+						} catch (IOException e) {
+							LOGGER.log(Level.WARNING,
+									"Failed to read tile image. Zoom: "
+											+ zoomLevel + ", x: " + tile.x
+											+ ", y: " + tile.y,
+									e);
+						}
+					}
+				}
+			}
+
+		}
+
+		/**
+		 * Update the progress for a processed tile and advance the checkpoint
+		 * when its column completes
+		 * 
+		 * @param x
+		 *            x column of the tile
+		 * @param failed
+		 *            true if the tile failed to be created or written
+		 */
+		void progress(long x, boolean failed) {
+			if (progress != null) {
+				progress.addZoomLevelProgress(zoomLevel, 1);
+				progress.addProgress(1);
+			}
+			if (checkpoint != null) {
+				checkpoint(x, failed);
+			}
+		}
+
+		/**
+		 * Count the processed tile in its column and checkpoint the contiguous
+		 * completed columns. A failed tile stops the checkpoint before its
+		 * column so the column is generated again when resumed.
+		 * 
+		 * @param x
+		 *            x column of the tile
+		 * @param failed
+		 *            true if the tile failed
+		 */
+		private void checkpoint(long x, boolean failed) {
+			if (failed) {
+				failedX = Math.min(failedX, x);
+			}
+			Long processed = columnProgress.get(x);
+			columnProgress.put(x, processed == null ? 1 : processed + 1);
+
+			long rows = tileGrid.getMaxY() - tileGrid.getMinY() + 1;
+			long completedX = checkpointX;
+			while (completedX < failedX) {
+				Long columnCount = columnProgress.get(completedX);
+				if (columnCount == null || columnCount < rows) {
+					break;
+				}
+				columnProgress.remove(completedX);
+				completedX++;
+			}
+			if (completedX > checkpointX) {
+				checkpointX = completedX;
+				checkpoint.setCompleted(zoomLevel, completedX - 1);
+			}
+		}
+
+	}
+
 	/**
 	 * Called after set up and right before tile generation starts for the first
 	 * zoom level
 	 */
 	protected abstract void preTileGeneration();
 
+	/**
+	 * Called after tile generation ends, including when it fails or is
+	 * canceled
+	 * 
+	 * @since 6.6.7
+	 */
+	protected void postTileGeneration() {
+
+	}
+
+	/**
+	 * Determine if tiles are created asynchronously with
+	 * {@link #createTileAsync(int, long, long)}. When true, tiles are created
+	 * concurrently without the worker thread pool while the calling thread
+	 * writes the created tiles, bounded by the queue size.
+	 * 
+	 * @return true if creating tiles asynchronously
+	 * @since 6.6.7
+	 */
+	protected boolean isAsyncTileCreation() {
+		return false;
+	}
+
+	/**
+	 * Create the tile asynchronously. Called from the writing thread when
+	 * {@link #isAsyncTileCreation()} is true.
+	 *
+	 * @param z
+	 *            zoom level
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return future tile bytes
+	 * @since 6.6.7
+	 */
+	protected CompletableFuture<byte[]> createTileAsync(int z, long x,
+			long y) {
+		return CompletableFuture.supplyAsync(() -> createTile(z, x, y));
+	}
+
 	/**
 	 * Create the tile
 	 *
@@ -0,0 +1,320 @@
+package mil.nga.geopackage.tiles;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import mil.nga.geopackage.GeoPackage;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.db.StatementCache;
+import mil.nga.geopackage.extension.BaseExtension;
+import mil.nga.geopackage.extension.ExtensionScopeType;
+import mil.nga.geopackage.extension.Extensions;
+import mil.nga.geopackage.extension.nga.NGAExtensions;
+import mil.nga.geopackage.user.ContentValues;
+
+/**
+ * Tile generation checkpoints persisted in the GeoPackage, recording per zoom
+ * level the tile grid being generated and the tile columns of that grid whose
+ * tiles have all been written. Checkpoints are written on the tile writing
+ * connection, committing with the tiles they cover. The checkpoint table and
+ * the tile tables with checkpoints are registered as a write only NGA
+ * extension.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class TileGeneratorCheckpoint extends BaseExtension {
+
+	/**
+	 * Extension author
+	 */
+	public static final String EXTENSION_AUTHOR = NGAExtensions.EXTENSION_AUTHOR;
+
+	/**
+	 * Extension name without the author
+	 */
+	public static final String EXTENSION_NAME_NO_AUTHOR = "tile_generator_checkpoint";
+
+	/**
+	 * Extension, with author and name
+	 */
+	public static final String EXTENSION_NAME = Extensions
+			.buildExtensionName(EXTENSION_AUTHOR, EXTENSION_NAME_NO_AUTHOR);
+
+	/**
+	 * Extension definition
+	 */
+	public static final String DEFINITION = "Tile generation checkpoints for resuming interrupted tile generation";
+
+	/**
+	 * Checkpoint table name
+	 */
+	public static final String TABLE_NAME = "nga_tile_generator_checkpoint";
+
+	/**
+	 * Tile table name column
+	 */
+	public static final String COLUMN_TABLE_NAME = "table_name";
+
+	/**
+	 * Zoom level column
+	 */
+	public static final String COLUMN_ZOOM_LEVEL = "zoom_level";
+
+	/**
+	 * Tile grid min x column
+	 */
+	public static final String COLUMN_MIN_X = "min_x";
+
+	/**
+	 * Tile grid max x column
+	 */
+	public static final String COLUMN_MAX_X = "max_x";
+
+	/**
+	 * Tile grid min y column
+	 */
+	public static final String COLUMN_MIN_Y = "min_y";
+
+	/**
+	 * Tile grid max y column
+	 */
+	public static final String COLUMN_MAX_Y = "max_y";
+
+	/**
+	 * Completed x column, all tile columns from the min x through this value
+	 * have been written
+	 */
+	public static final String COLUMN_COMPLETED_X = "completed_x";
+
+	/**
+	 * GeoPackage connection
+	 */
+	private final GeoPackageConnection db;
+
+	/**
+	 * Tile table name
+	 */
+	private final String tableName;
+
+	/**
+	 * Constructor
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @param tableName
+	 *            tile table name
+	 */
+	public TileGeneratorCheckpoint(GeoPackage geoPackage, String tableName) {
+		super(geoPackage);
+		this.db = geoPackage.getConnection();
+		this.tableName = tableName;
+	}
+
+	/**
+	 * Get the tile table name
+	 *
+	 * @return tile table name
+	 */
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * Check if the tile table has checkpoints registered with the extension
+	 *
+	 * @return true if has
+	 */
+	public boolean has() {
+		return has(EXTENSION_NAME, tableName, null)
+				&& geoPackage.isTable(TABLE_NAME);
+	}
+
+	/**
+	 * Create the checkpoint table if it does not exist and register the
+	 * checkpoint table and tile table with the extension
+	 */
+	public void createTable() {
+		getOrCreate(EXTENSION_NAME, TABLE_NAME, null, DEFINITION,
+				ExtensionScopeType.WRITE_ONLY);
+		getOrCreate(EXTENSION_NAME, tableName, null, DEFINITION,
+				ExtensionScopeType.WRITE_ONLY);
+		db.execSQL("CREATE TABLE IF NOT EXISTS "
+				+ CoreSQLUtils.quoteWrap(TABLE_NAME) + " ("
+				+ COLUMN_TABLE_NAME + " TEXT NOT NULL, " + COLUMN_ZOOM_LEVEL
+				+ " INTEGER NOT NULL, " + COLUMN_MIN_X + " INTEGER NOT NULL, "
+				+ COLUMN_MAX_X + " INTEGER NOT NULL, " + COLUMN_MIN_Y
+				+ " INTEGER NOT NULL, " + COLUMN_MAX_Y + " INTEGER NOT NULL, "
+				+ COLUMN_COMPLETED_X
+				+ " INTEGER, CONSTRAINT pk_ntgc PRIMARY KEY ("
+				+ COLUMN_TABLE_NAME + ", " + COLUMN_ZOOM_LEVEL + "))");
+	}
+
+	/**
+	 * Start generating the tile grid at the zoom level, resuming from a
+	 * checkpoint of the same tile grid. A checkpoint of a different tile grid
+	 * is replaced.
+	 *
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileGrid
+	 *            tile grid
+	 * @return completed x column to resume after, null if none completed
+	 */
+	public Long start(int zoomLevel, TileGrid tileGrid) {
+
+		Long completedX = null;
+
+		List<List<Object>> results = db.queryResults(
+				"SELECT " + COLUMN_MIN_X + ", " + COLUMN_MAX_X + ", "
+						+ COLUMN_MIN_Y + ", " + COLUMN_MAX_Y + ", "
+						+ COLUMN_COMPLETED_X + " FROM "
+						+ CoreSQLUtils.quoteWrap(TABLE_NAME) + " WHERE "
+						+ where(),
+				whereArgs(zoomLevel), null, null);
+
+		boolean matches = false;
+		if (!results.isEmpty()) {
+			List<Object> checkpoint = results.get(0);
+			matches = toLong(checkpoint.get(0)) == tileGrid.getMinX()
+					&& toLong(checkpoint.get(1)) == tileGrid.getMaxX()
+					&& toLong(checkpoint.get(2)) == tileGrid.getMinY()
+					&& toLong(checkpoint.get(3)) == tileGrid.getMaxY();
+			if (matches && checkpoint.get(4) != null) {
+				completedX = toLong(checkpoint.get(4));
+			}
+		}
+
+		if (!matches) {
+			StatementCache cache = db.getStatementCache();
+			SQLUtils.delete(cache, TABLE_NAME, where(), whereArgs(zoomLevel));
+			ContentValues values = new ContentValues();
+			values.put(COLUMN_TABLE_NAME, tableName);
+			values.put(COLUMN_ZOOM_LEVEL, zoomLevel);
+			values.put(COLUMN_MIN_X, tileGrid.getMinX());
+			values.put(COLUMN_MAX_X, tileGrid.getMaxX());
+			values.put(COLUMN_MIN_Y, tileGrid.getMinY());
+			values.put(COLUMN_MAX_Y, tileGrid.getMaxY());
+			values.putNull(COLUMN_COMPLETED_X);
+			SQLUtils.insertOrThrow(cache, TABLE_NAME, values);
+		}
+
+		return completedX;
+	}
+
+	/**
+	 * Set the completed x column of the zoom level, all tile columns from the
+	 * tile grid min x through the completed x have been written
+	 *
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param completedX
+	 *            completed x column
+	 */
+	public void setCompleted(int zoomLevel, long completedX) {
+		ContentValues values = new ContentValues();
+		values.put(COLUMN_COMPLETED_X, completedX);
+		SQLUtils.update(db.getStatementCache(), TABLE_NAME, values, where(),
+				whereArgs(zoomLevel));
+	}
+
+	/**
+	 * Check if each of the zoom levels of the tile table has a checkpoint that
+	 * completed all tile columns of its tile grid
+	 *
+	 * @param zoomLevels
+	 *            zoom levels
+	 * @return true if complete
+	 */
+	public boolean isComplete(Collection<Integer> zoomLevels) {
+		Set<Integer> zooms = new HashSet<>(zoomLevels);
+		if (zooms.isEmpty()) {
+			return true;
+		}
+		StringBuilder sql = new StringBuilder();
+		sql.append("SELECT COUNT(*) FROM ")
+				.append(CoreSQLUtils.quoteWrap(TABLE_NAME)).append(" WHERE ")
+				.append(COLUMN_TABLE_NAME).append(" = ? AND ")
+				.append(COLUMN_COMPLETED_X).append(" >= ").append(COLUMN_MAX_X)
+				.append(" AND ").append(COLUMN_ZOOM_LEVEL).append(" IN (");
+		int index = 0;
+		for (int zoom : zooms) {
+			sql.append(index++ > 0 ? ", " : "").append(zoom);
+		}
+		sql.append(")");
+		Object complete = db.querySingleResult(sql.toString(),
+				new String[] { tableName }, 0, null);
+		return complete != null && toLong(complete) == zooms.size();
+	}
+
+	/**
+	 * Delete the checkpoints and extension of the tile table, dropping the
+	 * checkpoint table and removing its extension when no other tile table
+	 * checkpoints remain
+	 */
+	public void delete() {
+		boolean drop = true;
+		if (geoPackage.isTable(TABLE_NAME)) {
+			SQLUtils.delete(db.getStatementCache(), TABLE_NAME,
+					COLUMN_TABLE_NAME + " = ?", new String[] { tableName });
+			Object remaining = db.querySingleResult("SELECT COUNT(*) FROM "
+					+ CoreSQLUtils.quoteWrap(TABLE_NAME), null, 0, null);
+			drop = remaining == null || toLong(remaining) == 0;
+			if (drop) {
+				geoPackage.dropTable(TABLE_NAME);
+			}
+		}
+		try {
+			if (extensionsDao.isTableExists()) {
+				extensionsDao.deleteByExtension(EXTENSION_NAME, tableName);
+				if (drop) {
+					extensionsDao.deleteByExtension(EXTENSION_NAME,
+							TABLE_NAME);
+				}
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to delete Tile Generator Checkpoint extension. GeoPackage: "
+							+ geoPackage.getName() + ", Table: " + tableName,
+					e);
+		}
+	}
+
+	/**
+	 * Build the where clause of a zoom level checkpoint
+	 *
+	 * @return where clause
+	 */
+	private static String where() {
+		return COLUMN_TABLE_NAME + " = ? AND " + COLUMN_ZOOM_LEVEL + " = ?";
+	}
+
+	/**
+	 * Build the where arguments of a zoom level checkpoint
+	 *
+	 * @param zoomLevel
+	 *            zoom level
+	 * @return where arguments
+	 */
+	private String[] whereArgs(int zoomLevel) {
+		return new String[] { tableName, String.valueOf(zoomLevel) };
+	}
+
+	/**
+	 * Convert a queried number to a long
+	 *
+	 * @param value
+	 *            number value
+	 * @return long value
+	 */
+	private static long toLong(Object value) {
+		return ((Number) value).longValue();
+	}
+
+}
@@ -0,0 +1,348 @@
+package mil.nga.geopackage.tiles;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.WeightedLruCache;
+import mil.nga.geopackage.tiles.user.TileRow;
+
+/**
+ * Cache of decoded tile images keyed by table, zoom level, tile column, and
+ * tile row, bounded by the total pixel bytes of the images. Set on a
+ * {@link mil.nga.geopackage.tiles.user.TileDao} through
+ * {@link mil.nga.geopackage.tiles.user.TileDao#setImageCache(TileImageCache)}
+ * so that overlapping tile requests decode each stored tile once. Cached
+ * images are shared and must not be modified.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class TileImageCache {
+
+	/**
+	 * Default maximum total bytes of cached image pixels, 64 MB
+	 */
+	public static final long DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+	/**
+	 * Cached images by tile, weighed by pixel bytes
+	 */
+	private final WeightedLruCache<TileKey, BufferedImage> images = new WeightedLruCache<>(
+			TileImageCache::getBytes, 0);
+
+	/**
+	 * Constructor
+	 */
+	public TileImageCache() {
+		this(DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxBytes
+	 *            maximum total bytes of cached image pixels
+	 */
+	public TileImageCache(long maxBytes) {
+		setMaxBytes(maxBytes);
+	}
+
+	/**
+	 * Get the maximum total bytes of cached image pixels
+	 *
+	 * @return max bytes
+	 */
+	public synchronized long getMaxBytes() {
+		return images.getMaxWeight();
+	}
+
+	/**
+	 * Set the maximum total bytes of cached image pixels, evicting least
+	 * recently used images when reduced
+	 *
+	 * @param maxBytes
+	 *            max bytes
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		if (maxBytes < 0) {
+			throw new GeoPackageException(
+					"Max bytes must not be negative: " + maxBytes);
+		}
+		images.setMaxWeight(maxBytes);
+	}
+
+	/**
+	 * Get the total bytes of cached image pixels
+	 *
+	 * @return bytes
+	 */
+	public synchronized long getBytes() {
+		return images.getWeight();
+	}
+
+	/**
+	 * Get the number of cached images
+	 *
+	 * @return size
+	 */
+	public synchronized int size() {
+		return images.size();
+	}
+
+	/**
+	 * Get the number of image requests served from the cache
+	 *
+	 * @return hits
+	 */
+	public synchronized long getHits() {
+		return images.getHits();
+	}
+
+	/**
+	 * Get the number of image requests that decoded the tile
+	 *
+	 * @return misses
+	 */
+	public synchronized long getMisses() {
+		return images.getMisses();
+	}
+
+	/**
+	 * Get the number of images removed to keep the cache within the max bytes
+	 *
+	 * @return evictions
+	 */
+	public synchronized long getEvictions() {
+		return images.getEvictions();
+	}
+
+	/**
+	 * Get the ratio of image requests served from the cache
+	 *
+	 * @return hit rate between 0.0 and 1.0
+	 */
+	public synchronized double getHitRate() {
+		return images.getHitRate();
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counters
+	 */
+	public synchronized void resetStats() {
+		images.resetStats();
+	}
+
+	/**
+	 * Get the decoded image of the tile row, decoding and caching the tile
+	 * data when not cached
+	 *
+	 * @param tableName
+	 *            tile table name
+	 * @param tileRow
+	 *            tile row
+	 * @return image
+	 * @throws IOException
+	 *             upon failure to decode the tile data
+	 */
+	public BufferedImage getImage(String tableName, TileRow tileRow)
+			throws IOException {
+
+		TileKey key = new TileKey(tableName, tileRow.getZoomLevel(),
+				tileRow.getTileColumn(), tileRow.getTileRow());
+
+		BufferedImage image;
+		synchronized (this) {
+			image = images.get(key);
+		}
+
+		if (image == null) {
+			image = tileRow.getTileDataImage();
+			if (image != null) {
+				put(key, image);
+			}
+		}
+
+		return image;
+	}
+
+	/**
+	 * Get a cached image without decoding
+	 *
+	 * @param tableName
+	 *            tile table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @return cached image or null
+	 */
+	public synchronized BufferedImage get(String tableName, long zoomLevel,
+			long tileColumn, long tileRow) {
+		return images.peek(new TileKey(tableName, zoomLevel, tileColumn,
+				tileRow));
+	}
+
+	/**
+	 * Cache an image
+	 *
+	 * @param tableName
+	 *            tile table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @param image
+	 *            image
+	 */
+	public void put(String tableName, long zoomLevel, long tileColumn,
+			long tileRow, BufferedImage image) {
+		put(new TileKey(tableName, zoomLevel, tileColumn, tileRow), image);
+	}
+
+	/**
+	 * Remove a cached image
+	 *
+	 * @param tableName
+	 *            tile table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @return removed image or null
+	 */
+	public synchronized BufferedImage remove(String tableName, long zoomLevel,
+			long tileColumn, long tileRow) {
+		return images.remove(
+				new TileKey(tableName, zoomLevel, tileColumn, tileRow));
+	}
+
+	/**
+	 * Remove all cached images of a tile table
+	 *
+	 * @param tableName
+	 *            tile table name
+	 */
+	public synchronized void clear(String tableName) {
+		images.removeIf(key -> key.tableName.equals(tableName));
+	}
+
+	/**
+	 * Remove all cached images
+	 */
+	public synchronized void clear() {
+		images.clear();
+	}
+
+	/**
+	 * Get the pixel bytes of an image used to weigh the image against the max
+	 * bytes
+	 *
+	 * @param image
+	 *            image
+	 * @return bytes
+	 */
+	public static long getBytes(BufferedImage image) {
+		int bytesPerPixel = (image.getColorModel().getPixelSize() + 7) / 8;
+		return (long) image.getWidth() * image.getHeight()
+				* Math.max(bytesPerPixel, 1);
+	}
+
+	/**
+	 * Cache an image, replacing an existing image of the tile
+	 *
+	 * @param key
+	 *            tile key
+	 * @param image
+	 *            image
+	 */
+	private synchronized void put(TileKey key, BufferedImage image) {
+		images.put(key, image);
+	}
+
+	/**
+	 * Tile key of table, zoom level, tile column, and tile row
+	 */
+	private static class TileKey {
+
+		/**
+		 * Tile table name
+		 */
+		private final String tableName;
+
+		/**
+		 * Zoom level
+		 */
+		private final long zoomLevel;
+
+		/**
+		 * Tile column
+		 */
+		private final long tileColumn;
+
+		/**
+		 * Tile row
+		 */
+		private final long tileRow;
+
+		/**
+		 * Constructor
+		 *
+		 * @param tableName
+		 *            tile table name
+		 * @param zoomLevel
+		 *            zoom level
+		 * @param tileColumn
+		 *            tile column
+		 * @param tileRow
+		 *            tile row
+		 */
+		private TileKey(String tableName, long zoomLevel, long tileColumn,
+				long tileRow) {
+			this.tableName = tableName;
+			this.zoomLevel = zoomLevel;
+			this.tileColumn = tileColumn;
+			this.tileRow = tileRow;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + tableName.hashCode();
+			result = prime * result + Long.hashCode(zoomLevel);
+			result = prime * result + Long.hashCode(tileColumn);
+			result = prime * result + Long.hashCode(tileRow);
+			return result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			TileKey other = (TileKey) obj;
+			return zoomLevel == other.zoomLevel
+					&& tileColumn == other.tileColumn
+					&& tileRow == other.tileRow
+					&& tableName.equals(other.tableName);
+		}
+
+	}
+
+}
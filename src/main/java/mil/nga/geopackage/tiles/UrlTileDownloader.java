@@ -0,0 +1,564 @@
+package mil.nga.geopackage.tiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.io.GeoPackageIOUtils;
+
+/**
+ * Tile downloader returning futures, with a bounded number of requests in
+ * flight, per host request limits, and retries with exponential backoff.
+ * Requests are blocking {@link HttpURLConnection} calls run on a fixed pool of
+ * one thread per allowed request in flight, and each response body is read
+ * fully into memory before its future completes. Requests over the limits wait
+ * in a queue until a slot is released, and retries wait on a scheduler without
+ * holding a request slot. Only I/O errors, 429 Too Many Requests, and 5xx
+ * server error responses are retried.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class UrlTileDownloader {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger
+			.getLogger(UrlTileDownloader.class.getName());
+
+	/**
+	 * Default initial retry delay in milliseconds
+	 */
+	public static final long DEFAULT_RETRY_DELAY = 250;
+
+	/**
+	 * Default max retry delay in milliseconds
+	 */
+	public static final long DEFAULT_MAX_RETRY_DELAY = 30000;
+
+	/**
+	 * Max requests in flight
+	 */
+	private final int maxRequests;
+
+	/**
+	 * Max requests in flight per host
+	 */
+	private final int maxHostRequests;
+
+	/**
+	 * Download attempts per tile
+	 */
+	private final int downloadAttempts;
+
+	/**
+	 * Initial retry delay in milliseconds, doubled after each failed attempt
+	 */
+	private final long retryDelay;
+
+	/**
+	 * Max retry delay in milliseconds
+	 */
+	private final long maxRetryDelay;
+
+	/**
+	 * HTTP request method, when null default is "GET"
+	 */
+	private final String httpMethod;
+
+	/**
+	 * HTTP Header fields and field values
+	 */
+	private final Map<String, List<String>> httpHeader;
+
+	/**
+	 * Request threads
+	 */
+	private final ExecutorService requestExecutor;
+
+	/**
+	 * Retry scheduler
+	 */
+	private final ScheduledExecutorService retryScheduler;
+
+	/**
+	 * Requests waiting for a request slot
+	 */
+	private final Queue<Download> waiting = new ArrayDeque<>();
+
+	/**
+	 * Requests in flight by host
+	 */
+	private final Map<String, Integer> hostRequests = new HashMap<>();
+
+	/**
+	 * Requests in flight
+	 */
+	private int requests = 0;
+
+	/**
+	 * Closed flag
+	 */
+	private boolean closed = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxRequests
+	 *            max requests in flight
+	 * @param maxHostRequests
+	 *            max requests in flight per host
+	 * @param downloadAttempts
+	 *            download attempts per tile
+	 * @param retryDelay
+	 *            initial retry delay in milliseconds
+	 * @param maxRetryDelay
+	 *            max retry delay in milliseconds
+	 * @param httpMethod
+	 *            HTTP request method, null for "GET"
+	 * @param httpHeader
+	 *            HTTP Header fields and field values, may be null
+	 */
+	public UrlTileDownloader(int maxRequests, int maxHostRequests,
+			int downloadAttempts, long retryDelay, long maxRetryDelay,
+			String httpMethod, Map<String, List<String>> httpHeader) {
+		if (maxRequests < 1) {
+			throw new GeoPackageException(
+					"Max requests must be at least 1, not: " + maxRequests);
+		}
+		if (maxHostRequests < 1) {
+			throw new GeoPackageException(
+					"Max host requests must be at least 1, not: "
+							+ maxHostRequests);
+		}
+		this.maxRequests = maxRequests;
+		this.maxHostRequests = maxHostRequests;
+		this.downloadAttempts = Math.max(1, downloadAttempts);
+		this.retryDelay = Math.max(0, retryDelay);
+		this.maxRetryDelay = Math.max(this.retryDelay, maxRetryDelay);
+		this.httpMethod = httpMethod;
+		this.httpHeader = httpHeader;
+		requestExecutor = Executors.newFixedThreadPool(maxRequests,
+				new DaemonThreadFactory("request"));
+		retryScheduler = Executors.newSingleThreadScheduledExecutor(
+				new DaemonThreadFactory("retry"));
+	}
+
+	/**
+	 * Get the max requests in flight
+	 *
+	 * @return max requests
+	 */
+	public int getMaxRequests() {
+		return maxRequests;
+	}
+
+	/**
+	 * Get the max requests in flight per host
+	 *
+	 * @return max host requests
+	 */
+	public int getMaxHostRequests() {
+		return maxHostRequests;
+	}
+
+	/**
+	 * Get the retry delay in milliseconds before the attempt
+	 *
+	 * @param attempt
+	 *            failed attempt number, starting at 1
+	 * @return retry delay
+	 */
+	public long getRetryDelay(int attempt) {
+		long delay = retryDelay;
+		for (int i = 1; i < attempt && delay < maxRetryDelay; i++) {
+			delay *= 2;
+		}
+		return Math.min(delay, maxRetryDelay);
+	}
+
+	/**
+	 * Download the URL bytes
+	 *
+	 * @param url
+	 *            URL
+	 * @return future bytes, completed exceptionally after the last failed
+	 *         download attempt
+	 */
+	public CompletableFuture<byte[]> download(URL url) {
+		Download download = new Download(url);
+		synchronized (this) {
+			if (closed) {
+				throw new GeoPackageException(
+						"Tile downloader is closed. URL: " + url);
+			}
+			waiting.add(download);
+			dispatch();
+		}
+		return download.future;
+	}
+
+	/**
+	 * Get the number of requests in flight
+	 *
+	 * @return requests
+	 */
+	public synchronized int getRequests() {
+		return requests;
+	}
+
+	/**
+	 * Close the downloader, failing waiting downloads
+	 */
+	public void close() {
+		synchronized (this) {
+			closed = true;
+			for (Download download : waiting) {
+				download.future.completeExceptionally(new GeoPackageException(
+						"Tile downloader closed. URL: " + download.url));
+			}
+			waiting.clear();
+		}
+		retryScheduler.shutdownNow();
+		requestExecutor.shutdownNow();
+	}
+
+	/**
+	 * Start waiting downloads while under the request limits. Downloads for a
+	 * host at its limit keep waiting without blocking other hosts.
+	 */
+	private synchronized void dispatch() {
+		Iterator<Download> iterator = waiting.iterator();
+		while (requests < maxRequests && iterator.hasNext()) {
+			Download download = iterator.next();
+			String host = download.url.getHost();
+			Integer hostCount = hostRequests.get(host);
+			if (hostCount == null) {
+				hostCount = 0;
+			}
+			if (hostCount < maxHostRequests) {
+				iterator.remove();
+				hostRequests.put(host, hostCount + 1);
+				requests++;
+				requestExecutor.execute(() -> run(download));
+			}
+		}
+	}
+
+	/**
+	 * Release the request slot of a finished download attempt
+	 *
+	 * @param download
+	 *            download
+	 */
+	private synchronized void release(Download download) {
+		requests--;
+		String host = download.url.getHost();
+		int hostCount = hostRequests.get(host) - 1;
+		if (hostCount > 0) {
+			hostRequests.put(host, hostCount);
+		} else {
+			hostRequests.remove(host);
+		}
+		if (!closed) {
+			dispatch();
+		}
+	}
+
+	/**
+	 * Run a download attempt on a request thread, scheduling a retry on
+	 * failure
+	 *
+	 * @param download
+	 *            download
+	 */
+	private void run(Download download) {
+		byte[] bytes = null;
+		Exception error = null;
+		try {
+			bytes = downloadBytes(download.url);
+		} catch (Exception e) {
+			error = e;
+		} finally {
+			release(download);
+		}
+
+		if (error == null) {
+			download.future.complete(bytes);
+		} else if (download.attempt < downloadAttempts && isRetryable(error)) {
+			long delay = getRetryDelay(download.attempt);
+			LOGGER.log(Level.WARNING,
+					"Failed to download tile after attempt " + download.attempt
+							+ " of " + downloadAttempts + ", retrying in "
+							+ delay + " ms. URL: " + download.url,
+					error);
+			download.attempt++;
+			try {
+				retryScheduler.schedule(() -> retry(download), delay,
+						TimeUnit.MILLISECONDS);
+			} catch (RuntimeException e) {
+				download.future.completeExceptionally(error);
+			}
+		} else {
+			download.future.completeExceptionally(new GeoPackageException(
+					"Failed to download tile after " + download.attempt
+							+ " of " + downloadAttempts + " attempts. URL: "
+							+ download.url,
+					error));
+		}
+	}
+
+	/**
+	 * Determine if a failed download attempt may succeed when retried: I/O
+	 * errors, 429 Too Many Requests, and 5xx server error responses
+	 *
+	 * @param error
+	 *            download attempt error
+	 * @return true if retryable
+	 */
+	private static boolean isRetryable(Exception error) {
+		boolean retryable;
+		if (error instanceof ResponseException) {
+			int responseCode = ((ResponseException) error).getResponseCode();
+			retryable = responseCode == 429 || (responseCode >= 500
+					&& responseCode < 600);
+		} else {
+			retryable = error.getCause() instanceof IOException;
+		}
+		return retryable;
+	}
+
+	/**
+	 * Queue a download for another attempt
+	 *
+	 * @param download
+	 *            download
+	 */
+	private synchronized void retry(Download download) {
+		if (closed) {
+			download.future.completeExceptionally(new GeoPackageException(
+					"Tile downloader closed. URL: " + download.url));
+		} else {
+			waiting.add(download);
+			dispatch();
+		}
+	}
+
+	/**
+	 * Download the URL bytes on the calling thread, following a single
+	 * redirect, and reading the full response body into memory
+	 *
+	 * @param url
+	 *            URL
+	 * @return bytes
+	 */
+	private byte[] downloadBytes(URL url) {
+
+		byte[] bytes = null;
+
+		HttpURLConnection connection = null;
+		try {
+			connection = (HttpURLConnection) url.openConnection();
+			configureRequest(connection);
+			connection.connect();
+
+			int responseCode = connection.getResponseCode();
+			if (responseCode == HttpURLConnection.HTTP_MOVED_PERM
+					|| responseCode == HttpURLConnection.HTTP_MOVED_TEMP
+					|| responseCode == HttpURLConnection.HTTP_SEE_OTHER) {
+				String redirect = connection.getHeaderField("Location");
+				if (redirect == null || redirect.isEmpty()) {
+					throw new ResponseException(
+							"Failed to download tile, redirect without a Location header. URL: "
+									+ url + ", Response Code: " + responseCode,
+							responseCode);
+				}
+				connection.disconnect();
+				connection = (HttpURLConnection) new URL(url, redirect)
+						.openConnection();
+				configureRequest(connection);
+				connection.connect();
+				responseCode = connection.getResponseCode();
+			}
+
+			if (responseCode != HttpURLConnection.HTTP_OK) {
+				throw new ResponseException("Failed to download tile. URL: "
+						+ url + ", Response Code: " + responseCode
+						+ ", Response Message: "
+						+ connection.getResponseMessage(), responseCode);
+			}
+
+			InputStream stream = connection.getInputStream();
+			bytes = GeoPackageIOUtils.streamBytes(stream);
+
+		} catch (IOException e) {
+			throw new GeoPackageException(
+					"Failed to download tile. URL: " + url, e);
+		} finally {
+			if (connection != null) {
+				connection.disconnect();
+			}
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Configure the connection HTTP method and header
+	 *
+	 * @param connection
+	 *            HTTP URL connection
+	 * @throws IOException
+	 *             upon configuration failure
+	 */
+	private void configureRequest(HttpURLConnection connection)
+			throws IOException {
+
+		if (httpMethod != null) {
+			connection.setRequestMethod(httpMethod);
+		}
+
+		if (httpHeader != null) {
+			for (Entry<String, List<String>> fieldEntry : httpHeader
+					.entrySet()) {
+				String field = fieldEntry.getKey();
+				List<String> values = fieldEntry.getValue();
+				if (values != null) {
+					for (String value : values) {
+						connection.addRequestProperty(field, value);
+					}
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Download of a single URL across attempts
+	 */
+	private static class Download {
+
+		/**
+		 * URL
+		 */
+		private final URL url;
+
+		/**
+		 * Future bytes
+		 */
+		private final CompletableFuture<byte[]> future = new CompletableFuture<>();
+
+		/**
+		 * Current attempt number
+		 */
+		private int attempt = 1;
+
+		/**
+		 * Constructor
+		 *
+		 * @param url
+		 *            URL
+		 */
+		private Download(URL url) {
+			this.url = url;
+		}
+
+	}
+
+	/**
+	 * Failed download attempt HTTP response
+	 */
+	private static class ResponseException extends GeoPackageException {
+
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * HTTP response code
+		 */
+		private final int responseCode;
+
+		/**
+		 * Constructor
+		 *
+		 * @param message
+		 *            message
+		 * @param responseCode
+		 *            HTTP response code
+		 */
+		private ResponseException(String message, int responseCode) {
+			super(message);
+			this.responseCode = responseCode;
+		}
+
+		/**
+		 * Get the HTTP response code
+		 *
+		 * @return response code
+		 */
+		private int getResponseCode() {
+			return responseCode;
+		}
+
+	}
+
+	/**
+	 * Daemon thread factory, so idle downloaders do not block JVM exit
+	 */
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		/**
+		 * Thread name prefix
+		 */
+		private final String prefix;
+
+		/**
+		 * Thread count
+		 */
+		private final AtomicInteger count = new AtomicInteger();
+
+		/**
+		 * Constructor
+		 *
+		 * @param type
+		 *            thread type
+		 */
+		private DaemonThreadFactory(String type) {
+			prefix = "geopackage-tile-download-" + type + "-";
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable,
+					prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
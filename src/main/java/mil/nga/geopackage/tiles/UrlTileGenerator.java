@@ -1,11 +1,7 @@
 package mil.nga.geopackage.tiles;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
-import java.net.ProtocolException;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
@@ -13,16 +9,14 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.locationtech.proj4j.units.Units;
 
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.GeoPackageException;
-import mil.nga.geopackage.io.GeoPackageIOUtils;
 import mil.nga.geopackage.io.TileFormatType;
 import mil.nga.geopackage.property.GeoPackageJavaProperties;
 import mil.nga.geopackage.property.JavaPropertyConstants;
@@ -37,12 +31,6 @@ import mil.nga.proj.Projection;
  */
 public class UrlTileGenerator extends TileGenerator {
 
-	/**
-	 * Logger
-	 */
-	private static final Logger LOGGER = Logger
-			.getLogger(UrlTileGenerator.class.getName());
-
 	/**
 	 * URL Z Variable
 	 */
@@ -119,6 +107,33 @@ public class UrlTileGenerator extends TileGenerator {
 			JavaPropertyConstants.TILE_GENERATOR,
 			JavaPropertyConstants.TILE_GENERATOR_DOWNLOAD_ATTEMPTS);
 
+	/**
+	 * Initial retry delay in milliseconds, doubled after each failed download
+	 * attempt
+	 */
+	private long retryDelay = UrlTileDownloader.DEFAULT_RETRY_DELAY;
+
+	/**
+	 * Max retry delay in milliseconds
+	 */
+	private long maxRetryDelay = UrlTileDownloader.DEFAULT_MAX_RETRY_DELAY;
+
+	/**
+	 * Max download requests in flight, downloading concurrently on a pool of
+	 * request threads when greater than 1
+	 */
+	private int requests = 1;
+
+	/**
+	 * Max download requests in flight per host, null for no per host limit
+	 */
+	private Integer hostRequests = null;
+
+	/**
+	 * Tile downloader during tile generation
+	 */
+	private UrlTileDownloader downloader = null;
+
 	/**
 	 * HTTP request method, when null default is "GET"
 	 */
@@ -323,6 +338,105 @@ public class UrlTileGenerator extends TileGenerator {
 		this.downloadAttempts = downloadAttempts;
 	}
 
+	/**
+	 * Get the initial retry delay in milliseconds between failed download
+	 * attempts
+	 * 
+	 * @return retry delay
+	 * @since 6.6.7
+	 */
+	public long getRetryDelay() {
+		return retryDelay;
+	}
+
+	/**
+	 * Set the initial retry delay in milliseconds between failed download
+	 * attempts, doubled after each failed attempt up to the max retry delay
+	 * 
+	 * @param retryDelay
+	 *            retry delay
+	 * @since 6.6.7
+	 */
+	public void setRetryDelay(long retryDelay) {
+		this.retryDelay = retryDelay;
+	}
+
+	/**
+	 * Get the max retry delay in milliseconds between failed download attempts
+	 * 
+	 * @return max retry delay
+	 * @since 6.6.7
+	 */
+	public long getMaxRetryDelay() {
+		return maxRetryDelay;
+	}
+
+	/**
+	 * Set the max retry delay in milliseconds between failed download attempts
+	 * 
+	 * @param maxRetryDelay
+	 *            max retry delay
+	 * @since 6.6.7
+	 */
+	public void setMaxRetryDelay(long maxRetryDelay) {
+		this.maxRetryDelay = maxRetryDelay;
+	}
+
+	/**
+	 * Get the max download requests in flight
+	 * 
+	 * @return requests
+	 * @since 6.6.7
+	 */
+	public int getRequests() {
+		return requests;
+	}
+
+	/**
+	 * Set the max download requests in flight. When greater than 1, tiles are
+	 * downloaded concurrently by a pool of this many blocking request threads
+	 * while the calling thread writes the downloaded tiles. Default is 1,
+	 * downloading tiles one at a time or one per worker thread, see
+	 * {@link #setThreads(int)}.
+	 * 
+	 * @param requests
+	 *            max requests in flight
+	 * @since 6.6.7
+	 */
+	public void setRequests(int requests) {
+		if (requests < 1) {
+			throw new GeoPackageException(
+					"Requests must be at least 1, not: " + requests);
+		}
+		this.requests = requests;
+	}
+
+	/**
+	 * Get the max download requests in flight per host
+	 * 
+	 * @return host requests, null for no per host limit
+	 * @since 6.6.7
+	 */
+	public Integer getHostRequests() {
+		return hostRequests;
+	}
+
+	/**
+	 * Set the max download requests in flight per host. Requests to a host at
+	 * its limit wait while requests to other hosts continue.
+	 * 
+	 * @param hostRequests
+	 *            host requests, null for no per host limit
+	 * @since 6.6.7
+	 */
+	public void setHostRequests(Integer hostRequests) {
+		if (hostRequests != null && hostRequests < 1) {
+			throw new GeoPackageException(
+					"Host requests must be at least 1, not: " + hostRequests);
+		}
+		this.hostRequests = hostRequests;
+	}
+
 	/**
 	 * Get the HTTP request method, when null default is "GET"
 	 * 
@@ -500,7 +614,39 @@ public class UrlTileGenerator extends TileGenerator {
 	 */
 	@Override
 	protected void preTileGeneration() {
+		downloader = createDownloader();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void postTileGeneration() {
+		if (downloader != null) {
+			downloader.close();
+			downloader = null;
+		}
+	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isAsyncTileCreation() {
+		return requests > 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected int getDefaultQueueSize() {
+		int queueSize = super.getDefaultQueueSize();
+		if (isAsyncTileCreation()) {
+			// Keep the requests busy while the downloaded tiles are written
+			queueSize = Math.max(queueSize, requests * 2);
+		}
+		return queueSize;
 	}
 
 	/**
@@ -511,145 +657,105 @@ public class UrlTileGenerator extends TileGenerator {
 
 		byte[] bytes = null;
 
-		String zoomUrl = tileUrl;
-
-		// Replace x, y, and z
-		if (urlHasXYZ) {
-			long yRequest = y;
+		UrlTileDownloader tileDownloader = downloader;
+		boolean temporary = tileDownloader == null;
+		if (temporary) {
+			tileDownloader = createDownloader();
+		}
 
-			// If TMS, flip the y value
-			if (tileFormat == TileFormatType.TMS) {
-				yRequest = TileBoundingBoxUtils.getYAsOppositeTileFormat(z,
-						(int) y);
+		try {
+			bytes = tileDownloader.download(getTileUrl(z, x, y)).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new GeoPackageException("Failed to download tile. z=" + z
+					+ ", x=" + x + ", y=" + y, e.getCause());
+		} finally {
+			if (temporary) {
+				tileDownloader.close();
 			}
-
-			zoomUrl = replaceXYZ(zoomUrl, z, x, yRequest);
 		}
 
-		// Replace bounding box
-		if (urlHasBoundingBox) {
-			zoomUrl = replaceBoundingBox(zoomUrl, z, x, y);
-		}
+		return bytes;
+	}
 
-		URL url;
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected CompletableFuture<byte[]> createTileAsync(int z, long x,
+			long y) {
+		CompletableFuture<byte[]> future;
 		try {
-			url = new URL(zoomUrl);
-		} catch (MalformedURLException e) {
-			throw new GeoPackageException("Failed to download tile. URL: "
-					+ zoomUrl + ", z=" + z + ", x=" + x + ", y=" + y, e);
+			future = downloader.download(getTileUrl(z, x, y));
+		} catch (RuntimeException e) {
+			future = new CompletableFuture<>();
+			future.completeExceptionally(e);
 		}
+		return future;
+	}
 
-		int attempt = 1;
-		while (true) {
-			try {
-				bytes = downloadTile(zoomUrl, url, z, x, y);
-				break;
-			} catch (Exception e) {
-				if (attempt < downloadAttempts) {
-					LOGGER.log(Level.WARNING,
-							"Failed to download tile after attempt " + attempt
-									+ " of " + downloadAttempts + ". URL: "
-									+ zoomUrl + ", z=" + z + ", x=" + x + ", y="
-									+ y,
-							e);
-					attempt++;
-				} else {
-					throw new GeoPackageException(
-							"Failed to download tile after " + downloadAttempts
-									+ " attempts. URL: " + zoomUrl + ", z=" + z
-									+ ", x=" + x + ", y=" + y,
-							e);
-				}
-			}
+	/**
+	 * Create a tile downloader for the request limits, retry settings, and
+	 * HTTP request configuration. Allows a request in flight per worker thread
+	 * when generating tiles in parallel.
+	 * 
+	 * @return tile downloader
+	 */
+	private UrlTileDownloader createDownloader() {
+		int maxRequests = Math.max(requests, getThreads());
+		int maxHostRequests = maxRequests;
+		if (hostRequests != null) {
+			maxHostRequests = hostRequests;
 		}
-
-		return bytes;
+		return new UrlTileDownloader(maxRequests, maxHostRequests,
+				downloadAttempts, retryDelay, maxRetryDelay, httpMethod,
+				httpHeader);
 	}
 
 	/**
-	 * Download the tile from the URL
+	 * Get the tile URL with the x, y, and z or bounding box values replaced
 	 * 
-	 * @param zoomUrl
-	 * @param url
 	 * @param z
+	 *            zoom level
 	 * @param x
+	 *            x coordinate
 	 * @param y
-	 * @return tile bytes
+	 *            y coordinate
+	 * @return tile URL
 	 */
-	private byte[] downloadTile(String zoomUrl, URL url, int z, long x,
-			long y) {
+	private URL getTileUrl(int z, long x, long y) {
 
-		byte[] bytes = null;
+		String zoomUrl = tileUrl;
 
-		HttpURLConnection connection = null;
-		try {
-			connection = (HttpURLConnection) url.openConnection();
-			configureRequest(connection);
-			connection.connect();
-
-			int responseCode = connection.getResponseCode();
-			if (responseCode == HttpURLConnection.HTTP_MOVED_PERM
-					|| responseCode == HttpURLConnection.HTTP_MOVED_TEMP
-					|| responseCode == HttpURLConnection.HTTP_SEE_OTHER) {
-				String redirect = connection.getHeaderField("Location");
-				connection.disconnect();
-				url = new URL(redirect);
-				connection = (HttpURLConnection) url.openConnection();
-				configureRequest(connection);
-				connection.connect();
-			}
+		// Replace x, y, and z
+		if (urlHasXYZ) {
+			long yRequest = y;
 
-			if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
-				throw new GeoPackageException("Failed to download tile. URL: "
-						+ zoomUrl + ", z=" + z + ", x=" + x + ", y=" + y
-						+ ", Response Code: " + connection.getResponseCode()
-						+ ", Response Message: "
-						+ connection.getResponseMessage());
+			// If TMS, flip the y value
+			if (tileFormat == TileFormatType.TMS) {
+				yRequest = TileBoundingBoxUtils.getYAsOppositeTileFormat(z,
+						(int) y);
 			}
 
-			InputStream geoPackageStream = connection.getInputStream();
-			bytes = GeoPackageIOUtils.streamBytes(geoPackageStream);
-
-		} catch (IOException e) {
-			throw new GeoPackageException("Failed to download tile. URL: "
-					+ zoomUrl + ", z=" + z + ", x=" + x + ", y=" + y, e);
-		} finally {
-			if (connection != null) {
-				connection.disconnect();
-			}
+			zoomUrl = replaceXYZ(zoomUrl, z, x, yRequest);
 		}
 
-		return bytes;
-	}
-
-	/**
-	 * Configure the connection HTTP method and header
-	 * 
-	 * @param connection
-	 *            HTTP URL connection
-	 * @throws ProtocolException
-	 *             upon configuration failure
-	 */
-	private void configureRequest(HttpURLConnection connection)
-			throws ProtocolException {
-
-		if (httpMethod != null) {
-			connection.setRequestMethod(httpMethod);
+		// Replace bounding box
+		if (urlHasBoundingBox) {
+			zoomUrl = replaceBoundingBox(zoomUrl, z, x, y);
 		}
 
-		if (httpHeader != null) {
-			for (Entry<String, List<String>> fieldEntry : httpHeader
-					.entrySet()) {
-				String field = fieldEntry.getKey();
-				List<String> values = fieldEntry.getValue();
-				if (values != null) {
-					for (String value : values) {
-						connection.addRequestProperty(field, value);
-					}
-				}
-			}
+		URL url;
+		try {
+			url = new URL(zoomUrl);
+		} catch (MalformedURLException e) {
+			throw new GeoPackageException("Failed to download tile. URL: "
+					+ zoomUrl + ", z=" + z + ", x=" + x + ", y=" + y, e);
 		}
 
+		return url;
 	}
 
 }
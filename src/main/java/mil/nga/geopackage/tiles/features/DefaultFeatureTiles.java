@@ -1,14 +1,13 @@
 package mil.nga.geopackage.tiles.features;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
 import java.awt.geom.Path2D;
 import java.awt.image.BufferedImage;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,6 +38,7 @@ import mil.nga.sf.PolyhedralSurface;
 import mil.nga.sf.TIN;
 import mil.nga.sf.Triangle;
 import mil.nga.sf.proj.GeometryTransform;
+import mil.nga.sf.util.GeometryUtils;
 
 /**
  * Default Feature Tiles implementation using Java AWT to draw
@@ -58,27 +58,16 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 * Default max number of feature geometries to retain in cache
 	 *
 	 * @since 3.3.0
+	 * @deprecated geometries are bounded by estimated bytes, see
+	 *             {@link FeatureTileGeometryCache#DEFAULT_MAX_BYTES}
 	 */
+	@Deprecated
 	public static final int DEFAULT_GEOMETRY_CACHE_SIZE = 1000;
 
 	/**
-	 * Max geometry cache size
+	 * Geometry cache of Web Mercator geometries, bounded by estimated bytes
 	 */
-	protected int geometryCacheSize = DEFAULT_GEOMETRY_CACHE_SIZE;
-
-	/**
-	 * Geometry cache
-	 */
-	protected final Map<Long, GeoPackageGeometryData> geometryCache = new LinkedHashMap<Long, GeoPackageGeometryData>(
-			geometryCacheSize, .75f, true) {
-		private static final long serialVersionUID = 1L;
-
-		@Override
-		protected boolean removeEldestEntry(
-				Entry<Long, GeoPackageGeometryData> eldest) {
-			return size() > geometryCacheSize;
-		}
-	};
+	protected final FeatureTileGeometryCache geometryCache = new FeatureTileGeometryCache();
 
 	/**
 	 * When true, geometries are cached. Default is true
@@ -364,23 +353,47 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 * Set / resize the geometry cache size
 	 *
 	 * @param size
-	 *            new size
+	 *            new size, 0 to cache nothing
 	 * @since 3.3.0
+	 * @deprecated geometries are bounded by estimated bytes, use
+	 *             {@link #setGeometryCacheMaxBytes(long)}. Sets the optional
+	 *             max number of geometries of the cache, a size of 0 sets the
+	 *             max bytes to 0.
 	 */
+	@Deprecated
 	public void setGeometryCacheSize(int size) {
-		geometryCacheSize = size;
-		if (geometryCache.size() > size) {
-			int count = 0;
-			Iterator<Long> rowIds = geometryCache.keySet().iterator();
-			while (rowIds.hasNext()) {
-				rowIds.next();
-				if (++count > size) {
-					rowIds.remove();
-				}
+		if (size == 0) {
+			geometryCache.setMaxBytes(0);
+		} else {
+			geometryCache.setMaxSize(size);
+			if (geometryCache.getMaxBytes() == 0) {
+				geometryCache.setMaxBytes(
+						FeatureTileGeometryCache.DEFAULT_MAX_BYTES);
 			}
 		}
 	}
 
+	/**
+	 * Get the geometry cache
+	 *
+	 * @return geometry cache
+	 * @since 6.6.7
+	 */
+	public FeatureTileGeometryCache getGeometryCache() {
+		return geometryCache;
+	}
+
+	/**
+	 * Set / resize the maximum total estimated bytes of cached geometries
+	 *
+	 * @param maxBytes
+	 *            max bytes
+	 * @since 6.6.7
+	 */
+	public void setGeometryCacheMaxBytes(long maxBytes) {
+		geometryCache.setMaxBytes(maxBytes);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -404,10 +417,11 @@ public class DefaultFeatureTiles extends FeatureTiles {
 		}
 		results.close();
 
+		// Paint operations only count as drawn when they touch the tile, so
+		// the image is not scanned for transparency
 		BufferedImage image = null;
 		if (drawn) {
 			image = graphics.createImage();
-			image = checkIfDrawn(image);
 		} else {
 			graphics.dispose();
 		}
@@ -438,10 +452,11 @@ public class DefaultFeatureTiles extends FeatureTiles {
 		}
 		resultSet.close();
 
+		// Paint operations only count as drawn when they touch the tile, so
+		// the image is not scanned for transparency
 		BufferedImage image = null;
 		if (drawn) {
 			image = graphics.createImage();
-			image = checkIfDrawn(image);
 		} else {
 			graphics.dispose();
 		}
@@ -470,10 +485,11 @@ public class DefaultFeatureTiles extends FeatureTiles {
 			}
 		}
 
+		// Paint operations only count as drawn when they touch the tile, so
+		// the image is not scanned for transparency
 		BufferedImage image = null;
 		if (drawn) {
 			image = graphics.createImage();
-			image = checkIfDrawn(image);
 		} else {
 			graphics.dispose();
 		}
@@ -506,57 +522,41 @@ public class DefaultFeatureTiles extends FeatureTiles {
 
 		try {
 
-			GeoPackageGeometryData geomData = null;
-			BoundingBox transformedBoundingBox = null;
+			FeatureTileGeometry tileGeometry = null;
 			long rowId = -1;
 
-			// Check the cache for the geometry data
+			// Check the cache for the geometry
 			if (cacheGeometries) {
 				rowId = row.getId();
-				geomData = geometryCache.get(rowId);
-				if (geomData != null) {
-					transformedBoundingBox = geomData.getBoundingBox();
-				}
+				tileGeometry = geometryCache.get(rowId);
 			}
 
-			if (geomData == null) {
+			if (tileGeometry == null) {
 				// Read the geometry
-				geomData = row.getGeometry();
+				tileGeometry = createTileGeometry(row, transform);
+				if (tileGeometry != null && cacheGeometries) {
+					// Cache the geometry
+					geometryCache.put(rowId, tileGeometry);
+				}
 			}
 
-			if (geomData != null) {
-				Geometry geometry = geomData.getGeometry();
-				if (geometry != null) {
-
-					if (transformedBoundingBox == null) {
-						BoundingBox geometryBoundingBox = geomData
-								.getOrBuildBoundingBox();
-						transformedBoundingBox = geometryBoundingBox
-								.transform(transform);
-
-						if (cacheGeometries) {
-							// Set the geometry envelope to the transformed
-							// bounding box
-							geomData.setEnvelope(
-									transformedBoundingBox.buildEnvelope());
-						}
-					}
-
-					if (cacheGeometries) {
-						// Cache the geometry
-						geometryCache.put(rowId, geomData);
-					}
-
-					if (expandedBoundingBox.intersects(transformedBoundingBox,
-							true)) {
-
-						double simplifyTolerance = TileBoundingBoxUtils
-								.toleranceDistance(zoom, tileWidth, tileHeight);
-						drawn = drawGeometry(simplifyTolerance, boundingBox,
-								transform, graphics, row, geometry);
-
-					}
+			if (tileGeometry != null
+					&& expandedBoundingBox
+							.intersects(tileGeometry.getBoundingBox(), true)
+					&& isInStyleBounds(boundingBox, row, tileGeometry)) {
+
+				// Projected geometries are already in Web Mercator
+				GeometryTransform geometryTransform = null;
+				if (!tileGeometry.isProjected()) {
+					geometryTransform = transform;
 				}
+
+				double simplifyTolerance = TileBoundingBoxUtils
+						.toleranceDistance(zoom, tileWidth, tileHeight);
+				drawn = drawGeometry(simplifyTolerance, boundingBox,
+						geometryTransform, graphics, row,
+						tileGeometry.getGeometry());
+
 			}
 		} catch (Exception e) {
 			log.log(Level.SEVERE, "Failed to draw feature in tile. Table: "
@@ -566,6 +566,138 @@ public class DefaultFeatureTiles extends FeatureTiles {
 		return drawn;
 	}
 
+	/**
+	 * Check if the geometry bounds, expanded by the pixel reach of the feature
+	 * style, intersect the tile. Geometries within the draw overlap of the
+	 * largest style but outside the reach of their own style are skipped
+	 * without being drawn.
+	 *
+	 * @param boundingBox
+	 *            tile bounding box
+	 * @param row
+	 *            feature row
+	 * @param tileGeometry
+	 *            tile geometry
+	 * @return true if the styled geometry may touch the tile
+	 */
+	private boolean isInStyleBounds(BoundingBox boundingBox, FeatureRow row,
+			FeatureTileGeometry tileGeometry) {
+
+		BoundingBox geometryBoundingBox = tileGeometry.getBoundingBox();
+		boolean inBounds = boundingBox.intersects(geometryBoundingBox, true);
+
+		// Geodesic paths may extend beyond the geometry bounds
+		if (!inBounds && !geodesic) {
+
+			Float pixels = getStylePixels(row,
+					tileGeometry.getGeometry().getGeometryType());
+
+			if (pixels == null) {
+				inBounds = true;
+			} else {
+				double xPixels = pixels
+						* (boundingBox.getMaxLongitude()
+								- boundingBox.getMinLongitude())
+						/ tileWidth;
+				double yPixels = pixels * (boundingBox.getMaxLatitude()
+						- boundingBox.getMinLatitude()) / tileHeight;
+				BoundingBox styleBoundingBox = new BoundingBox(
+						boundingBox.getMinLongitude() - xPixels,
+						boundingBox.getMinLatitude() - yPixels,
+						boundingBox.getMaxLongitude() + xPixels,
+						boundingBox.getMaxLatitude() + yPixels);
+				inBounds = styleBoundingBox.intersects(geometryBoundingBox,
+						true);
+			}
+		}
+
+		return inBounds;
+	}
+
+	/**
+	 * Get the pixels a feature style draws beyond the geometry coordinates
+	 *
+	 * @param row
+	 *            feature row
+	 * @param geometryType
+	 *            geometry type
+	 * @return style pixels, null when not determined by a single style
+	 */
+	private Float getStylePixels(FeatureRow row, GeometryType geometryType) {
+
+		Float pixels = null;
+
+		switch (geometryType) {
+		case POINT:
+		case MULTIPOINT:
+			FeatureStyle pointStyle = getFeatureStyle(row, geometryType);
+			if (pointStyle != null && pointStyle.useIcon()) {
+				BufferedImage icon = getIcon(pointStyle.getIcon());
+				pixels = (float) Math.max(icon.getWidth(), icon.getHeight());
+			} else if (pointIcon != null) {
+				pixels = this.scale * Math.max(pointIcon.getWidth(),
+						pointIcon.getHeight());
+			} else {
+				pixels = getPointRadius(pointStyle);
+			}
+			break;
+		case LINESTRING:
+		case MULTILINESTRING:
+		case CIRCULARSTRING:
+		case COMPOUNDCURVE:
+			pixels = getLinePaint(getFeatureStyle(row, geometryType))
+					.getStrokeWidth() / 2.0f;
+			break;
+		case POLYGON:
+		case MULTIPOLYGON:
+		case POLYHEDRALSURFACE:
+		case TIN:
+		case TRIANGLE:
+			pixels = getPolygonPaint(getFeatureStyle(row, geometryType))
+					.getStrokeWidth() / 2.0f;
+			break;
+		default:
+		}
+
+		return pixels;
+	}
+
+	/**
+	 * Create the tile geometry of the feature row. Geometries are projected
+	 * to Web Mercator when cached and not drawn with geodesic lines.
+	 *
+	 * @param row
+	 *            feature row
+	 * @param transform
+	 *            Web Mercator geometry transform
+	 * @return tile geometry or null
+	 */
+	private FeatureTileGeometry createTileGeometry(FeatureRow row,
+			GeometryTransform transform) {
+
+		FeatureTileGeometry tileGeometry = null;
+
+		GeoPackageGeometryData geomData = row.getGeometry();
+		if (geomData != null) {
+			Geometry geometry = geomData.getGeometry();
+			if (geometry != null) {
+
+				BoundingBox boundingBox = geomData.getOrBuildBoundingBox()
+						.transform(transform);
+
+				boolean project = cacheGeometries && !geodesic;
+				if (project) {
+					geometry = transform.transform(geometry);
+				}
+
+				tileGeometry = new FeatureTileGeometry(geometry, project,
+						boundingBox);
+			}
+		}
+
+		return tileGeometry;
+	}
+
 	/**
 	 * Draw the geometry
 	 *
@@ -574,7 +706,7 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 * @param boundingBox
 	 *            bounding box
 	 * @param transform
-	 *            geometry transform
+	 *            geometry transform, null when the geometry is in Web Mercator
 	 * @param graphics
 	 *            feature tile graphics
 	 * @param featureRow
@@ -744,16 +876,29 @@ public class DefaultFeatureTiles extends FeatureTiles {
 
 		Path2D path = null;
 
-		// Try to simplify the number of points in the LineString
-		List<Point> lineStringPoints = simplifyPoints(simplifyTolerance,
-				lineString.getPoints());
+		List<Point> lineStringPoints = lineString.getPoints();
 
-		// Create a geodesic path of points if needed
-		lineStringPoints = geodesicPath(simplifyTolerance, lineStringPoints);
+		if (transform != null) {
+
+			// Try to simplify the number of points in the LineString
+			lineStringPoints = simplifyPoints(simplifyTolerance,
+					lineStringPoints);
+
+			// Create a geodesic path of points if needed
+			lineStringPoints = geodesicPath(simplifyTolerance,
+					lineStringPoints);
+
+		} else if (simplifyGeometries) {
+
+			// Simplify the Web Mercator points
+			lineStringPoints = GeometryUtils.simplifyPoints(lineStringPoints,
+					simplifyTolerance);
+
+		}
 
 		for (Point point : lineStringPoints) {
 
-			Point projectedPoint = transform.transform(point);
+			Point projectedPoint = project(transform, point);
 
 			float x = TileBoundingBoxUtils.getXPixel(tileWidth, boundingBox,
 					projectedPoint.getX());
@@ -786,15 +931,15 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	private boolean drawLine(FeatureTileGraphics graphics, Path2D line,
 			FeatureStyle featureStyle) {
 
-		Graphics2D lineGraphics = graphics.getLineGraphics();
-
 		Paint paint = getLinePaint(featureStyle);
-		lineGraphics.setColor(paint.getColor());
-		lineGraphics.setStroke(paint.getStroke());
 
-		boolean drawn = lineGraphics
-				.hit(new java.awt.Rectangle(tileWidth, tileHeight), line, true);
+		boolean drawn = line != null && isVisible(paint.getColor())
+				&& paint.getStroke().createStrokedShape(line)
+						.intersects(getTileRectangle());
 		if (drawn) {
+			Graphics2D lineGraphics = graphics.getLineGraphics();
+			lineGraphics.setColor(paint.getColor());
+			lineGraphics.setStroke(paint.getStroke());
 			lineGraphics.draw(line);
 		}
 
@@ -846,24 +991,30 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	private boolean drawPolygon(FeatureTileGraphics graphics, Area polygon,
 			FeatureStyle featureStyle) {
 
-		Graphics2D polygonGraphics = graphics.getPolygonGraphics();
+		boolean drawn = false;
 
-		Paint fillPaint = getPolygonFillPaint(featureStyle);
-		if (fillPaint != null) {
+		if (polygon != null) {
 
-			polygonGraphics.setColor(fillPaint.getColor());
-			polygonGraphics.fill(polygon);
+			Rectangle tile = getTileRectangle();
 
-		}
-
-		Paint paint = getPolygonPaint(featureStyle);
-		polygonGraphics.setColor(paint.getColor());
-		polygonGraphics.setStroke(paint.getStroke());
+			Paint fillPaint = getPolygonFillPaint(featureStyle);
+			if (fillPaint != null && isVisible(fillPaint.getColor())
+					&& polygon.intersects(tile)) {
+				Graphics2D polygonGraphics = graphics.getPolygonGraphics();
+				polygonGraphics.setColor(fillPaint.getColor());
+				polygonGraphics.fill(polygon);
+				drawn = true;
+			}
 
-		boolean drawn = polygonGraphics.hit(
-				new java.awt.Rectangle(tileWidth, tileHeight), polygon, true);
-		if (drawn) {
-			polygonGraphics.draw(polygon);
+			Paint paint = getPolygonPaint(featureStyle);
+			if (isVisible(paint.getColor()) && paint.getStroke()
+					.createStrokedShape(polygon).intersects(tile)) {
+				Graphics2D polygonGraphics = graphics.getPolygonGraphics();
+				polygonGraphics.setColor(paint.getColor());
+				polygonGraphics.setStroke(paint.getStroke());
+				polygonGraphics.draw(polygon);
+				drawn = true;
+			}
 		}
 
 		return drawn;
@@ -890,7 +1041,7 @@ public class DefaultFeatureTiles extends FeatureTiles {
 
 		boolean drawn = false;
 
-		Point projectedPoint = transform.transform(point);
+		Point projectedPoint = project(transform, point);
 
 		float x = TileBoundingBoxUtils.getXPixel(tileWidth, boundingBox,
 				projectedPoint.getX());
@@ -905,15 +1056,13 @@ public class DefaultFeatureTiles extends FeatureTiles {
 			int width = icon.getWidth();
 			int height = icon.getHeight();
 
-			if (x >= 0 - width && x <= tileWidth + width && y >= 0 - height
-					&& y <= tileHeight + height) {
+			float anchorU = (float) iconRow.getAnchorUOrDefault();
+			float anchorV = (float) iconRow.getAnchorVOrDefault();
 
-				float anchorU = (float) iconRow.getAnchorUOrDefault();
-				float anchorV = (float) iconRow.getAnchorVOrDefault();
-
-				int iconX = Math.round(x - (anchorU * width));
-				int iconY = Math.round(y - (anchorV * height));
+			int iconX = Math.round(x - (anchorU * width));
+			int iconY = Math.round(y - (anchorV * height));
 
+			if (getTileRectangle().intersects(iconX, iconY, width, height)) {
 				Graphics2D iconGraphics = graphics.getIconGraphics();
 				iconGraphics.drawImage(icon, iconX, iconY, null);
 				drawn = true;
@@ -923,10 +1072,9 @@ public class DefaultFeatureTiles extends FeatureTiles {
 
 			int width = Math.round(this.scale * pointIcon.getWidth());
 			int height = Math.round(this.scale * pointIcon.getHeight());
-			if (x >= 0 - width && x <= tileWidth + width && y >= 0 - height
-					&& y <= tileHeight + height) {
-				int iconX = Math.round(x - this.scale * pointIcon.getXOffset());
-				int iconY = Math.round(y - this.scale * pointIcon.getYOffset());
+			int iconX = Math.round(x - this.scale * pointIcon.getXOffset());
+			int iconY = Math.round(y - this.scale * pointIcon.getYOffset());
+			if (getTileRectangle().intersects(iconX, iconY, width, height)) {
 				Graphics2D iconGraphics = graphics.getIconGraphics();
 				iconGraphics.drawImage(pointIcon.getIcon(), iconX, iconY, width,
 						height, null);
@@ -935,27 +1083,18 @@ public class DefaultFeatureTiles extends FeatureTiles {
 
 		} else {
 
-			Float radius = null;
-			if (featureStyle != null) {
-				StyleRow styleRow = featureStyle.getStyle();
-				if (styleRow != null) {
-					radius = this.scale
-							* (float) (styleRow.getWidthOrDefault() / 2.0f);
-				}
-			}
-			if (radius == null) {
-				radius = this.scale * pointRadius;
-			}
-			if (x >= 0 - radius && x <= tileWidth + radius && y >= 0 - radius
-					&& y <= tileHeight + radius) {
+			float radius = getPointRadius(featureStyle);
+			Paint pointPaint = getPointPaint(featureStyle);
+
+			int circleX = Math.round(x - radius);
+			int circleY = Math.round(y - radius);
+			int diameter = Math.round(radius * 2);
 
+			if (isVisible(pointPaint.getColor())
+					&& new Ellipse2D.Float(circleX, circleY, diameter, diameter)
+							.intersects(getTileRectangle())) {
 				Graphics2D pointGraphics = graphics.getPointGraphics();
-				Paint pointPaint = getPointPaint(featureStyle);
 				pointGraphics.setColor(pointPaint.getColor());
-
-				int circleX = Math.round(x - radius);
-				int circleY = Math.round(y - radius);
-				int diameter = Math.round(radius * 2);
 				pointGraphics.fillOval(circleX, circleY, diameter, diameter);
 				drawn = true;
 			}
@@ -965,4 +1104,63 @@ public class DefaultFeatureTiles extends FeatureTiles {
 		return drawn;
 	}
 
+	/**
+	 * Get the point circle radius for the feature style
+	 *
+	 * @param featureStyle
+	 *            feature style
+	 * @return radius in pixels
+	 */
+	private float getPointRadius(FeatureStyle featureStyle) {
+		Float radius = null;
+		if (featureStyle != null) {
+			StyleRow styleRow = featureStyle.getStyle();
+			if (styleRow != null) {
+				radius = this.scale
+						* (float) (styleRow.getWidthOrDefault() / 2.0f);
+			}
+		}
+		if (radius == null) {
+			radius = this.scale * pointRadius;
+		}
+		return radius;
+	}
+
+	/**
+	 * Get the tile pixel rectangle
+	 *
+	 * @return tile rectangle
+	 */
+	private Rectangle getTileRectangle() {
+		return new Rectangle(tileWidth, tileHeight);
+	}
+
+	/**
+	 * Check if a paint color leaves visible pixels
+	 *
+	 * @param color
+	 *            paint color
+	 * @return true if not fully transparent
+	 */
+	private static boolean isVisible(Color color) {
+		return color.getAlpha() > 0;
+	}
+
+	/**
+	 * Project the point to Web Mercator
+	 *
+	 * @param transform
+	 *            geometry transform, null when already in Web Mercator
+	 * @param point
+	 *            point
+	 * @return Web Mercator point
+	 */
+	private Point project(GeometryTransform transform, Point point) {
+		Point projectedPoint = point;
+		if (transform != null) {
+			projectedPoint = transform.transform(point);
+		}
+		return projectedPoint;
+	}
+
 }
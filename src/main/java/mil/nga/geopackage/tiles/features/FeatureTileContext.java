@@ -0,0 +1,91 @@
+package mil.nga.geopackage.tiles.features;
+
+import org.locationtech.proj4j.units.Units;
+
+import mil.nga.geopackage.extension.nga.style.FeatureStyleMap;
+import mil.nga.proj.Projection;
+import mil.nga.sf.proj.GeometryTransform;
+
+/**
+ * Feature tile drawing context of per worker thread state. Geometry
+ * transformations hold mutable coordinate state and are not thread safe, so
+ * each thread drawing tiles from a shared {@link FeatureTiles} reuses its own
+ * context instead of creating transformations per tile.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class FeatureTileContext {
+
+	/**
+	 * Feature projection to Web Mercator transformation
+	 */
+	private final GeometryTransform webMercatorTransform;
+
+	/**
+	 * Web Mercator to feature projection transformation for simplifying non
+	 * meter geometries, null when in meters
+	 */
+	private final GeometryTransform fromWebMercatorTransform;
+
+	/**
+	 * Feature style map of the features in the tile being drawn
+	 */
+	private FeatureStyleMap featureStyleMap;
+
+	/**
+	 * Constructor
+	 *
+	 * @param projection
+	 *            feature projection
+	 */
+	public FeatureTileContext(Projection projection) {
+		webMercatorTransform = GeometryTransform.create(projection,
+				FeatureTiles.WEB_MERCATOR_PROJECTION);
+		if (!projection.isUnit(Units.METRES)) {
+			fromWebMercatorTransform = GeometryTransform
+					.create(FeatureTiles.WEB_MERCATOR_PROJECTION, projection);
+		} else {
+			fromWebMercatorTransform = null;
+		}
+	}
+
+	/**
+	 * Get the feature projection to Web Mercator transformation
+	 *
+	 * @return transform
+	 */
+	public GeometryTransform getWebMercatorTransform() {
+		return webMercatorTransform;
+	}
+
+	/**
+	 * Get the Web Mercator to feature projection transformation used to
+	 * simplify geometries not in meters
+	 *
+	 * @return transform, null when the feature projection is in meters
+	 */
+	public GeometryTransform getFromWebMercatorTransform() {
+		return fromWebMercatorTransform;
+	}
+
+	/**
+	 * Get the feature style map of the features in the tile being drawn
+	 *
+	 * @return feature style map or null
+	 */
+	public FeatureStyleMap getFeatureStyleMap() {
+		return featureStyleMap;
+	}
+
+	/**
+	 * Set the feature style map of the features in the tile being drawn
+	 *
+	 * @param featureStyleMap
+	 *            feature style map or null
+	 */
+	public void setFeatureStyleMap(FeatureStyleMap featureStyleMap) {
+		this.featureStyleMap = featureStyleMap;
+	}
+
+}
@@ -0,0 +1,155 @@
+package mil.nga.geopackage.tiles.features;
+
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.sf.CompoundCurve;
+import mil.nga.sf.Curve;
+import mil.nga.sf.CurvePolygon;
+import mil.nga.sf.Geometry;
+import mil.nga.sf.GeometryCollection;
+import mil.nga.sf.LineString;
+import mil.nga.sf.Point;
+import mil.nga.sf.PolyhedralSurface;
+import mil.nga.sf.Polygon;
+
+/**
+ * Feature geometry prepared for drawing tiles, held by the
+ * {@link FeatureTileGeometryCache}. The geometry is projected to Web Mercator
+ * when possible so that drawing does not transform the geometry per tile.
+ * Geometries drawn with geodesic lines remain in the feature projection, as
+ * geodesic paths are created between feature projection points.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class FeatureTileGeometry {
+
+	/**
+	 * Estimated bytes of a cached entry excluding the geometry points
+	 */
+	private static final long ENTRY_BYTES = 128;
+
+	/**
+	 * Estimated bytes of a geometry object and point list
+	 */
+	private static final long GEOMETRY_BYTES = 64;
+
+	/**
+	 * Estimated bytes of a point object and list reference
+	 */
+	private static final long POINT_BYTES = 56;
+
+	/**
+	 * Geometry, in Web Mercator when projected
+	 */
+	private final Geometry geometry;
+
+	/**
+	 * True when the geometry is projected to Web Mercator
+	 */
+	private final boolean projected;
+
+	/**
+	 * Web Mercator bounding box of the geometry
+	 */
+	private final BoundingBox boundingBox;
+
+	/**
+	 * Estimated bytes
+	 */
+	private final long bytes;
+
+	/**
+	 * Constructor
+	 *
+	 * @param geometry
+	 *            geometry, in Web Mercator when projected
+	 * @param projected
+	 *            true when the geometry is projected to Web Mercator
+	 * @param boundingBox
+	 *            Web Mercator bounding box
+	 */
+	public FeatureTileGeometry(Geometry geometry, boolean projected,
+			BoundingBox boundingBox) {
+		this.geometry = geometry;
+		this.projected = projected;
+		this.boundingBox = boundingBox;
+		this.bytes = ENTRY_BYTES + getBytes(geometry);
+	}
+
+	/**
+	 * Get the geometry, in Web Mercator when projected
+	 *
+	 * @return geometry
+	 */
+	public Geometry getGeometry() {
+		return geometry;
+	}
+
+	/**
+	 * Is the geometry projected to Web Mercator?
+	 *
+	 * @return true if in Web Mercator, false if in the feature projection
+	 */
+	public boolean isProjected() {
+		return projected;
+	}
+
+	/**
+	 * Get the Web Mercator bounding box of the geometry
+	 *
+	 * @return bounding box
+	 */
+	public BoundingBox getBoundingBox() {
+		return boundingBox;
+	}
+
+	/**
+	 * Get the estimated bytes used to weigh the geometry against the cache max
+	 * bytes
+	 *
+	 * @return bytes
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Estimate the in memory bytes of a geometry from its number of points
+	 *
+	 * @param geometry
+	 *            geometry
+	 * @return estimated bytes
+	 */
+	public static long getBytes(Geometry geometry) {
+
+		long bytes = GEOMETRY_BYTES;
+
+		if (geometry instanceof Point) {
+			bytes = POINT_BYTES;
+		} else if (geometry instanceof LineString) {
+			bytes += ((LineString) geometry).numPoints() * POINT_BYTES;
+		} else if (geometry instanceof CompoundCurve) {
+			for (LineString lineString : ((CompoundCurve) geometry)
+					.getLineStrings()) {
+				bytes += getBytes(lineString);
+			}
+		} else if (geometry instanceof CurvePolygon) {
+			for (Curve ring : ((CurvePolygon<?>) geometry).getRings()) {
+				bytes += getBytes(ring);
+			}
+		} else if (geometry instanceof PolyhedralSurface) {
+			for (Polygon polygon : ((PolyhedralSurface) geometry)
+					.getPolygons()) {
+				bytes += getBytes(polygon);
+			}
+		} else if (geometry instanceof GeometryCollection) {
+			for (Geometry child : ((GeometryCollection<?>) geometry)
+					.getGeometries()) {
+				bytes += getBytes(child);
+			}
+		}
+
+		return bytes;
+	}
+
+}
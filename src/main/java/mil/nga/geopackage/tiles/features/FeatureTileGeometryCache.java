@@ -0,0 +1,197 @@
+package mil.nga.geopackage.tiles.features;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.WeightedLruCache;
+
+/**
+ * Cache of feature geometries prepared for drawing tiles, keyed by feature row
+ * id and bounded by estimated geometry bytes, so a single large polygon weighs
+ * more than many points. Thread safe, shared by the threads drawing tiles from
+ * a {@link DefaultFeatureTiles}. Clear the cache after modifying features.
+ *
+ * @author osbornb
+ * @since 6.6.7
+ */
+public class FeatureTileGeometryCache {
+
+	/**
+	 * Default maximum total estimated bytes of cached geometries, 32 MB
+	 */
+	public static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+
+	/**
+	 * Cached geometries by feature row id, weighed by estimated bytes
+	 */
+	private final WeightedLruCache<Long, FeatureTileGeometry> geometries = new WeightedLruCache<>(
+			FeatureTileGeometry::getBytes, 0);
+
+	/**
+	 * Constructor
+	 */
+	public FeatureTileGeometryCache() {
+		this(DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxBytes
+	 *            maximum total estimated bytes of cached geometries
+	 */
+	public FeatureTileGeometryCache(long maxBytes) {
+		setMaxBytes(maxBytes);
+	}
+
+	/**
+	 * Get the maximum total estimated bytes of cached geometries
+	 *
+	 * @return max bytes
+	 */
+	public synchronized long getMaxBytes() {
+		return geometries.getMaxWeight();
+	}
+
+	/**
+	 * Set the maximum total estimated bytes of cached geometries, evicting
+	 * least recently used geometries when reduced
+	 *
+	 * @param maxBytes
+	 *            max bytes
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		if (maxBytes < 0) {
+			throw new GeoPackageException(
+					"Max bytes must not be negative: " + maxBytes);
+		}
+		geometries.setMaxWeight(maxBytes);
+	}
+
+	/**
+	 * Get the maximum number of cached geometries
+	 *
+	 * @return max size, 0 for no limit
+	 */
+	public synchronized int getMaxSize() {
+		return geometries.getMaxSize();
+	}
+
+	/**
+	 * Set the maximum number of cached geometries, evicting least recently
+	 * used geometries when reduced
+	 *
+	 * @param maxSize
+	 *            max size, 0 for no limit
+	 */
+	public synchronized void setMaxSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new GeoPackageException(
+					"Max size must not be negative: " + maxSize);
+		}
+		geometries.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Get the total estimated bytes of cached geometries
+	 *
+	 * @return bytes
+	 */
+	public synchronized long getBytes() {
+		return geometries.getWeight();
+	}
+
+	/**
+	 * Get the number of cached geometries
+	 *
+	 * @return size
+	 */
+	public synchronized int size() {
+		return geometries.size();
+	}
+
+	/**
+	 * Get the number of geometry requests served from the cache
+	 *
+	 * @return hits
+	 */
+	public synchronized long getHits() {
+		return geometries.getHits();
+	}
+
+	/**
+	 * Get the number of geometry requests not in the cache
+	 *
+	 * @return misses
+	 */
+	public synchronized long getMisses() {
+		return geometries.getMisses();
+	}
+
+	/**
+	 * Get the number of geometries removed to keep the cache within the max
+	 * bytes and max size
+	 *
+	 * @return evictions
+	 */
+	public synchronized long getEvictions() {
+		return geometries.getEvictions();
+	}
+
+	/**
+	 * Get the ratio of geometry requests served from the cache
+	 *
+	 * @return hit rate between 0.0 and 1.0
+	 */
+	public synchronized double getHitRate() {
+		return geometries.getHitRate();
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counters
+	 */
+	public synchronized void resetStats() {
+		geometries.resetStats();
+	}
+
+	/**
+	 * Get a cached geometry, counting the request as a hit or miss
+	 *
+	 * @param id
+	 *            feature row id
+	 * @return cached geometry or null
+	 */
+	public synchronized FeatureTileGeometry get(long id) {
+		return geometries.get(id);
+	}
+
+	/**
+	 * Cache a geometry, replacing an existing geometry of the feature row.
+	 * Geometries larger than the max bytes are not cached.
+	 *
+	 * @param id
+	 *            feature row id
+	 * @param geometry
+	 *            geometry
+	 */
+	public synchronized void put(long id, FeatureTileGeometry geometry) {
+		geometries.put(id, geometry);
+	}
+
+	/**
+	 * Remove a cached geometry
+	 *
+	 * @param id
+	 *            feature row id
+	 * @return removed geometry or null
+	 */
+	public synchronized FeatureTileGeometry remove(long id) {
+		return geometries.remove(id);
+	}
+
+	/**
+	 * Remove all cached geometries
+	 */
+	public synchronized void clear() {
+		geometries.clear();
+	}
+
+}
@@ -6,6 +6,7 @@ import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.awt.image.WritableRaster;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -18,17 +19,20 @@ import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.extension.nga.style.FeatureStyle;
+import mil.nga.geopackage.extension.nga.style.FeatureStyleMap;
 import mil.nga.geopackage.extension.nga.style.FeatureTableStyles;
 import mil.nga.geopackage.extension.nga.style.IconCache;
 import mil.nga.geopackage.extension.nga.style.IconDao;
 import mil.nga.geopackage.extension.nga.style.IconRow;
 import mil.nga.geopackage.extension.nga.style.StyleDao;
 import mil.nga.geopackage.extension.nga.style.StyleRow;
+import mil.nga.geopackage.features.index.FeatureIndexIdResults;
 import mil.nga.geopackage.features.index.FeatureIndexManager;
 import mil.nga.geopackage.features.index.FeatureIndexResults;
 import mil.nga.geopackage.features.user.FeatureDao;
 import mil.nga.geopackage.features.user.FeatureResultSet;
 import mil.nga.geopackage.features.user.FeatureRow;
+import mil.nga.geopackage.features.user.ManualFeatureQueryResults;
 import mil.nga.geopackage.property.GeoPackageJavaProperties;
 import mil.nga.geopackage.property.JavaPropertyConstants;
 import mil.nga.geopackage.style.PixelBounds;
@@ -46,6 +50,12 @@ import mil.nga.sf.util.GeometryUtils;
 
 /**
  * Tiles generated from features
+ * <p>
+ * Tiles may be drawn concurrently from multiple threads against a single
+ * configured instance. Style paint, icon, and geometry caches are shared and
+ * thread safe, while geometry transformations are kept in a per thread
+ * {@link FeatureTileContext}. Configure the instance before drawing tiles
+ * concurrently.
  *
  * @author osbornb
  * @since 1.1.2
@@ -84,6 +94,24 @@ public abstract class FeatureTiles {
 	 */
 	protected FeatureTableStyles featureTableStyles;
 
+	/**
+	 * Feature style map of all features, resolving feature styles without
+	 * queries when set
+	 */
+	protected FeatureStyleMap featureStyleMap;
+
+	/**
+	 * When true and no feature style map of all features is set, load a
+	 * feature style map of the features in each index queried tile
+	 */
+	protected boolean tileFeatureStyles = false;
+
+	/**
+	 * Feature style map of the style and icon rows, without feature mappings,
+	 * shared by the tile feature style maps
+	 */
+	private FeatureStyleMap tileFeatureStylesBase;
+
 	/**
 	 * Tile height
 	 */
@@ -154,6 +182,18 @@ public abstract class FeatureTiles {
 	 */
 	private IconCache iconCache = new IconCache();
 
+	/**
+	 * Per thread drawing context, replaced on close so contexts of other
+	 * threads are no longer reachable
+	 */
+	private volatile ThreadLocal<FeatureTileContext> context = new ThreadLocal<>();
+
+	/**
+	 * Drawing contexts created for all threads, released on close
+	 */
+	private final Set<FeatureTileContext> contexts = Collections
+			.synchronizedSet(new HashSet<>());
+
 	/**
 	 * Height overlapping pixels between tile images
 	 */
@@ -498,7 +538,8 @@ public abstract class FeatureTiles {
 	}
 
 	/**
-	 * Close the feature tiles connection
+	 * Close the feature tiles connection and release the drawing contexts of
+	 * all threads
 	 *
 	 * @since 6.1.2
 	 */
@@ -506,6 +547,13 @@ public abstract class FeatureTiles {
 		if (indexManager != null) {
 			indexManager.close();
 		}
+		context = new ThreadLocal<>();
+		synchronized (contexts) {
+			for (FeatureTileContext tileContext : contexts) {
+				tileContext.setFeatureStyleMap(null);
+			}
+			contexts.clear();
+		}
 	}
 
 	/**
@@ -712,6 +760,74 @@ public abstract class FeatureTiles {
 	 */
 	public void setFeatureTableStyles(FeatureTableStyles featureTableStyles) {
 		this.featureTableStyles = featureTableStyles;
+		featureStyleMap = null;
+		synchronized (this) {
+			tileFeatureStylesBase = null;
+		}
+	}
+
+	/**
+	 * Get the feature style map of all features
+	 *
+	 * @return feature style map or null
+	 * @since 6.6.7
+	 */
+	public FeatureStyleMap getFeatureStyleMap() {
+		return featureStyleMap;
+	}
+
+	/**
+	 * Set the feature style map of all features, used to resolve feature styles
+	 * without queries per feature
+	 *
+	 * @param featureStyleMap
+	 *            feature style map or null
+	 * @since 6.6.7
+	 */
+	public void setFeatureStyleMap(FeatureStyleMap featureStyleMap) {
+		this.featureStyleMap = featureStyleMap;
+	}
+
+	/**
+	 * Load the style and icon mappings of all features from the feature table
+	 * styles into a feature style map, resolving feature styles during drawing
+	 * without queries per feature. Reload after changing feature styles.
+	 *
+	 * @since 6.6.7
+	 */
+	public void loadFeatureStyleMap() {
+		FeatureStyleMap styleMap = null;
+		if (featureTableStyles != null) {
+			styleMap = new FeatureStyleMap(featureTableStyles);
+		}
+		setFeatureStyleMap(styleMap);
+	}
+
+	/**
+	 * Is a feature style map loaded for the features of each index queried
+	 * tile
+	 *
+	 * @return true if loading tile feature styles
+	 * @since 6.6.7
+	 */
+	public boolean isTileFeatureStyles() {
+		return tileFeatureStyles;
+	}
+
+	/**
+	 * Set whether to load a feature style map of the features in each index
+	 * queried tile when no feature style map of all features is set. Tile
+	 * feature styles are loaded with a mapping query per tile when the index
+	 * results hold the feature ids, such as from the
+	 * {@link mil.nga.geopackage.features.index.FeatureIndexType#PACKED_RTREE}
+	 * index type.
+	 *
+	 * @param tileFeatureStyles
+	 *            true to load tile feature styles
+	 * @since 6.6.7
+	 */
+	public void setTileFeatureStyles(boolean tileFeatureStyles) {
+		this.tileFeatureStyles = tileFeatureStyles;
 	}
 
 	/**
@@ -1174,6 +1290,14 @@ public abstract class FeatureTiles {
 			FeatureIndexResults results = queryIndexedFeatures(
 					webMercatorBoundingBox);
 
+			// Resolve the feature styles of the tile features at once
+			FeatureTileContext tileContext = null;
+			FeatureStyleMap tileStyleMap = createTileFeatureStyleMap(results);
+			if (tileStyleMap != null) {
+				tileContext = getContext();
+				tileContext.setFeatureStyleMap(tileStyleMap);
+			}
+
 			try {
 
 				if (maxFeaturesPerTile == null
@@ -1190,6 +1314,9 @@ public abstract class FeatureTiles {
 				}
 			} finally {
 				results.close();
+				if (tileContext != null) {
+					tileContext.setFeatureStyleMap(null);
+				}
 			}
 		}
 
@@ -1463,8 +1590,34 @@ public abstract class FeatureTiles {
 	 * @return transform
 	 */
 	protected GeometryTransform getWebMercatorTransform() {
-		return GeometryTransform.create(this.featureDao.getProjection(),
-				ProjectionConstants.EPSG_WEB_MERCATOR);
+		return getContext().getWebMercatorTransform();
+	}
+
+	/**
+	 * Get the drawing context of the current thread, creating it on first use
+	 *
+	 * @return feature tile context
+	 * @since 6.6.7
+	 */
+	public FeatureTileContext getContext() {
+		ThreadLocal<FeatureTileContext> threadContext = context;
+		FeatureTileContext tileContext = threadContext.get();
+		if (tileContext == null) {
+			tileContext = createContext();
+			threadContext.set(tileContext);
+			contexts.add(tileContext);
+		}
+		return tileContext;
+	}
+
+	/**
+	 * Create a drawing context for the current thread
+	 *
+	 * @return feature tile context
+	 * @since 6.6.7
+	 */
+	protected FeatureTileContext createContext() {
+		return new FeatureTileContext(featureDao.getProjection());
 	}
 
 	/**
@@ -1485,10 +1638,13 @@ public abstract class FeatureTiles {
 		if (simplifyGeometries) {
 
 			// Reproject to web mercator if not in meters
-			if (projection != null && !projection.isUnit(Units.METRES)) {
-				GeometryTransform toWebMercator = GeometryTransform
-						.create(projection, WEB_MERCATOR_PROJECTION);
-				points = toWebMercator.transform(points);
+			boolean reproject = projection != null
+					&& !projection.isUnit(Units.METRES);
+			FeatureTileContext tileContext = null;
+			if (reproject) {
+				tileContext = getContext();
+				points = tileContext.getWebMercatorTransform()
+						.transform(points);
 			}
 
 			// Simplify the points
@@ -1496,10 +1652,9 @@ public abstract class FeatureTiles {
 					simplifyTolerance);
 
 			// Reproject back to the original projection
-			if (projection != null && !projection.isUnit(Units.METRES)) {
-				GeometryTransform fromWebMercator = GeometryTransform
-						.create(WEB_MERCATOR_PROJECTION, projection);
-				simplifiedPoints = fromWebMercator.transform(simplifiedPoints);
+			if (reproject) {
+				simplifiedPoints = tileContext.getFromWebMercatorTransform()
+						.transform(simplifiedPoints);
 			}
 		} else {
 			simplifiedPoints = points;
@@ -1537,11 +1692,7 @@ public abstract class FeatureTiles {
 	 * @return feature style
 	 */
 	protected FeatureStyle getFeatureStyle(FeatureRow featureRow) {
-		FeatureStyle featureStyle = null;
-		if (featureTableStyles != null) {
-			featureStyle = featureTableStyles.getFeatureStyle(featureRow);
-		}
-		return featureStyle;
+		return getFeatureStyle(featureRow, featureRow.getGeometryType());
 	}
 
 	/**
@@ -1557,12 +1708,93 @@ public abstract class FeatureTiles {
 			GeometryType geometryType) {
 		FeatureStyle featureStyle = null;
 		if (featureTableStyles != null) {
-			featureStyle = featureTableStyles.getFeatureStyle(featureRow,
-					geometryType);
+			long featureId = featureRow.getId();
+			FeatureStyleMap styleMap = getFeatureStyleMap(featureId);
+			if (styleMap != null) {
+				featureStyle = styleMap.getFeatureStyle(featureId,
+						geometryType);
+			} else {
+				featureStyle = featureTableStyles.getFeatureStyle(featureRow,
+						geometryType);
+			}
 		}
 		return featureStyle;
 	}
 
+	/**
+	 * Get the feature style map with the loaded styles of the feature, checking
+	 * the tile feature style map of the current thread before the feature style
+	 * map of all features
+	 *
+	 * @param featureId
+	 *            feature id
+	 * @return feature style map or null
+	 */
+	private FeatureStyleMap getFeatureStyleMap(long featureId) {
+		FeatureStyleMap styleMap = null;
+		FeatureTileContext tileContext = context.get();
+		if (tileContext != null) {
+			styleMap = tileContext.getFeatureStyleMap();
+		}
+		if (styleMap == null || !styleMap.contains(featureId)) {
+			styleMap = featureStyleMap;
+			if (styleMap != null && !styleMap.contains(featureId)) {
+				styleMap = null;
+			}
+		}
+		return styleMap;
+	}
+
+	/**
+	 * Create a feature style map of the features in the index query results
+	 * when loading tile feature styles and the results hold the feature ids
+	 *
+	 * @param results
+	 *            index query results
+	 * @return feature style map or null
+	 */
+	private FeatureStyleMap createTileFeatureStyleMap(
+			FeatureIndexResults results) {
+
+		FeatureStyleMap styleMap = null;
+
+		if (tileFeatureStyles && featureStyleMap == null
+				&& featureTableStyles != null) {
+
+			long[] featureIds = null;
+			if (results instanceof FeatureIndexIdResults) {
+				featureIds = ((FeatureIndexIdResults) results).getIds();
+			} else if (results instanceof ManualFeatureQueryResults) {
+				List<Long> ids = ((ManualFeatureQueryResults) results)
+						.getFeatureIds();
+				featureIds = new long[ids.size()];
+				for (int i = 0; i < featureIds.length; i++) {
+					featureIds[i] = ids.get(i);
+				}
+			}
+
+			if (featureIds != null) {
+				styleMap = getTileFeatureStylesBase().forFeatures(featureIds);
+			}
+		}
+
+		return styleMap;
+	}
+
+	/**
+	 * Get the feature style map of the style and icon rows shared by the tile
+	 * feature style maps, loading on first use
+	 *
+	 * @return feature style map
+	 */
+	private synchronized FeatureStyleMap getTileFeatureStylesBase() {
+		if (tileFeatureStylesBase == null) {
+			tileFeatureStylesBase = new FeatureStyleMap(featureTableStyles,
+					new long[0]);
+		}
+		return tileFeatureStylesBase;
+	}
+
 	/**
 	 * Get the icon image from the icon row
 	 *
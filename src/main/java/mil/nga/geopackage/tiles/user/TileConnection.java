@@ -3,6 +3,7 @@ package mil.nga.geopackage.tiles.user;
 import java.sql.ResultSet;
 
 import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.extension.nga.dedup.TileDeduplication;
 import mil.nga.geopackage.user.UserConnection;
 
 /**
@@ -13,6 +14,11 @@ import mil.nga.geopackage.user.UserConnection;
 public class TileConnection
 		extends UserConnection<TileColumn, TileTable, TileRow, TileResultSet> {
 
+	/**
+	 * Tile deduplication of queried tile rows and references
+	 */
+	private volatile TileDeduplication deduplication;
+
 	/**
 	 * Constructor
 	 * 
@@ -23,6 +29,27 @@ public class TileConnection
 		super(database);
 	}
 
+	/**
+	 * Get the tile deduplication of queried tile rows and references
+	 * 
+	 * @return tile deduplication or null
+	 * @since 6.6.7
+	 */
+	public TileDeduplication getDeduplication() {
+		return deduplication;
+	}
+
+	/**
+	 * Set the tile deduplication of queried tile rows and references
+	 * 
+	 * @param deduplication
+	 *            tile deduplication, null to query only the tile rows
+	 * @since 6.6.7
+	 */
+	public void setDeduplication(TileDeduplication deduplication) {
+		this.deduplication = deduplication;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -32,4 +59,24 @@ public class TileConnection
 		return new TileResultSet(table, columns, resultSet, sql, selectionArgs);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Queries of a deduplicated tile table select from the view of its tile
+	 * rows and references.
+	 */
+	@Override
+	public String querySQL(boolean distinct, String table, String[] columns,
+			String[] columnsAs, String selection, String groupBy, String having,
+			String orderBy, String limit) {
+		TileDeduplication deduplication = this.deduplication;
+		if (deduplication != null
+				&& deduplication.getTableName().equals(table)
+				&& deduplication.isEnabled()) {
+			table = deduplication.getViewName();
+		}
+		return super.querySQL(distinct, table, columns, columnsAs, selection,
+				groupBy, having, orderBy, limit);
+	}
+
 }
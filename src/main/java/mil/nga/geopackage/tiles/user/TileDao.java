@@ -1,7 +1,10 @@
 package mil.nga.geopackage.tiles.user;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -11,13 +14,17 @@ import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.contents.Contents;
 import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.extension.nga.dedup.TileDeduplication;
 import mil.nga.geopackage.srs.SpatialReferenceSystem;
 import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
+import mil.nga.geopackage.tiles.TileCoordinate;
 import mil.nga.geopackage.tiles.TileGrid;
+import mil.nga.geopackage.tiles.TileImageCache;
 import mil.nga.geopackage.tiles.matrix.TileMatrix;
 import mil.nga.geopackage.tiles.matrix.TileMatrixDao;
 import mil.nga.geopackage.tiles.matrixset.TileMatrixSet;
 import mil.nga.geopackage.tiles.matrixset.TileMatrixSetDao;
+import mil.nga.geopackage.user.ContentValues;
 import mil.nga.geopackage.user.UserDao;
 import mil.nga.proj.Projection;
 import mil.nga.proj.ProjectionConstants;
@@ -31,6 +38,14 @@ import mil.nga.sf.proj.GeometryTransform;
 public class TileDao
 		extends UserDao<TileColumn, TileTable, TileRow, TileResultSet> {
 
+	/**
+	 * Maximum number of tile coordinates queried per statement by
+	 * {@link #queryForTiles(long, Collection)}
+	 * 
+	 * @since 6.6.7
+	 */
+	public static final int MAX_TILES_PER_QUERY = 250;
+
 	/**
 	 * Tile connection
 	 */
@@ -71,6 +86,11 @@ public class TileDao
 	 */
 	private final double[] heights;
 
+	/**
+	 * Decoded tile image cache shared by tile creators of this DAO
+	 */
+	private volatile TileImageCache imageCache;
+
 	/**
 	 * Constructor
 	 * 
@@ -353,6 +373,93 @@ public class TileDao
 		return tileRow;
 	}
 
+	/**
+	 * Query for the Tiles at the tile coordinates of a zoom level. Coordinates
+	 * are queried in batches of up to {@link #MAX_TILES_PER_QUERY} per
+	 * statement instead of a query per tile.
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param coordinates
+	 *            tile column and row coordinates
+	 * @return tile rows in the coordinate request order, null entries for
+	 *         tiles that do not exist
+	 * @since 6.6.7
+	 */
+	public List<TileRow> queryForTiles(long zoomLevel,
+			Collection<TileCoordinate> coordinates) {
+
+		List<TileCoordinate> requested = new ArrayList<>(coordinates);
+		List<TileRow> tileRows = new ArrayList<>(requested.size());
+
+		for (int start = 0; start < requested.size(); start += MAX_TILES_PER_QUERY) {
+
+			List<TileCoordinate> batch = requested.subList(start,
+					Math.min(start + MAX_TILES_PER_QUERY, requested.size()));
+			Set<TileCoordinate> batchCoordinates = new LinkedHashSet<>(batch);
+
+			StringBuilder where = new StringBuilder();
+			where.append(buildWhere(TileTable.COLUMN_ZOOM_LEVEL, zoomLevel));
+			where.append(" AND (");
+
+			Object[] args = new Object[1 + 2 * batchCoordinates.size()];
+			args[0] = zoomLevel;
+			int index = 1;
+			for (TileCoordinate coordinate : batchCoordinates) {
+				if (index > 1) {
+					where.append(" OR ");
+				}
+				where.append("(");
+				where.append(buildWhere(TileTable.COLUMN_TILE_COLUMN,
+						coordinate.getColumn()));
+				where.append(" AND ");
+				where.append(buildWhere(TileTable.COLUMN_TILE_ROW,
+						coordinate.getRow()));
+				where.append(")");
+				args[index++] = coordinate.getColumn();
+				args[index++] = coordinate.getRow();
+			}
+			where.append(")");
+
+			Map<TileCoordinate, TileRow> batchRows = new HashMap<>();
+			TileResultSet resultSet = query(where.toString(),
+					buildWhereArgs(args));
+			try {
+				while (resultSet.moveToNext()) {
+					TileRow tileRow = resultSet.getRow();
+					batchRows.put(new TileCoordinate(tileRow.getTileColumn(),
+							tileRow.getTileRow()), tileRow);
+				}
+			} finally {
+				resultSet.close();
+			}
+
+			for (TileCoordinate coordinate : batch) {
+				tileRows.add(batchRows.get(coordinate));
+			}
+		}
+
+		return tileRows;
+	}
+
+	/**
+	 * Query for the Tiles within the tile grid of a zoom level, streamed in
+	 * row major order (by tile row and then tile column) so that only the
+	 * current tile row is held in memory
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileGrid
+	 *            tile grid
+	 * @return tile result set in row major order, should be closed, null if
+	 *         no tile grid
+	 * @since 6.6.7
+	 */
+	public TileResultSet queryForTiles(long zoomLevel, TileGrid tileGrid) {
+		return queryByTileGrid(tileGrid, zoomLevel,
+				TileTable.COLUMN_TILE_ROW + ", " + TileTable.COLUMN_TILE_COLUMN);
+	}
+
 	/**
 	 * Query for Tiles at a zoom level
 	 * 
@@ -654,7 +761,9 @@ public class TileDao
 		String[] whereArgs = buildWhereArgs(
 				new Object[] { zoomLevel, column, row });
 
-		int deleted = delete(where.toString(), whereArgs);
+		int deleted = deleteReferences(where.toString(), whereArgs);
+		deleted += super.delete(where.toString(), whereArgs);
+		evictImage(zoomLevel, column, row);
 
 		return deleted;
 	}
@@ -770,6 +879,311 @@ public class TileDao
 		return getMapZoom(getTileMatrix(zoomLevel));
 	}
 
+	/**
+	 * Get the decoded tile image cache used by tile creators and retrievers of
+	 * this DAO
+	 * 
+	 * @return image cache or null if not enabled
+	 * @since 6.6.7
+	 */
+	public TileImageCache getImageCache() {
+		return imageCache;
+	}
+
+	/**
+	 * Set the decoded tile image cache used by tile creators and retrievers of
+	 * this DAO. A cache may be shared by multiple tile DAOs. Tiles written
+	 * through this DAO are removed from the cache, tiles written through other
+	 * DAOs or SQL require clearing the table from the cache.
+	 * 
+	 * @param imageCache
+	 *            image cache, null to disable
+	 * @since 6.6.7
+	 */
+	public void setImageCache(TileImageCache imageCache) {
+		this.imageCache = imageCache;
+	}
+
+	/**
+	 * Enable a decoded tile image cache with the default max bytes if not
+	 * already enabled
+	 * 
+	 * @return image cache
+	 * @since 6.6.7
+	 */
+	public TileImageCache enableImageCache() {
+		return enableImageCache(TileImageCache.DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Enable a decoded tile image cache if not already enabled, or set the max
+	 * bytes of the enabled cache
+	 * 
+	 * @param maxBytes
+	 *            maximum total bytes of cached image pixels
+	 * @return image cache
+	 * @since 6.6.7
+	 */
+	public synchronized TileImageCache enableImageCache(long maxBytes) {
+		TileImageCache cache = imageCache;
+		if (cache == null) {
+			cache = new TileImageCache(maxBytes);
+			imageCache = cache;
+		} else {
+			cache.setMaxBytes(maxBytes);
+		}
+		return cache;
+	}
+
+	/**
+	 * Get the tile deduplication storing duplicate tiles of this DAO as
+	 * references
+	 * 
+	 * @return tile deduplication or null, see {@link #isDeduplicated()}
+	 * @since 6.6.7
+	 */
+	public TileDeduplication getDeduplication() {
+		return tileDb.getDeduplication();
+	}
+
+	/**
+	 * Set the tile deduplication. When set and the tile table has the
+	 * extension, inserted tiles with the content of an existing tile are
+	 * stored as references with negative ids, and queries include the
+	 * references. Updated references are first restored as tile rows.
+	 * 
+	 * @param deduplication
+	 *            tile deduplication, null to read and write only the tile
+	 *            rows
+	 * @since 6.6.7
+	 */
+	public void setDeduplication(TileDeduplication deduplication) {
+		tileDb.setDeduplication(deduplication);
+	}
+
+	/**
+	 * Is tile deduplication set
+	 * 
+	 * @return true if deduplicated
+	 * @since 6.6.7
+	 */
+	public boolean isDeduplicated() {
+		TileDeduplication deduplication = getDeduplication();
+		return deduplication != null && deduplication.isEnabled();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long insert(TileRow row) {
+		long id;
+		TileDeduplication deduplication = getDeduplication();
+		byte[] tileData = row.getTileData();
+		if (deduplication != null && tileData != null
+				&& deduplication.isEnabled()) {
+			String hash = TileDeduplication.hash(tileData);
+			Long tileId = deduplication.getTileId(hash);
+			if (tileId != null) {
+				id = deduplication.insertReference(row.getZoomLevel(),
+						row.getTileColumn(), row.getTileRow(), tileId);
+				setInsertedId(row, id);
+			} else {
+				id = super.insert(row);
+				deduplication.insertHash(id, hash);
+			}
+		} else {
+			id = super.insert(row);
+		}
+		evictImage(row);
+		return id;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int update(TileRow row) {
+		if (imageCache != null && row.hasId()) {
+			evictImage(row.getId());
+		}
+		int updated = 0;
+		if (row.hasId() && row.getId() < 0) {
+			if (isDeduplicated()) {
+				Long tileId = getDeduplication().restore(row.getId());
+				if (tileId != null) {
+					setInsertedId(row, tileId);
+					updated = super.update(row);
+				}
+			}
+		} else {
+			updated = super.update(row);
+		}
+		evictImage(row);
+		return updated;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int update(ContentValues values, String whereClause,
+			String[] whereArgs) {
+		if (isDeduplicated()) {
+			getDeduplication().restore(whereClause, whereArgs);
+		}
+		int updated = super.update(values, whereClause, whereArgs);
+		clearImages();
+		return updated;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int deleteById(long id) {
+		evictImage(id);
+		int deleted = 0;
+		if (id < 0) {
+			if (isDeduplicated()) {
+				deleted = getDeduplication().deleteReferences(getPkWhere(id),
+						getPkWhereArgs(id));
+			}
+		} else {
+			deleted = super.deleteById(id);
+		}
+		return deleted;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int delete(String whereClause, String[] whereArgs) {
+		int deleted = deleteReferences(whereClause, whereArgs);
+		deleted += super.delete(whereClause, whereArgs);
+		clearImages();
+		return deleted;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int count(boolean distinct, String column, String where,
+			String[] args) {
+		return getDb().count(queryTableName(), distinct, column, where, args);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T> T min(String column, String where, String[] args) {
+		return getDb().min(queryTableName(), column, where, args);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T> T max(String column, String where, String[] args) {
+		return getDb().max(queryTableName(), column, where, args);
+	}
+
+	/**
+	 * Get the table or view name to query, the view of the tile rows and
+	 * references when deduplicated
+	 * 
+	 * @return table or view name
+	 */
+	private String queryTableName() {
+		String name;
+		if (isDeduplicated()) {
+			name = getDeduplication().getViewName();
+		} else {
+			name = getTableName();
+		}
+		return name;
+	}
+
+	/**
+	 * Delete the tile references matching the where clause when deduplicated
+	 * 
+	 * @param whereClause
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @return deleted count
+	 */
+	private int deleteReferences(String whereClause, String[] whereArgs) {
+		int deleted = 0;
+		if (isDeduplicated()) {
+			deleted = getDeduplication().deleteReferences(whereClause,
+					whereArgs);
+		}
+		return deleted;
+	}
+
+	/**
+	 * Remove the cached image of the tile row
+	 * 
+	 * @param row
+	 *            tile row
+	 */
+	private void evictImage(TileRow row) {
+		if (imageCache != null) {
+			evictImage(row.getZoomLevel(), row.getTileColumn(),
+					row.getTileRow());
+		}
+	}
+
+	/**
+	 * Remove the cached image of the tile with the id
+	 * 
+	 * @param id
+	 *            tile id
+	 */
+	private void evictImage(long id) {
+		if (imageCache != null) {
+			TileRow row = queryForIdRow(
+					new String[] { TileTable.COLUMN_ZOOM_LEVEL,
+							TileTable.COLUMN_TILE_COLUMN,
+							TileTable.COLUMN_TILE_ROW },
+					id);
+			if (row != null) {
+				evictImage(row);
+			}
+		}
+	}
+
+	/**
+	 * Remove the cached image of the tile
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param column
+	 *            tile column
+	 * @param row
+	 *            tile row
+	 */
+	private void evictImage(long zoomLevel, long column, long row) {
+		TileImageCache cache = imageCache;
+		if (cache != null) {
+			cache.remove(getTableName(), zoomLevel, column, row);
+		}
+	}
+
+	/**
+	 * Remove the cached images of the tile table
+	 */
+	private void clearImages() {
+		TileImageCache cache = imageCache;
+		if (cache != null) {
+			cache.clear(getTableName());
+		}
+	}
+
 	/**
 	 * Get a tile matrix set DAO
 	 *
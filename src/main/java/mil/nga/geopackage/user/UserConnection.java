@@ -4,7 +4,6 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 
 import mil.nga.geopackage.db.GeoPackageConnection;
-import mil.nga.geopackage.db.SQLUtils;
 import mil.nga.geopackage.db.SQLiteQueryBuilder;
 
 /**
@@ -25,6 +24,11 @@ import mil.nga.geopackage.db.SQLiteQueryBuilder;
 public abstract class UserConnection<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserRow<TColumn, TTable>, TResult extends UserResultSet<TColumn, TTable, TRow>>
 		extends UserCoreConnection<TColumn, TTable, TRow, TResult> {
 
+	/**
+	 * GeoPackage connection
+	 */
+	private final GeoPackageConnection database;
+
 	/**
 	 * Connection
 	 */
@@ -42,6 +46,7 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 	 *            GeoPackage connection
 	 */
 	protected UserConnection(GeoPackageConnection database) {
+		this.database = database;
 		this.connection = database.getConnection();
 	}
 
@@ -104,7 +109,7 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 	@Override
 	public TResult rawQuery(String sql, String[] selectionArgs) {
 
-		ResultSet resultSet = SQLUtils.query(connection, sql, selectionArgs);
+		ResultSet resultSet = database.query(sql, selectionArgs);
 
 		return createResult(resultSet, sql, selectionArgs);
 	}
@@ -115,7 +120,7 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 	@Override
 	public TResult rawQuery(String sql, String[] columns, String[] selectionArgs) {
 
-		ResultSet resultSet = SQLUtils.query(connection, sql, selectionArgs);
+		ResultSet resultSet = database.query(sql, selectionArgs);
 
 		return createResult(columns, resultSet, sql, selectionArgs);
 	}
@@ -208,7 +213,7 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 		String sql = querySQL(distinct, table, columns, columnsAs, selection,
 				groupBy, having, orderBy, limit);
 
-		ResultSet resultSet = SQLUtils.query(connection, sql, selectionArgs);
+		ResultSet resultSet = database.query(sql, selectionArgs);
 
 		return createResult(columns, resultSet, sql, selectionArgs);
 	}
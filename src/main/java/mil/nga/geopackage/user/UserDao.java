@@ -6,6 +6,7 @@ import java.sql.SQLException;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.db.GeoPackageConnection;
 import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.db.StatementCache;
 
 /**
  * Abstract User DAO for reading user tables
@@ -29,6 +30,11 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 	 */
 	private final Connection connection;
 
+	/**
+	 * Statement cache of the connection
+	 */
+	private final StatementCache statementCache;
+
 	/**
 	 * Auto commit mode at the beginning of a transaction
 	 */
@@ -51,6 +57,7 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 			TTable table) {
 		super(database, db, userDb, table);
 		this.connection = db.getConnection();
+		this.statementCache = db.getStatementCache();
 		userDb.setTable(table);
 	}
 
@@ -88,7 +95,7 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 			throw new GeoPackageException(
 					"Failed to begin transaction, previous transaction was not ended");
 		}
-		autoCommit = SQLUtils.beginTransaction(connection);
+		autoCommit = getDb().beginWriterTransaction();
 	}
 
 	/**
@@ -96,7 +103,7 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 	 */
 	@Override
 	public void endTransaction(boolean successful) {
-		SQLUtils.endTransaction(connection, successful, autoCommit);
+		getDb().endWriterTransaction(successful, autoCommit);
 		autoCommit = null;
 	}
 
@@ -128,8 +135,9 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 		ContentValues contentValues = row.toContentValues();
 		int updated = 0;
 		if (contentValues.size() > 0) {
-			updated = SQLUtils.update(connection, getTableName(), contentValues,
-					getPkWhere(row.getId()), getPkWhereArgs(row.getId()));
+			updated = SQLUtils.update(statementCache, getTableName(),
+					contentValues, getPkWhere(row.getId()),
+					getPkWhereArgs(row.getId()));
 		}
 		return updated;
 	}
@@ -147,8 +155,8 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 	 */
 	public int update(ContentValues values, String whereClause,
 			String[] whereArgs) {
-		return SQLUtils.update(connection, getTableName(), values, whereClause,
-				whereArgs);
+		return SQLUtils.update(statementCache, getTableName(), values,
+				whereClause, whereArgs);
 	}
 
 	/**
@@ -156,12 +164,25 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 	 */
 	@Override
 	public long insert(TRow row) {
-		long id = SQLUtils.insertOrThrow(connection, getTableName(),
+		long id = SQLUtils.insertOrThrow(statementCache, getTableName(),
 				getPkColumnName(), row.toContentValues(false));
+		setInsertedId(row, id);
+		return id;
+	}
+
+	/**
+	 * Set the id of an inserted row
+	 * 
+	 * @param row
+	 *            inserted row
+	 * @param id
+	 *            inserted id
+	 * @since 6.6.7
+	 */
+	protected void setInsertedId(TRow row, long id) {
 		if (row.hasIdColumn()) {
 			row.setId(id, true);
 		}
-		return id;
 	}
 
 	/**
@@ -172,8 +193,8 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 	 * @return row id, -1 on error
 	 */
 	public long insert(ContentValues values) {
-		return SQLUtils.insert(connection, getTableName(), getPkColumnName(),
-				values);
+		return SQLUtils.insert(statementCache, getTableName(),
+				getPkColumnName(), values);
 	}
 
 	/**
@@ -184,7 +205,7 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 	 * @return row id
 	 */
 	public long insertOrThrow(ContentValues values) {
-		return SQLUtils.insertOrThrow(connection, getTableName(),
+		return SQLUtils.insertOrThrow(statementCache, getTableName(),
 				getPkColumnName(), values);
 	}
 
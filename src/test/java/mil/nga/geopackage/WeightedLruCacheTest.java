@@ -0,0 +1,91 @@
+package mil.nga.geopackage;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * Test the weighted least recently used cache
+ *
+ * @author osbornb
+ */
+public class WeightedLruCacheTest extends BaseTestCase {
+
+	/**
+	 * Test least recently used eviction by weight and size
+	 */
+	@Test
+	public void testEviction() {
+
+		WeightedLruCache<String, String> cache = new WeightedLruCache<>(
+				String::length, 10);
+
+		TestCase.assertNull(cache.put("a", "aaaa"));
+		TestCase.assertNull(cache.put("b", "bbbb"));
+		TestCase.assertEquals(8, cache.getWeight());
+
+		// Touch a so that b is the least recently used
+		TestCase.assertEquals("aaaa", cache.get("a"));
+		TestCase.assertEquals(Arrays.asList("bbbb"), cache.put("c", "cccc"));
+		TestCase.assertEquals(8, cache.getWeight());
+		TestCase.assertNull(cache.peek("b"));
+
+		// Values heavier than the max weight are not cached
+		TestCase.assertNull(cache.put("d", "ddddddddddd"));
+		TestCase.assertFalse(cache.containsKey("d"));
+		TestCase.assertEquals(2, cache.size());
+
+		// Replacing a value replaces its weight
+		TestCase.assertNull(cache.put("a", "a"));
+		TestCase.assertEquals(5, cache.getWeight());
+
+		List<String> evicted = cache.setMaxSize(1);
+		TestCase.assertEquals(Arrays.asList("cccc"), evicted);
+		TestCase.assertEquals(1, cache.size());
+		TestCase.assertEquals(1, cache.getWeight());
+
+		TestCase.assertEquals(Arrays.asList("a"), cache.setMaxWeight(0));
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals(0, cache.getWeight());
+		TestCase.assertEquals(3, cache.getEvictions());
+
+	}
+
+	/**
+	 * Test hit and miss counting
+	 */
+	@Test
+	public void testStats() {
+
+		WeightedLruCache<Integer, String> cache = new WeightedLruCache<>(
+				String::length, 100);
+		cache.put(1, "one");
+		cache.put(2, "two");
+
+		TestCase.assertEquals("one", cache.get(1));
+		TestCase.assertNull(cache.get(3));
+		TestCase.assertEquals("two", cache.peek(2));
+		cache.recordHits(2);
+		cache.recordMisses(1);
+		TestCase.assertEquals(3, cache.getHits());
+		TestCase.assertEquals(2, cache.getMisses());
+		TestCase.assertEquals(0.6, cache.getHitRate(), 0.0);
+
+		cache.resetStats();
+		TestCase.assertEquals(0, cache.getHits());
+		TestCase.assertEquals(0, cache.getMisses());
+		TestCase.assertEquals(0.0, cache.getHitRate(), 0.0);
+
+		TestCase.assertEquals(Arrays.asList("two"),
+				cache.removeIf(key -> key == 2));
+		TestCase.assertEquals(3, cache.getWeight());
+		TestCase.assertEquals("one", cache.remove(1));
+		TestCase.assertEquals(0, cache.getWeight());
+		TestCase.assertTrue(cache.clear().isEmpty());
+
+	}
+
+}
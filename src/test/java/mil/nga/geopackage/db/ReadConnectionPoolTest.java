@@ -0,0 +1,266 @@
+package mil.nga.geopackage.db;
+
+import java.io.File;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.CreateGeoPackageTestCase;
+import mil.nga.geopackage.GeoPackageManager;
+import mil.nga.geopackage.extension.rtree.RTreeIndexExtension;
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureRow;
+import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.sf.Point;
+
+/**
+ * Test write-ahead logging with pooled read connections
+ *
+ * @author osbornb
+ */
+public class ReadConnectionPoolTest extends CreateGeoPackageTestCase {
+
+	/**
+	 * Test concurrent reads and writer visibility with pooled read
+	 * connections
+	 *
+	 * @throws Exception
+	 *             upon error
+	 */
+	@Test
+	public void testReadConnectionPool() throws Exception {
+
+		File file = new File(geoPackage.getPath());
+		String featureTable = geoPackage.getFeatureTables().get(0);
+		geoPackage.close();
+
+		geoPackage = GeoPackageManager.open(true, file, true, true);
+
+		GeoPackageConnection connection = geoPackage.getConnection();
+		TestCase.assertTrue(connection.isWriteAheadLogging());
+		TestCase.assertEquals("wal", connection
+				.querySingleResult("PRAGMA journal_mode", null).toString()
+				.toLowerCase());
+
+		ReadConnectionPool pool = connection.getReadConnectionPool();
+		TestCase.assertNotNull(pool);
+		TestCase.assertEquals(ReadConnectionPool.DEFAULT_MAX_SIZE,
+				pool.getMaxSize());
+		pool.setMaxSize(4);
+
+		final FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+		final List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			ids.add(insertRow(featureDao, i));
+		}
+
+		// Writes outside of a transaction are visible to pooled readers
+		for (long id : ids) {
+			TestCase.assertNotNull(featureDao.queryForIdRow(id));
+		}
+		TestCase.assertTrue(pool.size() >= 1);
+		TestCase.assertEquals(0, pool.getBusyCount());
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				futures.add(executor.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						int reads = 0;
+						for (int i = 0; i < 50; i++) {
+							for (int j = 0; j < ids.size(); j++) {
+								FeatureRow row = featureDao
+										.queryForIdRow(ids.get(j));
+								TestCase.assertNotNull(row);
+								Point point = (Point) row.getGeometry()
+										.getGeometry();
+								TestCase.assertEquals((double) j,
+										point.getX());
+								reads++;
+							}
+						}
+						return reads;
+					}
+				}));
+			}
+			for (Future<Integer> future : futures) {
+				TestCase.assertEquals(50 * ids.size(),
+						future.get().intValue());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		TestCase.assertTrue(pool.size() <= pool.getMaxSize());
+		TestCase.assertEquals(0, pool.getBusyCount());
+
+		// Reads within a writer transaction see uncommitted writes
+		int count = featureDao.count();
+		featureDao.beginTransaction();
+		long id;
+		try {
+			id = insertRow(featureDao, 100);
+			TestCase.assertNotNull(featureDao.queryForIdRow(id));
+			TestCase.assertEquals(count + 1, featureDao.count());
+		} finally {
+			featureDao.endTransaction(false);
+		}
+		TestCase.assertNull(featureDao.queryForIdRow(id));
+		TestCase.assertEquals(count, featureDao.count());
+
+	}
+
+	/**
+	 * Test reads from other threads stay on pooled read connections while a
+	 * thread is in the writer transaction
+	 *
+	 * @throws Exception
+	 *             upon error
+	 */
+	@Test
+	public void testTransactionThread() throws Exception {
+
+		File file = new File(geoPackage.getPath());
+		String featureTable = geoPackage.getFeatureTables().get(0);
+		geoPackage.close();
+
+		geoPackage = GeoPackageManager.open(true, file, true, true);
+		final FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+		ReadConnectionPool pool = geoPackage.getConnection()
+				.getReadConnectionPool();
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+
+			featureDao.beginTransaction();
+			final long id;
+			try {
+				id = insertRow(featureDao, 1);
+				TestCase.assertNotNull(featureDao.queryForIdRow(id));
+
+				// Other threads read the last commit from a read connection
+				TestCase.assertNull(executor
+						.submit(() -> featureDao.queryForIdRow(id)).get());
+				TestCase.assertEquals(1, pool.size());
+			} finally {
+				featureDao.endTransaction(true);
+			}
+			TestCase.assertNotNull(executor
+					.submit(() -> featureDao.queryForIdRow(id)).get());
+
+		} finally {
+			executor.shutdown();
+		}
+
+	}
+
+	/**
+	 * Test SQL functions are created on pooled read connections
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testFunctions() throws SQLException {
+
+		File file = new File(geoPackage.getPath());
+		String featureTable = geoPackage.getFeatureTables().get(0);
+		geoPackage.close();
+
+		geoPackage = GeoPackageManager.open(true, file, true, true);
+		GeoPackageConnection connection = geoPackage.getConnection();
+		ReadConnectionPool pool = connection.getReadConnectionPool();
+		FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+		long id = insertRow(featureDao, 7);
+
+		// Functions created before and after the read connection opened
+		RTreeIndexExtension rTree = new RTreeIndexExtension(geoPackage);
+		rTree.createMinXFunction();
+		TestCase.assertNotNull(featureDao.queryForIdRow(id));
+		TestCase.assertEquals(1, pool.size());
+		rTree.createMaxXFunction();
+
+		String sql = "SELECT " + RTreeIndexExtension.MIN_X_FUNCTION + "("
+				+ featureDao.getGeometryColumnName() + "), "
+				+ RTreeIndexExtension.MAX_X_FUNCTION + "("
+				+ featureDao.getGeometryColumnName() + ") FROM "
+				+ CoreSQLUtils.quoteWrap(featureTable) + " WHERE "
+				+ featureDao.getPkColumnName() + " = ?";
+		ResultSet resultSet = connection.query(sql,
+				new String[] { String.valueOf(id) });
+		try {
+			TestCase.assertTrue(resultSet.next());
+			TestCase.assertEquals(7.0, resultSet.getDouble(1));
+			TestCase.assertEquals(7.0, resultSet.getDouble(2));
+			TestCase.assertEquals(1, pool.getBusyCount());
+		} finally {
+			SQLUtils.closeResultSetStatement(resultSet, sql);
+		}
+
+	}
+
+	/**
+	 * Test closing the GeoPackage closes the read connections
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testClose() throws SQLException {
+
+		File file = new File(geoPackage.getPath());
+		String featureTable = geoPackage.getFeatureTables().get(0);
+		geoPackage.close();
+
+		geoPackage = GeoPackageManager.open(true, file, true, true);
+		ReadConnectionPool pool = geoPackage.getConnection()
+				.getReadConnectionPool();
+		FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+		TestCase.assertNotNull(featureDao.queryForIdRow(insertRow(featureDao, 0)));
+		TestCase.assertEquals(1, pool.size());
+
+		geoPackage.close();
+		TestCase.assertEquals(0, pool.size());
+
+		// Reopen without write-ahead logging, the journal mode was restored
+		geoPackage = GeoPackageManager.open(file);
+		TestCase.assertFalse(geoPackage.getConnection().isWriteAheadLogging());
+		TestCase.assertNull(
+				geoPackage.getConnection().getReadConnectionPool());
+		TestCase.assertEquals("delete",
+				geoPackage.getConnection()
+						.querySingleResult("PRAGMA journal_mode", null)
+						.toString().toLowerCase());
+
+	}
+
+	/**
+	 * Insert a row into the feature table
+	 *
+	 * @param featureDao
+	 *            feature dao
+	 * @param x
+	 *            point x
+	 * @return row id
+	 */
+	private long insertRow(FeatureDao featureDao, double x) {
+
+		FeatureRow row = featureDao.newRow();
+		GeoPackageGeometryData geometry = GeoPackageGeometryData
+				.create(featureDao.getSrsId(), new Point(x, 0));
+		row.setGeometry(geometry);
+		return featureDao.insert(row);
+
+	}
+
+}
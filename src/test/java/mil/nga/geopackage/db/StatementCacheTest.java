@@ -0,0 +1,300 @@
+package mil.nga.geopackage.db;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.CreateGeoPackageTestCase;
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureResultSet;
+import mil.nga.geopackage.features.user.FeatureRow;
+import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.sf.Point;
+
+/**
+ * Test the prepared statement cache of the GeoPackage connection
+ *
+ * @author osbornb
+ */
+public class StatementCacheTest extends CreateGeoPackageTestCase {
+
+	/**
+	 * Test statement cache hits and misses for repeated queries
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testHits() throws SQLException {
+
+		StatementCache cache = geoPackage.getConnection().getStatementCache();
+		TestCase.assertEquals(StatementCache.DEFAULT_MAX_SIZE,
+				geoPackage.getConnection().getStatementCacheSize());
+
+		FeatureDao featureDao = geoPackage
+				.getFeatureDao(geoPackage.getFeatureTables().get(0));
+		long id = insertRow(featureDao);
+
+		cache.clear();
+		cache.resetStats();
+
+		int queries = 100;
+		for (int i = 0; i < queries; i++) {
+			FeatureRow row = featureDao.queryForIdRow(id);
+			TestCase.assertNotNull(row);
+			TestCase.assertEquals(id, row.getId());
+		}
+
+		TestCase.assertEquals(1, cache.getMisses());
+		TestCase.assertEquals(queries - 1, cache.getHits());
+		TestCase.assertEquals(0, cache.getEvictions());
+		TestCase.assertEquals(1, cache.size());
+		TestCase.assertEquals(0, cache.getLeasedCount());
+
+	}
+
+	/**
+	 * Test nested open queries of the same SQL
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testNested() throws SQLException {
+
+		StatementCache cache = geoPackage.getConnection().getStatementCache();
+
+		FeatureDao featureDao = geoPackage
+				.getFeatureDao(geoPackage.getFeatureTables().get(0));
+		insertRow(featureDao);
+		insertRow(featureDao);
+		int count = featureDao.count();
+
+		cache.clear();
+		cache.resetStats();
+
+		int outerCount = 0;
+		FeatureResultSet outer = featureDao.queryForAll();
+		try {
+			while (outer.moveToNext()) {
+				outerCount++;
+				int innerCount = 0;
+				FeatureResultSet inner = featureDao.queryForAll();
+				try {
+					while (inner.moveToNext()) {
+						innerCount++;
+					}
+				} finally {
+					inner.close();
+				}
+				TestCase.assertEquals(count, innerCount);
+				TestCase.assertEquals(1, cache.getLeasedCount());
+			}
+		} finally {
+			outer.close();
+		}
+		TestCase.assertEquals(count, outerCount);
+		TestCase.assertEquals(0, cache.getLeasedCount());
+		TestCase.assertEquals(1, cache.size());
+
+		// Closing a released result again leaves the cached statement open
+		outer.close();
+		FeatureResultSet resultSet = featureDao.queryForAll();
+		try {
+			TestCase.assertTrue(resultSet.moveToNext());
+		} finally {
+			resultSet.close();
+		}
+
+		// Closing a released result again does not release the statement
+		// when leased by another result
+		FeatureResultSet first = featureDao.queryForAll();
+		first.close();
+		long hits = cache.getHits();
+		FeatureResultSet second = featureDao.queryForAll();
+		try {
+			TestCase.assertEquals(hits + 1, cache.getHits());
+			TestCase.assertTrue(first.getResultSet().isClosed());
+			TestCase.assertFalse(second.getResultSet().isClosed());
+			first.close();
+			TestCase.assertEquals(1, cache.getLeasedCount());
+			TestCase.assertTrue(second.moveToNext());
+			TestCase.assertNotNull(second.getRow());
+		} finally {
+			second.close();
+		}
+		TestCase.assertEquals(0, cache.getLeasedCount());
+
+	}
+
+	/**
+	 * Test releasing a statement lease more than once
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testRelease() throws SQLException {
+
+		GeoPackageConnection connection = geoPackage.getConnection();
+		StatementCache cache = connection.getStatementCache();
+
+		String sql = "SELECT COUNT(*) FROM gpkg_contents";
+
+		cache.clear();
+		cache.resetStats();
+
+		PreparedStatement first = cache.prepareStatement(sql);
+		TestCase.assertTrue(cache.release(first));
+		TestCase.assertTrue(first.isClosed());
+		TestCase.assertEquals(1, cache.size());
+
+		PreparedStatement second = cache.prepareStatement(sql);
+		TestCase.assertEquals(1, cache.getHits());
+		TestCase.assertNotSame(first, second);
+
+		// Releasing the first lease again leaves the second leased
+		TestCase.assertTrue(cache.release(first));
+		SQLUtils.closeStatement(first, sql);
+		TestCase.assertEquals(1, cache.getLeasedCount());
+		TestCase.assertEquals(0, cache.size());
+		try {
+			first.executeQuery();
+			TestCase.fail("Released statement lease was executed");
+		} catch (SQLException e) {
+			// Expected
+		}
+
+		ResultSet resultSet = second.executeQuery();
+		TestCase.assertSame(second, resultSet.getStatement());
+		TestCase.assertTrue(resultSet.next());
+		TestCase.assertTrue(resultSet.getInt(1) > 0);
+		SQLUtils.closeResultSetStatement(resultSet, sql);
+		SQLUtils.closeResultSetStatement(resultSet, sql);
+		TestCase.assertEquals(0, cache.getLeasedCount());
+		TestCase.assertEquals(1, cache.size());
+
+		// Statements not leased from the cache are not managed
+		PreparedStatement statement = connection.getConnection()
+				.prepareStatement(sql);
+		try {
+			TestCase.assertFalse(cache.release(statement));
+			TestCase.assertFalse(statement.isClosed());
+		} finally {
+			statement.close();
+		}
+
+	}
+
+	/**
+	 * Test least recently used eviction and disabling the cache
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testEviction() throws SQLException {
+
+		GeoPackageConnection connection = geoPackage.getConnection();
+		StatementCache cache = connection.getStatementCache();
+
+		FeatureDao featureDao = geoPackage
+				.getFeatureDao(geoPackage.getFeatureTables().get(0));
+		long id = insertRow(featureDao);
+
+		connection.setStatementCacheSize(2);
+		cache.clear();
+		cache.resetStats();
+
+		String column = featureDao.getPkColumnName();
+		for (int i = 0; i < 5; i++) {
+			String sql = "SELECT " + column + " FROM "
+					+ CoreSQLUtils.quoteWrap(featureDao.getTableName())
+					+ " WHERE " + column + " = ? AND " + i + " = " + i;
+			TestCase.assertEquals(id, ((Number) connection.querySingleResult(
+					sql, new String[] { String.valueOf(id) })).longValue());
+		}
+		TestCase.assertEquals(5, cache.getMisses());
+		TestCase.assertEquals(3, cache.getEvictions());
+		TestCase.assertEquals(2, cache.size());
+
+		connection.setStatementCacheSize(0);
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals(5, cache.getEvictions());
+		TestCase.assertNotNull(featureDao.queryForIdRow(id));
+		TestCase.assertNotNull(featureDao.queryForIdRow(id));
+		TestCase.assertEquals(0, cache.getHits());
+		TestCase.assertEquals(0, cache.size());
+
+		connection.setStatementCacheSize(StatementCache.DEFAULT_MAX_SIZE);
+
+	}
+
+	/**
+	 * Test cached inserts and queries across transaction commits and
+	 * rollbacks
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testTransactions() throws SQLException {
+
+		StatementCache cache = geoPackage.getConnection().getStatementCache();
+
+		FeatureDao featureDao = geoPackage
+				.getFeatureDao(geoPackage.getFeatureTables().get(0));
+		int count = featureDao.count();
+
+		cache.resetStats();
+
+		for (int i = 0; i < 3; i++) {
+			boolean successful = i % 2 == 0;
+			featureDao.beginTransaction();
+			try {
+				for (int j = 0; j < 10; j++) {
+					long id = insertRow(featureDao);
+					TestCase.assertNotNull(featureDao.queryForIdRow(id));
+				}
+			} finally {
+				featureDao.endTransaction(successful);
+			}
+			if (successful) {
+				count += 10;
+			}
+			TestCase.assertEquals(count, featureDao.count());
+		}
+
+		TestCase.assertTrue(cache.getHits() > 0);
+		TestCase.assertEquals(0, cache.getLeasedCount());
+
+		// Schema changes and vacuum with idle cached statements
+		geoPackage.getConnection()
+				.execSQL("CREATE TABLE cache_test (id INTEGER)");
+		geoPackage.getConnection().execSQL("DROP TABLE cache_test");
+		geoPackage.vacuum();
+		TestCase.assertEquals(count, featureDao.count());
+
+	}
+
+	/**
+	 * Insert a row into the feature table
+	 *
+	 * @param featureDao
+	 *            feature dao
+	 * @return row id
+	 */
+	private long insertRow(FeatureDao featureDao) {
+
+		FeatureRow row = featureDao.newRow();
+		GeoPackageGeometryData geometry = GeoPackageGeometryData
+				.create(featureDao.getSrsId(), new Point(0, 0));
+		row.setGeometry(geometry);
+		return featureDao.insert(row);
+
+	}
+
+}
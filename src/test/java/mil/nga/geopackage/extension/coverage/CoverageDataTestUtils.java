@@ -6,6 +6,7 @@ import java.util.List;
 import junit.framework.TestCase;
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
+import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.srs.SpatialReferenceSystem;
 import mil.nga.geopackage.srs.SpatialReferenceSystemDao;
 import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
@@ -84,6 +85,9 @@ public class CoverageDataTestUtils {
 			TestCase.assertNotNull(value);
 		}
 
+		// Test getting the coverage data values of many coordinates
+		testBatchValues(coverageData2, projectedBoundingBox);
+
 		// Build a random bounding box
 		double minLatitude = (projectedBoundingBox.getMaxLatitude()
 				- projectedBoundingBox.getMinLatitude()) * Math.random()
@@ -265,10 +269,88 @@ public class CoverageDataTestUtils {
 				}
 			}
 
+			// Batch point values match single point values
+			testBatchValues(coverageData, boundingBox);
+
+			// Primitive grid results match the coverage data results
+			CoverageDataGrid grid = coverageData.getGrid(requestBoundingBox);
+			TestCase.assertNotNull(grid);
+			TestCase.assertEquals(specifiedWidth, grid.getWidth());
+			TestCase.assertEquals(specifiedHeight, grid.getHeight());
+			TestCase.assertEquals(values.getZoomLevel(), grid.getZoomLevel());
+			float[] floatValues = grid.getFloatValues();
+			for (int y = 0; y < specifiedHeight; y++) {
+				for (int x = 0; x < specifiedWidth; x++) {
+					Double value = values.getValue(y, x);
+					if (value == null) {
+						TestCase.assertFalse(grid.hasValue(y, x));
+						TestCase.assertTrue(Double.isNaN(grid.getValue(y, x)));
+					} else {
+						TestCase.assertTrue(grid.hasValue(y, x));
+						TestCase.assertEquals(value, grid.getValue(y, x), 0.0);
+						TestCase.assertEquals(value.floatValue(),
+								floatValues[y * specifiedWidth + x], 0.0f);
+					}
+				}
+			}
+
 		}
 
 	}
 
+	/**
+	 * Test the batch point coverage data values match the single point values
+	 * for random points within and outside of the bounding box
+	 * 
+	 * @param coverageData
+	 *            coverage data
+	 * @param boundingBox
+	 *            bounding box in the request projection
+	 */
+	private static void testBatchValues(CoverageData<?> coverageData,
+			BoundingBox boundingBox) {
+
+		int count = 50;
+		double[] latitudes = new double[count];
+		double[] longitudes = new double[count];
+		for (int i = 0; i < count - 2; i++) {
+			latitudes[i] = boundingBox.getMinLatitude()
+					+ boundingBox.getLatitudeRange() * Math.random();
+			longitudes[i] = boundingBox.getMinLongitude()
+					+ boundingBox.getLongitudeRange() * Math.random();
+		}
+
+		// Repeated point
+		latitudes[count - 2] = latitudes[0];
+		longitudes[count - 2] = longitudes[0];
+
+		// Point outside of the coverage data
+		latitudes[count - 1] = boundingBox.getMaxLatitude()
+				+ boundingBox.getLatitudeRange();
+		longitudes[count - 1] = boundingBox.getMaxLongitude()
+				+ boundingBox.getLongitudeRange();
+
+		double[] values = coverageData.getValues(latitudes, longitudes);
+		TestCase.assertEquals(count, values.length);
+		for (int i = 0; i < count; i++) {
+			Double value = coverageData.getValue(latitudes[i], longitudes[i]);
+			if (value == null) {
+				TestCase.assertTrue(Double.isNaN(values[i]));
+			} else {
+				TestCase.assertEquals(value, values[i], 0.0);
+			}
+		}
+		TestCase.assertEquals(values[0], values[count - 2], 0.0);
+		TestCase.assertTrue(Double.isNaN(values[count - 1]));
+
+		try {
+			coverageData.getValues(new double[1], new double[2]);
+			TestCase.fail("Mismatched coordinate lengths did not fail");
+		} catch (GeoPackageException e) {
+			// expected
+		}
+	}
+
 	/**
 	 * Get the coverage data value at the coordinate
 	 * 
@@ -418,6 +500,8 @@ public class CoverageDataTestUtils {
 					int tileHeight = (int) tileMatrix.getTileHeight();
 					int tileWidth = (int) tileMatrix.getTileWidth();
 
+					testTileValues(coverageData, griddedTile, tileRow);
+
 					int heightChunk = Math.max(tileHeight / 10, 1);
 					int widthChunk = Math.max(tileWidth / 10, 1);
 
@@ -467,4 +551,38 @@ public class CoverageDataTestUtils {
 
 	}
 
+	/**
+	 * Test the primitive tile values match the coverage data values of each
+	 * tile pixel
+	 * 
+	 * @param coverageData
+	 *            coverage data
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param tileRow
+	 *            tile row
+	 */
+	private static <TImage extends CoverageDataImage> void testTileValues(
+			CoverageData<TImage> coverageData, GriddedTile griddedTile,
+			TileRow tileRow) {
+
+		TImage image = coverageData.createImage(tileRow);
+		double[] values = coverageData.getTileValues(griddedTile, image);
+		TestCase.assertEquals(image.getWidth() * image.getHeight(),
+				values.length);
+
+		for (int y = 0; y < image.getHeight(); y++) {
+			for (int x = 0; x < image.getWidth(); x++) {
+				Double value = coverageData.getValue(griddedTile, image, x, y);
+				double primitiveValue = values[y * image.getWidth() + x];
+				if (value == null) {
+					TestCase.assertTrue(Double.isNaN(primitiveValue));
+				} else {
+					TestCase.assertEquals(value, primitiveValue, 0.0);
+				}
+			}
+		}
+
+	}
+
 }
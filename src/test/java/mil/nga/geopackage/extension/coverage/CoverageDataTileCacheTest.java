@@ -0,0 +1,211 @@
+package mil.nga.geopackage.extension.coverage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.CreateCoverageDataGeoPackageTestCase;
+import mil.nga.geopackage.db.StatementCache;
+import mil.nga.geopackage.tiles.user.TileDao;
+
+/**
+ * Test the decoded coverage data tile cache
+ *
+ * @author osbornb
+ */
+public class CoverageDataTileCacheTest
+		extends CreateCoverageDataGeoPackageTestCase {
+
+	/**
+	 * Constructor
+	 */
+	public CoverageDataTileCacheTest() {
+		super(true);
+	}
+
+	/**
+	 * Test repeated point and bounding box queries are served from the tile
+	 * cache with the same values as uncached queries
+	 *
+	 * @throws Exception
+	 *             upon error
+	 */
+	@Test
+	public void testTileCache() throws Exception {
+
+		List<String> coverageDataTables = CoverageData.getTables(geoPackage);
+		TestCase.assertFalse(coverageDataTables.isEmpty());
+
+		StatementCache statementCache = geoPackage.getConnection()
+				.getStatementCache();
+
+		for (String coverageTable : coverageDataTables) {
+
+			TileDao tileDao = geoPackage.getTileDao(coverageTable);
+			BoundingBox boundingBox = tileDao.getTileMatrixSet()
+					.getBoundingBox();
+
+			List<double[]> points = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				double latitude = boundingBox.getMinLatitude()
+						+ boundingBox.getLatitudeRange() * Math.random();
+				double longitude = boundingBox.getMinLongitude()
+						+ boundingBox.getLongitudeRange() * Math.random();
+				points.add(new double[] { latitude, longitude });
+			}
+			BoundingBox requestBoundingBox = new BoundingBox(
+					boundingBox.getMinLongitude()
+							+ boundingBox.getLongitudeRange() * 0.4,
+					boundingBox.getMinLatitude()
+							+ boundingBox.getLatitudeRange() * 0.4,
+					boundingBox.getMinLongitude()
+							+ boundingBox.getLongitudeRange() * 0.6,
+					boundingBox.getMinLatitude()
+							+ boundingBox.getLatitudeRange() * 0.6);
+
+			for (CoverageDataAlgorithm algorithm : CoverageDataAlgorithm
+					.values()) {
+
+				CoverageData<?> coverageData = CoverageData
+						.getCoverageData(geoPackage, tileDao);
+				coverageData.setAlgorithm(algorithm);
+				TestCase.assertNull(coverageData.getTileCache());
+				List<Double> expected = getValues(coverageData, points,
+						requestBoundingBox);
+
+				CoverageData<?> cachedCoverageData = CoverageData
+						.getCoverageData(geoPackage, tileDao);
+				cachedCoverageData.setAlgorithm(algorithm);
+				CoverageDataTileCache cache = cachedCoverageData
+						.enableTileCache();
+				TestCase.assertSame(cache,
+						cachedCoverageData.enableTileCache());
+				TestCase.assertEquals(CoverageDataTileCache.DEFAULT_MAX_BYTES,
+						cache.getMaxBytes());
+
+				// First queries decode and cache the tiles
+				long statements = statementCache.getHits()
+						+ statementCache.getMisses();
+				TestCase.assertEquals(expected, getValues(cachedCoverageData,
+						points, requestBoundingBox));
+				TestCase.assertTrue(statements < statementCache.getHits()
+						+ statementCache.getMisses());
+				TestCase.assertTrue(cache.size() > 0);
+				TestCase.assertTrue(cache.getMisses() > 0);
+				TestCase.assertTrue(cache.getBytes() > 0);
+				TestCase.assertEquals(0, cache.getEvictions());
+				long misses = cache.getMisses();
+				long hits = cache.getHits();
+
+				// Repeated queries do not query the database or decode tiles
+				statements = statementCache.getHits()
+						+ statementCache.getMisses();
+				TestCase.assertEquals(expected, getValues(cachedCoverageData,
+						points, requestBoundingBox));
+				TestCase.assertEquals(misses, cache.getMisses());
+				TestCase.assertTrue(cache.getHits() > hits);
+				TestCase.assertEquals(statements,
+						statementCache.getHits() + statementCache.getMisses());
+
+				// Evicted tiles are decoded again
+				cache.setMaxBytes(0);
+				TestCase.assertEquals(0, cache.size());
+				TestCase.assertEquals(0, cache.getBytes());
+				TestCase.assertTrue(cache.getEvictions() > 0);
+				TestCase.assertEquals(expected, getValues(cachedCoverageData,
+						points, requestBoundingBox));
+				TestCase.assertTrue(cache.getMisses() > misses);
+
+				cachedCoverageData.setTileCache(null);
+				TestCase.assertNull(cachedCoverageData.getTileCache());
+			}
+		}
+
+	}
+
+	/**
+	 * Test a tile cache shared by the coverage data of every table
+	 *
+	 * @throws Exception
+	 *             upon error
+	 */
+	@Test
+	public void testSharedTileCache() throws Exception {
+
+		List<String> coverageDataTables = CoverageData.getTables(geoPackage);
+		TestCase.assertFalse(coverageDataTables.isEmpty());
+
+		CoverageDataTileCache cache = new CoverageDataTileCache();
+
+		List<CoverageData<?>> cachedCoverageData = new ArrayList<>();
+		List<List<Double>> expected = new ArrayList<>();
+		List<double[]> points = new ArrayList<>();
+		List<BoundingBox> boundingBoxes = new ArrayList<>();
+		for (String coverageTable : coverageDataTables) {
+			TileDao tileDao = geoPackage.getTileDao(coverageTable);
+			BoundingBox boundingBox = tileDao.getTileMatrixSet()
+					.getBoundingBox();
+			points.add(new double[] { boundingBox.getMinLatitude()
+					+ boundingBox.getLatitudeRange() * 0.5,
+					boundingBox.getMinLongitude()
+							+ boundingBox.getLongitudeRange() * 0.5 });
+			boundingBoxes.add(boundingBox);
+			expected.add(getValues(
+					CoverageData.getCoverageData(geoPackage, tileDao),
+					points, boundingBox));
+			CoverageData<?> coverageData = CoverageData
+					.getCoverageData(geoPackage, tileDao);
+			coverageData.setTileCache(cache);
+			cachedCoverageData.add(coverageData);
+		}
+
+		// Tiles of the same coordinates in different tables are not shared
+		for (int pass = 0; pass < 2; pass++) {
+			for (int i = 0; i < cachedCoverageData.size(); i++) {
+				TestCase.assertEquals(expected.get(i),
+						getValues(cachedCoverageData.get(i), points,
+								boundingBoxes.get(i)));
+			}
+		}
+		TestCase.assertTrue(cache.getHits() > 0);
+
+		for (String coverageTable : coverageDataTables) {
+			cache.clear(coverageTable);
+		}
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals(0, cache.getBytes());
+
+	}
+
+	/**
+	 * Get the coverage data values of the points and bounding box
+	 *
+	 * @param coverageData
+	 *            coverage data
+	 * @param points
+	 *            latitude and longitude points
+	 * @param boundingBox
+	 *            bounding box
+	 * @return values
+	 */
+	private List<Double> getValues(CoverageData<?> coverageData,
+			List<double[]> points, BoundingBox boundingBox) {
+		List<Double> values = new ArrayList<>();
+		for (double[] point : points) {
+			values.add(coverageData.getValue(point[0], point[1]));
+		}
+		CoverageDataResults results = coverageData.getValues(boundingBox, 10,
+				10);
+		TestCase.assertNotNull(results);
+		for (int row = 0; row < results.getHeight(); row++) {
+			for (int column = 0; column < results.getWidth(); column++) {
+				values.add(results.getValue(row, column));
+			}
+		}
+		return values;
+	}
+
+}
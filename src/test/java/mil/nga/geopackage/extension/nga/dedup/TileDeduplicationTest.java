@@ -0,0 +1,252 @@
+package mil.nga.geopackage.extension.nga.dedup;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.CreateGeoPackageTestCase;
+import mil.nga.geopackage.tiles.GeoPackageTile;
+import mil.nga.geopackage.tiles.GeoPackageTileRetriever;
+import mil.nga.geopackage.tiles.ImageUtils;
+import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
+import mil.nga.geopackage.tiles.TileGenerator;
+import mil.nga.geopackage.tiles.user.TileDao;
+import mil.nga.geopackage.tiles.user.TileResultSet;
+import mil.nga.geopackage.tiles.user.TileRow;
+import mil.nga.proj.ProjectionConstants;
+import mil.nga.proj.ProjectionFactory;
+import mil.nga.sf.proj.GeometryTransform;
+
+/**
+ * Tile Deduplication Extension Tests
+ *
+ * @author osbornb
+ */
+public class TileDeduplicationTest extends CreateGeoPackageTestCase {
+
+	private static final String TABLE_NAME = "dedup_tiles";
+
+	/**
+	 * Test generating deduplicated tiles and reading them transparently
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testTileDeduplication() throws SQLException, IOException {
+
+		final byte[] transparentTile = createTile(null);
+		final byte[] filledTile = createTile(Color.BLUE);
+
+		BoundingBox boundingBox = TileBoundingBoxUtils
+				.boundWgs84BoundingBoxWithWebMercatorLimits(
+						BoundingBox.worldWGS84())
+				.transform(GeometryTransform.create(
+						ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM,
+						ProjectionConstants.EPSG_WEB_MERCATOR));
+		TileGenerator tileGenerator = new TileGenerator(geoPackage, TABLE_NAME,
+				1, 2, boundingBox,
+				ProjectionFactory.getCachelessProjection(
+						ProjectionConstants.EPSG_WEB_MERCATOR)) {
+
+			@Override
+			protected void preTileGeneration() {
+			}
+
+			@Override
+			protected byte[] createTile(int z, long x, long y) {
+				return x % 2 == 0 ? transparentTile : filledTile;
+			}
+		};
+		tileGenerator.setXYZTiles(true);
+		tileGenerator.setDeduplicate(true);
+
+		int tileCount = tileGenerator.getTileCount();
+		TestCase.assertEquals(tileCount, tileGenerator.generateTiles());
+
+		TileDao tileDao = geoPackage.getTileDao(TABLE_NAME);
+		TestCase.assertTrue(tileDao.isDeduplicated());
+		TestCase.assertEquals(tileCount, tileDao.count());
+
+		TileDeduplication deduplication = tileDao.getDeduplication();
+		TestCase.assertTrue(deduplication.has());
+		TestCase.assertEquals(tileCount - 2,
+				deduplication.countReferences());
+
+		// Queried tiles include the references
+		TileResultSet resultSet = tileDao.queryForTile(2);
+		try {
+			TestCase.assertEquals(tileDao.count(2), resultSet.getCount());
+			while (resultSet.moveToNext()) {
+				TileRow tileRow = resultSet.getRow();
+				byte[] expected = tileRow.getTileColumn() % 2 == 0
+						? transparentTile
+						: filledTile;
+				TestCase.assertTrue(
+						Arrays.equals(expected, tileRow.getTileData()));
+			}
+		} finally {
+			resultSet.close();
+		}
+		TestCase.assertTrue(Arrays.equals(filledTile,
+				tileDao.queryForTile(1, 0, 1).getTileData()));
+
+		GeoPackageTileRetriever retriever = new GeoPackageTileRetriever(
+				tileDao);
+		GeoPackageTile tile = retriever.getTile(1, 0, 1);
+		TestCase.assertNotNull(tile);
+		TestCase.assertEquals(256, tile.getWidth());
+
+		// The tile table holds only the tile images of each content
+		tileDao.setDeduplication(null);
+		TestCase.assertEquals(2, tileDao.count());
+		resultSet = tileDao.queryForAll();
+		try {
+			while (resultSet.moveToNext()) {
+				byte[] tileData = resultSet.getRow().getTileData();
+				TestCase.assertTrue(Arrays.equals(transparentTile, tileData)
+						|| Arrays.equals(filledTile, tileData));
+			}
+		} finally {
+			resultSet.close();
+		}
+		tileDao.setDeduplication(deduplication);
+
+		// Inserting an existing tile content inserts a reference
+		TileRow newRow = tileDao.newRow();
+		newRow.setZoomLevel(3);
+		newRow.setTileColumn(0);
+		newRow.setTileRow(0);
+		newRow.setTileData(filledTile);
+		long id = tileDao.create(newRow);
+		TestCase.assertTrue(id < 0);
+		TestCase.assertEquals(id, newRow.getId());
+		TestCase.assertEquals(tileCount - 1,
+				deduplication.countReferences());
+
+		// Updating a reference restores it as a tile row
+		TileRow referenceRow = tileDao.queryForTile(0, 0, 3);
+		TestCase.assertEquals(id, referenceRow.getId());
+		referenceRow.setTileData(transparentTile);
+		TestCase.assertEquals(1, tileDao.update(referenceRow));
+		TestCase.assertTrue(referenceRow.getId() > 0);
+		TestCase.assertTrue(Arrays.equals(transparentTile,
+				tileDao.queryForTile(0, 0, 3).getTileData()));
+		TestCase.assertEquals(tileCount - 2,
+				deduplication.countReferences());
+		TestCase.assertEquals(tileCount + 1, tileDao.count());
+
+		// Deleting a referenced tile row restores its references as tile rows
+		TileRow filledRow = tileDao.queryForTile(1, 0, 1);
+		TestCase.assertTrue(filledRow.getId() > 0);
+		TestCase.assertEquals(1, tileDao.deleteById(filledRow.getId()));
+		TestCase.assertNull(tileDao.queryForTile(1, 0, 1));
+		TestCase.assertEquals(tileCount, tileDao.count());
+		TestCase.assertTrue(deduplication.countReferences() < tileCount - 3);
+		TileRow restoredRow = tileDao.queryForTile(1, 1, 1);
+		TestCase.assertTrue(restoredRow.getId() > 0);
+		TestCase.assertTrue(
+				Arrays.equals(filledTile, restoredRow.getTileData()));
+
+		// Deleting references
+		TestCase.assertEquals(tileCount, tileDao.deleteAll());
+		TestCase.assertEquals(0, tileDao.count());
+		TestCase.assertEquals(0, deduplication.countReferences());
+
+	}
+
+	/**
+	 * Test removing the extension restores the references as tile rows
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testRemoveExtension() throws SQLException, IOException {
+
+		final byte[] filledTile = createTile(Color.RED);
+
+		BoundingBox boundingBox = TileBoundingBoxUtils
+				.boundWgs84BoundingBoxWithWebMercatorLimits(
+						BoundingBox.worldWGS84())
+				.transform(GeometryTransform.create(
+						ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM,
+						ProjectionConstants.EPSG_WEB_MERCATOR));
+		TileGenerator tileGenerator = new TileGenerator(geoPackage, TABLE_NAME,
+				1, boundingBox, ProjectionFactory.getCachelessProjection(
+						ProjectionConstants.EPSG_WEB_MERCATOR)) {
+
+			@Override
+			protected void preTileGeneration() {
+			}
+
+			@Override
+			protected byte[] createTile(int z, long x, long y) {
+				return filledTile;
+			}
+		};
+		tileGenerator.setXYZTiles(true);
+		tileGenerator.setDeduplicate(true);
+		TestCase.assertEquals(4, tileGenerator.generateTiles());
+
+		TileDeduplication deduplication = new TileDeduplication(geoPackage,
+				TABLE_NAME);
+		TestCase.assertTrue(deduplication.has());
+		TestCase.assertEquals(3, deduplication.countReferences());
+
+		deduplication.removeExtension();
+		TestCase.assertFalse(deduplication.has());
+		TestCase.assertFalse(
+				geoPackage.isTable(deduplication.getReferenceTableName()));
+		TestCase.assertFalse(
+				geoPackage.isTable(deduplication.getHashTableName()));
+		TestCase.assertFalse(geoPackage.isView(deduplication.getViewName()));
+
+		TileDao tileDao = geoPackage.getTileDao(TABLE_NAME);
+		TestCase.assertFalse(tileDao.isDeduplicated());
+		TileResultSet resultSet = tileDao.queryForAll();
+		try {
+			TestCase.assertEquals(4, resultSet.getCount());
+			while (resultSet.moveToNext()) {
+				TestCase.assertTrue(Arrays.equals(filledTile,
+						resultSet.getRow().getTileData()));
+			}
+		} finally {
+			resultSet.close();
+		}
+
+	}
+
+	/**
+	 * Create a tile image
+	 *
+	 * @param color
+	 *            fill color, null for transparent
+	 * @return PNG tile bytes
+	 * @throws IOException
+	 *             upon error
+	 */
+	private static byte[] createTile(Color color) throws IOException {
+		BufferedImage image = new BufferedImage(256, 256,
+				BufferedImage.TYPE_INT_ARGB);
+		if (color != null) {
+			Graphics2D graphics = image.createGraphics();
+			graphics.setColor(color);
+			graphics.fillRect(0, 0, 256, 256);
+			graphics.dispose();
+		}
+		return ImageUtils.writeImageToBytes(image, "png");
+	}
+
+}
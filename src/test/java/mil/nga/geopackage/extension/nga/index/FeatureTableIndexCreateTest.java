@@ -46,6 +46,19 @@ public class FeatureTableIndexCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test resuming a partial index
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testResumeIndex() throws SQLException {
+
+		FeatureTableIndexUtils.testResumeIndex(geoPackage);
+
+	}
+
 	/**
 	 * Test delete all table indices
 	 * 
@@ -300,6 +300,82 @@ public class FeatureTableIndexUtils {
 
 	}
 
+	/**
+	 * Test resuming a partial table index
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testResumeIndex(GeoPackage geoPackage)
+			throws SQLException {
+
+		List<String> featureTables = geoPackage.getFeatureTables();
+		for (String featureTable : featureTables) {
+
+			FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+			FeatureTableIndex featureTableIndex = new FeatureTableIndex(
+					geoPackage, featureDao);
+
+			if (featureTableIndex.isIndexed()) {
+				featureTableIndex.deleteIndex();
+			}
+
+			int expectedCount = 0;
+			FeatureResultSet featureResultSet = featureDao.queryForAll();
+			while (featureResultSet.moveToNext()) {
+				if (featureResultSet.getRow().getGeometryEnvelope() != null) {
+					expectedCount++;
+				}
+			}
+			featureResultSet.close();
+
+			int rows = featureDao.count();
+			if (rows < 2) {
+				continue;
+			}
+
+			// Cancel the index part way through
+			TestGeoPackageProgress progress = new TestGeoPackageProgress();
+			progress.setMax(rows / 2);
+			featureTableIndex.setProgress(progress);
+			featureTableIndex.setChunkLimit(3);
+			int partialCount = featureTableIndex.index();
+			TestCase.assertEquals(rows / 2, progress.getProgress());
+			TestCase.assertFalse(featureTableIndex.isIndexed());
+			TestCase.assertTrue(partialCount <= expectedCount);
+			TestCase.assertEquals(partialCount, featureTableIndex.count());
+
+			Long lastId = featureTableIndex.getLastIndexedId();
+			if (partialCount > 0) {
+				TestCase.assertNotNull(lastId);
+			}
+
+			// Resume the index
+			progress = new TestGeoPackageProgress();
+			featureTableIndex.setProgress(progress);
+			int resumeCount = featureTableIndex.resumeIndex();
+			TestCase.assertTrue(featureTableIndex.isIndexed());
+			TestCase.assertEquals(expectedCount, partialCount + resumeCount);
+			TestCase.assertEquals(expectedCount, featureTableIndex.count());
+			if (lastId != null) {
+				TestCase.assertEquals(featureDao.count(
+						featureDao.buildWhere(featureDao.getPkColumnName(),
+								lastId, ">"),
+						featureDao.buildWhereArgs(lastId)),
+						progress.getProgress());
+			}
+
+			// Resuming a complete index does nothing
+			TestCase.assertEquals(0, featureTableIndex.resumeIndex());
+			TestCase.assertEquals(expectedCount, featureTableIndex.count());
+
+			TestUtils.validateGeoPackage(geoPackage);
+		}
+
+	}
+
 	/**
 	 * Test table index delete all
 	 * 
@@ -40,6 +40,47 @@ import mil.nga.sf.util.GeometryUtils;
  */
 public class FeatureStylesUtils {
 
+	/**
+	 * Validate the feature style map resolves the same feature style as the
+	 * feature table styles
+	 *
+	 * @param featureStyleMap
+	 *            feature style map
+	 * @param featureTableStyles
+	 *            feature table styles
+	 * @param featureId
+	 *            feature id
+	 * @param geometryType
+	 *            geometry type
+	 */
+	private static void validateFeatureStyleMap(FeatureStyleMap featureStyleMap,
+			FeatureTableStyles featureTableStyles, long featureId,
+			GeometryType geometryType) {
+
+		FeatureStyle expected = featureTableStyles.getFeatureStyle(featureId,
+				geometryType);
+		FeatureStyle featureStyle = featureStyleMap.getFeatureStyle(featureId,
+				geometryType);
+		assertEquals(expected != null, featureStyle != null);
+		if (expected != null) {
+			assertEquals(expected.hasStyle(), featureStyle.hasStyle());
+			if (expected.hasStyle()) {
+				assertEquals(expected.getStyle().getId(),
+						featureStyle.getStyle().getId());
+				assertEquals(expected.getStyle().isTableStyle(),
+						featureStyle.getStyle().isTableStyle());
+			}
+			assertEquals(expected.hasIcon(), featureStyle.hasIcon());
+			if (expected.hasIcon()) {
+				assertEquals(expected.getIcon().getId(),
+						featureStyle.getIcon().getId());
+				assertEquals(expected.getIcon().isTableIcon(),
+						featureStyle.getIcon().isTableIcon());
+			}
+		}
+
+	}
+
 	/**
 	 * Test Feature Styles extension
 	 * 
@@ -388,6 +429,11 @@ public class FeatureStylesUtils {
 					TestCase.assertTrue(allIcons.containsKey(iconId));
 				}
 
+				FeatureStyleMap featureStyleMap = new FeatureStyleMap(
+						featureTableStyles);
+				TestCase.assertTrue(featureStyleMap.isAllFeatures());
+				Map<Long, GeometryType> featureGeometryTypes = new HashMap<>();
+
 				featureResultSet = featureDao.queryForAll();
 				while (featureResultSet.moveToNext()) {
 
@@ -402,6 +448,10 @@ public class FeatureStylesUtils {
 					boolean hasFeatureRowIcons = featureRowIcons != null;
 					FeatureStyle featureStyle = featureTableStyles
 							.getFeatureStyle(featureRow);
+					featureGeometryTypes.put(featureRowId,
+							featureRow.getGeometryType());
+					validateFeatureStyleMap(featureStyleMap, featureTableStyles,
+							featureRowId, featureRow.getGeometryType());
 					assertNotNull(featureStyle);
 					assertTrue(featureStyle.hasStyle());
 					assertNotNull(featureStyle.getStyle());
@@ -435,6 +485,37 @@ public class FeatureStylesUtils {
 				}
 				featureResultSet.close();
 
+				long[] featureIds = new long[featureGeometryTypes.size() / 2];
+				int index = 0;
+				for (long featureId : featureGeometryTypes.keySet()) {
+					if (index == featureIds.length) {
+						break;
+					}
+					featureIds[index++] = featureId;
+				}
+				FeatureStyleMap idsStyleMap = new FeatureStyleMap(
+						featureTableStyles, featureIds);
+				FeatureStyleMap subsetStyleMap = featureStyleMap
+						.forFeatures(featureIds);
+				TestCase.assertFalse(idsStyleMap.isAllFeatures());
+				TestCase.assertFalse(subsetStyleMap.isAllFeatures());
+				for (long featureId : featureIds) {
+					TestCase.assertTrue(idsStyleMap.contains(featureId));
+					TestCase.assertTrue(subsetStyleMap.contains(featureId));
+					GeometryType featureGeometryType = featureGeometryTypes
+							.get(featureId);
+					validateFeatureStyleMap(idsStyleMap, featureTableStyles,
+							featureId, featureGeometryType);
+					validateFeatureStyleMap(subsetStyleMap, featureTableStyles,
+							featureId, featureGeometryType);
+				}
+				TestCase.assertTrue(
+						idsStyleMap.size() <= featureStyleMap.size());
+				TestCase.assertEquals(idsStyleMap.size(),
+						subsetStyleMap.size());
+				TestCase.assertEquals(0, featureStyleMap
+						.forFeatures(new long[0]).size());
+
 			}
 
 			List<String> tables = featureStyleExtension.getTables();
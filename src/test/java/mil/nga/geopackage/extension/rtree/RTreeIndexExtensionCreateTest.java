@@ -46,6 +46,52 @@ public class RTreeIndexExtensionCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test RTree bulk load
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testBulkLoad() throws SQLException {
+
+		RTreeIndexExtensionUtils.testBulkLoad(geoPackage, false);
+
+	}
+
+	/**
+	 * Test RTree bulk load with geodesic
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testBulkLoadGeodesic() throws SQLException {
+
+		RTreeIndexExtensionUtils.testBulkLoad(geoPackage, true);
+
+	}
+
+	/**
+	 * Test the packed RTree
+	 */
+	@Test
+	public void testPackedRTree() {
+
+		RTreeIndexExtensionUtils.testPackedRTree(geoPackage);
+
+	}
+
+	/**
+	 * Test the envelope memo serves the geodesic envelope of a row
+	 */
+	@Test
+	public void testEnvelopeMemo() {
+
+		RTreeIndexExtensionUtils.testEnvelopeMemo();
+
+	}
+
 	@Override
 	public boolean allowEmptyFeatures() {
 		return false;
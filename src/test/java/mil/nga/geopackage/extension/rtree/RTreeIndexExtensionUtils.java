@@ -1,15 +1,25 @@
 package mil.nga.geopackage.extension.rtree;
 
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import junit.framework.TestCase;
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.extension.Extensions;
+import mil.nga.geopackage.features.index.FeatureIndexIdResults;
+import mil.nga.geopackage.features.index.FeatureIndexManager;
+import mil.nga.geopackage.features.index.FeatureIndexResults;
+import mil.nga.geopackage.features.index.FeatureIndexType;
 import mil.nga.geopackage.features.user.FeatureDao;
 import mil.nga.geopackage.features.user.FeatureRow;
 import mil.nga.geopackage.features.user.FeatureTable;
+import mil.nga.geopackage.io.TestGeoPackageProgress;
 import mil.nga.geopackage.user.custom.UserCustomResultSet;
 import mil.nga.proj.Projection;
 import mil.nga.proj.ProjectionConstants;
@@ -154,4 +164,261 @@ public class RTreeIndexExtensionUtils {
 
 	}
 
+	/**
+	 * Test bulk loading RTree indices, spilling and merging sorted chunks, and
+	 * compare them to the RTree indices loaded by SQL
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @param geodesic
+	 *            index using geodesic bounds
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testBulkLoad(GeoPackage geoPackage, boolean geodesic)
+			throws SQLException {
+
+		RTreeIndexExtension extension = new RTreeIndexExtension(geoPackage,
+				geodesic);
+
+		for (String featureTable : geoPackage.getFeatureTables()) {
+
+			FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+			FeatureTable table = featureDao.getTable();
+
+			if (extension.has(table)) {
+				extension.delete(table);
+			}
+			extension.create(table);
+			RTreeIndexTableDao tableDao = extension.getTableDao(featureDao);
+			Map<Long, double[]> expected = readRows(tableDao);
+			extension.delete(table);
+			TestCase.assertFalse(tableDao.has());
+
+			RTreeIndexBulkLoader loader = new RTreeIndexBulkLoader(extension,
+					featureDao);
+			loader.setChunkSize(3);
+			loader.setBatchSize(2);
+			TestGeoPackageProgress progress = new TestGeoPackageProgress();
+			loader.setProgress(progress);
+			TestCase.assertNotNull(loader.create());
+			TestCase.assertTrue(tableDao.has());
+			TestCase.assertEquals(expected.size(), progress.getProgress());
+
+			Map<Long, double[]> actual = readRows(tableDao);
+			TestCase.assertEquals(expected.size(), actual.size());
+			for (Map.Entry<Long, double[]> row : expected.entrySet()) {
+				TestCase.assertTrue(
+						Arrays.equals(row.getValue(), actual.get(row.getKey())));
+			}
+
+			// Triggers maintain the bulk loaded index
+			if (!actual.isEmpty()) {
+				long id = actual.keySet().iterator().next();
+				featureDao.delete(featureDao.getPkColumnName() + " = ?",
+						new String[] { String.valueOf(id) });
+				TestCase.assertEquals(actual.size() - 1, tableDao.count());
+			}
+
+			// Canceled bulk loads delete the partial index
+			extension.delete(table);
+			if (!actual.isEmpty()) {
+				TestGeoPackageProgress canceled = new TestGeoPackageProgress();
+				canceled.cancel();
+				loader.setProgress(canceled);
+				TestCase.assertNull(loader.create());
+				TestCase.assertFalse(tableDao.has());
+			}
+
+			tableDao.setBulk(true);
+			tableDao.setProgress(null);
+			TestCase.assertNotNull(tableDao.create());
+			TestCase.assertEquals(actual.size() - 1, tableDao.count());
+		}
+
+		testRTree(geoPackage, geodesic);
+
+		// The curve starts and ends at the bottom corners
+		TestCase.assertEquals(0, RTreeIndexBulkLoader.hilbertKey(0, 0));
+		TestCase.assertEquals((1L << 32) - 1,
+				RTreeIndexBulkLoader.hilbertKey(65535, 0));
+
+	}
+
+	/**
+	 * Test the packed RTree returns the same results as RTree queries
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 */
+	public static void testPackedRTree(GeoPackage geoPackage) {
+
+		RTreeIndexExtension extension = new RTreeIndexExtension(geoPackage);
+
+		for (String featureTable : geoPackage.getFeatureTables()) {
+
+			FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+			FeatureTable table = featureDao.getTable();
+
+			if (!extension.has(table)) {
+				extension.create(table);
+			}
+			RTreeIndexTableDao tableDao = extension.getTableDao(featureDao);
+			int count = tableDao.count();
+
+			for (int nodeSize : new int[] { 2, 3,
+					PackedRTree.DEFAULT_NODE_SIZE }) {
+
+				PackedRTree packedRTree = tableDao.createPackedRTree(nodeSize);
+				TestCase.assertEquals(nodeSize, packedRTree.getNodeSize());
+				TestCase.assertEquals(count, packedRTree.size());
+				TestCase.assertNotNull(packedRTree.getLoaded());
+
+				BoundingBox boundingBox = packedRTree.getBoundingBox();
+				if (count == 0) {
+					TestCase.assertNull(boundingBox);
+					TestCase.assertEquals(0, packedRTree
+							.query(new GeometryEnvelope(-180, -90, 180, 90)).length);
+					continue;
+				}
+				TestCase.assertEquals(tableDao.getBoundingBox(), boundingBox);
+
+				GeometryEnvelope envelope = boundingBox.buildEnvelope();
+				double midX = (envelope.getMinX() + envelope.getMaxX()) / 2.0;
+				double midY = (envelope.getMinY() + envelope.getMaxY()) / 2.0;
+				GeometryEnvelope[] queries = new GeometryEnvelope[] { envelope,
+						new GeometryEnvelope(envelope.getMinX(),
+								envelope.getMinY(), midX, midY),
+						new GeometryEnvelope(midX, midY, envelope.getMaxX(),
+								envelope.getMaxY()),
+						new GeometryEnvelope(midX, envelope.getMinY(), midX,
+								envelope.getMaxY()),
+						new GeometryEnvelope(envelope.getMaxX() + 1,
+								envelope.getMaxY() + 1, envelope.getMaxX() + 2,
+								envelope.getMaxY() + 2) };
+
+				for (GeometryEnvelope query : queries) {
+
+					Set<Long> expected = new HashSet<>();
+					UserCustomResultSet resultSet = tableDao.query(query);
+					try {
+						while (resultSet.moveToNext()) {
+							expected.add(tableDao.getRow(resultSet).getId());
+						}
+					} finally {
+						resultSet.close();
+					}
+
+					long[] ids = packedRTree.query(query);
+					Set<Long> actual = new HashSet<>();
+					for (long id : ids) {
+						TestCase.assertTrue(actual.add(id));
+					}
+					TestCase.assertEquals(expected, actual);
+					TestCase.assertEquals(ids.length,
+							packedRTree.count(query));
+				}
+			}
+
+			// Query through the feature index manager without SQL ids
+			FeatureIndexManager indexManager = new FeatureIndexManager(
+					geoPackage, featureDao);
+			try {
+				indexManager.setContinueOnError(false);
+				indexManager.prioritizeQueryLocation(
+						FeatureIndexType.PACKED_RTREE);
+				TestCase.assertFalse(
+						indexManager.isIndexed(FeatureIndexType.PACKED_RTREE));
+				TestCase.assertEquals(count,
+						indexManager.index(FeatureIndexType.PACKED_RTREE));
+				TestCase.assertTrue(
+						indexManager.isIndexed(FeatureIndexType.PACKED_RTREE));
+				TestCase.assertEquals(FeatureIndexType.PACKED_RTREE,
+						indexManager.getIndexedType());
+				TestCase.assertEquals(count, indexManager.count());
+
+				if (count > 0) {
+					GeometryEnvelope envelope = indexManager.getBoundingBox()
+							.buildEnvelope();
+					FeatureIndexResults results = indexManager
+							.query(envelope);
+					TestCase.assertTrue(
+							results instanceof FeatureIndexIdResults);
+					TestCase.assertEquals(count, results.count());
+					TestCase.assertEquals(count,
+							indexManager.count(envelope));
+					int rows = 0;
+					for (FeatureRow featureRow : results) {
+						TestCase.assertNotNull(featureRow);
+						rows++;
+					}
+					TestCase.assertEquals(count, rows);
+					results.close();
+				}
+
+				TestCase.assertTrue(
+						indexManager.deleteIndex(FeatureIndexType.PACKED_RTREE));
+				TestCase.assertNull(indexManager.getPackedRTree());
+				TestCase.assertTrue(tableDao.has());
+			} finally {
+				indexManager.close();
+			}
+		}
+
+	}
+
+	/**
+	 * Read the RTree index rows by id
+	 *
+	 * @param tableDao
+	 *            RTree index table DAO
+	 * @return bounds of min x, max x, min y, and max y by id
+	 */
+	private static Map<Long, double[]> readRows(RTreeIndexTableDao tableDao) {
+		Map<Long, double[]> rows = new HashMap<>();
+		UserCustomResultSet resultSet = tableDao.queryForAll();
+		try {
+			while (resultSet.moveToNext()) {
+				RTreeIndexTableRow row = tableDao.getRow(resultSet);
+				rows.put(row.getId(), new double[] { row.getMinX(),
+						row.getMaxX(), row.getMinY(), row.getMaxY() });
+			}
+		} finally {
+			resultSet.close();
+		}
+		return rows;
+	}
+
+	/**
+	 * Test the envelope memo serves the geodesic envelope of equal envelopes
+	 * and srs ids
+	 */
+	public static void testEnvelopeMemo() {
+
+		int srsId = ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM;
+		GeometryEnvelope envelope = new GeometryEnvelope(10.0, 20.0, 30.0,
+				40.0);
+		GeometryEnvelope geodesicEnvelope = new GeometryEnvelope(10.0, 19.0,
+				30.0, 41.0);
+
+		GeometryEnvelopeMemo memo = new GeometryEnvelopeMemo();
+		TestCase.assertNull(memo.get(envelope, srsId));
+
+		memo.put(envelope, srsId, geodesicEnvelope);
+
+		// Equal envelopes are served from the memo
+		TestCase.assertSame(geodesicEnvelope,
+				memo.get(new GeometryEnvelope(10.0, 20.0, 30.0, 40.0), srsId));
+
+		// Different envelopes or srs ids are not
+		TestCase.assertNull(memo.get(
+				new GeometryEnvelope(-30.0, 20.0, 30.0, 40.0), srsId));
+		TestCase.assertNull(memo.get(envelope,
+				ProjectionConstants.EPSG_WEB_MERCATOR));
+
+		memo.clear();
+		TestCase.assertNull(memo.get(envelope, srsId));
+
+	}
+
 }
@@ -1764,6 +1764,9 @@ public class FeatureIndexManagerUtils {
 		testTimedIndex(geoPackage, FeatureIndexType.RTREE, featureDao,
 				envelopes, .0000000001, .0001, compareProjectionCounts, .001,
 				verbose);
+		testTimedIndex(geoPackage, FeatureIndexType.PACKED_RTREE, featureDao,
+				envelopes, .0000000001, .0001, compareProjectionCounts, .001,
+				verbose);
 		testTimedIndex(geoPackage, FeatureIndexType.NONE, featureDao, envelopes,
 				.0000000001, compareProjectionCounts, .001, verbose);
 	}
@@ -2066,6 +2069,7 @@ public class FeatureIndexManagerUtils {
 
 		switch (type) {
 		case RTREE:
+		case PACKED_RTREE:
 
 			if (expectedCount != fullCount) {
 				int count = 0;
@@ -107,4 +107,43 @@ public class FeatureCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test bulk inserting
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testBulkInsert() throws SQLException {
+
+		FeatureUtils.testBulkInsert(geoPackage);
+
+	}
+
+	/**
+	 * Test manual queries
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testManualQuery() throws SQLException {
+
+		FeatureUtils.testManualQuery(geoPackage);
+
+	}
+
+	/**
+	 * Test parallel manual queries
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testManualQueryParallel() throws SQLException {
+
+		FeatureUtils.testManualQueryParallel(geoPackage);
+
+	}
+
 }
@@ -107,4 +107,17 @@ public class FeatureImportTest extends ImportGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test bulk inserting
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testBulkInsert() throws SQLException {
+
+		FeatureUtils.testBulkInsert(geoPackage);
+
+	}
+
 }
@@ -27,6 +27,8 @@ import mil.nga.geopackage.db.ResultUtils;
 import mil.nga.geopackage.db.SQLUtils;
 import mil.nga.geopackage.db.SQLiteQueryBuilder;
 import mil.nga.geopackage.db.TableColumnKey;
+import mil.nga.geopackage.extension.rtree.RTreeIndexExtension;
+import mil.nga.geopackage.extension.rtree.RTreeIndexTableDao;
 import mil.nga.geopackage.features.columns.GeometryColumns;
 import mil.nga.geopackage.features.columns.GeometryColumnsDao;
 import mil.nga.geopackage.geom.GeoPackageGeometryData;
@@ -1633,4 +1635,395 @@ public class FeatureUtils {
 
 	}
 
+	/**
+	 * Test bulk inserting feature rows with a deferred RTree index
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testBulkInsert(GeoPackage geoPackage)
+			throws SQLException {
+
+		SpatialReferenceSystem srs = geoPackage.getSpatialReferenceSystemDao()
+				.getOrCreateCode(ProjectionConstants.AUTHORITY_EPSG,
+						ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM);
+
+		GeometryColumns geometryColumns = new GeometryColumns();
+		geometryColumns.setId(new TableColumnKey("bulk_features", "geom"));
+		geometryColumns.setGeometryType(GeometryType.POINT);
+		geometryColumns.setZ((byte) 0);
+		geometryColumns.setM((byte) 0);
+		geometryColumns.setSrs(srs);
+
+		BoundingBox boundingBox = new BoundingBox(-180, -90, 180, 90);
+
+		String textColumn = "test_text";
+
+		List<FeatureColumn> additionalColumns = new ArrayList<FeatureColumn>();
+		additionalColumns.add(FeatureColumn.createColumn(textColumn,
+				GeoPackageDataType.TEXT));
+		geoPackage.createFeatureTable(FeatureTableMetadata.create(
+				geometryColumns, additionalColumns, boundingBox));
+
+		FeatureDao featureDao = geoPackage.getFeatureDao(geometryColumns);
+
+		RTreeIndexExtension rTree = new RTreeIndexExtension(geoPackage);
+		rTree.create(featureDao.getTable());
+		RTreeIndexTableDao rTreeDao = rTree.getTableDao(featureDao);
+
+		int count = 2500;
+		int nullGeometries = 0;
+
+		FeatureBulkInserter inserter = new FeatureBulkInserter(geoPackage,
+				featureDao);
+		inserter.setBatchSize(100);
+		inserter.setCommitLimit(1000);
+		inserter.setDeferRTree(true);
+		try {
+			for (int i = 0; i < count; i++) {
+				FeatureRow featureRow = featureDao.newRow();
+				// Vary the inserted columns to switch statements
+				if (i % 10 == 0) {
+					nullGeometries++;
+				} else {
+					featureRow.setGeometry(GeoPackageGeometryData.create(
+							srs.getSrsId(), new Point(i % 360 - 180.0,
+									i % 180 - 90.0)));
+				}
+				if (i % 2 == 0) {
+					featureRow.setValue(textColumn, "text " + i);
+				}
+				inserter.insert(featureRow);
+				TestCase.assertEquals(i + 1, inserter.getCount());
+			}
+		} finally {
+			inserter.close();
+		}
+
+		TestCase.assertEquals(count, featureDao.count());
+		TestCase.assertEquals(count / 2,
+				featureDao.count(textColumn + " IS NOT NULL"));
+		TestCase.assertEquals(nullGeometries, featureDao.count(
+				featureDao.getGeometryColumnName() + " IS NULL"));
+
+		// Verify the RTree index was loaded and the insert trigger restored
+		TestCase.assertTrue(rTree.has(featureDao.getTable()));
+		TestCase.assertEquals(count - nullGeometries,
+				rTreeDao.count());
+
+		FeatureRow featureRow = featureDao.newRow();
+		featureRow.setGeometry(
+				GeoPackageGeometryData.create(srs.getSrsId(), new Point(1, 1)));
+		featureDao.insert(featureRow);
+		TestCase.assertEquals(count - nullGeometries + 1,
+				rTreeDao.count());
+
+		// Bulk insert within a caller transaction
+		featureDao.beginTransaction();
+		try {
+			inserter = new FeatureBulkInserter(geoPackage,
+					featureDao.getTableName());
+			try {
+				for (int i = 0; i < 10; i++) {
+					FeatureRow row = featureDao.newRow();
+					row.setGeometry(GeoPackageGeometryData
+							.create(srs.getSrsId(), new Point(i, i)));
+					inserter.insert(row);
+				}
+			} finally {
+				inserter.close();
+			}
+			TestCase.assertTrue(featureDao.inTransaction());
+		} finally {
+			featureDao.endTransaction();
+		}
+		TestCase.assertEquals(count + 11, featureDao.count());
+		TestCase.assertEquals(count - nullGeometries + 11,
+				rTreeDao.count());
+
+		// Failed bulk inserts roll back the pending rows and restore the
+		// insert trigger
+		geoPackage.execSQL("CREATE TRIGGER bulk_features_fail BEFORE INSERT"
+				+ " ON bulk_features WHEN NEW." + textColumn
+				+ " = 'fail' BEGIN SELECT RAISE(ABORT, 'fail'); END");
+
+		int rowCount = featureDao.count();
+		int rTreeCount = rTreeDao.count();
+		testBulkInsertFailure(geoPackage, featureDao, srs, textColumn, 5);
+		TestCase.assertEquals(rowCount, featureDao.count());
+		TestCase.assertEquals(rTreeCount, rTreeDao.count());
+
+		// Rows committed before the failure are loaded into the RTree index
+		testBulkInsertFailure(geoPackage, featureDao, srs, textColumn, 12);
+		TestCase.assertEquals(rowCount + 10, featureDao.count());
+		TestCase.assertEquals(rTreeCount + 10, rTreeDao.count());
+
+		geoPackage.execSQL("DROP TRIGGER bulk_features_fail");
+
+		featureRow = featureDao.newRow();
+		featureRow.setGeometry(
+				GeoPackageGeometryData.create(srs.getSrsId(), new Point(2, 2)));
+		featureDao.insert(featureRow);
+		TestCase.assertEquals(rTreeCount + 11, rTreeDao.count());
+
+		// Only the rows inserted by the bulk load are indexed
+		String rTreeTable = "rtree_" + featureDao.getTableName() + "_"
+				+ featureDao.getGeometryColumnName();
+		geoPackage.execSQL("DELETE FROM " + rTreeTable
+				+ " WHERE id = (SELECT MIN(id) FROM " + rTreeTable + ")");
+		inserter = new FeatureBulkInserter(geoPackage, featureDao);
+		inserter.setDeferRTree(true);
+		try {
+			for (int i = 0; i < 3; i++) {
+				FeatureRow row = featureDao.newRow();
+				row.setGeometry(GeoPackageGeometryData.create(srs.getSrsId(),
+						new Point(i, i)));
+				inserter.insert(row);
+			}
+		} finally {
+			inserter.close();
+		}
+		TestCase.assertEquals(rTreeCount + 13, rTreeDao.count());
+
+	}
+
+	/**
+	 * Bulk insert rows committing every five rows, failing on the last row
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @param featureDao
+	 *            feature DAO
+	 * @param srs
+	 *            spatial reference system
+	 * @param textColumn
+	 *            text column failing the insert
+	 * @param rows
+	 *            number of rows
+	 */
+	private static void testBulkInsertFailure(GeoPackage geoPackage,
+			FeatureDao featureDao, SpatialReferenceSystem srs,
+			String textColumn, int rows) {
+		FeatureBulkInserter inserter = new FeatureBulkInserter(geoPackage,
+				featureDao);
+		inserter.setBatchSize(5);
+		inserter.setCommitLimit(5);
+		inserter.setDeferRTree(true);
+		try {
+			try {
+				for (int i = 0; i < rows; i++) {
+					FeatureRow row = featureDao.newRow();
+					row.setGeometry(GeoPackageGeometryData
+							.create(srs.getSrsId(), new Point(i, i)));
+					if (i == rows - 1) {
+						row.setValue(textColumn, "fail");
+					}
+					inserter.insert(row);
+				}
+			} finally {
+				inserter.close();
+			}
+			TestCase.fail("Bulk insert did not fail");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+		TestCase.assertFalse(featureDao.inTransaction());
+	}
+
+	/**
+	 * Test manual queries paging through a feature table with id gaps in
+	 * small chunks
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testManualQuery(GeoPackage geoPackage)
+			throws SQLException {
+
+		FeatureDao featureDao = createManualFeatures(geoPackage);
+		int count = featureDao.count();
+
+		ManualFeatureQuery singleChunk = new ManualFeatureQuery(featureDao);
+		singleChunk.setChunkLimit(count + 1);
+		ManualFeatureQuery smallChunks = new ManualFeatureQuery(featureDao);
+		smallChunks.setChunkLimit(3);
+
+		BoundingBox boundingBox = singleChunk.getBoundingBox();
+		TestCase.assertNotNull(boundingBox);
+		TestCase.assertEquals(new BoundingBox(-49, -20, 47, 18), boundingBox);
+		TestCase.assertEquals(boundingBox, smallChunks.getBoundingBox());
+
+		BoundingBox queryBoundingBox = new BoundingBox(-30, -10, 30, 10);
+		List<Long> expectedIds = getIds(singleChunk.query(queryBoundingBox));
+		TestCase.assertFalse(expectedIds.isEmpty());
+		TestCase.assertEquals(expectedIds,
+				getIds(smallChunks.query(queryBoundingBox)));
+
+		String where = featureDao.buildWhere(featureDao.getPkColumnName(), 40,
+				">=");
+		String[] whereArgs = featureDao.buildWhereArgs(40);
+		List<Long> expectedWhereIds = getIds(
+				singleChunk.query(queryBoundingBox, where, whereArgs));
+		TestCase.assertFalse(expectedWhereIds.isEmpty());
+		TestCase.assertTrue(expectedWhereIds.size() < expectedIds.size());
+		TestCase.assertEquals(expectedWhereIds, getIds(
+				smallChunks.query(queryBoundingBox, where, whereArgs)));
+
+		int limit = 4;
+		for (int offset = 0; offset < expectedIds.size(); offset += limit) {
+			List<Long> chunkIds = getIds(smallChunks.queryForChunk(false,
+					null, queryBoundingBox.buildEnvelope(), null, null, null,
+					limit, offset));
+			TestCase.assertEquals(expectedIds.subList(offset,
+					Math.min(offset + limit, expectedIds.size())), chunkIds);
+		}
+
+	}
+
+	/**
+	 * Test parallel manual queries scanning primary key ranges on pooled read
+	 * connections, reusing the worker threads across queries
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testManualQueryParallel(GeoPackage geoPackage)
+			throws SQLException {
+
+		FeatureDao featureDao = createManualFeatures(geoPackage);
+
+		ManualFeatureQuery serial = new ManualFeatureQuery(featureDao);
+		BoundingBox queryBoundingBox = new BoundingBox(-30, -10, 30, 10);
+		List<Long> expectedIds = getIds(serial.query(queryBoundingBox));
+		TestCase.assertFalse(expectedIds.isEmpty());
+		String where = featureDao.buildWhere(featureDao.getPkColumnName(), 40,
+				">=");
+		String[] whereArgs = featureDao.buildWhereArgs(40);
+		List<Long> expectedWhereIds = getIds(
+				serial.query(queryBoundingBox, where, whereArgs));
+		TestCase.assertFalse(expectedWhereIds.isEmpty());
+
+		geoPackage.getConnection().enableWriteAheadLogging(4);
+		ManualFeatureQuery parallel = new ManualFeatureQuery(featureDao);
+		parallel.setChunkLimit(3);
+		parallel.setThreads(3);
+		TestCase.assertTrue(parallel.isParallel());
+		int idleWorkers = countWorkerThreads();
+		try {
+			TestCase.assertEquals(expectedIds,
+					getIds(parallel.query(queryBoundingBox)));
+			int workers = countWorkerThreads();
+			TestCase.assertTrue(workers > idleWorkers);
+			TestCase.assertTrue(workers <= idleWorkers + 3);
+
+			// Later queries reuse the worker threads
+			for (int i = 0; i < 5; i++) {
+				TestCase.assertEquals(expectedWhereIds, getIds(
+						parallel.query(queryBoundingBox, where, whereArgs)));
+				TestCase.assertEquals(expectedIds.size(),
+						parallel.count(queryBoundingBox));
+			}
+			TestCase.assertEquals(workers, countWorkerThreads());
+			TestCase.assertEquals(0, geoPackage.getConnection()
+					.getReadConnectionPool().getBusyCount());
+
+			// Changing the threads replaces the worker threads
+			parallel.setThreads(2);
+			TestCase.assertEquals(expectedIds,
+					getIds(parallel.query(queryBoundingBox)));
+		} finally {
+			parallel.close();
+		}
+
+		// Closed queries start new worker threads when queried again
+		TestCase.assertEquals(expectedIds,
+				getIds(parallel.query(queryBoundingBox)));
+		parallel.close();
+
+	}
+
+	/**
+	 * Count the live manual feature query worker threads
+	 * 
+	 * @return worker thread count
+	 */
+	private static int countWorkerThreads() {
+		int count = 0;
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.isAlive() && thread.getName()
+					.startsWith("geopackage-manual-query-")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Create a manual query feature table of points, some without geometries,
+	 * with gaps in the ids
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @return feature DAO
+	 * @throws SQLException
+	 *             upon error
+	 */
+	private static FeatureDao createManualFeatures(GeoPackage geoPackage)
+			throws SQLException {
+
+		SpatialReferenceSystem srs = geoPackage.getSpatialReferenceSystemDao()
+				.getOrCreateCode(ProjectionConstants.AUTHORITY_EPSG,
+						ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM);
+
+		GeometryColumns geometryColumns = new GeometryColumns();
+		geometryColumns.setId(new TableColumnKey("manual_features", "geom"));
+		geometryColumns.setGeometryType(GeometryType.POINT);
+		geometryColumns.setZ((byte) 0);
+		geometryColumns.setM((byte) 0);
+		geometryColumns.setSrs(srs);
+
+		geoPackage.createFeatureTable(FeatureTableMetadata.create(
+				geometryColumns, new BoundingBox(-180, -90, 180, 90)));
+		FeatureDao featureDao = geoPackage.getFeatureDao(geometryColumns);
+
+		for (int i = 0; i < 100; i++) {
+			FeatureRow featureRow = featureDao.newRow();
+			if (i % 7 != 0) {
+				featureRow.setGeometry(GeoPackageGeometryData.create(
+						srs.getSrsId(), new Point(i - 50.0, i % 40 - 20.0)));
+			}
+			featureDao.insert(featureRow);
+		}
+
+		// Leave gaps in the ids
+		featureDao.delete(featureDao.getPkColumnName() + " % 5 = 0", null);
+
+		return featureDao;
+	}
+
+	/**
+	 * Get the feature ids of the manual query results
+	 * 
+	 * @param results
+	 *            manual feature query results
+	 * @return feature ids
+	 */
+	private static List<Long> getIds(ManualFeatureQueryResults results) {
+		List<Long> ids = new ArrayList<>();
+		try {
+			for (long id : results.ids()) {
+				ids.add(id);
+			}
+		} finally {
+			results.close();
+		}
+		return ids;
+	}
+
 }
@@ -152,6 +152,147 @@ public class GeoPackageGeometryDataUtils {
 
 	}
 
+	/**
+	 * Test reading geometry envelopes from the geometry bytes, with and
+	 * without header envelopes
+	 * 
+	 * @param geoPackage
+	 * @throws SQLException
+	 * @throws IOException
+	 */
+	public static void testReadEnvelope(GeoPackage geoPackage)
+			throws SQLException, IOException {
+
+		GeometryColumnsDao geometryColumnsDao = geoPackage
+				.getGeometryColumnsDao();
+
+		if (geometryColumnsDao.isTableExists()) {
+			List<GeometryColumns> results = geometryColumnsDao.queryForAll();
+
+			for (GeometryColumns geometryColumns : results) {
+
+				FeatureDao dao = geoPackage.getFeatureDao(geometryColumns);
+				TestCase.assertNotNull(dao);
+
+				FeatureResultSet resultSet = dao.queryForAll();
+				try {
+					while (resultSet.moveToNext()) {
+
+						GeoPackageGeometryData geometryData = resultSet
+								.getGeometry();
+						if (geometryData == null) {
+							TestCase.assertNull(
+									resultSet.getGeometryEnvelope());
+							continue;
+						}
+
+						compareEnvelopeBounds(
+								geometryData.getOrBuildEnvelope(),
+								resultSet.getGeometryEnvelope());
+						compareEnvelopeBounds(
+								geometryData.getOrBuildEnvelope(),
+								GeometryEnvelopeReader
+										.readEnvelope(geometryData.getBytes()));
+						TestCase.assertEquals(geometryData.getSrsId(),
+								GeometryEnvelopeReader
+										.readSrsId(geometryData.getBytes()));
+						TestCase.assertEquals(
+								geometryData.isEmpty()
+										|| geometryData.getGeometry() == null,
+								GeometryEnvelopeReader
+										.readEmpty(geometryData.getBytes()));
+
+						// Remove the header envelope to scan the geometry
+						// bytes, in both byte orders
+						for (ByteOrder byteOrder : new ByteOrder[] {
+								ByteOrder.BIG_ENDIAN,
+								ByteOrder.LITTLE_ENDIAN }) {
+							GeoPackageGeometryData noEnvelope = resultSet
+									.getGeometry();
+							noEnvelope.setEnvelope(null);
+							noEnvelope.setByteOrder(byteOrder);
+							byte[] bytes = noEnvelope.toBytes();
+							compareEnvelopeBounds(
+									GeoPackageGeometryData.create(bytes)
+											.getOrBuildEnvelope(),
+									GeometryEnvelopeReader
+											.readEnvelope(bytes));
+							TestCase.assertEquals(geometryData.getSrsId(),
+									GeometryEnvelopeReader.readSrsId(bytes));
+						}
+					}
+				} finally {
+					resultSet.close();
+				}
+			}
+		}
+
+		Polygon polygon = new Polygon(true, false);
+		LineString ring = new LineString(true, false);
+		ring.addPoint(new Point(-10.0, -5.0, 1.0));
+		ring.addPoint(new Point(20.0, -5.0, 2.0));
+		ring.addPoint(new Point(20.0, 15.0, 3.0));
+		ring.addPoint(new Point(-10.0, -5.0, 1.0));
+		polygon.addRing(ring);
+		GeometryCollection<Geometry> collection = new GeometryCollection<>(
+				true, false);
+		collection.addGeometry(polygon);
+		collection.addGeometry(new Point(30.0, -25.0, -4.0));
+
+		GeoPackageGeometryData geometryData = GeoPackageGeometryData
+				.create(collection);
+		GeometryEnvelope envelope = GeometryEnvelopeReader
+				.readEnvelope(geometryData.toBytes());
+		TestCase.assertNotNull(envelope);
+		TestCase.assertEquals(-10.0, envelope.getMinX());
+		TestCase.assertEquals(30.0, envelope.getMaxX());
+		TestCase.assertEquals(-25.0, envelope.getMinY());
+		TestCase.assertEquals(15.0, envelope.getMaxY());
+		TestCase.assertTrue(envelope.hasZ());
+		TestCase.assertEquals(-4.0, envelope.getMinZ());
+		TestCase.assertEquals(3.0, envelope.getMaxZ());
+
+		TestCase.assertFalse(
+				GeometryEnvelopeReader.readEmpty(geometryData.toBytes()));
+
+		GeoPackageGeometryData emptyData = new GeoPackageGeometryData(
+				ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM);
+		byte[] emptyBytes = emptyData.toBytes();
+		GeoPackageGeometryData emptyRead = GeoPackageGeometryData
+				.create(emptyBytes);
+		TestCase.assertEquals(
+				emptyRead.isEmpty() || emptyRead.getGeometry() == null,
+				GeometryEnvelopeReader.readEmpty(emptyBytes));
+		TestCase.assertEquals(ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM,
+				GeometryEnvelopeReader.readSrsId(emptyBytes));
+
+		TestCase.assertNull(GeometryEnvelopeReader.readEnvelope(null));
+		TestCase.assertNull(GeometryEnvelopeReader.readEnvelope(
+				GeoPackageGeometryData.create(new Polygon()).toBytes()));
+
+	}
+
+	/**
+	 * Compare the x and y bounds of two geometry envelopes
+	 * 
+	 * @param expected
+	 * @param actual
+	 */
+	private static void compareEnvelopeBounds(GeometryEnvelope expected,
+			GeometryEnvelope actual) {
+
+		if (expected == null) {
+			TestCase.assertNull(actual);
+		} else {
+			TestCase.assertNotNull(actual);
+			TestCase.assertEquals(expected.getMinX(), actual.getMinX());
+			TestCase.assertEquals(expected.getMaxX(), actual.getMaxX());
+			TestCase.assertEquals(expected.getMinY(), actual.getMinY());
+			TestCase.assertEquals(expected.getMaxY(), actual.getMaxY());
+		}
+
+	}
+
 	/**
 	 * Test transforming geometries between projections
 	 * 
@@ -0,0 +1,291 @@
+package mil.nga.geopackage.tiles;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.LoadGeoPackageTestCase;
+import mil.nga.geopackage.TestConstants;
+import mil.nga.geopackage.tiles.user.TileDao;
+import mil.nga.geopackage.tiles.user.TileResultSet;
+import mil.nga.geopackage.tiles.user.TileRow;
+import mil.nga.geopackage.tiles.user.TileTable;
+
+/**
+ * Test the decoded tile image cache of Tile Creators
+ *
+ * @author osbornb
+ */
+public class TileImageCacheTest extends LoadGeoPackageTestCase {
+
+	/**
+	 * Constructor
+	 */
+	public TileImageCacheTest() {
+		super(TestConstants.TILES2_DB_FILE_NAME);
+	}
+
+	/**
+	 * Test reprojected tiles from a shared image cache match uncached tiles
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testRetrieverCache() throws SQLException {
+
+		TileDao tileDao = geoPackage
+				.getTileDao(TestConstants.TILES2_DB_TABLE_NAME);
+		TestCase.assertNull(tileDao.getImageCache());
+
+		int zoom = 4;
+		List<int[]> coordinates = new ArrayList<>();
+		for (int y = 3; y <= 6; y++) {
+			for (int x = 0; x <= 3; x++) {
+				coordinates.add(new int[] { x, y });
+			}
+		}
+
+		GeoPackageTileRetriever retriever = new GeoPackageTileRetriever(
+				tileDao, 256, 256, "png");
+		List<int[]> expected = new ArrayList<>();
+		for (int[] coordinate : coordinates) {
+			GeoPackageTile tile = retriever.getTile(coordinate[0],
+					coordinate[1], zoom);
+			expected.add(tile != null ? getPixels(tile) : null);
+		}
+
+		TileImageCache cache = tileDao.enableImageCache();
+		TestCase.assertSame(cache, tileDao.getImageCache());
+		TestCase.assertSame(cache, tileDao.enableImageCache());
+		TestCase.assertEquals(TileImageCache.DEFAULT_MAX_BYTES,
+				cache.getMaxBytes());
+
+		GeoPackageTileRetriever retriever1 = new GeoPackageTileRetriever(
+				tileDao, 256, 256, "png");
+		assertTiles(retriever1, zoom, coordinates, expected);
+
+		// Neighboring requests share source tiles
+		long misses = cache.getMisses();
+		TestCase.assertTrue(misses > 0);
+		TestCase.assertEquals(misses, cache.size());
+		TestCase.assertTrue(cache.getHits() > 0);
+		TestCase.assertTrue(cache.getBytes() > 0);
+		TestCase.assertTrue(cache.getBytes() <= cache.getMaxBytes());
+		TestCase.assertEquals(0, cache.getEvictions());
+
+		// A second retriever on the same DAO decodes no tiles
+		GeoPackageTileRetriever retriever2 = new GeoPackageTileRetriever(
+				tileDao, 256, 256, "png");
+		long hits = cache.getHits();
+		assertTiles(retriever2, zoom, coordinates, expected);
+		TestCase.assertEquals(misses, cache.getMisses());
+		TestCase.assertTrue(cache.getHits() > hits);
+		TestCase.assertTrue(cache.getHitRate() > 0.5);
+
+		// Shrink the cache to evict images
+		cache.setMaxBytes(cache.getBytes() / 2);
+		TestCase.assertTrue(cache.getEvictions() > 0);
+		TestCase.assertTrue(cache.getBytes() <= cache.getMaxBytes());
+		assertTiles(retriever2, zoom, coordinates, expected);
+		TestCase.assertTrue(cache.getMisses() > misses);
+
+		cache.clear(TestConstants.TILES2_DB_TABLE_NAME);
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals(0, cache.getBytes());
+
+		tileDao.setImageCache(null);
+		cache.resetStats();
+		assertTiles(retriever2, zoom, coordinates, expected);
+		TestCase.assertEquals(0, cache.getHits());
+		TestCase.assertEquals(0, cache.getMisses());
+
+	}
+
+	/**
+	 * Test tiles written through the DAO are removed from the image cache
+	 *
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testDaoWrites() throws IOException {
+
+		TileDao tileDao = geoPackage
+				.getTileDao(TestConstants.TILES2_DB_TABLE_NAME);
+		String tableName = tileDao.getTableName();
+		TileImageCache cache = tileDao.enableImageCache();
+
+		List<TileRow> tileRows = new ArrayList<>();
+		TileResultSet resultSet = tileDao.queryForTile(4);
+		try {
+			while (resultSet.moveToNext() && tileRows.size() < 3) {
+				tileRows.add(resultSet.getRow());
+			}
+		} finally {
+			resultSet.close();
+		}
+		TestCase.assertEquals(3, tileRows.size());
+		for (TileRow tileRow : tileRows) {
+			cache.getImage(tableName, tileRow);
+		}
+		TestCase.assertEquals(3, cache.size());
+
+		// Updated tiles are removed
+		TileRow tileRow = tileRows.get(0);
+		TestCase.assertEquals(1, tileDao.update(tileRow));
+		TestCase.assertFalse(isCached(cache, tableName, tileRow));
+		TestCase.assertEquals(2, cache.size());
+
+		// Moved tiles are removed from the previous and new locations
+		cache.getImage(tableName, tileRow);
+		TileRow movedRow = tileRows.get(1);
+		cache.put(tableName, movedRow.getZoomLevel(), 100,
+				movedRow.getTileRow(), cache.get(tableName,
+						movedRow.getZoomLevel(), movedRow.getTileColumn(),
+						movedRow.getTileRow()));
+		long movedColumn = movedRow.getTileColumn();
+		movedRow.setTileColumn(100);
+		TestCase.assertEquals(1, tileDao.update(movedRow));
+		TestCase.assertNull(cache.get(tableName, movedRow.getZoomLevel(),
+				movedColumn, movedRow.getTileRow()));
+		TestCase.assertFalse(isCached(cache, tableName, movedRow));
+		TestCase.assertEquals(2, cache.size());
+
+		// Deleted tiles are removed
+		TestCase.assertEquals(1, tileDao.deleteTile(tileRow.getTileColumn(),
+				tileRow.getTileRow(), tileRow.getZoomLevel()));
+		TestCase.assertFalse(isCached(cache, tableName, tileRow));
+		TestCase.assertEquals(1, cache.size());
+
+		cache.getImage(tableName, movedRow);
+		TestCase.assertEquals(1, tileDao.deleteById(movedRow.getId()));
+		TestCase.assertFalse(isCached(cache, tableName, movedRow));
+		TestCase.assertEquals(1, cache.size());
+
+		// Created tiles replace any cached image
+		cache.getImage(tableName, movedRow);
+		tileDao.create(movedRow);
+		TestCase.assertFalse(isCached(cache, tableName, movedRow));
+
+		// Writes by where clause remove all images of the table
+		cache.getImage(tableName, movedRow);
+		cache.put("other", 0, 0, 0, cache.get(tableName,
+				movedRow.getZoomLevel(), movedRow.getTileColumn(),
+				movedRow.getTileRow()));
+		tileDao.delete(tileDao.buildWhere(TileTable.COLUMN_TILE_COLUMN, 100),
+				tileDao.buildWhereArgs(100));
+		TestCase.assertEquals(1, cache.size());
+		TestCase.assertNotNull(cache.get("other", 0, 0, 0));
+
+	}
+
+	/**
+	 * Check if the image of the tile row is cached
+	 *
+	 * @param cache
+	 *            image cache
+	 * @param tableName
+	 *            tile table name
+	 * @param tileRow
+	 *            tile row
+	 * @return true if cached
+	 */
+	private boolean isCached(TileImageCache cache, String tableName,
+			TileRow tileRow) {
+		return cache.get(tableName, tileRow.getZoomLevel(),
+				tileRow.getTileColumn(), tileRow.getTileRow()) != null;
+	}
+
+	/**
+	 * Test least recently used eviction by pixel bytes
+	 */
+	@Test
+	public void testEviction() {
+
+		BufferedImage image = new BufferedImage(16, 16,
+				BufferedImage.TYPE_INT_ARGB);
+		long imageBytes = 16 * 16 * 4;
+		TestCase.assertEquals(imageBytes, TileImageCache.getBytes(image));
+
+		TileImageCache cache = new TileImageCache(imageBytes * 2);
+		cache.put("table", 0, 0, 0, image);
+		cache.put("table", 0, 1, 0, image);
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertEquals(imageBytes * 2, cache.getBytes());
+
+		// Access the first image to make the second least recently used
+		TestCase.assertNotNull(cache.get("table", 0, 0, 0));
+		cache.put("table", 0, 2, 0, image);
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertEquals(1, cache.getEvictions());
+		TestCase.assertNotNull(cache.get("table", 0, 0, 0));
+		TestCase.assertNull(cache.get("table", 0, 1, 0));
+		TestCase.assertNotNull(cache.get("table", 0, 2, 0));
+
+		// Replacing an image does not change the weight
+		cache.put("table", 0, 2, 0, image);
+		TestCase.assertEquals(imageBytes * 2, cache.getBytes());
+
+		// Images larger than the cache are not cached
+		cache.put("table", 1, 0, 0,
+				new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB));
+		TestCase.assertNull(cache.get("table", 1, 0, 0));
+		TestCase.assertEquals(2, cache.size());
+
+		TestCase.assertSame(image, cache.remove("table", 0, 0, 0));
+		TestCase.assertEquals(imageBytes, cache.getBytes());
+		cache.clear();
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals(0, cache.getBytes());
+
+	}
+
+	/**
+	 * Assert the retrieved tiles match the expected tile pixels
+	 *
+	 * @param retriever
+	 *            tile retriever
+	 * @param zoom
+	 *            zoom level
+	 * @param coordinates
+	 *            tile coordinates
+	 * @param expected
+	 *            expected tile pixels
+	 */
+	private void assertTiles(GeoPackageTileRetriever retriever, int zoom,
+			List<int[]> coordinates, List<int[]> expected) {
+		for (int i = 0; i < coordinates.size(); i++) {
+			int[] coordinate = coordinates.get(i);
+			GeoPackageTile tile = retriever.getTile(coordinate[0],
+					coordinate[1], zoom);
+			if (expected.get(i) == null) {
+				TestCase.assertNull(tile);
+			} else {
+				TestCase.assertNotNull(tile);
+				TestCase.assertTrue(
+						Arrays.equals(expected.get(i), getPixels(tile)));
+			}
+		}
+	}
+
+	/**
+	 * Get the ARGB pixels of the tile image
+	 *
+	 * @param tile
+	 *            tile
+	 * @return pixels
+	 */
+	private int[] getPixels(GeoPackageTile tile) {
+		BufferedImage image = tile.getImage();
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null,
+				0, image.getWidth());
+	}
+
+}
@@ -0,0 +1,188 @@
+package mil.nga.geopackage.tiles;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.CreateGeoPackageTestCase;
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.tiles.features.FeatureTileGenerator;
+import mil.nga.geopackage.tiles.features.FeatureTileUtils;
+import mil.nga.geopackage.tiles.features.FeatureTiles;
+import mil.nga.geopackage.tiles.matrix.TileMatrix;
+import mil.nga.geopackage.tiles.user.TileDao;
+import mil.nga.geopackage.tiles.user.TileResultSet;
+import mil.nga.geopackage.tiles.user.TileRow;
+import mil.nga.proj.ProjectionConstants;
+import mil.nga.proj.ProjectionFactory;
+
+/**
+ * Test passing through stored tiles aligned with XYZ tile requests
+ *
+ * @author osbornb
+ */
+public class TilePassthroughTest extends CreateGeoPackageTestCase {
+
+	/**
+	 * Test aligned requests return the stored tile bytes
+	 *
+	 * @throws IOException
+	 *             upon error
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testPassthrough() throws IOException, SQLException {
+
+		TileDao tileDao = createTiles();
+
+		GeoPackageTileRetriever retriever = new GeoPackageTileRetriever(
+				tileDao, ImageUtils.IMAGE_FORMAT_PNG);
+		TestCase.assertFalse(retriever.isPassthrough());
+		GeoPackageTileRetriever passthroughRetriever = new GeoPackageTileRetriever(
+				tileDao, ImageUtils.IMAGE_FORMAT_PNG);
+		passthroughRetriever.setPassthrough(true);
+		TestCase.assertTrue(passthroughRetriever.isPassthrough());
+		GeoPackageTileRetriever jpegRetriever = new GeoPackageTileRetriever(
+				tileDao, ImageUtils.IMAGE_FORMAT_JPEG);
+		jpegRetriever.setPassthrough(true);
+
+		int count = 0;
+		TileResultSet resultSet = tileDao.queryForAll();
+		try {
+			while (resultSet.moveToNext()) {
+				TileRow tileRow = resultSet.getRow();
+				int x = (int) tileRow.getTileColumn();
+				int y = (int) tileRow.getTileRow();
+				int zoom = (int) tileRow.getZoomLevel();
+				byte[] tileData = tileRow.getTileData();
+				TestCase.assertEquals(ImageUtils.IMAGE_FORMAT_PNG,
+						ImageUtils.getImageFormat(tileData));
+
+				GeoPackageTile tile = passthroughRetriever.getTile(x, y, zoom);
+				TestCase.assertNotNull(tile);
+				TestCase.assertNull(tile.getImage());
+				TestCase.assertTrue(Arrays.equals(tileData, tile.getData()));
+				TileMatrix tileMatrix = tileDao.getTileMatrix(zoom);
+				TestCase.assertEquals(tileMatrix.getTileWidth(),
+						tile.getWidth());
+				TestCase.assertEquals(tileMatrix.getTileHeight(),
+						tile.getHeight());
+
+				// Drawn tiles match the stored tile pixels
+				GeoPackageTile drawnTile = retriever.getTile(x, y, zoom);
+				TestCase.assertNotNull(drawnTile.getImage());
+				TestCase.assertNull(drawnTile.getData());
+				TestCase.assertTrue(Arrays.equals(
+						getPixels(ImageUtils.getImage(tileData)),
+						getPixels(drawnTile.getImage())));
+
+				// Different image formats are drawn
+				GeoPackageTile jpegTile = jpegRetriever.getTile(x, y, zoom);
+				TestCase.assertNotNull(jpegTile.getImage());
+
+				count++;
+			}
+		} finally {
+			resultSet.close();
+		}
+		TestCase.assertTrue(count > 0);
+
+		// Requests not aligned with a single stored tile are drawn
+		TileCreator tileCreator = new TileCreator(tileDao,
+				ImageUtils.IMAGE_FORMAT_PNG);
+		tileCreator.setPassthrough(true);
+		BoundingBox boundingBox = TileBoundingBoxUtils
+				.getWebMercatorBoundingBox(0, 0, 1);
+		double shift = boundingBox.getLongitudeRange() / 2;
+		BoundingBox shifted = new BoundingBox(
+				boundingBox.getMinLongitude() + shift,
+				boundingBox.getMinLatitude(),
+				boundingBox.getMaxLongitude() + shift,
+				boundingBox.getMaxLatitude());
+		GeoPackageTile aligned = tileCreator.getTile(boundingBox, 1);
+		TestCase.assertNotNull(aligned);
+		TestCase.assertNull(aligned.getImage());
+		GeoPackageTile notAligned = tileCreator.getTile(shifted, 1);
+		TestCase.assertNotNull(notAligned);
+		TestCase.assertNotNull(notAligned.getImage());
+
+	}
+
+	/**
+	 * Test image format detection from image bytes
+	 *
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testImageFormat() throws IOException {
+
+		BufferedImage image = new BufferedImage(4, 4,
+				BufferedImage.TYPE_INT_RGB);
+		byte[] png = ImageUtils.writeImageToBytes(image,
+				ImageUtils.IMAGE_FORMAT_PNG);
+		byte[] jpeg = ImageUtils.writeImageToBytes(image,
+				ImageUtils.IMAGE_FORMAT_JPEG);
+
+		TestCase.assertEquals(ImageUtils.IMAGE_FORMAT_PNG,
+				ImageUtils.getImageFormat(png));
+		TestCase.assertEquals(ImageUtils.IMAGE_FORMAT_JPEG,
+				ImageUtils.getImageFormat(jpeg));
+		TestCase.assertNull(ImageUtils.getImageFormat(new byte[] { 1, 2 }));
+		TestCase.assertNull(ImageUtils.getImageFormat(null));
+
+		TestCase.assertTrue(
+				ImageUtils.isImageFormat(png, ImageUtils.IMAGE_FORMAT_PNG));
+		TestCase.assertTrue(
+				ImageUtils.isImageFormat(jpeg, ImageUtils.IMAGE_FORMAT_JPG));
+		TestCase.assertTrue(ImageUtils.isImageFormat(jpeg, "JPEG"));
+		TestCase.assertFalse(
+				ImageUtils.isImageFormat(png, ImageUtils.IMAGE_FORMAT_JPEG));
+
+	}
+
+	/**
+	 * Generate XYZ aligned Web Mercator feature tiles
+	 *
+	 * @return tile DAO
+	 * @throws IOException
+	 *             upon error
+	 * @throws SQLException
+	 *             upon error
+	 */
+	private TileDao createTiles() throws IOException, SQLException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+		FeatureTileUtils.insertFeatures(geoPackage, featureDao);
+		FeatureTiles featureTiles = FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, false, false);
+
+		String tableName = "passthrough_tiles";
+		TileGenerator tileGenerator = new FeatureTileGenerator(geoPackage,
+				tableName, featureTiles, 0, 2, ProjectionFactory
+						.getProjection(ProjectionConstants.EPSG_WEB_MERCATOR));
+		tileGenerator.setXYZTiles(true);
+		TestCase.assertTrue(tileGenerator.generateTiles() > 0);
+
+		return geoPackage.getTileDao(tableName);
+	}
+
+	/**
+	 * Get the ARGB pixels of the image
+	 *
+	 * @param image
+	 *            image
+	 * @return pixels
+	 */
+	private int[] getPixels(BufferedImage image) {
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null,
+				0, image.getWidth());
+	}
+
+}
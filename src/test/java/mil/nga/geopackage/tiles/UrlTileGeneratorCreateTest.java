@@ -86,4 +86,11 @@ public class UrlTileGeneratorCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	@Test
+	public void testGenerateTilesParallel() throws SQLException, IOException {
+
+		UrlTileGeneratorUtils.testGenerateTilesParallel(geoPackage);
+
+	}
+
 }
@@ -86,4 +86,11 @@ public class UrlTileGeneratorImportTest extends ImportGeoPackageTestCase {
 
 	}
 
+	@Test
+	public void testGenerateTilesParallel() throws SQLException, IOException {
+
+		UrlTileGeneratorUtils.testGenerateTilesParallel(geoPackage);
+
+	}
+
 }
@@ -0,0 +1,390 @@
+package mil.nga.geopackage.tiles;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.CreateGeoPackageTestCase;
+import mil.nga.geopackage.io.TestGeoPackageProgress;
+import mil.nga.geopackage.tiles.user.TileDao;
+import mil.nga.proj.Projection;
+import mil.nga.proj.ProjectionConstants;
+import mil.nga.proj.ProjectionFactory;
+import mil.nga.sf.proj.GeometryTransform;
+
+/**
+ * Test URL Tile Generator downloads against a local HTTP stub server
+ *
+ * @author osbornb
+ */
+public class UrlTileGeneratorStubTest extends CreateGeoPackageTestCase {
+
+	private static final String TABLE_NAME = "stub_tiles";
+
+	/**
+	 * Stub tile server
+	 */
+	private HttpServer server;
+
+	/**
+	 * PNG tile bytes served
+	 */
+	private byte[] tileBytes;
+
+	/**
+	 * Requests per tile path
+	 */
+	private final Map<String, AtomicInteger> pathRequests = new ConcurrentHashMap<>();
+
+	/**
+	 * Requests in flight
+	 */
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/**
+	 * Max requests in flight seen
+	 */
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	/**
+	 * Start the stub server, failing the first request of tiles in even
+	 * columns
+	 *
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Before
+	public void startServer() throws IOException {
+
+		BufferedImage image = new BufferedImage(256, 256,
+				BufferedImage.TYPE_INT_ARGB);
+		tileBytes = ImageUtils.writeImageToBytes(image, "png");
+
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/tiles", (HttpExchange exchange) -> {
+			int current = inFlight.incrementAndGet();
+			maxInFlight.accumulateAndGet(current, Math::max);
+			try {
+				// Hold the request so concurrent requests overlap
+				Thread.sleep(20);
+				String path = exchange.getRequestURI().getPath();
+				int attempt = pathRequests
+						.computeIfAbsent(path, (key) -> new AtomicInteger())
+						.incrementAndGet();
+				long x = Long.parseLong(path.split("/")[3]);
+				if (attempt == 1 && x % 2 == 0) {
+					exchange.sendResponseHeaders(503, -1);
+				} else {
+					exchange.sendResponseHeaders(200, tileBytes.length);
+					OutputStream body = exchange.getResponseBody();
+					body.write(tileBytes);
+					body.close();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				inFlight.decrementAndGet();
+				exchange.close();
+			}
+		});
+		server.createContext("/status", (HttpExchange exchange) -> {
+			String path = exchange.getRequestURI().getPath();
+			pathRequests.computeIfAbsent(path, (key) -> new AtomicInteger())
+					.incrementAndGet();
+			exchange.sendResponseHeaders(
+					Integer.parseInt(path.split("/")[2]), -1);
+			exchange.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+	}
+
+	/**
+	 * Stop the stub server
+	 */
+	@After
+	public void stopServer() {
+		if (server != null) {
+			server.stop(0);
+		}
+	}
+
+	/**
+	 * Test asynchronous downloads with request limits and retries
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testGenerateTilesAsync() throws SQLException, IOException {
+
+		UrlTileGenerator tileGenerator = createGenerator();
+		tileGenerator.setRequests(8);
+		tileGenerator.setHostRequests(3);
+		tileGenerator.setDownloadAttempts(3);
+		tileGenerator.setRetryDelay(1);
+		tileGenerator.setTransactionLimit(5);
+
+		int tileCount = tileGenerator.getTileCount();
+		TestCase.assertEquals(tileCount, tileGenerator.generateTiles());
+
+		TileDao tileDao = geoPackage.getTileDao(TABLE_NAME);
+		TestCase.assertEquals(tileCount, tileDao.count());
+		TestCase.assertEquals(tileCount, pathRequests.size());
+		TestCase.assertTrue(maxInFlight.get() > 1);
+		TestCase.assertTrue(maxInFlight.get() <= 3);
+
+		int requests = 0;
+		for (AtomicInteger pathCount : pathRequests.values()) {
+			requests += pathCount.get();
+		}
+		TestCase.assertTrue(requests > tileCount);
+
+	}
+
+	/**
+	 * Test blocking downloads retry failed attempts
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testGenerateTilesSerial() throws SQLException, IOException {
+
+		UrlTileGenerator tileGenerator = createGenerator();
+		tileGenerator.setDownloadAttempts(2);
+		tileGenerator.setRetryDelay(1);
+
+		int tileCount = tileGenerator.getTileCount();
+		TestCase.assertEquals(tileCount, tileGenerator.generateTiles());
+		TestCase.assertEquals(1, maxInFlight.get());
+
+	}
+
+	/**
+	 * Test failed tiles are skipped after the last attempt
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testGenerateTilesAttemptsExhausted()
+			throws SQLException, IOException {
+
+		UrlTileGenerator tileGenerator = createGenerator();
+		tileGenerator.setRequests(4);
+		tileGenerator.setDownloadAttempts(1);
+
+		int tileCount = tileGenerator.getTileCount();
+		int count = tileGenerator.generateTiles();
+		TestCase.assertTrue(count > 0);
+		TestCase.assertTrue(count < tileCount);
+
+	}
+
+	/**
+	 * Test resuming a canceled generation from the checkpoints, skipping the
+	 * completed tile columns
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testGenerateTilesResumable() throws SQLException, IOException {
+
+		UrlTileGenerator tileGenerator = createGenerator();
+		tileGenerator.setDownloadAttempts(2);
+		tileGenerator.setRetryDelay(1);
+		tileGenerator.setResumable(true);
+		int tileCount = tileGenerator.getTileCount();
+
+		// Cancel after zoom level 1 and the first two columns of zoom level 2
+		final int cancelCount = 12;
+		tileGenerator.setProgress(new TestGeoPackageProgress() {
+			@Override
+			public boolean isActive() {
+				return super.isActive() && getProgress() < cancelCount;
+			}
+		});
+		TestCase.assertEquals(cancelCount, tileGenerator.generateTiles());
+
+		TileDao tileDao = geoPackage.getTileDao(TABLE_NAME);
+		TestCase.assertEquals(cancelCount, tileDao.count());
+		TestCase.assertTrue(
+				geoPackage.isTable(TileGeneratorCheckpoint.TABLE_NAME));
+
+		// Only the checkpoints of the requested zoom levels are complete
+		TileGeneratorCheckpoint checkpoint = new TileGeneratorCheckpoint(
+				geoPackage, TABLE_NAME);
+		TestCase.assertTrue(checkpoint.has());
+		TestCase.assertTrue(checkpoint.isComplete(Arrays.asList(1)));
+		TestCase.assertFalse(checkpoint.isComplete(Arrays.asList(2)));
+		TestCase.assertFalse(checkpoint.isComplete(Arrays.asList(1, 2)));
+
+		Map<String, Integer> firstRequests = new HashMap<>();
+		for (Map.Entry<String, AtomicInteger> pathCount : pathRequests
+				.entrySet()) {
+			firstRequests.put(pathCount.getKey(), pathCount.getValue().get());
+		}
+		TestCase.assertEquals(cancelCount, firstRequests.size());
+
+		// Resume, downloading only the remaining tile columns
+		tileGenerator = createGenerator();
+		tileGenerator.setDownloadAttempts(2);
+		tileGenerator.setRetryDelay(1);
+		tileGenerator.setResumable(true);
+		tileGenerator.setThreads(2);
+		TestGeoPackageProgress progress = new TestGeoPackageProgress();
+		tileGenerator.setProgress(progress);
+		TestCase.assertEquals(tileCount - cancelCount,
+				tileGenerator.generateTiles());
+		TestCase.assertEquals(tileCount, progress.getProgress());
+
+		TestCase.assertEquals(tileCount, tileDao.count());
+		TestCase.assertEquals(tileCount, pathRequests.size());
+		for (Map.Entry<String, Integer> firstCount : firstRequests
+				.entrySet()) {
+			TestCase.assertEquals(firstCount.getValue().intValue(),
+					pathRequests.get(firstCount.getKey()).get());
+		}
+		TestCase.assertEquals(2, geoPackage.getTileMatrixDao()
+				.queryForTableName(TABLE_NAME).size());
+
+		// Checkpoints are removed once complete
+		TestCase.assertFalse(
+				geoPackage.isTable(TileGeneratorCheckpoint.TABLE_NAME));
+		TestCase.assertFalse(checkpoint.has());
+		TestCase.assertTrue(geoPackage.getExtensionsDao()
+				.queryByExtension(TileGeneratorCheckpoint.EXTENSION_NAME)
+				.isEmpty());
+
+	}
+
+	/**
+	 * Test the exponential retry backoff
+	 */
+	@Test
+	public void testRetryDelay() {
+
+		UrlTileDownloader downloader = new UrlTileDownloader(2, 1, 5, 100,
+				1000, null, null);
+		try {
+			TestCase.assertEquals(100, downloader.getRetryDelay(1));
+			TestCase.assertEquals(200, downloader.getRetryDelay(2));
+			TestCase.assertEquals(400, downloader.getRetryDelay(3));
+			TestCase.assertEquals(800, downloader.getRetryDelay(4));
+			TestCase.assertEquals(1000, downloader.getRetryDelay(5));
+			TestCase.assertEquals(1000, downloader.getRetryDelay(50));
+		} finally {
+			downloader.close();
+		}
+
+	}
+
+	/**
+	 * Test only I/O errors, 429, and 5xx responses are retried, and redirects
+	 * without a location fail
+	 *
+	 * @throws MalformedURLException
+	 *             upon error
+	 */
+	@Test
+	public void testRetryResponses() throws MalformedURLException {
+
+		UrlTileDownloader downloader = new UrlTileDownloader(2, 2, 3, 1, 1,
+				null, null);
+		try {
+			TestCase.assertEquals(1, downloadAttempts(downloader, 404));
+			TestCase.assertEquals(3, downloadAttempts(downloader, 429));
+			TestCase.assertEquals(3, downloadAttempts(downloader, 503));
+
+			String url = "http://localhost:" + server.getAddress().getPort()
+					+ "/status/302";
+			try {
+				downloader.download(new URL(url)).join();
+				TestCase.fail("Redirect without a location did not fail");
+			} catch (CompletionException e) {
+				TestCase.assertTrue(
+						e.getCause().getCause().getMessage().contains("302"));
+			}
+			TestCase.assertEquals(1, pathRequests.get("/status/302").get());
+		} finally {
+			downloader.close();
+		}
+
+	}
+
+	/**
+	 * Download a stub server response code, returning the number of attempts
+	 *
+	 * @param downloader
+	 *            tile downloader
+	 * @param responseCode
+	 *            response code
+	 * @return attempts
+	 * @throws MalformedURLException
+	 *             upon error
+	 */
+	private int downloadAttempts(UrlTileDownloader downloader,
+			int responseCode) throws MalformedURLException {
+		String path = "/status/" + responseCode;
+		URL url = new URL(
+				"http://localhost:" + server.getAddress().getPort() + path);
+		try {
+			downloader.download(url).join();
+			TestCase.fail("Download did not fail: " + responseCode);
+		} catch (CompletionException e) {
+			// Expected
+		}
+		return pathRequests.get(path).get();
+	}
+
+	/**
+	 * Create a tile generator of zoom levels 1 and 2 for the stub server
+	 *
+	 * @return tile generator
+	 */
+	private UrlTileGenerator createGenerator() {
+		String url = "http://localhost:" + server.getAddress().getPort()
+				+ "/tiles/{z}/{x}/{y}.png";
+		Projection projection = ProjectionFactory
+				.getCachelessProjection(ProjectionConstants.EPSG_WEB_MERCATOR);
+		BoundingBox boundingBox = TileBoundingBoxUtils
+				.boundWgs84BoundingBoxWithWebMercatorLimits(
+						BoundingBox.worldWGS84())
+				.transform(GeometryTransform.create(
+						ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM,
+						ProjectionConstants.EPSG_WEB_MERCATOR));
+		return new UrlTileGenerator(geoPackage, TABLE_NAME, url, 1, 2,
+				boundingBox, projection);
+	}
+
+}
@@ -207,6 +207,26 @@ public class UrlTileGeneratorUtils {
 		testGenerateTiles(tileGenerator);
 	}
 
+	/**
+	 * Test generating tiles with parallel tile creation
+	 * 
+	 * @param geoPackage
+	 * @throws SQLException
+	 * @throws IOException
+	 */
+	public static void testGenerateTilesParallel(GeoPackage geoPackage)
+			throws SQLException, IOException {
+
+		UrlTileGenerator tileGenerator = new UrlTileGenerator(geoPackage,
+				TABLE_NAME, URL, 1, 3, getBoundingBox(), getProjection());
+		tileGenerator.setCompressFormat("jpeg");
+		tileGenerator.setThreads(4);
+		tileGenerator.setQueueSize(6);
+		tileGenerator.setTransactionLimit(5);
+
+		testGenerateTiles(tileGenerator);
+	}
+
 	private static BoundingBox getBoundingBox() {
 		BoundingBox boundingBox = BoundingBox.worldWGS84();
 		boundingBox = getBoundingBox(boundingBox);
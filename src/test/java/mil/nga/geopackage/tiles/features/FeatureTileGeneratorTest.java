@@ -139,6 +139,29 @@ public class FeatureTileGeneratorTest extends CreateGeoPackageTestCase {
 		testTileGenerator(true, true, true, true);
 	}
 
+	/**
+	 * Test tile generator with parallel tile creation
+	 *
+	 * @throws java.io.IOException
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testTileGeneratorParallel() throws IOException, SQLException {
+		testTileGenerator(false, false, false, false, 4);
+	}
+
+	/**
+	 * Test tile generator with parallel tile creation
+	 *
+	 * @throws java.io.IOException
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testTileGeneratorWithIndexAndIconParallel()
+			throws IOException, SQLException {
+		testTileGenerator(true, true, false, false, 4);
+	}
+
 	/**
 	 * Test tile generator
 	 *
@@ -159,6 +182,31 @@ public class FeatureTileGeneratorTest extends CreateGeoPackageTestCase {
 	public void testTileGenerator(boolean index, boolean useIcon,
 			boolean maxFeatures, boolean geodesic)
 			throws IOException, SQLException {
+		testTileGenerator(index, useIcon, maxFeatures, geodesic, 1);
+	}
+
+	/**
+	 * Test tile generator
+	 *
+	 * @param index
+	 *            index features
+	 * @param useIcon
+	 *            true to use an icon instead of the default point
+	 * @param maxFeatures
+	 *            set max features
+	 * @param geodesic
+	 *            draw geometries using geodesic lines
+	 * @param threads
+	 *            tile creation threads
+	 *
+	 * @throws java.io.IOException
+	 *             upon error
+	 * @throws java.sql.SQLException
+	 *             upon error
+	 */
+	public void testTileGenerator(boolean index, boolean useIcon,
+			boolean maxFeatures, boolean geodesic, int threads)
+			throws IOException, SQLException {
 
 		int minZoom = 0;
 		int maxZoom = 4;
@@ -193,6 +241,8 @@ public class FeatureTileGeneratorTest extends CreateGeoPackageTestCase {
 				ProjectionFactory
 						.getProjection(ProjectionConstants.EPSG_WEB_MERCATOR));
 		tileGenerator.setXYZTiles(false);
+		tileGenerator.setThreads(threads);
+		tileGenerator.setTransactionLimit(10);
 
 		int tiles = tileGenerator.generateTiles();
 
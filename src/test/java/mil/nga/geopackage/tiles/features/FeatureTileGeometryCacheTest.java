@@ -0,0 +1,222 @@
+package mil.nga.geopackage.tiles.features;
+
+import java.awt.image.BufferedImage;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.CreateGeoPackageTestCase;
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
+import mil.nga.sf.LineString;
+import mil.nga.sf.Point;
+import mil.nga.sf.Polygon;
+
+/**
+ * Test the Web Mercator geometry cache of Default Feature Tiles
+ *
+ * @author osbornb
+ */
+public class FeatureTileGeometryCacheTest extends CreateGeoPackageTestCase {
+
+	/**
+	 * Test tiles drawn from cached Web Mercator geometries match tiles drawn
+	 * without caching
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testCachedTiles() throws SQLException {
+		testCachedTiles(false);
+	}
+
+	/**
+	 * Test tiles drawn from cached geodesic geometries match tiles drawn
+	 * without caching
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testCachedTilesWithGeodesic() throws SQLException {
+		testCachedTiles(true);
+	}
+
+	/**
+	 * Test tiles drawn from cached geometries match tiles drawn without
+	 * caching
+	 *
+	 * @param geodesic
+	 *            draw geometries using geodesic lines
+	 * @throws SQLException
+	 *             upon error
+	 */
+	private void testCachedTiles(boolean geodesic) throws SQLException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+		int count = FeatureTileUtils.insertFeatures(geoPackage, featureDao);
+
+		DefaultFeatureTiles featureTiles = (DefaultFeatureTiles) FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, false, geodesic);
+		try {
+
+			FeatureTileGeometryCache cache = featureTiles.getGeometryCache();
+			TestCase.assertEquals(FeatureTileGeometryCache.DEFAULT_MAX_BYTES,
+					cache.getMaxBytes());
+
+			int zoom = 2;
+			featureTiles.setCacheGeometries(false);
+			List<int[]> expected = drawTiles(featureTiles, zoom);
+			TestCase.assertEquals(0, cache.size());
+			TestCase.assertEquals(0, cache.getHits() + cache.getMisses());
+
+			featureTiles.setCacheGeometries(true);
+			assertTiles(expected, drawTiles(featureTiles, zoom));
+			TestCase.assertEquals(count, cache.size());
+			TestCase.assertEquals(count, cache.getMisses());
+			TestCase.assertTrue(cache.getHits() > 0);
+			TestCase.assertTrue(cache.getBytes() > 0);
+			TestCase.assertEquals(0, cache.getEvictions());
+
+			// Redrawing the tiles reads no geometries
+			assertTiles(expected, drawTiles(featureTiles, zoom));
+			TestCase.assertEquals(count, cache.getMisses());
+			TestCase.assertTrue(cache.getHitRate() > 0.5);
+
+			// Shrink the cache to evict geometries
+			featureTiles.setGeometryCacheMaxBytes(cache.getBytes() / 2);
+			TestCase.assertTrue(cache.getEvictions() > 0);
+			TestCase.assertTrue(cache.getBytes() <= cache.getMaxBytes());
+			TestCase.assertTrue(cache.size() < count);
+			assertTiles(expected, drawTiles(featureTiles, zoom));
+			TestCase.assertTrue(cache.getMisses() > count);
+
+			featureTiles.clearCache();
+			TestCase.assertEquals(0, cache.size());
+			TestCase.assertEquals(0, cache.getBytes());
+
+			// A geometry cache size of 0 caches nothing
+			featureTiles.setGeometryCacheSize(0);
+			assertTiles(expected, drawTiles(featureTiles, zoom));
+			TestCase.assertEquals(0, cache.size());
+
+			featureTiles.setGeometryCacheSize(count);
+			assertTiles(expected, drawTiles(featureTiles, zoom));
+			TestCase.assertEquals(count, cache.size());
+
+		} finally {
+			featureTiles.close();
+		}
+	}
+
+	/**
+	 * Test least recently used eviction by estimated geometry bytes
+	 */
+	@Test
+	public void testEviction() {
+
+		BoundingBox boundingBox = new BoundingBox();
+
+		Point point = new Point(0, 0);
+		LineString lineString = new LineString();
+		for (int i = 0; i < 100; i++) {
+			lineString.addPoint(new Point(i, i));
+		}
+		Polygon polygon = new Polygon();
+		polygon.addRing(lineString);
+		TestCase.assertTrue(FeatureTileGeometry.getBytes(
+				polygon) > FeatureTileGeometry.getBytes(lineString));
+		TestCase.assertTrue(FeatureTileGeometry
+				.getBytes(lineString) > 100 * FeatureTileGeometry.getBytes(point));
+
+		FeatureTileGeometry pointGeometry = new FeatureTileGeometry(point,
+				true, boundingBox);
+		FeatureTileGeometry polygonGeometry = new FeatureTileGeometry(polygon,
+				true, boundingBox);
+
+		// One polygon weighs as much as many points
+		FeatureTileGeometryCache cache = new FeatureTileGeometryCache(
+				polygonGeometry.getBytes() + pointGeometry.getBytes());
+		cache.put(1, polygonGeometry);
+		cache.put(2, pointGeometry);
+		TestCase.assertEquals(2, cache.size());
+		cache.put(3, pointGeometry);
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertEquals(1, cache.getEvictions());
+		TestCase.assertNull(cache.get(1));
+		TestCase.assertSame(pointGeometry, cache.get(2));
+
+		for (long id = 4; id < 20; id++) {
+			cache.put(id, pointGeometry);
+		}
+		TestCase.assertEquals(18, cache.size());
+
+		// Optional max number of geometries
+		cache.setMaxSize(5);
+		TestCase.assertEquals(5, cache.size());
+		TestCase.assertNull(cache.get(2));
+		TestCase.assertNotNull(cache.get(19));
+
+		// Geometries larger than the cache are not cached
+		cache.setMaxSize(0);
+		cache.setMaxBytes(pointGeometry.getBytes() * 5);
+		cache.put(1, polygonGeometry);
+		TestCase.assertNull(cache.remove(1));
+		TestCase.assertEquals(5, cache.size());
+
+		TestCase.assertSame(pointGeometry, cache.remove(19));
+		TestCase.assertEquals(pointGeometry.getBytes() * 4, cache.getBytes());
+		cache.clear();
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals(0, cache.getBytes());
+
+	}
+
+	/**
+	 * Assert the drawn tiles match the expected tile pixels
+	 *
+	 * @param expected
+	 *            expected tile pixels
+	 * @param tiles
+	 *            drawn tile pixels
+	 */
+	private void assertTiles(List<int[]> expected, List<int[]> tiles) {
+		TestCase.assertEquals(expected.size(), tiles.size());
+		for (int i = 0; i < expected.size(); i++) {
+			TestCase.assertTrue(Arrays.equals(expected.get(i), tiles.get(i)));
+		}
+	}
+
+	/**
+	 * Draw all tiles at the zoom level
+	 *
+	 * @param featureTiles
+	 *            feature tiles
+	 * @param zoom
+	 *            zoom level
+	 * @return tile pixels, null for tiles not drawn
+	 */
+	private List<int[]> drawTiles(FeatureTiles featureTiles, int zoom) {
+		List<int[]> tiles = new ArrayList<>();
+		int tilesPerSide = TileBoundingBoxUtils.tilesPerSide(zoom);
+		for (int x = 0; x < tilesPerSide; x++) {
+			for (int y = 0; y < tilesPerSide; y++) {
+				BufferedImage image = featureTiles.drawTile(x, y, zoom);
+				int[] pixels = null;
+				if (image != null) {
+					pixels = image.getRGB(0, 0, image.getWidth(),
+							image.getHeight(), null, 0, image.getWidth());
+				}
+				tiles.add(pixels);
+			}
+		}
+		return tiles;
+	}
+
+}
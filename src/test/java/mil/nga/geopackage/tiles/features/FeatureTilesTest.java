@@ -2,6 +2,16 @@ package mil.nga.geopackage.tiles.features;
 
 import java.awt.image.BufferedImage;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -102,6 +112,148 @@ public class FeatureTilesTest extends CreateGeoPackageTestCase {
 		}
 	}
 
+	/**
+	 * Test drawing tiles concurrently from a shared feature tiles
+	 *
+	 * @throws java.sql.SQLException
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	@Test
+	public void testConcurrentFeatureTiles() throws SQLException,
+			InterruptedException, ExecutionException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+		FeatureTileUtils.insertFeatures(geoPackage, featureDao);
+
+		FeatureTiles featureTiles = FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, true, false);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+
+			final int zoom = 2;
+			int tilesPerSide = TileBoundingBoxUtils.tilesPerSide(zoom);
+			List<int[]> coordinates = new ArrayList<>();
+			List<int[]> expected = new ArrayList<>();
+			for (int x = 0; x < tilesPerSide; x++) {
+				for (int y = 0; y < tilesPerSide; y++) {
+					coordinates.add(new int[] { x, y });
+					expected.add(getPixels(featureTiles.drawTile(x, y, zoom)));
+				}
+			}
+
+			// Clear the caches so concurrent drawing populates them
+			featureTiles.clearCache();
+
+			for (int pass = 0; pass < 2; pass++) {
+				List<Future<int[]>> futures = new ArrayList<>();
+				for (final int[] coordinate : coordinates) {
+					futures.add(executor.submit(() -> getPixels(featureTiles
+							.drawTile(coordinate[0], coordinate[1], zoom))));
+				}
+				for (int i = 0; i < futures.size(); i++) {
+					TestCase.assertTrue(
+							Arrays.equals(expected.get(i), futures.get(i).get()));
+				}
+			}
+
+			// Closing releases the drawing contexts of every thread
+			Set<FeatureTileContext> contexts = getContexts(executor,
+					featureTiles);
+			featureTiles.close();
+			for (FeatureTileContext context : getContexts(executor,
+					featureTiles)) {
+				TestCase.assertFalse(contexts.contains(context));
+			}
+
+		} finally {
+			executor.shutdown();
+			featureTiles.close();
+		}
+	}
+
+	/**
+	 * Get the drawing contexts of the executor threads
+	 *
+	 * @param executor
+	 *            executor
+	 * @param featureTiles
+	 *            feature tiles
+	 * @return contexts
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	private Set<FeatureTileContext> getContexts(ExecutorService executor,
+			FeatureTiles featureTiles)
+			throws InterruptedException, ExecutionException {
+		List<Future<FeatureTileContext>> futures = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			futures.add(executor.submit(featureTiles::getContext));
+		}
+		Set<FeatureTileContext> contexts = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		for (Future<FeatureTileContext> future : futures) {
+			contexts.add(future.get());
+		}
+		return contexts;
+	}
+
+	/**
+	 * Test tiles are only created when features touch the tile pixels,
+	 * including tiles within the interior of a filled polygon
+	 *
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testDrawnTiles() throws SQLException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+		FeatureTileUtils.insertPoint(featureDao, 5, 5);
+
+		FeatureTiles featureTiles = FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, false, false);
+
+		try {
+
+			final int zoom = 4;
+
+			TestCase.assertNotNull(featureTiles.drawTile(8, 7, zoom));
+			TestCase.assertNull(featureTiles.drawTile(10, 6, zoom));
+			TestCase.assertNull(featureTiles.drawTile(9, 7, zoom));
+
+			FeatureTileUtils.insertPolygon(featureDao,
+					new double[][] { { -170, -80 }, { 170, -80 }, { 170, 80 },
+							{ -170, 80 } });
+			featureTiles.clearCache();
+
+			BufferedImage image = featureTiles.drawTile(10, 6, zoom);
+			TestCase.assertNotNull(image);
+			int center = image.getRGB(image.getWidth() / 2,
+					image.getHeight() / 2);
+			TestCase.assertTrue((center >>> 24) > 0);
+
+		} finally {
+			featureTiles.close();
+		}
+	}
+
+	/**
+	 * Get the ARGB pixels of the image
+	 *
+	 * @param image
+	 *            image, may be null
+	 * @return pixels or null
+	 */
+	private int[] getPixels(BufferedImage image) {
+		int[] pixels = null;
+		if (image != null) {
+			pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(),
+					null, 0, image.getWidth());
+		}
+		return pixels;
+	}
+
 	private void createTiles(FeatureTiles featureTiles, int minZoom,
 			int maxZoom) {
 		for (int i = minZoom; i <= maxZoom; i++) {
@@ -94,6 +94,18 @@ public class TileCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test batch query for tiles
+	 * 
+	 * @throws SQLException
+	 */
+	@Test
+	public void testQueryForTiles() throws SQLException {
+
+		TileUtils.testQueryForTiles(geoPackage);
+
+	}
+
 	/**
 	 * Test tileMatrixBoundingBox
 	 * 
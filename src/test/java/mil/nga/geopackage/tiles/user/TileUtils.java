@@ -1,14 +1,19 @@
 package mil.nga.geopackage.tiles.user;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -30,7 +35,10 @@ import mil.nga.geopackage.db.ResultUtils;
 import mil.nga.geopackage.db.SQLUtils;
 import mil.nga.geopackage.db.SQLiteQueryBuilder;
 import mil.nga.geopackage.geom.GeoPackageGeometryDataUtils;
+import mil.nga.geopackage.tiles.GeoPackageTile;
+import mil.nga.geopackage.tiles.GeoPackageTileRetriever;
 import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
+import mil.nga.geopackage.tiles.TileCoordinate;
 import mil.nga.geopackage.tiles.TileGrid;
 import mil.nga.geopackage.tiles.matrix.TileMatrix;
 import mil.nga.geopackage.tiles.matrix.TileMatrixDao;
@@ -42,6 +50,7 @@ import mil.nga.geopackage.user.custom.UserCustomDao;
 import mil.nga.geopackage.user.custom.UserCustomResultSet;
 import mil.nga.geopackage.user.custom.UserCustomRow;
 import mil.nga.proj.ProjectionConstants;
+import mil.nga.proj.ProjectionFactory;
 import mil.nga.sf.proj.GeometryTransform;
 
 /**
@@ -1089,6 +1098,165 @@ public class TileUtils {
 
 	}
 
+	/**
+	 * Test batch querying for tiles by tile coordinates and tile grids
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testQueryForTiles(GeoPackage geoPackage)
+			throws SQLException {
+
+		TileMatrixSetDao tileMatrixSetDao = geoPackage.getTileMatrixSetDao();
+
+		if (tileMatrixSetDao.isTableExists()) {
+			List<TileMatrixSet> results = tileMatrixSetDao.queryForAll();
+
+			for (TileMatrixSet tileMatrixSet : results) {
+
+				TileDao dao = geoPackage.getTileDao(tileMatrixSet);
+
+				for (TileMatrix tileMatrix : dao.getTileMatrices()) {
+
+					long zoomLevel = tileMatrix.getZoomLevel();
+
+					// Existing tiles, missing tiles, and duplicates
+					List<TileCoordinate> coordinates = new ArrayList<>();
+					long maxColumn = Math.min(tileMatrix.getMatrixWidth(), 40);
+					long maxRow = Math.min(tileMatrix.getMatrixHeight(), 40);
+					for (long row = -1; row <= maxRow; row++) {
+						for (long column = -1; column <= maxColumn; column++) {
+							coordinates.add(new TileCoordinate(column, row));
+						}
+					}
+					coordinates.add(coordinates.get(coordinates.size() / 2));
+					coordinates.add(coordinates.get(0));
+					Collections.shuffle(coordinates, new Random(zoomLevel));
+
+					List<TileRow> tileRows = dao.queryForTiles(zoomLevel,
+							coordinates);
+					TestCase.assertEquals(coordinates.size(), tileRows.size());
+					for (int i = 0; i < coordinates.size(); i++) {
+						TileCoordinate coordinate = coordinates.get(i);
+						TileRow tileRow = tileRows.get(i);
+						TileRow expected = dao.queryForTile(
+								coordinate.getColumn(), coordinate.getRow(),
+								zoomLevel);
+						if (expected == null) {
+							TestCase.assertNull(tileRow);
+						} else {
+							TestCase.assertNotNull(tileRow);
+							TestCase.assertEquals(expected.getId(),
+									tileRow.getId());
+							TestCase.assertEquals(coordinate.getColumn(),
+									tileRow.getTileColumn());
+							TestCase.assertEquals(coordinate.getRow(),
+									tileRow.getTileRow());
+							TestCase.assertEquals(zoomLevel,
+									tileRow.getZoomLevel());
+							TestCase.assertTrue(Arrays.equals(
+									expected.getTileData(),
+									tileRow.getTileData()));
+						}
+					}
+
+					// Tile grid streaming in row major order
+					TileGrid tileGrid = new TileGrid(0, 0,
+							tileMatrix.getMatrixWidth() - 1,
+							tileMatrix.getMatrixHeight() - 1);
+					int count = 0;
+					long previousColumn = -1;
+					long previousRow = -1;
+					TileResultSet resultSet = dao.queryForTiles(zoomLevel,
+							tileGrid);
+					try {
+						while (resultSet.moveToNext()) {
+							TileRow tileRow = resultSet.getRow();
+							TestCase.assertEquals(zoomLevel,
+									tileRow.getZoomLevel());
+							long column = tileRow.getTileColumn();
+							long row = tileRow.getTileRow();
+							TestCase.assertTrue(row > previousRow
+									|| (row == previousRow
+											&& column > previousColumn));
+							previousColumn = column;
+							previousRow = row;
+							count++;
+						}
+					} finally {
+						resultSet.close();
+					}
+					TestCase.assertEquals(dao.count(zoomLevel),
+							count);
+
+				}
+
+				// Batch tile retrieval matches single tile retrieval
+				if (!geoPackage.getTileTables().contains(dao.getTableName())) {
+					continue;
+				}
+				long[] mapZoomRange = dao.getMapZoomRange();
+				GeoPackageTileRetriever retriever = new GeoPackageTileRetriever(
+						dao, "png");
+				BoundingBox webMercatorBoundingBox = TileBoundingBoxUtils
+						.boundWebMercatorBoundingBox(dao.getBoundingBox(
+								ProjectionFactory.getProjection(
+										ProjectionConstants.EPSG_WEB_MERCATOR)));
+				for (long zoom = mapZoomRange[0]; zoom <= mapZoomRange[1]; zoom++) {
+
+					TileGrid tileGrid = TileBoundingBoxUtils
+							.getTileGrid(webMercatorBoundingBox, zoom);
+					long tilesPerSide = 1L << zoom;
+					List<TileCoordinate> coordinates = new ArrayList<>();
+					for (long y = Math.max(tileGrid.getMinY() - 1, 0); y <= Math
+							.min(tileGrid.getMaxY() + 1, tilesPerSide - 1)
+							&& coordinates.size() < 64; y++) {
+						for (long x = Math.max(tileGrid.getMinX() - 1,
+								0); x <= Math.min(tileGrid.getMaxX() + 1,
+										tilesPerSide - 1)
+								&& coordinates.size() < 64; x++) {
+							coordinates.add(new TileCoordinate(x, y));
+						}
+					}
+
+					List<GeoPackageTile> tiles = retriever
+							.getTiles((int) zoom, coordinates);
+					TestCase.assertEquals(coordinates.size(), tiles.size());
+					for (int i = 0; i < coordinates.size(); i++) {
+						TileCoordinate coordinate = coordinates.get(i);
+						GeoPackageTile tile = tiles.get(i);
+						GeoPackageTile expected = retriever.getTile(
+								(int) coordinate.getColumn(),
+								(int) coordinate.getRow(), (int) zoom);
+						if (expected == null) {
+							TestCase.assertNull(tile);
+						} else {
+							TestCase.assertNotNull(tile);
+							TestCase.assertEquals(expected.getWidth(),
+									tile.getWidth());
+							TestCase.assertEquals(expected.getHeight(),
+									tile.getHeight());
+							BufferedImage expectedImage = expected.getImage();
+							BufferedImage image = tile.getImage();
+							TestCase.assertTrue(Arrays.equals(
+									expectedImage.getRGB(0, 0,
+											expected.getWidth(),
+											expected.getHeight(), null, 0,
+											expected.getWidth()),
+									image.getRGB(0, 0, tile.getWidth(),
+											tile.getHeight(), null, 0,
+											tile.getWidth())));
+						}
+					}
+				}
+
+			}
+		}
+
+	}
+
 	/**
 	 * Test querying for the bounding box at a tile matrix zoom level
 	 * 